@@ -0,0 +1,91 @@
+package org.kreyzon.italian_utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and vector {@link DigitKernels} on digit runs of increasing length.
+ * <p>
+ * The kernels are package-private, so this class lives in the library package. Lengths 11, 20
+ * and 27 are a Partita IVA, a Tessera Sanitaria serial number and an Italian IBAN; the longer runs
+ * show where the vector lanes pay off. The fork resolves {@code jdk.incubator.vector}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-04
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DigitKernelsBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    @Param({"11", "20", "27", "64", "1024"})
+    public int length;
+
+    private DigitKernels kernels;
+    private char[] chars;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(kernel) ? DigitKernels.vector() : DigitKernels.scalar();
+        if (kernels == null) {
+            throw new IllegalStateException("Vector kernels are not available on this JVM");
+        }
+        Random random = new Random(42);
+        chars = new char[length];
+        bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+            bytes[i] = (byte) chars[i];
+        }
+    }
+
+    @Benchmark
+    public boolean isDigitsChars() {
+        return kernels.isDigits(chars, 0, length);
+    }
+
+    @Benchmark
+    public boolean isDigitsBytes() {
+        return kernels.isDigits(bytes, 0, length);
+    }
+
+    @Benchmark
+    public int luhnSumChars() {
+        return kernels.luhnSum(chars, 0, length);
+    }
+
+    @Benchmark
+    public int luhnSumBytes() {
+        return kernels.luhnSum(bytes, 0, length);
+    }
+
+    @Benchmark
+    public int mod97Chars() {
+        return kernels.mod97(0, chars, 0, length);
+    }
+
+    @Benchmark
+    public int mod97Bytes() {
+        return kernels.mod97(0, bytes, 0, length);
+    }
+}
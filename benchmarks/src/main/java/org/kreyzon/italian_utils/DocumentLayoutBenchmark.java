@@ -0,0 +1,94 @@
+package org.kreyzon.italian_utils;
+
+import org.kreyzon.italian_utils.benchmarks.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link DocumentLayout} with the {@link Pattern} checks it replaced, on CIE and Tessera
+ * Sanitaria serial numbers and driving licence numbers.
+ * <p>
+ * The layouts are package-private, so this class lives in the library package. The pattern
+ * baselines uppercase the input before matching, as the CIE check did, so that lowercase letters
+ * are accepted as well.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentLayoutBenchmark {
+
+    private static final DocumentLayout CIE_SERIAL_LAYOUT = DocumentLayout.of("@@#####@@");
+    private static final DocumentLayout HIC_SERIAL_LAYOUT = DocumentLayout.of("####################");
+    private static final DocumentLayout DRIVING_LICENSE_LAYOUT = DocumentLayout.of("U1*******@");
+
+    private static final Pattern CIE_SERIAL_PATTERN = Pattern.compile("^[A-Z]{2}\\d{5}[A-Z]{2}$");
+    private static final Pattern HIC_SERIAL_PATTERN = Pattern.compile("^\\d{20}$");
+    private static final Pattern DRIVING_LICENSE_PATTERN = Pattern.compile("^U1[A-Z0-9]{7}[A-Z]$");
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] cieSerials;
+    private String[] hicSerials;
+    private String[] drivingLicenses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        cieSerials = BenchmarkInputs.cieSerials(inputSet);
+        hicSerials = BenchmarkInputs.hicSerials(inputSet);
+        drivingLicenses = BenchmarkInputs.drivingLicenses(inputSet);
+    }
+
+    @Benchmark
+    public ValidationCode cieSerialLayout() {
+        return CIE_SERIAL_LAYOUT.check(cieSerials[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean cieSerialPattern() {
+        String serial = cieSerials[index++ & 7];
+        return serial != null && CIE_SERIAL_PATTERN.matcher(serial.toUpperCase()).matches();
+    }
+
+    @Benchmark
+    public ValidationCode hicSerialLayout() {
+        return HIC_SERIAL_LAYOUT.check(hicSerials[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean hicSerialPattern() {
+        String serial = hicSerials[index++ & 7];
+        return serial != null && HIC_SERIAL_PATTERN.matcher(serial).matches();
+    }
+
+    @Benchmark
+    public ValidationCode drivingLicenseLayout() {
+        return DRIVING_LICENSE_LAYOUT.check(drivingLicenses[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean drivingLicensePattern() {
+        String number = drivingLicenses[index++ & 7];
+        return number != null && DRIVING_LICENSE_PATTERN.matcher(number.toUpperCase()).matches();
+    }
+}
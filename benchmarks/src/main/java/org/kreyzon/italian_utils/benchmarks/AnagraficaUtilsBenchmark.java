@@ -0,0 +1,177 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.AgeCalculator;
+import org.kreyzon.italian_utils.AnagraficaUtils;
+import org.kreyzon.italian_utils.NamePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link AnagraficaUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnagraficaUtilsBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] names;
+    private String[] surnames;
+    private String[] titles;
+    private String[] genders;
+    private LocalDate[] birthdates;
+    private long[] birthEpochDays;
+    private LocalDate referenceDate;
+    private AgeCalculator ageCalculator;
+    private final StringBuilder builder = new StringBuilder(256);
+    private final char[] chars = new char[256];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        names = BenchmarkInputs.names(inputSet);
+        surnames = BenchmarkInputs.surnames(inputSet);
+        titles = BenchmarkInputs.titles(inputSet);
+        genders = BenchmarkInputs.genders(inputSet);
+        birthdates = BenchmarkInputs.birthdates();
+        birthEpochDays = new long[birthdates.length];
+        for (int i = 0; i < birthdates.length; i++) {
+            birthEpochDays[i] = birthdates[i].toEpochDay();
+        }
+        referenceDate = LocalDate.of(2024, 11, 29);
+        ageCalculator = new AgeCalculator(referenceDate);
+    }
+
+    @Benchmark
+    public boolean isValidName() {
+        return AnagraficaUtils.isValidName(names[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidSurname() {
+        return AnagraficaUtils.isValidSurname(surnames[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidNameItalian() {
+        return AnagraficaUtils.isValidName(names[index++ & 7], NamePolicy.ITALIAN);
+    }
+
+    @Benchmark
+    public boolean isValidSurnameItalian() {
+        return AnagraficaUtils.isValidSurname(surnames[index++ & 7], NamePolicy.ITALIAN);
+    }
+
+    @Benchmark
+    public boolean isValidTitle() {
+        return AnagraficaUtils.isValidTitle(titles[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidGender() {
+        return AnagraficaUtils.isValidGender(genders[index++ & 7]);
+    }
+
+    @Benchmark
+    public int calculateAge() {
+        return AnagraficaUtils.calculateAge(birthdates[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isOver18() {
+        return AnagraficaUtils.isOver18(birthdates[index++ & 7]);
+    }
+
+    @Benchmark
+    public int calculateAgeOnReferenceDate() {
+        return AnagraficaUtils.calculateAge(birthdates[index++ & 7], referenceDate);
+    }
+
+    @Benchmark
+    public int ageCalculatorAge() {
+        return ageCalculator.age(birthEpochDays[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean ageCalculatorIsOver18() {
+        return ageCalculator.isOver18(birthEpochDays[index++ & 7]);
+    }
+
+    @Benchmark
+    public String formatFullName() {
+        int i = index++ & 7;
+        return AnagraficaUtils.formatFullName(titles[i], names[i], surnames[i]);
+    }
+
+    @Benchmark
+    public String getInitials() {
+        int i = index++ & 7;
+        return AnagraficaUtils.getInitials(names[i], surnames[i]);
+    }
+
+    @Benchmark
+    public String normalizeName() {
+        return AnagraficaUtils.normalizeName(surnames[index++ & 7]);
+    }
+
+    @Benchmark
+    public StringBuilder formatFullNameIntoBuilder() {
+        int i = index++ & 7;
+        builder.setLength(0);
+        return AnagraficaUtils.formatFullName(titles[i], names[i], surnames[i], builder);
+    }
+
+    @Benchmark
+    public int formatFullNameIntoArray() {
+        int i = index++ & 7;
+        return AnagraficaUtils.formatFullName(titles[i], names[i], surnames[i], chars, 0);
+    }
+
+    @Benchmark
+    public StringBuilder getInitialsIntoBuilder() {
+        int i = index++ & 7;
+        builder.setLength(0);
+        return AnagraficaUtils.getInitials(names[i], surnames[i], builder);
+    }
+
+    @Benchmark
+    public StringBuilder normalizeNameIntoBuilder() {
+        builder.setLength(0);
+        return AnagraficaUtils.normalizeName(surnames[index++ & 7], builder);
+    }
+
+    @Benchmark
+    public String getPhoneticKey() {
+        return AnagraficaUtils.getPhoneticKey(surnames[index++ & 7]);
+    }
+
+    @Benchmark
+    public int getPhoneticKeyIntoArray() {
+        return AnagraficaUtils.getPhoneticKey(surnames[index++ & 7], chars, 0);
+    }
+
+    @Benchmark
+    public boolean isNameLengthValid() {
+        return AnagraficaUtils.isNameLengthValid(names[index++ & 7], 2, 10);
+    }
+}
@@ -0,0 +1,95 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BankingUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link BankingUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankingUtilsBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] ibans;
+    private String[] swifts;
+    private final StringBuilder builder = new StringBuilder(64);
+    private final char[] chars = new char[128];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ibans = BenchmarkInputs.ibans(inputSet);
+        swifts = BenchmarkInputs.swifts(inputSet);
+    }
+
+    @Benchmark
+    public boolean isValidIBAN() {
+        return BankingUtils.isValidIBAN(ibans[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidSWIFT() {
+        return BankingUtils.isValidSWIFT(swifts[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkIBAN() {
+        return BankingUtils.checkIBAN(ibans[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkSWIFT() {
+        return BankingUtils.checkSWIFT(swifts[index++ & 7]);
+    }
+
+    @Benchmark
+    public String formatIBAN() {
+        try {
+            return BankingUtils.formatIBAN(ibans[index++ & 7]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public StringBuilder formatIBANIntoBuilder() {
+        builder.setLength(0);
+        try {
+            return BankingUtils.formatIBAN(ibans[index++ & 7], false, builder);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public int formatIBANIntoArray() {
+        try {
+            return BankingUtils.formatIBAN(ibans[index++ & 7], false, chars, 0);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BankingUtils;
+import org.kreyzon.italian_utils.HealthInsuranceCardUtils;
+import org.kreyzon.italian_utils.IdentityCardUtils;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batch validation entry points with a caller loop over the single-value methods.
+ * <p>
+ * Each batch mixes the valid, invalid and malformed input sets. Scores are in milliseconds per batch.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchValidationBenchmark {
+
+    @Param({"1000000"})
+    public int batchSize;
+
+    private String[] ibans;
+    private String[] partiteIVA;
+    private String[] cieSerials;
+    private String[] hicSerials;
+    private boolean[] out;
+    private byte[] codes;
+
+    @Setup
+    public void setUp() {
+        ibans = mix(BenchmarkInputs.ibans(BenchmarkInputs.VALID), BenchmarkInputs.ibans(BenchmarkInputs.INVALID),
+                BenchmarkInputs.ibans(BenchmarkInputs.MALFORMED));
+        partiteIVA = mix(BenchmarkInputs.partiteIVA(BenchmarkInputs.VALID), BenchmarkInputs.partiteIVA(BenchmarkInputs.INVALID),
+                BenchmarkInputs.partiteIVA(BenchmarkInputs.MALFORMED));
+        cieSerials = mix(BenchmarkInputs.cieSerials(BenchmarkInputs.VALID), BenchmarkInputs.cieSerials(BenchmarkInputs.INVALID),
+                BenchmarkInputs.cieSerials(BenchmarkInputs.MALFORMED));
+        hicSerials = mix(BenchmarkInputs.hicSerials(BenchmarkInputs.VALID), BenchmarkInputs.hicSerials(BenchmarkInputs.INVALID),
+                BenchmarkInputs.hicSerials(BenchmarkInputs.MALFORMED));
+        out = new boolean[batchSize];
+        codes = new byte[batchSize];
+    }
+
+    private String[] mix(String[] valid, String[] invalid, String[] malformed) {
+        String[][] sets = {valid, invalid, malformed};
+        String[] batch = new String[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = sets[i % 3][(i / 3) & 7];
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public boolean[] ibanLoop() {
+        for (int i = 0; i < ibans.length; i++) {
+            out[i] = BankingUtils.isValidIBAN(ibans[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int ibanBatch() {
+        return BankingUtils.validateIBANs(ibans, out);
+    }
+
+    @Benchmark
+    public int ibanBatchParallel() {
+        return BankingUtils.validateIBANs(ibans, out, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int ibanCheckBatch() {
+        return BankingUtils.checkIBANs(ibans, codes);
+    }
+
+    @Benchmark
+    public int partitaIVABatch() {
+        return PartitaIVAUtils.validatePartiteIVA(partiteIVA, out);
+    }
+
+    @Benchmark
+    public int partitaIVABatchParallel() {
+        return PartitaIVAUtils.validatePartiteIVA(partiteIVA, out, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int cieSerialBatch() {
+        return IdentityCardUtils.validateCIESerials(cieSerials, out);
+    }
+
+    @Benchmark
+    public int cieSerialBatchParallel() {
+        return IdentityCardUtils.validateCIESerials(cieSerials, out, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int hicSerialBatch() {
+        return HealthInsuranceCardUtils.validateHICSerials(hicSerials, out);
+    }
+
+    @Benchmark
+    public int hicSerialBatchParallel() {
+        return HealthInsuranceCardUtils.validateHICSerials(hicSerials, out, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,95 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BelfioreIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link BelfioreIndex} lookups.
+ * <p>
+ * Lookups are expected to run at 0 B/op; only the accessors returning names allocate.
+ * </p>
+ * <p>
+ * Pass the image built from the complete official list with
+ * {@code -jvmArgsAppend -D}{@value #INDEX_PROPERTY}{@code =<path>}; without it, the benchmark maps a
+ * copy of the sample image shipped in the library jar, on which the baseline was recorded.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-28
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BelfioreIndexBenchmark {
+
+    static final String INDEX_PROPERTY = "benchmark.belfioreIndex";
+
+    private static final String SAMPLE_RESOURCE = "/org/kreyzon/italian_utils/belfiore.bin";
+
+    private static final String[] BELFIORE_CODES = {"A562", "H501", "F205", "F839", "D612", "L219", "G273", "Z404"};
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private BelfioreIndex belfioreIndex;
+    private String[] codiciFiscali;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        belfioreIndex = BelfioreIndex.load(indexImage());
+        codiciFiscali = BenchmarkInputs.codiciFiscali(inputSet);
+    }
+
+    private static Path indexImage() throws IOException {
+        String path = System.getProperty(INDEX_PROPERTY);
+        if (path != null) {
+            return Path.of(path);
+        }
+        Path image = Files.createTempFile("belfiore", ".bin");
+        image.toFile().deleteOnExit();
+        try (InputStream in = BelfioreIndex.class.getResourceAsStream(SAMPLE_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing sample Belfiore index: " + SAMPLE_RESOURCE);
+            }
+            Files.copy(in, image, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return image;
+    }
+
+    @Benchmark
+    public int find() {
+        return belfioreIndex.find(BELFIORE_CODES[index++ & 7]);
+    }
+
+    @Benchmark
+    public int findBirthplace() {
+        return belfioreIndex.findBirthplace(codiciFiscali[index++ & 7]);
+    }
+
+    @Benchmark
+    public String findBirthplaceName() {
+        int row = belfioreIndex.findBirthplace(codiciFiscali[index++ & 7]);
+        return row < 0 ? null : belfioreIndex.getName(row);
+    }
+}
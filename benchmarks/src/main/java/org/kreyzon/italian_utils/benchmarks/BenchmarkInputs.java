@@ -0,0 +1,264 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import java.time.LocalDate;
+
+/**
+ * Shared input sets for the italian-utils benchmarks.
+ * <p>
+ * Every validator is measured against three sets: {@code valid} inputs that pass every check,
+ * {@code invalid} inputs that are well formed but fail a semantic check (checksum, dates), and
+ * {@code malformed} inputs that fail early on length, charset or {@code null}.
+ * Each set has a power-of-two size so benchmarks can cycle through it with a mask.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+public final class BenchmarkInputs {
+
+    private BenchmarkInputs() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static final String VALID = "valid";
+    public static final String INVALID = "invalid";
+    public static final String MALFORMED = "malformed";
+
+    private static final String[] VALID_IBANS = {
+            "IT60X0542811101000000123456",
+            "DE89370400440532013000",
+            "GB82WEST12345698765432",
+            "FR1420041010050500013M02606",
+            "ES9121000418450200051332",
+            "NL91ABNA0417164300",
+            "BE68539007547034",
+            "CH9300762011623852957"
+    };
+
+    private static final String[] INVALID_IBANS = {
+            "IT60X0542811101000000123450",
+            "DE89370400440532013001",
+            "GB82WEST12345698765431",
+            "FR1420041010050500013M02607",
+            "ES9121000418450200051331",
+            "NL91ABNA0417164301",
+            "BE68539007547035",
+            "CH9300762011623852956"
+    };
+
+    private static final String[] MALFORMED_IBANS = {
+            null,
+            "",
+            "IT60X05428111010000001234",
+            "it60x0542811101000000123456",
+            "IT60 X054 2811 1010 0000 0123 456",
+            "1T60X0542811101000000123456",
+            "IT6AX0542811101000000123456",
+            "IT60X0542811101000000123456IT60X0542811101000000123456"
+    };
+
+    private static final String[] VALID_SWIFTS = {
+            "BCITITMM", "BCITITMMXXX", "UNCRITMM", "UNCRITMMXXX",
+            "DEUTDEFF", "DEUTDEFF500", "BNPAFRPP", "COBADEFFXXX"
+    };
+
+    private static final String[] INVALID_SWIFTS = {
+            "BC1TITMM", "BCITI7MM", "BCITITMMXX", "BCITITM",
+            "1EUTDEFF", "DEUTDEF", "BNPAFRPPX", "COBADEFFXXXX"
+    };
+
+    private static final String[] MALFORMED_SWIFTS = {
+            null, "", "bcititmm", "BCIT ITMM", "BCITITMM!", "????????", "B", "BCITITMMXXXXXXXXXXXX"
+    };
+
+    private static final String[] VALID_PARTITE_IVA = {
+            "00123450066", "IT07759910016", "12345670124", "IT02114090216",
+            "00000010157", "IT09876540585", "13579130801", "IT00123450066"
+    };
+
+    private static final String[] INVALID_PARTITE_IVA = {
+            "00123450067", "IT07759910015", "12345670125", "IT02114090217",
+            "00000010158", "IT09876540586", "13579130802", "IT00123450065"
+    };
+
+    private static final String[] MALFORMED_PARTITE_IVA = {
+            null, "", "1234567890", "123456789012", "12345A78903", "IT", "it00123450066", "IT 00123450066"
+    };
+
+    private static final String[] VALID_CIE_SERIALS = {
+            "CA12345AB", "AB12345CD", "ca00000zz", "ZZ99999AA",
+            "CA98765XY", "CB10293QW", "cd55555ef", "AY20240KZ"
+    };
+
+    private static final String[] INVALID_CIE_SERIALS = {
+            "A123456CD", "AB1234CDE", "AB12345C1", "1B12345CD",
+            "AB12345CDE", "AB1234CD", "AB-2345CD", "AB12 45CD"
+    };
+
+    private static final String[] MALFORMED_CIE_SERIALS = {
+            null, "", "A", "AB", "AB12345CDAB12345CD", "?????????", "AB12345Cß", "ABCDEFGHI"
+    };
+
+    private static final String[] VALID_HIC_SERIALS = {
+            "80380000500012345678", "80380001100098765432", "00123456789012345678", "80380000100000000001",
+            "80380000900055555555", "80380001200011223344", "99999999999999999999", "80380000300076543210"
+    };
+
+    private static final String[] INVALID_HIC_SERIALS = {
+            "8038000050001234567", "803800005000123456789", "8038000050001234567A", "A0380000500012345678",
+            "80380000500012345 78", "8038000050001234567-", "AB12345678901234567", "AB1234567890!@#$%^&*"
+    };
+
+    private static final String[] MALFORMED_HIC_SERIALS = {
+            null, "", "8", "80", "٨٠٣٨٠٠٠٠٥٠٠٠١٢٣٤٥٦٧٨",
+            "????????????????????", "8038000050001234567880380000500012345678", "                    "
+    };
+
+    private static final String[] VALID_DRIVING_LICENSES = {
+            "U15J73826X", "U1AB12CD3E", "u1h4k9z20q", "MI2512345X", "RM0000001A", "TO7654321B", "na1234567c", "FO9876543Z"
+    };
+
+    private static final String[] INVALID_DRIVING_LICENSES = {
+            "U15J738261", "U2AB12CD3E", "XX2512345X", "MI25123X5X", "M12512345X", "ZZ0000001A", "UA7654321B", "NA12345678"
+    };
+
+    private static final String[] MALFORMED_DRIVING_LICENSES = {
+            null, "", "U1", "MI2512345", "U15J73826XY", "??????????", "ÇA1234567B", "          "
+    };
+
+    private static final String[] VALID_PHONE_NUMBERS = {
+            "3331234567", "+39 347 123 4567", "06 12345678", "0039 02 1234567",
+            "0331 123456", "800 123 456", "848 800 777", "892424"
+    };
+
+    private static final String[] INVALID_PHONE_NUMBERS = {
+            "333123456789", "+41 44 668 18 00", "1234567890", "3012345678",
+            "061234567890", "8001234567", "891123456", "+39 00 1234567"
+    };
+
+    private static final String[] MALFORMED_PHONE_NUMBERS = {
+            null, "", "+", "333 123 456a", "٣٣٣١٢٣٤٥٦٧", "??????????", "+3x3331234567", "          "
+    };
+
+    private static final String[] VALID_CODICI_FISCALI = {
+            "RSSMRA85T10A562S", "VRDNNA90A41H501J", "BNCLRA92M55F205P", "MRNLCU70E41F839N",
+            "CLMFNC01B29D612G", "SPSGNN75P08L219E", "RCCNNA66H62G273S", "RSSMRA85T10A56NH"
+    };
+
+    private static final String[] INVALID_CODICI_FISCALI = {
+            "RSSMRA85T10A562T", "VRDNNA90A41H501K", "BNCLRA92M55F205Q", "MRNLCU70E41F839O",
+            "CLMFNC01B30D612G", "SPSGNN75F08L219E", "RCCNNA66H62G2A3S", "RSSMRA85T10A56NS"
+    };
+
+    private static final String[] MALFORMED_CODICI_FISCALI = {
+            null, "", "RSSMRA85T10A562", "RSSMRA85T10A562SS", "RSS MRA 85T10 A562S", "1234567890123456", "????????????????", "rssmra85t10a562"
+    };
+
+    private static final String[] VALID_NAMES = {
+            "Mario", "Anna Maria", "Giuseppe", "Francesca", "Gian Luca", "Lorenzo", "Maria Grazia", "Alessandro"
+    };
+
+    private static final String[] INVALID_NAMES = {
+            "M@rio", "Anna-Maria", "Giuseppe1", "Niccolò", "Gian_Luca", "Lorenzo!", "Maria.Grazia", "D'Angelo"
+    };
+
+    private static final String[] MALFORMED_NAMES = {
+            null, "", "   1", "\t", "12345", "@@@@", "\u0000", "Mario\n"
+    };
+
+    private static final String[] VALID_SURNAMES = {
+            "Rossi", "Verdi", "Bianchi", "Esposito", "Romano", "Colombo", "Ricci", "Marino"
+    };
+
+    private static final String[] INVALID_SURNAMES = {
+            "Ros$si", "De Luca", "D'Angelo", "Bianchi2", "Espositò", "Romano-Verdi", "Colombo ", "Ricci!"
+    };
+
+    private static final String[] MALFORMED_SURNAMES = {
+            null, "", " ", "\t", "12345", "@@@@", "\u0000", "Rossi\n"
+    };
+
+    private static final String[] VALID_TITLES = {
+            "Sig.", "Sig.ra", "Dott.", "Sig.", "Sig.ra", "Dott.", "Sig.", "Dott."
+    };
+
+    private static final String[] INVALID_TITLES = {
+            "Mr.", "Mrs", "Dott", "Sig", "Sig.na", "Dott.ssa", "sig.", "Prof."
+    };
+
+    private static final String[] MALFORMED_TITLES = {
+            null, "", ".", "Sig.ra.", "SigXra", "DottX", "\u0000", "Sig.Sig."
+    };
+
+    private static final String[] VALID_GENDERS = {"M", "F", "m", "f", "M", "F", "m", "f"};
+
+    private static final String[] INVALID_GENDERS = {"X", "Male", "Female", "MF", "N", "U", "0", "1"};
+
+    private static final String[] MALFORMED_GENDERS = {null, "", " ", "M ", " F", "\u0000", "Μ", "ff"};
+
+    private static final LocalDate[] BIRTHDATES = {
+            LocalDate.of(1990, 1, 1), LocalDate.of(1985, 6, 15), LocalDate.of(2004, 2, 29), LocalDate.of(2010, 12, 31),
+            LocalDate.of(1950, 3, 21), LocalDate.of(2000, 7, 4), LocalDate.of(1972, 11, 30), LocalDate.of(2015, 5, 5)
+    };
+
+    public static String[] ibans(String set) {
+        return select(set, VALID_IBANS, INVALID_IBANS, MALFORMED_IBANS);
+    }
+
+    public static String[] swifts(String set) {
+        return select(set, VALID_SWIFTS, INVALID_SWIFTS, MALFORMED_SWIFTS);
+    }
+
+    public static String[] partiteIVA(String set) {
+        return select(set, VALID_PARTITE_IVA, INVALID_PARTITE_IVA, MALFORMED_PARTITE_IVA);
+    }
+
+    public static String[] cieSerials(String set) {
+        return select(set, VALID_CIE_SERIALS, INVALID_CIE_SERIALS, MALFORMED_CIE_SERIALS);
+    }
+
+    public static String[] hicSerials(String set) {
+        return select(set, VALID_HIC_SERIALS, INVALID_HIC_SERIALS, MALFORMED_HIC_SERIALS);
+    }
+
+    public static String[] drivingLicenses(String set) {
+        return select(set, VALID_DRIVING_LICENSES, INVALID_DRIVING_LICENSES, MALFORMED_DRIVING_LICENSES);
+    }
+
+    public static String[] phoneNumbers(String set) {
+        return select(set, VALID_PHONE_NUMBERS, INVALID_PHONE_NUMBERS, MALFORMED_PHONE_NUMBERS);
+    }
+
+    public static String[] codiciFiscali(String set) {
+        return select(set, VALID_CODICI_FISCALI, INVALID_CODICI_FISCALI, MALFORMED_CODICI_FISCALI);
+    }
+
+    public static String[] names(String set) {
+        return select(set, VALID_NAMES, INVALID_NAMES, MALFORMED_NAMES);
+    }
+
+    public static String[] surnames(String set) {
+        return select(set, VALID_SURNAMES, INVALID_SURNAMES, MALFORMED_SURNAMES);
+    }
+
+    public static String[] titles(String set) {
+        return select(set, VALID_TITLES, INVALID_TITLES, MALFORMED_TITLES);
+    }
+
+    public static String[] genders(String set) {
+        return select(set, VALID_GENDERS, INVALID_GENDERS, MALFORMED_GENDERS);
+    }
+
+    public static LocalDate[] birthdates() {
+        return BIRTHDATES.clone();
+    }
+
+    private static String[] select(String set, String[] valid, String[] invalid, String[] malformed) {
+        return switch (set) {
+            case VALID -> valid.clone();
+            case INVALID -> invalid.clone();
+            case MALFORMED -> malformed.clone();
+            default -> throw new IllegalArgumentException("Unknown input set: " + set);
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BankingUtils;
+import org.kreyzon.italian_utils.CodiceFiscaleUtils;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the byte-oriented validator overloads.
+ * <p>
+ * The IBAN, Partita IVA and Codice Fiscale inputs are laid out as {@code ;}-separated fields of
+ * one ASCII record, as they arrive from a message broker or a columnar file. Each validator is
+ * measured decoding the field to a String first ({@code *Decoded}) and in place over the record
+ * held in a {@code byte[]}, a direct {@link ByteBuffer} and a native {@link MemorySegment}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-05
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteValidationBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private Fields ibans;
+    private Fields partiteIVA;
+    private Fields codiciFiscali;
+    private Arena arena;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        arena = Arena.ofAuto();
+        ibans = new Fields(BenchmarkInputs.ibans(inputSet), arena);
+        partiteIVA = new Fields(BenchmarkInputs.partiteIVA(inputSet), arena);
+        codiciFiscali = new Fields(BenchmarkInputs.codiciFiscali(inputSet), arena);
+    }
+
+    @Benchmark
+    public boolean ibanDecoded() {
+        int i = index++ & 7;
+        return BankingUtils.isValidIBAN(ibans.decode(i));
+    }
+
+    @Benchmark
+    public boolean ibanBytes() {
+        int i = index++ & 7;
+        return BankingUtils.isValidIBAN(ibans.bytes, ibans.offsets[i], ibans.lengths[i]);
+    }
+
+    @Benchmark
+    public boolean ibanDirectBuffer() {
+        int i = index++ & 7;
+        return BankingUtils.isValidIBAN(ibans.buffer, ibans.offsets[i], ibans.lengths[i]);
+    }
+
+    @Benchmark
+    public boolean ibanSegment() {
+        int i = index++ & 7;
+        return BankingUtils.isValidIBAN(ibans.segment, ibans.offsets[i], ibans.lengths[i]);
+    }
+
+    @Benchmark
+    public boolean partitaIVADecoded() {
+        int i = index++ & 7;
+        return PartitaIVAUtils.isValidPartitaIVA(partiteIVA.decode(i));
+    }
+
+    @Benchmark
+    public boolean partitaIVABytes() {
+        int i = index++ & 7;
+        return PartitaIVAUtils.isValidPartitaIVA(partiteIVA.bytes, partiteIVA.offsets[i], partiteIVA.lengths[i]);
+    }
+
+    @Benchmark
+    public boolean partitaIVASegment() {
+        int i = index++ & 7;
+        return PartitaIVAUtils.isValidPartitaIVA(partiteIVA.segment, partiteIVA.offsets[i], partiteIVA.lengths[i]);
+    }
+
+    @Benchmark
+    public boolean codiceFiscaleDecoded() {
+        int i = index++ & 7;
+        return CodiceFiscaleUtils.isValidCodiceFiscale(codiciFiscali.decode(i));
+    }
+
+    @Benchmark
+    public boolean codiceFiscaleBytes() {
+        int i = index++ & 7;
+        return CodiceFiscaleUtils.isValidCodiceFiscale(codiciFiscali.bytes, codiciFiscali.offsets[i], codiciFiscali.lengths[i]);
+    }
+
+    /**
+     * One input set serialized as a single record, with the position of each field.
+     */
+    private static final class Fields {
+
+        private final byte[] bytes;
+        private final ByteBuffer buffer;
+        private final MemorySegment segment;
+        private final int[] offsets;
+        private final int[] lengths;
+
+        Fields(String[] values, Arena arena) {
+            StringBuilder record = new StringBuilder();
+            offsets = new int[values.length];
+            lengths = new int[values.length];
+            int offset = 0;
+            for (int i = 0; i < values.length; i++) {
+                // null inputs become empty fields
+                String value = values[i] == null ? "" : values[i];
+                offsets[i] = offset;
+                lengths[i] = value.getBytes(StandardCharsets.UTF_8).length;
+                offset += lengths[i] + 1;
+                record.append(value).append(';');
+            }
+            bytes = record.toString().getBytes(StandardCharsets.UTF_8);
+            buffer = ByteBuffer.allocateDirect(bytes.length).put(0, bytes);
+            segment = arena.allocate(bytes.length);
+            MemorySegment.copy(MemorySegment.ofArray(bytes), 0, segment, 0, bytes.length);
+        }
+
+        String decode(int i) {
+            return new String(bytes, offsets[i], lengths[i], StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.CodiceFiscaleUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link CodiceFiscaleUtils}.
+ * <p>
+ * The target for {@code isValidCodiceFiscale} is tens of millions of validations per second per core,
+ * that is a score above 10 ops/us.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-27
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodiceFiscaleUtilsBenchmark {
+
+    private static final String[] NAMES = {"Mario", "Anna", "Laura", "Luca", "Francesca", "Giovanni", "Anna Maria", "Gianfranco"};
+    private static final String[] SURNAMES = {"Rossi", "Verdi", "Bianchi", "Marini", "Colombo", "Esposito", "Ricci", "D'Angelo"};
+    private static final String[] BELFIORE_CODES = {"A562", "H501", "F205", "F839", "D612", "L219", "G273", "Z404"};
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] codiciFiscali;
+    private LocalDate[] birthdates;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        codiciFiscali = BenchmarkInputs.codiciFiscali(inputSet);
+        birthdates = BenchmarkInputs.birthdates();
+    }
+
+    @Benchmark
+    public boolean isValidCodiceFiscale() {
+        return CodiceFiscaleUtils.isValidCodiceFiscale(codiciFiscali[index++ & 7]);
+    }
+
+    @Benchmark
+    public String generateCodiceFiscale() {
+        int i = index++ & 7;
+        return CodiceFiscaleUtils.generateCodiceFiscale(NAMES[i], SURNAMES[i], (i & 1) == 0 ? "M" : "F", birthdates[i], BELFIORE_CODES[i]);
+    }
+}
@@ -0,0 +1,58 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.DrivingLicenseUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link DrivingLicenseUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrivingLicenseUtilsBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        numbers = BenchmarkInputs.drivingLicenses(inputSet);
+    }
+
+    @Benchmark
+    public boolean isValidDrivingLicense() {
+        return DrivingLicenseUtils.isValidDrivingLicense(numbers[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkDrivingLicense() {
+        return DrivingLicenseUtils.checkDrivingLicense(numbers[index++ & 7]);
+    }
+
+    @Benchmark
+    public String getIssuingProvince() {
+        return DrivingLicenseUtils.getIssuingProvince(numbers[index++ & 7]);
+    }
+}
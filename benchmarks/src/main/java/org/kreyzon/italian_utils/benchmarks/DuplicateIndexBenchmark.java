@@ -0,0 +1,92 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.DuplicateIndex;
+import org.kreyzon.italian_utils.SyntheticDataGenerator;
+import org.kreyzon.italian_utils.SyntheticRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency benchmarks for {@link DuplicateIndex}, in microseconds per query.
+ * <p>
+ * The index holds {@code size} synthetic records. {@code findExisting} queries records of the
+ * index, {@code findTypo} the same records with the first letter of the surname dropped, which
+ * changes its phonetic key and leaves only the trigrams to find them. The synthetic data draws
+ * names and surnames from small lists, so queries return far more candidates than on real
+ * registries and these latencies are an upper bound.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DuplicateIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private DuplicateIndex index;
+    private String[] names;
+    private String[] surnames;
+    private String[] typos;
+    private LocalDate[] birthdates;
+    private final int[] ids = new int[64];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder()
+                .seed(42)
+                .invalidRate(0)
+                .referenceDate(LocalDate.of(2024, 12, 17))
+                .build();
+        index = new DuplicateIndex();
+        names = new String[QUERIES];
+        surnames = new String[QUERIES];
+        typos = new String[QUERIES];
+        birthdates = new LocalDate[QUERIES];
+        int step = size / QUERIES;
+        for (int i = 0; i < size; i++) {
+            SyntheticRecord record = generator.record(i);
+            LocalDate birthdate = LocalDate.parse(record.getBirthdate());
+            index.add(record.getName(), record.getSurname(), birthdate);
+            if (i % step == 0 && i / step < QUERIES) {
+                names[i / step] = record.getName();
+                surnames[i / step] = record.getSurname();
+                typos[i / step] = record.getSurname().substring(1);
+                birthdates[i / step] = birthdate;
+            }
+        }
+    }
+
+    @Benchmark
+    public int findExisting() {
+        int i = query++ & (QUERIES - 1);
+        return index.findCandidates(names[i], surnames[i], birthdates[i], ids);
+    }
+
+    @Benchmark
+    public int findTypo() {
+        int i = query++ & (QUERIES - 1);
+        return index.findCandidates(names[i], typos[i], birthdates[i], ids);
+    }
+}
@@ -0,0 +1,115 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.GeographicIndex;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link GeographicIndex} lookups.
+ * <p>
+ * Lookups are expected to run at 0 B/op. The invalid set pairs each comune with a CAP of another
+ * comune, so the consistency check fails after the name lookup.
+ * </p>
+ * <p>
+ * The library bundles no geographic index. Pass the image built from the complete lists with
+ * {@code -jvmArgsAppend -D}{@value #INDEX_PROPERTY}{@code =<path>}; without it, the benchmark builds
+ * an image of the eight comuni it queries, where the binary searches are shorter.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-15
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeographicIndexBenchmark {
+
+    static final String INDEX_PROPERTY = "benchmark.geographicIndex";
+
+    private static final String PROVINCE_LIST = String.join("\n",
+            "RM;LAZIO", "MI;LOMBARDIA", "NA;CAMPANIA", "TO;PIEMONTE", "FC;EMILIA_ROMAGNA", "RE;EMILIA_ROMAGNA",
+            "BA;PUGLIA", "PU;MARCHE");
+    private static final String COMUNE_LIST = String.join("\n",
+            "H501;Roma;RM;00118-00199", "F205;Milano;MI;20121-20162", "F839;Napoli;NA;80121-80147",
+            "L219;Torino;TO;10121-10156", "D704;Forlì;FC;47121-47122", "H223;Reggio nell'Emilia;RE;42121-42124",
+            "A662;Bari;BA;70121-70132", "L500;Urbino;PU;61029");
+
+    private static final String[] COMUNI = {"Roma", "Milano", "Napoli", "Torino", "Forlì", "Reggio nell'Emilia", "Bari", "Urbino"};
+    private static final String[] PROVINCES = {"RM", "MI", "NA", "TO", "FC", "RE", "BA", "PU"};
+    private static final String[] VALID_CAPS = {"00184", "20121", "80133", "10121", "47121", "42121", "70121", "61029"};
+    private static final String[] INVALID_CAPS = {"20121", "00184", "10121", "80133", "42121", "47121", "61029", "70121"};
+    private static final String[] MALFORMED_CAPS = {null, "", "0018", "001844", "OO184", "2O121", "     ", "8013a"};
+    private static final String[] PREFIXES = {"r", "mi", "na", "tor", "for", "reg", "ba", "ur"};
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private GeographicIndex geographicIndex;
+    private String[] caps;
+    private final int[] rows = new int[8];
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        geographicIndex = GeographicIndex.load(indexImage());
+        caps = switch (inputSet) {
+            case BenchmarkInputs.VALID -> VALID_CAPS;
+            case BenchmarkInputs.INVALID -> INVALID_CAPS;
+            default -> MALFORMED_CAPS;
+        };
+    }
+
+    private static Path indexImage() throws IOException {
+        String path = System.getProperty(INDEX_PROPERTY);
+        if (path != null) {
+            return Path.of(path);
+        }
+        Path image = Files.createTempFile("geographic", ".bin");
+        image.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(image)) {
+            GeographicIndex.write(new StringReader(PROVINCE_LIST), new StringReader(COMUNE_LIST), out);
+        }
+        return image;
+    }
+
+    @Benchmark
+    public ValidationCode checkAddress() {
+        int i = index++ & 7;
+        return geographicIndex.checkAddress(caps[i], PROVINCES[i], COMUNI[i]);
+    }
+
+    @Benchmark
+    public int findComune() {
+        return geographicIndex.findComune(COMUNI[index++ & 7]);
+    }
+
+    @Benchmark
+    public int findComuni() {
+        return geographicIndex.findComuni(caps[index++ & 7], rows);
+    }
+
+    @Benchmark
+    public int complete() {
+        return geographicIndex.complete(PREFIXES[index++ & 7], rows);
+    }
+}
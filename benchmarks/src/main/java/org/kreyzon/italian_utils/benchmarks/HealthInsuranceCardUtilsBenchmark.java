@@ -0,0 +1,83 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.HealthInsuranceCardUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link HealthInsuranceCardUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthInsuranceCardUtilsBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] serials;
+    private LocalDate[] expirationDates;
+    private LocalDate today;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        serials = BenchmarkInputs.hicSerials(inputSet);
+        today = LocalDate.now();
+        expirationDates = new LocalDate[8];
+        for (int i = 0; i < expirationDates.length; i++) {
+            // Valid set expires in the future, the others alternate past dates and nulls
+            if (BenchmarkInputs.VALID.equals(inputSet)) {
+                expirationDates[i] = today.plusYears(i + 1L);
+            } else {
+                expirationDates[i] = (i & 1) == 0 ? today.minusYears(i + 1L) : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isValidHICSerial() {
+        return HealthInsuranceCardUtils.isValidHICSerial(serials[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isCardCurrentlyValid() {
+        return HealthInsuranceCardUtils.isCardCurrentlyValid(expirationDates[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidHealthInsuranceCard() {
+        int i = index++ & 7;
+        return HealthInsuranceCardUtils.isValidHealthInsuranceCard(serials[i], expirationDates[i]);
+    }
+
+    @Benchmark
+    public ValidationCode checkHICSerial() {
+        return HealthInsuranceCardUtils.checkHICSerial(serials[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkHealthInsuranceCard() {
+        int i = index++ & 7;
+        return HealthInsuranceCardUtils.checkHealthInsuranceCard(serials[i], expirationDates[i], today);
+    }
+}
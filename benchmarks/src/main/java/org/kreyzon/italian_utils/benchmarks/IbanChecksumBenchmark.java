@@ -0,0 +1,74 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BankingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming modulo 97 checksum of {@link BankingUtils#ibanChecksum(CharSequence)}
+ * with the previous substring, StringBuilder and {@link BigInteger} implementation.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-21
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanChecksumBenchmark {
+
+    private static final BigInteger NINETY_SEVEN = BigInteger.valueOf(97);
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID})
+    public String inputSet;
+
+    private String[] ibans;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ibans = BenchmarkInputs.ibans(inputSet);
+    }
+
+    @Benchmark
+    public int streaming() {
+        return BankingUtils.ibanChecksum(ibans[index++ & 7]);
+    }
+
+    @Benchmark
+    public int legacyBigInteger() {
+        return legacyChecksum(ibans[index++ & 7]);
+    }
+
+    /**
+     * Checksum as computed by BankingUtils.isValidIBAN up to version 1.0.
+     */
+    private static int legacyChecksum(String iban) {
+        String reformattedIBAN = iban.substring(4) + iban.substring(0, 4);
+        StringBuilder numericIBAN = new StringBuilder();
+
+        for (char c : reformattedIBAN.toCharArray()) {
+            if (Character.isDigit(c)) {
+                numericIBAN.append(c);
+            } else {
+                numericIBAN.append(Character.getNumericValue(c));
+            }
+        }
+
+        return new BigInteger(numericIBAN.toString()).mod(NINETY_SEVEN).intValue();
+    }
+}
@@ -0,0 +1,87 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.IdentifierSet;
+import org.kreyzon.italian_utils.IdentifierType;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link IdentifierSet}.
+ * <p>
+ * A list of one million Partita IVA numbers, including the {@code valid} input set, is held both
+ * in an {@link IdentifierSet} and in a {@code HashSet<String>}. The {@code valid} inputs are all
+ * listed; the {@code invalid} and {@code malformed} ones are not, so they exercise the Bloom
+ * filter rejecting absent identifiers.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierSetBenchmark {
+
+    private static final int LIST_SIZE = 1_000_000;
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] partiteIVA;
+    private IdentifierSet identifierSet;
+    private Set<String> hashSet;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        partiteIVA = BenchmarkInputs.partiteIVA(inputSet);
+        List<String> list = new ArrayList<>(LIST_SIZE);
+        for (String partitaIVA : BenchmarkInputs.partiteIVA(BenchmarkInputs.VALID)) {
+            list.add(partitaIVA.startsWith("IT") ? partitaIVA.substring(2) : partitaIVA);
+        }
+        for (int i = list.size(); i < LIST_SIZE; i++) {
+            list.add(PartitaIVAUtils.generatePartitaIVA(1 + i % 100, i));
+        }
+        identifierSet = IdentifierSet.of(IdentifierType.PARTITA_IVA, list);
+        hashSet = new HashSet<>(list);
+    }
+
+    @Benchmark
+    public boolean identifierSetContains() {
+        return identifierSet.contains(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode identifierSetCheck() {
+        return identifierSet.check(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        String partitaIVA = partiteIVA[index++ & 7];
+        if (partitaIVA == null) {
+            return false;
+        }
+        return hashSet.contains(partitaIVA.startsWith("IT") ? partitaIVA.substring(2) : partitaIVA);
+    }
+}
@@ -0,0 +1,73 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.IdentityCardUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link IdentityCardUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityCardUtilsBenchmark {
+
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDate EXPIRATION_DATE = LocalDate.of(2032, 1, 1);
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] serials;
+    private LocalDate issueDate;
+    private LocalDate expirationDate;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        serials = BenchmarkInputs.cieSerials(inputSet);
+        // Invalid and malformed sets also exercise the inverted and missing date branches
+        boolean valid = BenchmarkInputs.VALID.equals(inputSet);
+        issueDate = valid ? ISSUE_DATE : EXPIRATION_DATE;
+        expirationDate = valid ? EXPIRATION_DATE : ISSUE_DATE;
+    }
+
+    @Benchmark
+    public boolean isValidCIESerial() {
+        return IdentityCardUtils.isValidCIESerial(serials[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean isValidCIE() {
+        return IdentityCardUtils.isValidCIE(serials[index++ & 7], issueDate, expirationDate);
+    }
+
+    @Benchmark
+    public ValidationCode checkCIESerial() {
+        return IdentityCardUtils.checkCIESerial(serials[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkCIE() {
+        return IdentityCardUtils.checkCIE(serials[index++ & 7], issueDate, expirationDate);
+    }
+}
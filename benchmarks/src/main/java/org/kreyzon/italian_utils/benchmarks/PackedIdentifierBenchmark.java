@@ -0,0 +1,96 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.LongHashSet;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the packed Partita IVA codec and {@link LongHashSet}.
+ * <p>
+ * One million Partita IVA numbers, including the {@code valid} input set, are held both as packed
+ * keys in a {@link LongHashSet} and as Strings in a {@code HashSet<String>}. Packing validates the
+ * input, so {@code packedContains} does the work of a check and a lookup.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-09
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedIdentifierBenchmark {
+
+    private static final int SET_SIZE = 1_000_000;
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] partiteIVA;
+    private long[] packed;
+    private LongHashSet packedSet;
+    private Set<String> stringSet;
+    private char[] buffer;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        partiteIVA = BenchmarkInputs.partiteIVA(inputSet);
+        packed = new long[partiteIVA.length];
+        for (int i = 0; i < partiteIVA.length; i++) {
+            packed[i] = Math.max(0, PartitaIVAUtils.packPartitaIVA(partiteIVA[i]));
+        }
+        packedSet = new LongHashSet(SET_SIZE);
+        stringSet = new HashSet<>();
+        for (String partitaIVA : BenchmarkInputs.partiteIVA(BenchmarkInputs.VALID)) {
+            packedSet.add(PartitaIVAUtils.packPartitaIVA(partitaIVA));
+            stringSet.add(partitaIVA.startsWith("IT") ? partitaIVA.substring(2) : partitaIVA);
+        }
+        for (int i = stringSet.size(); i < SET_SIZE; i++) {
+            String partitaIVA = PartitaIVAUtils.generatePartitaIVA(1 + i % 100, i);
+            packedSet.add(PartitaIVAUtils.packPartitaIVA(partitaIVA));
+            stringSet.add(partitaIVA);
+        }
+        buffer = new char[11];
+    }
+
+    @Benchmark
+    public long packPartitaIVA() {
+        return PartitaIVAUtils.packPartitaIVA(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public int unpackPartitaIVA() {
+        return PartitaIVAUtils.unpackPartitaIVA(packed[index++ & 7], buffer, 0);
+    }
+
+    @Benchmark
+    public boolean packedContains() {
+        return packedSet.contains(PartitaIVAUtils.packPartitaIVA(partiteIVA[index++ & 7]));
+    }
+
+    @Benchmark
+    public boolean stringSetContains() {
+        String partitaIVA = partiteIVA[index++ & 7];
+        if (!PartitaIVAUtils.isValidPartitaIVA(partitaIVA)) {
+            return false;
+        }
+        return stringSet.contains(partitaIVA.startsWith("IT") ? partitaIVA.substring(2) : partitaIVA);
+    }
+}
@@ -0,0 +1,77 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link PartitaIVAUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitaIVAUtilsBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] partiteIVA;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        partiteIVA = BenchmarkInputs.partiteIVA(inputSet);
+    }
+
+    @Benchmark
+    public boolean isValidPartitaIVA() {
+        return PartitaIVAUtils.isValidPartitaIVA(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkPartitaIVA() {
+        return PartitaIVAUtils.checkPartitaIVA(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public int computeCheckDigit() {
+        try {
+            return PartitaIVAUtils.computeCheckDigit(partiteIVA[index++ & 7]);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public String generatePartitaIVA() {
+        int i = index++;
+        return PartitaIVAUtils.generatePartitaIVA(1 + (i & 63), i & 0x7FFFFF);
+    }
+
+    @Benchmark
+    public String formatPartitaIVA() {
+        try {
+            return PartitaIVAUtils.formatPartitaIVA(partiteIVA[index++ & 7]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
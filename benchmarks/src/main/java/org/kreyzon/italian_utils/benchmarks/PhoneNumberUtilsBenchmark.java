@@ -0,0 +1,74 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.PhoneNumberType;
+import org.kreyzon.italian_utils.PhoneNumberUtils;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput benchmarks for {@link PhoneNumberUtils}.
+ * <p>
+ * {@code regexBaseline} matches the same numbering plan with one alternation per number type,
+ * after stripping separators, as a regex-based validator would.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-13
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhoneNumberUtilsBenchmark {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[ ./()-]");
+    private static final Pattern PHONE_NUMBER = Pattern.compile(
+            "(?:\\+39|0039)?(?:3[1-9]\\d{7,8}|0[1-9]\\d{4,9}|800\\d{6}|803\\d{3}|84[08]\\d{6}|892\\d{3}|89[3459]\\d{6})");
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] phoneNumbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        phoneNumbers = BenchmarkInputs.phoneNumbers(inputSet);
+    }
+
+    @Benchmark
+    public boolean isValidPhoneNumber() {
+        return PhoneNumberUtils.isValidPhoneNumber(phoneNumbers[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode checkPhoneNumber() {
+        return PhoneNumberUtils.checkPhoneNumber(phoneNumbers[index++ & 7]);
+    }
+
+    @Benchmark
+    public PhoneNumberType classifyPhoneNumber() {
+        return PhoneNumberUtils.classifyPhoneNumber(phoneNumbers[index++ & 7]);
+    }
+
+    @Benchmark
+    public boolean regexBaseline() {
+        String phoneNumber = phoneNumbers[index++ & 7];
+        return phoneNumber != null && PHONE_NUMBER.matcher(SEPARATORS.matcher(phoneNumber).replaceAll("")).matches();
+    }
+}
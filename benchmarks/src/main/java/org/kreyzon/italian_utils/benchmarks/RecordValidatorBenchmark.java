@@ -0,0 +1,118 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.RecordField;
+import org.kreyzon.italian_utils.RecordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the streaming record validator over an anagrafica export, read from memory and from a
+ * memory-mapped file, on the calling thread and with the default parallelism.
+ * <p>
+ * Each record mixes valid, invalid and malformed fields. Scores are in milliseconds per export.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordValidatorBenchmark {
+
+    @Param({"100000"})
+    public int records;
+
+    private String export;
+    private Path file;
+    private RecordValidator sequential;
+    private RecordValidator parallel;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[][] columns = {
+                BenchmarkInputs.names(BenchmarkInputs.VALID), BenchmarkInputs.surnames(BenchmarkInputs.VALID),
+                BenchmarkInputs.genders(BenchmarkInputs.VALID), BenchmarkInputs.codiciFiscali(BenchmarkInputs.VALID),
+                BenchmarkInputs.partiteIVA(BenchmarkInputs.VALID), BenchmarkInputs.ibans(BenchmarkInputs.VALID),
+                BenchmarkInputs.cieSerials(BenchmarkInputs.VALID), BenchmarkInputs.hicSerials(BenchmarkInputs.VALID)
+        };
+        String[][] invalidColumns = {
+                BenchmarkInputs.names(BenchmarkInputs.INVALID), BenchmarkInputs.surnames(BenchmarkInputs.INVALID),
+                BenchmarkInputs.genders(BenchmarkInputs.INVALID), BenchmarkInputs.codiciFiscali(BenchmarkInputs.INVALID),
+                BenchmarkInputs.partiteIVA(BenchmarkInputs.INVALID), BenchmarkInputs.ibans(BenchmarkInputs.INVALID),
+                BenchmarkInputs.cieSerials(BenchmarkInputs.INVALID), BenchmarkInputs.hicSerials(BenchmarkInputs.INVALID)
+        };
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            for (int column = 0; column < columns.length; column++) {
+                if (column > 0) {
+                    builder.append(';');
+                }
+                String[] values = (i + column) % 10 == 0 ? invalidColumns[column] : columns[column];
+                builder.append(values[(i + column) & 7]);
+            }
+            builder.append('\n');
+        }
+        export = builder.toString();
+        file = Files.createTempFile("records", ".csv");
+        Files.writeString(file, export, StandardCharsets.UTF_8);
+
+        sequential = validator().parallelism(1).build();
+        parallel = validator().build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static RecordValidator.Builder validator() {
+        return RecordValidator.builder()
+                .column(0, RecordField.NAME)
+                .column(1, RecordField.SURNAME)
+                .column(2, RecordField.GENDER)
+                .column(3, RecordField.CODICE_FISCALE)
+                .column(4, RecordField.PARTITA_IVA)
+                .column(5, RecordField.IBAN)
+                .column(6, RecordField.CIE_SERIAL)
+                .column(7, RecordField.HIC_SERIAL)
+                .referenceDate(LocalDate.of(2024, 12, 2));
+    }
+
+    @Benchmark
+    public long readerSequential(Blackhole blackhole) throws IOException {
+        return sequential.validate(new StringReader(export), (line, invalidColumns) -> blackhole.consume(invalidColumns));
+    }
+
+    @Benchmark
+    public long readerParallel(Blackhole blackhole) throws IOException {
+        return parallel.validate(new StringReader(export), (line, invalidColumns) -> blackhole.consume(invalidColumns));
+    }
+
+    @Benchmark
+    public long mappedFileParallel(Blackhole blackhole) throws IOException {
+        return parallel.validate(file, StandardCharsets.UTF_8, (line, invalidColumns) -> blackhole.consume(invalidColumns));
+    }
+}
@@ -0,0 +1,84 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.AnagraficaUtils;
+import org.kreyzon.italian_utils.BankingUtils;
+import org.kreyzon.italian_utils.CodiceFiscaleUtils;
+import org.kreyzon.italian_utils.DrivingLicenseUtils;
+import org.kreyzon.italian_utils.HealthInsuranceCardUtils;
+import org.kreyzon.italian_utils.IdentityCardUtils;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.kreyzon.italian_utils.PhoneNumberUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-validation benchmarks: each fork is a fresh JVM that runs a single validation, so
+ * the score is the class loading and table initialization a validator pays on its first call.
+ * <p>
+ * Compare runs with and without an AppCDS archive recorded from
+ * {@link org.kreyzon.italian_utils.Warmup}, by appending {@code -jvmArgsAppend -XX:SharedArchiveFile=...}.
+ * {@link #warmup()} measures the warm-up of every validator at once.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-16
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @Benchmark
+    public boolean anagraficaUtils() {
+        return AnagraficaUtils.isValidName("Mario");
+    }
+
+    @Benchmark
+    public boolean bankingUtils() {
+        return BankingUtils.isValidIBAN("IT60X0542811101000000123456");
+    }
+
+    @Benchmark
+    public boolean codiceFiscaleUtils() {
+        return CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562S");
+    }
+
+    @Benchmark
+    public boolean partitaIVAUtils() {
+        return PartitaIVAUtils.isValidPartitaIVA("00123450066");
+    }
+
+    @Benchmark
+    public boolean identityCardUtils() {
+        return IdentityCardUtils.isValidCIESerial("CA12345AB");
+    }
+
+    @Benchmark
+    public boolean healthInsuranceCardUtils() {
+        return HealthInsuranceCardUtils.isValidHICSerial("80380000500012345678");
+    }
+
+    @Benchmark
+    public boolean drivingLicenseUtils() {
+        return DrivingLicenseUtils.isValidDrivingLicense("MI2512345X");
+    }
+
+    @Benchmark
+    public boolean phoneNumberUtils() {
+        return PhoneNumberUtils.isValidPhoneNumber("3331234567");
+    }
+
+    @Benchmark
+    public int warmup() {
+        return org.kreyzon.italian_utils.Warmup.run();
+    }
+}
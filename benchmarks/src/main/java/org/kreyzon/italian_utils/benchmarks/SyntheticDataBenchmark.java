@@ -0,0 +1,81 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.SyntheticDataGenerator;
+import org.kreyzon.italian_utils.SyntheticRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link SyntheticDataGenerator}, in records per microsecond.
+ * <p>
+ * {@code invalidRate} is the share of records with a corrupted field. The stream benchmarks
+ * generate blocks of {@value #BLOCK} records, sequentially and on every core; {@code writeLines}
+ * formats them as delimited lines into a writer that discards them.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyntheticDataBenchmark {
+
+    private static final int BLOCK = 100_000;
+
+    @Param({"0.0", "0.05"})
+    public double invalidRate;
+
+    private SyntheticDataGenerator generator;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        generator = SyntheticDataGenerator.builder()
+                .seed(42)
+                .invalidRate(invalidRate)
+                .referenceDate(LocalDate.of(2024, 12, 10))
+                .build();
+    }
+
+    @Benchmark
+    public SyntheticRecord record() {
+        return generator.record(index++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public long streamSequential() {
+        return generator.records(BLOCK).filter(SyntheticRecord::isValid).count();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public long streamParallel() {
+        return generator.records(BLOCK).parallel().filter(SyntheticRecord::isValid).count();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public long writeLines() throws IOException {
+        return generator.write(0, BLOCK, Writer.nullWriter(), ';');
+    }
+}
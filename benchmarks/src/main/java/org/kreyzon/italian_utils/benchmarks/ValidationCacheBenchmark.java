@@ -0,0 +1,90 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.BankingUtils;
+import org.kreyzon.italian_utils.PartitaIVAUtils;
+import org.kreyzon.italian_utils.ValidationCache;
+import org.kreyzon.italian_utils.ValidationCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link ValidationCache}.
+ * <p>
+ * {@code *Uncached} call the check methods directly. {@code *Cached} go through a cache that
+ * holds every input of the set, so they measure the hit path. {@code ibanCachedThrashing} cycles
+ * through 4096 distinct IBANs with a cache of 256 entries, so nearly every lookup misses and
+ * evicts, and measures the overhead of the cache when it does not help.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationCacheBenchmark {
+
+    @Param({BenchmarkInputs.VALID, BenchmarkInputs.INVALID, BenchmarkInputs.MALFORMED})
+    public String inputSet;
+
+    private String[] ibans;
+    private String[] partiteIVA;
+    private String[] distinctIbans;
+    private ValidationCache ibanCache;
+    private ValidationCache partitaIVACache;
+    private ValidationCache smallIbanCache;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ibans = BenchmarkInputs.ibans(inputSet);
+        partiteIVA = BenchmarkInputs.partiteIVA(inputSet);
+        ibanCache = ValidationCache.forIBAN(1024);
+        partitaIVACache = ValidationCache.forPartitaIVA(1024);
+        smallIbanCache = ValidationCache.forIBAN(256);
+        distinctIbans = new String[4096];
+        for (int i = 0; i < distinctIbans.length; i++) {
+            String bban = String.format("X0542811101%012d", i);
+            distinctIbans[i] = "IT" + BankingUtils.computeIbanCheckDigits("IT", bban) + bban;
+        }
+    }
+
+    @Benchmark
+    public ValidationCode ibanUncached() {
+        return BankingUtils.checkIBAN(ibans[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode ibanCached() {
+        return ibanCache.check(ibans[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode ibanCachedThrashing() {
+        return smallIbanCache.check(distinctIbans[index++ & 4095]);
+    }
+
+    @Benchmark
+    public ValidationCode partitaIVAUncached() {
+        return PartitaIVAUtils.checkPartitaIVA(partiteIVA[index++ & 7]);
+    }
+
+    @Benchmark
+    public ValidationCode partitaIVACached() {
+        return partitaIVACache.check(partiteIVA[index++ & 7]);
+    }
+}
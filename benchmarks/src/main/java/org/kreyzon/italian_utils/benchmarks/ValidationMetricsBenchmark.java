@@ -0,0 +1,79 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.CodiceFiscaleUtils;
+import org.kreyzon.italian_utils.JfrValidationListener;
+import org.kreyzon.italian_utils.ValidationMetrics;
+import org.kreyzon.italian_utils.ValidationStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for the cost of {@link ValidationMetrics} on Codice Fiscale validation, in
+ * operations per microsecond.
+ * <p>
+ * {@code disabled} runs in a JVM without {@value ValidationMetrics#PROPERTY}, so its result does not
+ * depend on {@code listener} and should match {@code CodiceFiscaleUtilsBenchmark.isValidCodiceFiscale}.
+ * {@code enabled} runs with the property set and the given listener installed: {@code none} measures
+ * the listener check alone, {@code statistics} adds timing and {@link ValidationStatistics}, and
+ * {@code jfr} adds timing and a disabled JFR event.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidationMetricsBenchmark {
+
+    @Param({"none", "statistics", "jfr"})
+    public String listener;
+
+    private String[] codiciFiscali;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        codiciFiscali = BenchmarkInputs.codiciFiscali(BenchmarkInputs.VALID);
+        if (ValidationMetrics.isEnabled()) {
+            ValidationMetrics.setListener(switch (listener) {
+                case "statistics" -> new ValidationStatistics();
+                case "jfr" -> new JfrValidationListener();
+                default -> null;
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (ValidationMetrics.isEnabled()) {
+            ValidationMetrics.setListener(null);
+        }
+    }
+
+    @Benchmark
+    @Fork(1)
+    public boolean disabled() {
+        return CodiceFiscaleUtils.isValidCodiceFiscale(codiciFiscali[index++ & 7]);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + ValidationMetrics.PROPERTY + "=true")
+    public boolean enabled() {
+        return CodiceFiscaleUtils.isValidCodiceFiscale(codiciFiscali[index++ & 7]);
+    }
+}
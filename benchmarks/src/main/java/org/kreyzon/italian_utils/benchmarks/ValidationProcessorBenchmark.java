@@ -0,0 +1,121 @@
+package org.kreyzon.italian_utils.benchmarks;
+
+import org.kreyzon.italian_utils.RecordField;
+import org.kreyzon.italian_utils.SyntheticDataGenerator;
+import org.kreyzon.italian_utils.SyntheticRecord;
+import org.kreyzon.italian_utils.ValidatedItem;
+import org.kreyzon.italian_utils.ValidationProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link ValidationProcessor}, in records per microsecond.
+ * <p>
+ * Each invocation publishes {@value #RECORDS} synthetic records with every {@link RecordField}
+ * mapped through a {@link SubmissionPublisher} and the processor, and waits for the last result.
+ * {@code batchSize} 1 shows the cost of handing single items to the executor; {@code parallelism}
+ * 1 shows the batching gain alone.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-12
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationProcessorBenchmark {
+
+    private static final int RECORDS = 100_000;
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 12, 12);
+
+    @Param({"1", "64", "256"})
+    public int batchSize;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private SyntheticRecord[] records;
+
+    @Setup
+    public void setUp() {
+        records = SyntheticDataGenerator.builder()
+                .seed(42)
+                .invalidRate(0.05)
+                .referenceDate(REFERENCE_DATE)
+                .build()
+                .records(RECORDS)
+                .toArray(SyntheticRecord[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long validate() {
+        ValidationProcessor.Builder<SyntheticRecord> builder = ValidationProcessor.<SyntheticRecord>builder()
+                .batchSize(batchSize)
+                .parallelism(parallelism)
+                .referenceDate(REFERENCE_DATE);
+        for (RecordField field : RecordField.values()) {
+            builder.field(field, record -> record.get(field));
+        }
+        ValidationProcessor<SyntheticRecord> processor = builder.build();
+        InvalidCounter counter = new InvalidCounter();
+        processor.subscribe(counter);
+        try (SubmissionPublisher<SyntheticRecord> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (SyntheticRecord record : records) {
+                publisher.submit(record);
+            }
+        }
+        return counter.done.join();
+    }
+
+    /**
+     * Counts invalid results with unbounded demand.
+     */
+    private static final class InvalidCounter implements Flow.Subscriber<ValidatedItem<SyntheticRecord>> {
+
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+        long invalid;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ValidatedItem<SyntheticRecord> item) {
+            if (!item.isValid()) {
+                invalid++;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(invalid);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.kreyzon.italian_utils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Age calculator bound to a fixed reference date, for checking many birthdates in a batch.
+ * <p>
+ * The reference date is read once, when the calculator is created, so every record of a batch is
+ * checked against the same day even if the batch runs across midnight. Ages are derived from
+ * primitive year, month and day values, and birthdates can be passed as epoch days
+ * ({@link LocalDate#toEpochDay()}), so no {@code Period} or {@code LocalDate} is created per record.
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-29
+ */
+public final class AgeCalculator {
+
+    private static final int ADULT_AGE = 18;
+
+    // Days from 0000-03-01 to 1970-01-01, and days in a 400-year era of the proleptic Gregorian calendar
+    private static final long DAYS_0000_TO_1970 = 719_468;
+    private static final long DAYS_PER_ERA = 146_097;
+
+    private final LocalDate referenceDate;
+    private final int referenceYear;
+    private final int referenceMonthDay;
+    private final long referenceEpochDay;
+
+    // Latest birth epoch day of a person who is at least 18 on the reference date
+    private final long adultThresholdEpochDay;
+
+    /**
+     * Creates a calculator for a reference date.
+     *
+     * @param referenceDate the date on which ages are calculated
+     */
+    public AgeCalculator(LocalDate referenceDate) {
+        this.referenceDate = Objects.requireNonNull(referenceDate, "referenceDate");
+        this.referenceYear = referenceDate.getYear();
+        this.referenceMonthDay = monthDay(referenceDate.getMonthValue(), referenceDate.getDayOfMonth());
+        this.referenceEpochDay = referenceDate.toEpochDay();
+        this.adultThresholdEpochDay = referenceDate.minusYears(ADULT_AGE).toEpochDay();
+    }
+
+    /**
+     * Creates a calculator for the current date of a clock.
+     *
+     * @param clock the clock providing the reference date
+     */
+    public AgeCalculator(Clock clock) {
+        this(LocalDate.now(clock));
+    }
+
+    /**
+     * Returns the date on which ages are calculated.
+     *
+     * @return the reference date
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    /**
+     * Calculates the age on the reference date, in completed years.
+     *
+     * @param birthdate the birthdate
+     * @return the age, negative if the birthdate is after the reference date
+     */
+    public int age(LocalDate birthdate) {
+        return age(birthdate.getYear(), monthDay(birthdate.getMonthValue(), birthdate.getDayOfMonth()));
+    }
+
+    /**
+     * Calculates the age on the reference date, in completed years.
+     *
+     * @param birthEpochDay the birthdate as a count of days since 1970-01-01
+     * @return the age, negative if the birthdate is after the reference date
+     */
+    public int age(long birthEpochDay) {
+        // Civil date from epoch day, after Howard Hinnant's days_from_civil inverse, with years starting in March
+        long days = birthEpochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(days, DAYS_PER_ERA);
+        int dayOfEra = (int) (days - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        int month = marchMonth < 10 ? marchMonth + 3 : marchMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return age(year, monthDay(month, day));
+    }
+
+    /**
+     * Checks whether a person is 18 or older on the reference date.
+     *
+     * @param birthdate the birthdate
+     * @return {@code true} if the age is 18 or over, {@code false} otherwise
+     */
+    public boolean isOver18(LocalDate birthdate) {
+        return birthdate.toEpochDay() <= adultThresholdEpochDay;
+    }
+
+    /**
+     * Checks whether a person is 18 or older on the reference date.
+     *
+     * @param birthEpochDay the birthdate as a count of days since 1970-01-01
+     * @return {@code true} if the age is 18 or over, {@code false} otherwise
+     */
+    public boolean isOver18(long birthEpochDay) {
+        return birthEpochDay <= adultThresholdEpochDay;
+    }
+
+    /**
+     * Checks whether a date is strictly after the reference date, as for a document still valid today.
+     *
+     * @param epochDay the date as a count of days since 1970-01-01
+     * @return {@code true} if the date is after the reference date, {@code false} otherwise
+     */
+    public boolean isAfterReferenceDate(long epochDay) {
+        return epochDay > referenceEpochDay;
+    }
+
+    @Override
+    public String toString() {
+        return "AgeCalculator[referenceDate=" + referenceDate + "]";
+    }
+
+    private int age(int birthYear, int birthMonthDay) {
+        return age(birthYear, birthMonthDay, referenceYear, referenceMonthDay);
+    }
+
+    /**
+     * Calculates the completed years between two dates, with the same result as
+     * {@code Period.between(birth, reference).getYears()}.
+     */
+    static int age(int birthYear, int birthMonth, int birthDay, int referenceYear, int referenceMonth, int referenceDay) {
+        return age(birthYear, monthDay(birthMonth, birthDay), referenceYear, monthDay(referenceMonth, referenceDay));
+    }
+
+    private static int age(int birthYear, int birthMonthDay, int referenceYear, int referenceMonthDay) {
+        if (birthYear < referenceYear || (birthYear == referenceYear && birthMonthDay <= referenceMonthDay)) {
+            return referenceYear - birthYear - (referenceMonthDay < birthMonthDay ? 1 : 0);
+        }
+        // Period truncates towards zero, so a future birthdate counts completed years backwards
+        return -(birthYear - referenceYear - (birthMonthDay < referenceMonthDay ? 1 : 0));
+    }
+
+    // Month and day packed so that comparing the values compares the dates within a year
+    private static int monthDay(int month, int day) {
+        return month << 5 | day;
+    }
+}
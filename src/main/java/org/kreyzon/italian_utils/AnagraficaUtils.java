@@ -1,7 +1,9 @@
 package org.kreyzon.italian_utils;
 
+import java.io.IOException;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.Objects;
 
 /**
  * Utility class for validating Italian personal data such as names and surnames.
@@ -22,6 +24,13 @@ public class AnagraficaUtils {
         throw new IllegalStateException("Utility class");
     }
 
+    private static final int ISO_DATE_LENGTH = 10;
+
+    /**
+     * Maximum number of sounds in a phonetic key; longer names are truncated.
+     */
+    public static final int PHONETIC_KEY_LENGTH = 8;
+
 
     /**
      * Validates a name, allowing only letters and spaces.
@@ -31,7 +40,39 @@ public class AnagraficaUtils {
      * @return {@code true} if the name contains only letters and spaces, {@code false} otherwise
      */
     public static boolean isValidName(String name) {
-        return name != null && name.matches("[A-Za-z ]+");
+        return isValidName(name, NamePolicy.ASCII);
+    }
+
+    /**
+     * Validates a name under a character policy.
+     *
+     * @param name   the name to validate
+     * @param policy the character policy, {@link NamePolicy#ASCII} for letters and spaces only
+     * @return {@code true} if the name is valid under the policy, {@code false} otherwise
+     */
+    public static boolean isValidName(CharSequence name, NamePolicy policy) {
+        if (!ValidationMetrics.active()) {
+            return validateName(name, policy);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.NAME, name, 0, validateName(name, policy), start);
+    }
+
+    private static boolean validateName(CharSequence name, NamePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        if (name == null || name.length() == 0) {
+            return false;
+        }
+        if (policy == NamePolicy.ITALIAN) {
+            return isItalianName(name);
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != ' ' && !isAsciiLetter(c)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -41,7 +82,39 @@ public class AnagraficaUtils {
      * @return {@code true} if the surname contains only letters, {@code false} otherwise
      */
     public static boolean isValidSurname(String surname) {
-        return surname != null && surname.matches("[A-Za-z]+");
+        return isValidSurname(surname, NamePolicy.ASCII);
+    }
+
+    /**
+     * Validates a surname under a character policy. Use {@link NamePolicy#ITALIAN} to accept
+     * accented letters, apostrophes and compound surnames such as De Luca.
+     *
+     * @param surname the surname to validate
+     * @param policy  the character policy, {@link NamePolicy#ASCII} for letters only
+     * @return {@code true} if the surname is valid under the policy, {@code false} otherwise
+     */
+    public static boolean isValidSurname(CharSequence surname, NamePolicy policy) {
+        if (!ValidationMetrics.active()) {
+            return validateSurname(surname, policy);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.SURNAME, surname, 0, validateSurname(surname, policy), start);
+    }
+
+    private static boolean validateSurname(CharSequence surname, NamePolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        if (surname == null || surname.length() == 0) {
+            return false;
+        }
+        if (policy == NamePolicy.ITALIAN) {
+            return isItalianName(surname);
+        }
+        for (int i = 0; i < surname.length(); i++) {
+            if (!isAsciiLetter(surname.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -51,7 +124,7 @@ public class AnagraficaUtils {
      * @return {@code true} if the title is a recognized Italian honorific, {@code false} otherwise
      */
     public static boolean isValidTitle(String title) {
-        return title != null && title.matches("(Sig\\.|Sig\\.ra|Dott\\.)");
+        return "Sig.".equals(title) || "Sig.ra".equals(title) || "Dott.".equals(title);
     }
 
     /**
@@ -61,7 +134,63 @@ public class AnagraficaUtils {
      * @return {@code true} if gender is "M" or "F", {@code false} otherwise
      */
     public static boolean isValidGender(String gender) {
-        return "M".equalsIgnoreCase(gender) || "F".equalsIgnoreCase(gender);
+        return isValidGender((CharSequence) gender);
+    }
+
+    /**
+     * Validates gender based on Italian standards (M for male, F for female), in either case.
+     *
+     * @param gender the gender to validate
+     * @return {@code true} if gender is "M" or "F", {@code false} otherwise
+     */
+    public static boolean isValidGender(CharSequence gender) {
+        if (!ValidationMetrics.active()) {
+            return validateGender(gender);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.GENDER, gender, 1, validateGender(gender), start);
+    }
+
+    private static boolean validateGender(CharSequence gender) {
+        if (gender == null || gender.length() != 1) {
+            return false;
+        }
+        char c = gender.charAt(0);
+        return c == 'M' || c == 'F' || c == 'm' || c == 'f';
+    }
+
+    /**
+     * Validates a birthdate written as an ISO-8601 date ({@code yyyy-MM-dd}): it must be an existing
+     * calendar date and must not be after the reference date. The text is checked without parsing it
+     * into a {@link LocalDate}.
+     *
+     * @param birthdate     the birthdate to validate, such as {@code 1990-01-31}
+     * @param referenceDate the latest acceptable birthdate, usually today
+     * @return {@code true} if the birthdate is a valid date not after the reference date, {@code false} otherwise
+     */
+    public static boolean isValidBirthdate(CharSequence birthdate, LocalDate referenceDate) {
+        if (!ValidationMetrics.active()) {
+            return validateBirthdate(birthdate, referenceDate);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.BIRTHDATE, birthdate, ISO_DATE_LENGTH, validateBirthdate(birthdate, referenceDate), start);
+    }
+
+    private static boolean validateBirthdate(CharSequence birthdate, LocalDate referenceDate) {
+        if (birthdate == null || birthdate.length() != ISO_DATE_LENGTH
+                || birthdate.charAt(4) != '-' || birthdate.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(birthdate, 0, 4);
+        int month = digits(birthdate, 5, 7);
+        int day = digits(birthdate, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return false;
+        }
+        int referenceYear = referenceDate.getYear();
+        return year < referenceYear || (year == referenceYear
+                && (month < referenceDate.getMonthValue()
+                || (month == referenceDate.getMonthValue() && day <= referenceDate.getDayOfMonth())));
     }
 
     /**
@@ -71,7 +200,32 @@ public class AnagraficaUtils {
      * @return the calculated age as an integer
      */
     public static int calculateAge(LocalDate birthdate) {
-        return Period.between(birthdate, LocalDate.now()).getYears();
+        return calculateAge(birthdate, LocalDate.now());
+    }
+
+    /**
+     * Calculates age based on the provided birthdate, using the current date of the given clock.
+     *
+     * @param birthdate the birthdate in LocalDate format
+     * @param clock     the clock providing the current date
+     * @return the calculated age as an integer
+     */
+    public static int calculateAge(LocalDate birthdate, Clock clock) {
+        return calculateAge(birthdate, LocalDate.now(clock));
+    }
+
+    /**
+     * Calculates the age on a reference date, in completed years.
+     * The result is the same as {@code Period.between(birthdate, referenceDate).getYears()},
+     * negative if the birthdate is after the reference date.
+     *
+     * @param birthdate     the birthdate in LocalDate format
+     * @param referenceDate the date on which the age is calculated
+     * @return the calculated age as an integer
+     */
+    public static int calculateAge(LocalDate birthdate, LocalDate referenceDate) {
+        return AgeCalculator.age(birthdate.getYear(), birthdate.getMonthValue(), birthdate.getDayOfMonth(),
+                referenceDate.getYear(), referenceDate.getMonthValue(), referenceDate.getDayOfMonth());
     }
 
     /**
@@ -83,8 +237,82 @@ public class AnagraficaUtils {
      * @return the formatted full name
      */
     public static String formatFullName(String title, String name, String surname) {
-        String fullName = (title != null ? title + " " : "") + name + " " + surname;
-        return fullName.trim();
+        return formatFullName(title, name, surname, new StringBuilder(fullNameLength(title, name, surname))).toString();
+    }
+
+    /**
+     * Appends a full name with title, name, and surname in proper Italian order to a builder,
+     * without intermediate Strings. The result is the same as {@link #formatFullName(String, String, String)}.
+     *
+     * @param title the title (optional, can be null)
+     * @param name the name
+     * @param surname the surname
+     * @param out the builder to append to
+     * @return {@code out}
+     */
+    public static StringBuilder formatFullName(CharSequence title, CharSequence name, CharSequence surname, StringBuilder out) {
+        int start = out.length();
+        out.ensureCapacity(start + fullNameLength(title, name, surname));
+        if (title != null) {
+            out.append(title).append(' ');
+        }
+        out.append(name).append(' ').append(surname);
+        // Trim in place, as String#trim would
+        int end = out.length();
+        while (end > start && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        out.setLength(end);
+        int from = start;
+        while (from < end && out.charAt(from) <= ' ') {
+            from++;
+        }
+        return from > start ? out.delete(start, from) : out;
+    }
+
+    /**
+     * Appends a full name with title, name, and surname in proper Italian order to any
+     * {@link Appendable}, such as a {@link java.io.Writer}.
+     *
+     * @param title the title (optional, can be null)
+     * @param name the name
+     * @param surname the surname
+     * @param out the destination
+     * @return {@code out}
+     * @throws IOException if {@code out} fails
+     */
+    public static Appendable formatFullName(CharSequence title, CharSequence name, CharSequence surname, Appendable out)
+            throws IOException {
+        int length = fullNameLength(title, name, surname);
+        int from = fullNameStart(title, name, surname, length);
+        int to = fullNameEnd(title, name, surname, from, length);
+        for (int i = from; i < to; i++) {
+            out.append(fullNameCharAt(title, name, surname, i));
+        }
+        return out;
+    }
+
+    /**
+     * Writes a full name with title, name, and surname in proper Italian order into an array,
+     * which needs room for at most the lengths of the three parts plus two spaces.
+     *
+     * @param title the title (optional, can be null)
+     * @param name the name
+     * @param surname the surname
+     * @param out the destination array
+     * @param offset the index of the first character to write
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the full name does not fit in {@code out} at {@code offset}
+     */
+    public static int formatFullName(CharSequence title, CharSequence name, CharSequence surname, char[] out, int offset) {
+        int length = fullNameLength(title, name, surname);
+        int from = fullNameStart(title, name, surname, length);
+        int to = fullNameEnd(title, name, surname, from, length);
+        Objects.checkFromIndexSize(offset, to - from, out.length);
+        for (int i = from; i < to; i++) {
+            out[offset + i - from] = fullNameCharAt(title, name, surname, i);
+        }
+        return to - from;
     }
 
     /**
@@ -95,9 +323,70 @@ public class AnagraficaUtils {
      * @return the initials in uppercase
      */
     public static String getInitials(String name, String surname) {
-        String nameInitial = name != null && !name.isEmpty() ? name.substring(0, 1).toUpperCase() : "";
-        String surnameInitial = surname != null && !surname.isEmpty() ? surname.substring(0, 1).toUpperCase() : "";
-        return nameInitial + surnameInitial;
+        return getInitials(name, surname, new StringBuilder(2)).toString();
+    }
+
+    /**
+     * Appends the initials of the provided name and surname, in uppercase, to a builder.
+     * A null or empty name or surname contributes no initial.
+     *
+     * @param name the name
+     * @param surname the surname
+     * @param out the builder to append to
+     * @return {@code out}
+     */
+    public static StringBuilder getInitials(CharSequence name, CharSequence surname, StringBuilder out) {
+        if (name != null && !name.isEmpty()) {
+            out.append(Character.toUpperCase(name.charAt(0)));
+        }
+        if (surname != null && !surname.isEmpty()) {
+            out.append(Character.toUpperCase(surname.charAt(0)));
+        }
+        return out;
+    }
+
+    /**
+     * Appends the initials of the provided name and surname, in uppercase, to any {@link Appendable}.
+     *
+     * @param name the name
+     * @param surname the surname
+     * @param out the destination
+     * @return {@code out}
+     * @throws IOException if {@code out} fails
+     */
+    public static Appendable getInitials(CharSequence name, CharSequence surname, Appendable out) throws IOException {
+        if (name != null && !name.isEmpty()) {
+            out.append(Character.toUpperCase(name.charAt(0)));
+        }
+        if (surname != null && !surname.isEmpty()) {
+            out.append(Character.toUpperCase(surname.charAt(0)));
+        }
+        return out;
+    }
+
+    /**
+     * Writes the initials of the provided name and surname, in uppercase, into an array.
+     *
+     * @param name the name
+     * @param surname the surname
+     * @param out the destination array, with room for up to two characters
+     * @param offset the index of the first character to write
+     * @return the number of characters written, from 0 to 2
+     * @throws IndexOutOfBoundsException if the initials do not fit in {@code out} at {@code offset}
+     */
+    public static int getInitials(CharSequence name, CharSequence surname, char[] out, int offset) {
+        boolean hasName = name != null && !name.isEmpty();
+        boolean hasSurname = surname != null && !surname.isEmpty();
+        int written = (hasName ? 1 : 0) + (hasSurname ? 1 : 0);
+        Objects.checkFromIndexSize(offset, written, out.length);
+        int position = offset;
+        if (hasName) {
+            out[position++] = Character.toUpperCase(name.charAt(0));
+        }
+        if (hasSurname) {
+            out[position] = Character.toUpperCase(surname.charAt(0));
+        }
+        return written;
     }
 
     /**
@@ -108,7 +397,160 @@ public class AnagraficaUtils {
      */
     public static String normalizeName(String input) {
         if (input == null || input.isEmpty()) return input;
-        return input.substring(0, 1).toUpperCase() + input.substring(1).toLowerCase();
+        return normalizeName(input, new StringBuilder(input.length())).toString();
+    }
+
+    /**
+     * Appends the name or surname to a builder with the first letter capitalized and the rest
+     * lowercase. Case is mapped one character at a time, independently of the default locale,
+     * so the output has the same length as the input. A null input appends nothing.
+     *
+     * @param input the name or surname to normalize
+     * @param out the builder to append to
+     * @return {@code out}
+     */
+    public static StringBuilder normalizeName(CharSequence input, StringBuilder out) {
+        if (input == null) {
+            return out;
+        }
+        out.ensureCapacity(out.length() + input.length());
+        for (int i = 0; i < input.length(); i++) {
+            out.append(normalizedCharAt(input, i));
+        }
+        return out;
+    }
+
+    /**
+     * Appends the name or surname to any {@link Appendable} with the first letter capitalized and
+     * the rest lowercase. A null input appends nothing.
+     *
+     * @param input the name or surname to normalize
+     * @param out the destination
+     * @return {@code out}
+     * @throws IOException if {@code out} fails
+     */
+    public static Appendable normalizeName(CharSequence input, Appendable out) throws IOException {
+        if (input == null) {
+            return out;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            out.append(normalizedCharAt(input, i));
+        }
+        return out;
+    }
+
+    /**
+     * Writes the name or surname into an array with the first letter capitalized and the rest
+     * lowercase. A null input writes nothing.
+     *
+     * @param input the name or surname to normalize
+     * @param out the destination array, with room for {@code input.length()} characters
+     * @param offset the index of the first character to write
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the name does not fit in {@code out} at {@code offset}
+     */
+    public static int normalizeName(CharSequence input, char[] out, int offset) {
+        if (input == null) {
+            return 0;
+        }
+        Objects.checkFromIndexSize(offset, input.length(), out.length);
+        for (int i = 0; i < input.length(); i++) {
+            out[offset + i] = normalizedCharAt(input, i);
+        }
+        return input.length();
+    }
+
+    /**
+     * Computes the phonetic key of a name or surname, a Soundex-like encoding tuned for Italian
+     * spelling, so that spellings of the same sound share a key. Case, accents, spaces and
+     * apostrophes are ignored, so particles join the name ("De Luca" and "Deluca", "D'Angelo" and
+     * "Dangelo"), and double letters count once ("Rossi" and "Rosi"). Vowels are dropped, except
+     * that a leading vowel is written as {@code A}; C and G are soft before E and I ({@code C},
+     * {@code J}) and hard otherwise or before H ({@code K}, {@code G}), as are Q and K; GN reads as
+     * N, GL before I as L, SC before E and I as {@code X}, PH as F, X as S and W as V; H is silent.
+     *
+     * @param input the name or surname
+     * @return the key, at most {@link #PHONETIC_KEY_LENGTH} uppercase letters, empty if the input has
+     *         no sound, or {@code null} if the input is {@code null}
+     */
+    public static String getPhoneticKey(CharSequence input) {
+        if (input == null) {
+            return null;
+        }
+        char[] key = new char[PHONETIC_KEY_LENGTH];
+        return new String(key, 0, getPhoneticKey(input, key, 0));
+    }
+
+    /**
+     * Writes the phonetic key of a name or surname, as computed by {@link #getPhoneticKey(CharSequence)},
+     * into an array. A null input writes nothing.
+     *
+     * @param input the name or surname
+     * @param out the destination array, with room for {@link #PHONETIC_KEY_LENGTH} characters
+     * @param offset the index of the first character to write
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if {@link #PHONETIC_KEY_LENGTH} characters do not fit in {@code out} at {@code offset}
+     */
+    public static int getPhoneticKey(CharSequence input, char[] out, int offset) {
+        Objects.checkFromIndexSize(offset, PHONETIC_KEY_LENGTH, out.length);
+        if (input == null) {
+            return 0;
+        }
+        int length = input.length();
+        int written = 0;
+        char last = 0;
+        int i = nextLetter(input, 0);
+        while (i < length && written < PHONETIC_KEY_LENGTH) {
+            char c = letterAt(input, i);
+            int j = nextLetter(input, i + 1);
+            char next = j < length ? letterAt(input, j) : 0;
+            char code;
+            if (next == c) {
+                // Double letters count once: the second one is read with its own context
+                code = 0;
+            } else {
+                switch (c) {
+                    case 'A', 'E', 'I', 'O', 'U', 'J', 'Y' -> code = written == 0 ? 'A' : 0;
+                    case 'C' -> code = isSoftening(next) ? 'C' : 'K';
+                    case 'G' -> {
+                        if (next == 'N') {
+                            code = 'N';
+                            j = nextLetter(input, j + 1);
+                        } else if (next == 'L' && letterAfter(input, j) == 'I') {
+                            code = 'L';
+                            j = nextLetter(input, j + 1);
+                        } else {
+                            code = isSoftening(next) ? 'J' : 'G';
+                        }
+                    }
+                    case 'S' -> {
+                        if (next == 'C' && isSoftening(letterAfter(input, j))) {
+                            code = 'X';
+                            j = nextLetter(input, j + 1);
+                        } else {
+                            code = 'S';
+                        }
+                    }
+                    case 'P' -> code = next == 'H' ? 'F' : 'P';
+                    case 'Q', 'K' -> code = 'K';
+                    case 'X' -> code = 'S';
+                    case 'W' -> code = 'V';
+                    case 'B', 'D', 'F', 'L', 'M', 'N', 'R', 'T', 'V', 'Z' -> code = c;
+                    default -> code = 0;
+                }
+            }
+            if (code != 0 && code != last) {
+                out[offset + written++] = code;
+            }
+            // Equal sounds merge unless a vowel parts them, so "Acquaviva" has one K but "Nani" two N
+            if (code != 0) {
+                last = code == 'A' ? 0 : code;
+            } else if (next != c && isVowel(c)) {
+                last = 0;
+            }
+            i = j;
+        }
+        return written;
     }
 
     /**
@@ -130,6 +572,164 @@ public class AnagraficaUtils {
      * @return {@code true} if the age is 18 or over, {@code false} otherwise
      */
     public static boolean isOver18(LocalDate birthdate) {
-        return Period.between(birthdate, LocalDate.now()).getYears() >= 18;
+        return calculateAge(birthdate) >= 18;
+    }
+
+    /**
+     * Validates that the age is over 18, using the current date of the given clock.
+     *
+     * @param birthdate the birthdate in LocalDate format
+     * @param clock     the clock providing the current date
+     * @return {@code true} if the age is 18 or over, {@code false} otherwise
+     */
+    public static boolean isOver18(LocalDate birthdate, Clock clock) {
+        return calculateAge(birthdate, clock) >= 18;
+    }
+
+    /**
+     * Validates that the age is over 18 on a reference date.
+     *
+     * @param birthdate     the birthdate in LocalDate format
+     * @param referenceDate the date on which the age is checked
+     * @return {@code true} if the age is 18 or over, {@code false} otherwise
+     */
+    public static boolean isOver18(LocalDate birthdate, LocalDate referenceDate) {
+        return calculateAge(birthdate, referenceDate) >= 18;
+    }
+
+    /**
+     * Scans a name under the {@link NamePolicy#ITALIAN} rules in a single pass: words of Latin
+     * letters and combining accents, joined by exactly one space, hyphen or apostrophe.
+     */
+    private static boolean isItalianName(CharSequence value) {
+        boolean afterLetter = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isAsciiLetter(c) || (c >= '\u00C0' && isLatinLetter(c))) {
+                afterLetter = true;
+            } else if (afterLetter && Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Combining accent of a decomposed letter, such as the NFD form of "ò"
+                continue;
+            } else if (afterLetter && isNameSeparator(c)) {
+                afterLetter = false;
+            } else {
+                return false;
+            }
+        }
+        return afterLetter;
+    }
+
+    /**
+     * Parses a run of ASCII digits.
+     *
+     * @return the value, or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    // Folds case and accents, so that only letters A-Z are encoded
+    private static char letterAt(CharSequence input, int index) {
+        return NameFolding.fold(input.charAt(index));
+    }
+
+    private static int nextLetter(CharSequence input, int from) {
+        while (from < input.length() && !Character.isLetter(input.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static char letterAfter(CharSequence input, int index) {
+        int next = index < input.length() ? nextLetter(input, index + 1) : index;
+        return next < input.length() ? letterAt(input, next) : 0;
+    }
+
+    private static boolean isSoftening(char c) {
+        return c == 'E' || c == 'I';
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U' || c == 'J' || c == 'Y';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isLatinLetter(char c) {
+        return Character.isLetter(c) && Character.UnicodeScript.of(c) == Character.UnicodeScript.LATIN;
+    }
+
+    private static boolean isNameSeparator(char c) {
+        return c == ' ' || c == '-' || c == '\'' || c == '\u2019';
+    }
+
+    private static char normalizedCharAt(CharSequence input, int index) {
+        char c = input.charAt(index);
+        return index == 0 ? Character.toUpperCase(c) : Character.toLowerCase(c);
+    }
+
+    // A full name is read as the concatenation of the title and a space (only when there is a title),
+    // the name, a space and the surname, trimmed as by String#trim. A null name or surname reads as
+    // "null", as in string concatenation.
+    private static int fullNameLength(CharSequence title, CharSequence name, CharSequence surname) {
+        return (title != null ? title.length() + 1 : 0) + orNull(name).length() + 1 + orNull(surname).length();
+    }
+
+    private static char fullNameCharAt(CharSequence title, CharSequence name, CharSequence surname, int index) {
+        if (title != null) {
+            if (index < title.length()) {
+                return title.charAt(index);
+            }
+            if (index == title.length()) {
+                return ' ';
+            }
+            index -= title.length() + 1;
+        }
+        CharSequence first = orNull(name);
+        if (index < first.length()) {
+            return first.charAt(index);
+        }
+        if (index == first.length()) {
+            return ' ';
+        }
+        return orNull(surname).charAt(index - first.length() - 1);
+    }
+
+    private static int fullNameStart(CharSequence title, CharSequence name, CharSequence surname, int length) {
+        int from = 0;
+        while (from < length && fullNameCharAt(title, name, surname, from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int fullNameEnd(CharSequence title, CharSequence name, CharSequence surname, int from, int length) {
+        int to = length;
+        while (to > from && fullNameCharAt(title, name, surname, to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static CharSequence orNull(CharSequence value) {
+        return value != null ? value : "null";
     }
-}
\ No newline at end of file
+}
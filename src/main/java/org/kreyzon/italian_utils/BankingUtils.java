@@ -1,7 +1,11 @@
 package org.kreyzon.italian_utils;
 
-import java.math.BigInteger;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class for validating and formatting banking information such as IBAN and SWIFT codes.
@@ -18,9 +22,19 @@ public class BankingUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    // Regular expression patterns for IBAN and SWIFT/BIC codes
-    private static final Pattern IBAN_PATTERN = Pattern.compile("^[A-Z]{2}\\d{2}[A-Z0-9]{1,30}$");
-    private static final Pattern SWIFT_PATTERN = Pattern.compile("^[A-Z]{4}[A-Z]{2}[A-Z0-9]{2}([A-Z0-9]{3})?$");
+    // Shortest input with a country code, check digits and at least one BBAN character
+    private static final int IBAN_MIN_LENGTH = 5;
+
+    // Reduce the modulo 97 accumulator before another two-digit step could overflow a long
+    private static final long MOD97_REDUCTION_THRESHOLD = 1_000_000_000_000_000L;
+
+    // Characters per space-separated block of a formatted IBAN
+    private static final int IBAN_GROUP_LENGTH = 4;
+
+    // SWIFT/BIC lengths without and with the branch code, and the bank and country letters they start with
+    private static final int SWIFT_LENGTH = 8;
+    private static final int SWIFT_BRANCH_LENGTH = 11;
+    private static final int SWIFT_LETTERS_LENGTH = 6;
 
     /**
      * Validates an IBAN based on length, structure, and checksum.
@@ -29,25 +43,319 @@ public class BankingUtils {
      * @return {@code true} if the IBAN is valid, {@code false} otherwise
      */
     public static boolean isValidIBAN(String iban) {
-        if (iban == null || !IBAN_PATTERN.matcher(iban).matches()) {
-            return false;
+        return isValidIBAN((CharSequence) iban);
+    }
+
+    /**
+     * Validates an IBAN based on length, structure, and checksum.
+     * <p>
+     * The country code selects the expected length and BBAN layout from the IBAN registry, so IBANs
+     * of unknown countries or of the wrong length are rejected in constant time, before any checksum
+     * arithmetic.
+     * </p>
+     *
+     * @param iban the IBAN to validate, without spaces
+     * @return {@code true} if the IBAN is valid, {@code false} otherwise
+     */
+    public static boolean isValidIBAN(CharSequence iban) {
+        return checkIBAN(iban) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates an IBAN stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the IBAN
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the IBAN is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidIBAN(byte[] bytes, int offset, int length) {
+        return isValidIBAN(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates an IBAN stored as ASCII bytes in a range of a buffer, in place. The index is absolute,
+     * as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the IBAN
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the IBAN is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidIBAN(ByteBuffer buffer, int index, int length) {
+        return isValidIBAN(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates an IBAN stored as ASCII bytes in a range of a memory segment, such as a mapped file, in
+     * place.
+     *
+     * @param segment the segment holding the IBAN
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the IBAN is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidIBAN(MemorySegment segment, long offset, int length) {
+        return isValidIBAN(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks an IBAN as {@link #isValidIBAN(CharSequence)} does and returns the reason it is invalid,
+     * without throwing and without allocating.
+     *
+     * @param iban the IBAN to check, without spaces
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH},
+     *         {@link ValidationCode#BAD_COUNTRY}, {@link ValidationCode#BAD_CHARSET} or {@link ValidationCode#BAD_CHECKSUM}
+     */
+    public static ValidationCode checkIBAN(CharSequence iban) {
+        if (!ValidationMetrics.active()) {
+            return doCheckIBAN(iban);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.IBAN, doCheckIBAN(iban), start);
+    }
+
+    private static ValidationCode doCheckIBAN(CharSequence iban) {
+        ValidationCode structure = IbanRegistry.check(iban);
+        if (structure != ValidationCode.VALID) {
+            return structure;
+        }
+
+        // Validate with modulo 97
+        return ibanChecksum(iban) == 1 ? ValidationCode.VALID : ValidationCode.BAD_CHECKSUM;
+    }
+
+    /**
+     * Checks a batch of IBANs and stores the {@link ValidationCode} ordinal of each record.
+     *
+     * @param in  the IBANs to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid IBANs
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkIBANs(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, BankingUtils::checkIBAN);
+    }
+
+    /**
+     * Validates a batch of IBANs and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidIBAN(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the IBANs to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid IBANs
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateIBANs(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, BankingUtils::isValidIBAN);
+    }
+
+    /**
+     * Validates a batch of IBANs, splitting large batches over a fork/join pool.
+     *
+     * @param in   the IBANs to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid IBANs
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateIBANs(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, BankingUtils::isValidIBAN, pool);
+    }
+
+    /**
+     * Validates a batch of IBANs and returns the results as a bit set.
+     *
+     * @param in the IBANs to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validateIBANs(CharSequence[] in) {
+        return BatchValidation.validate(in, BankingUtils::isValidIBAN);
+    }
+
+    /**
+     * Returns the IBAN length used by a country.
+     *
+     * @param countryCode the two-letter ISO 3166 country code (e.g., "IT")
+     * @return the IBAN length (e.g., 27 for Italy), or 0 if the country does not use IBANs
+     */
+    public static int getIbanLength(CharSequence countryCode) {
+        if (countryCode == null || countryCode.length() != 2) {
+            return 0;
+        }
+        return IbanRegistry.length(IbanRegistry.countryIndex(countryCode.charAt(0), countryCode.charAt(1)));
+    }
+
+    /**
+     * Parses a valid Italian IBAN into its CIN, ABI, CAB and account number components.
+     * <p>
+     * The returned view shares the characters of the given sequence, no copy is made.
+     * </p>
+     *
+     * @param iban the Italian IBAN to parse, without spaces
+     * @return a view exposing the IBAN components
+     * @throws IllegalArgumentException if the IBAN is not a valid Italian IBAN
+     */
+    public static ItalianIBAN parseItalianIBAN(CharSequence iban) {
+        if (!isValidIBAN(iban) || iban.charAt(0) != 'I' || iban.charAt(1) != 'T') {
+            throw new IllegalArgumentException("Invalid Italian IBAN");
+        }
+        return new ItalianIBAN(iban);
+    }
+
+    /**
+     * Computes the ISO 13616 modulo 97 remainder of an IBAN.
+     * <p>
+     * The first four characters are moved to the end and every letter is expanded to two digits
+     * (A = 10 ... Z = 35), exactly as the standard describes, but the remainder is accumulated
+     * while walking the characters once, so no intermediate string or {@link java.math.BigInteger}
+     * is created. Letters are accepted in either case. A valid IBAN has a remainder of 1.
+     * </p>
+     *
+     * @param iban the IBAN to process, without spaces
+     * @return the remainder between 0 and 96, or -1 if the input is null, shorter than 5 characters
+     *         or contains characters other than letters and digits
+     */
+    public static int ibanChecksum(CharSequence iban) {
+        if (iban == null || iban.length() < IBAN_MIN_LENGTH) {
+            return -1;
+        }
+
+        long remainder;
+        if (iban instanceof CharSlice slice) {
+            remainder = mod97(slice, 4, iban.length());
+        } else if (iban instanceof ByteSlice slice && slice.array() != null) {
+            remainder = mod97(slice, 4, iban.length());
+        } else {
+            remainder = mod97(0, iban, 4, iban.length());
+        }
+        if (remainder >= 0) {
+            remainder = mod97(remainder, iban, 0, 4);
         }
+        return remainder < 0 ? -1 : (int) (remainder % 97);
+    }
 
-        // Move the first four characters to the end and replace letters with numbers
-        String reformattedIBAN = iban.substring(4) + iban.substring(0, 4);
-        StringBuilder numericIBAN = new StringBuilder();
+    /**
+     * Computes the two IBAN check digits for a country code and a BBAN (Basic Bank Account Number).
+     *
+     * @param countryCode the two-letter ISO 3166 country code (e.g., "IT")
+     * @param bban        the BBAN, made of letters and digits only
+     * @return the two check digits, zero padded (e.g., "60" for "IT60X0542811101000000123456")
+     * @throws IllegalArgumentException if the country code or the BBAN are malformed
+     */
+    public static String computeIbanCheckDigits(CharSequence countryCode, CharSequence bban) {
+        if (countryCode == null || countryCode.length() != 2
+                || !isUpperCaseLetter(countryCode.charAt(0)) || !isUpperCaseLetter(countryCode.charAt(1))) {
+            throw new IllegalArgumentException("Invalid country code");
+        }
+        if (bban == null || bban.length() == 0) {
+            throw new IllegalArgumentException("Invalid BBAN");
+        }
 
-        for (char c : reformattedIBAN.toCharArray()) {
-            if (Character.isDigit(c)) {
-                numericIBAN.append(c);
+        // Same rearrangement as the checksum, with "00" standing in for the check digits
+        long remainder = mod97(0, bban, 0, bban.length());
+        if (remainder < 0) {
+            throw new IllegalArgumentException("Invalid BBAN");
+        }
+        remainder = mod97(remainder, countryCode, 0, 2);
+        remainder = (remainder % 97) * 100 % 97;
+
+        int checkDigits = 98 - (int) remainder;
+        return new String(new char[] {(char) ('0' + checkDigits / 10), (char) ('0' + checkDigits % 10)});
+    }
+
+    /**
+     * Appends a run of IBAN characters to a running modulo 97 remainder.
+     * <p>
+     * Digits and expanded letters are accumulated in a {@code long} and only reduced once the
+     * accumulator grows past {@link #MOD97_REDUCTION_THRESHOLD}, which keeps the number of
+     * divisions to a few per IBAN.
+     * </p>
+     *
+     * @param remainder the current, possibly unreduced, remainder
+     * @param chars     the characters to append
+     * @param from      the index of the first character, inclusive
+     * @param to        the index of the last character, exclusive
+     * @return the new, possibly unreduced, remainder, or -1 if a character is not a letter or a digit
+     */
+    private static long mod97(long remainder, CharSequence chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                remainder = remainder * 10 + (c - '0');
+            } else if (c >= 'A' && c <= 'Z') {
+                remainder = remainder * 100 + (c - 'A' + 10);
+            } else if (c >= 'a' && c <= 'z') {
+                remainder = remainder * 100 + (c - 'a' + 10);
             } else {
-                numericIBAN.append(Character.getNumericValue(c));
+                return -1;
+            }
+            if (remainder >= MOD97_REDUCTION_THRESHOLD) {
+                remainder %= 97;
             }
         }
+        return remainder;
+    }
 
-        // Validate with modulo 97
-        BigInteger ibanNumber = new BigInteger(numericIBAN.toString());
-        return ibanNumber.mod(BigInteger.valueOf(97)).intValue() == 1;
+    /**
+     * Computes the modulo 97 remainder of a run of IBAN characters of a streamed record.
+     * <p>
+     * Leading letters, such as the Italian CIN, are expanded one at a time; when the rest of the run
+     * is made of digits, as in most BBANs, it is read in place by the digit kernels.
+     * </p>
+     *
+     * @param slice the characters
+     * @param from  the index of the first character, inclusive
+     * @param to    the index of the last character, exclusive
+     * @return the remainder, possibly unreduced, or -1 if a character is not a letter or a digit
+     */
+    private static long mod97(CharSlice slice, int from, int to) {
+        long remainder = 0;
+        int i = from;
+        for (; i < to && (slice.charAt(i) < '0' || slice.charAt(i) > '9'); i++) {
+            remainder = mod97(remainder, slice, i, i + 1);
+            if (remainder < 0) {
+                return -1;
+            }
+        }
+        DigitKernels kernels = DigitKernels.get();
+        int start = slice.offset() + i;
+        int end = slice.offset() + to;
+        if (kernels.isDigits(slice.array(), start, end)) {
+            return kernels.mod97((int) (remainder % 97), slice.array(), start, end);
+        }
+        return mod97(remainder, slice, i, to);
+    }
+
+    /**
+     * Computes the modulo 97 remainder of a run of IBAN characters stored as bytes, as
+     * {@link #mod97(CharSlice, int, int)} does.
+     */
+    private static long mod97(ByteSlice slice, int from, int to) {
+        long remainder = 0;
+        int i = from;
+        for (; i < to && (slice.charAt(i) < '0' || slice.charAt(i) > '9'); i++) {
+            remainder = mod97(remainder, slice, i, i + 1);
+            if (remainder < 0) {
+                return -1;
+            }
+        }
+        DigitKernels kernels = DigitKernels.get();
+        int start = slice.offset() + i;
+        int end = slice.offset() + to;
+        if (kernels.isDigits(slice.array(), start, end)) {
+            return kernels.mod97((int) (remainder % 97), slice.array(), start, end);
+        }
+        return mod97(remainder, slice, i, to);
+    }
+
+    private static boolean isUpperCaseLetter(char c) {
+        return c >= 'A' && c <= 'Z';
     }
 
     /**
@@ -57,7 +365,92 @@ public class BankingUtils {
      * @return {@code true} if the SWIFT/BIC code is valid, {@code false} otherwise
      */
     public static boolean isValidSWIFT(String swift) {
-        return swift != null && SWIFT_PATTERN.matcher(swift).matches();
+        return isValidSWIFT((CharSequence) swift);
+    }
+
+    /**
+     * Validates a SWIFT/BIC code based on structure and length.
+     *
+     * @param swift the SWIFT/BIC code to validate
+     * @return {@code true} if the SWIFT/BIC code is valid, {@code false} otherwise
+     */
+    public static boolean isValidSWIFT(CharSequence swift) {
+        return checkSWIFT(swift) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a SWIFT/BIC code stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the SWIFT/BIC code
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the SWIFT/BIC code is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidSWIFT(byte[] bytes, int offset, int length) {
+        return isValidSWIFT(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a SWIFT/BIC code stored as ASCII bytes in a range of a buffer, in place. The index is
+     * absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the SWIFT/BIC code
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the SWIFT/BIC code is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidSWIFT(ByteBuffer buffer, int index, int length) {
+        return isValidSWIFT(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a SWIFT/BIC code stored as ASCII bytes in a range of a memory segment, such as a mapped
+     * file, in place.
+     *
+     * @param segment the segment holding the SWIFT/BIC code
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the SWIFT/BIC code is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidSWIFT(MemorySegment segment, long offset, int length) {
+        return isValidSWIFT(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks a SWIFT/BIC code: four letters for the bank, two letters for the country, two letters or
+     * digits for the location and an optional three-character branch code, all uppercase.
+     *
+     * @param swift the SWIFT/BIC code to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH}
+     *         or {@link ValidationCode#BAD_CHARSET}
+     */
+    public static ValidationCode checkSWIFT(CharSequence swift) {
+        if (!ValidationMetrics.active()) {
+            return doCheckSWIFT(swift);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.SWIFT, doCheckSWIFT(swift), start);
+    }
+
+    private static ValidationCode doCheckSWIFT(CharSequence swift) {
+        if (swift == null) {
+            return ValidationCode.NULL;
+        }
+        int length = swift.length();
+        if (length != SWIFT_LENGTH && length != SWIFT_BRANCH_LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = swift.charAt(i);
+            boolean valid = i < SWIFT_LETTERS_LENGTH ? isUpperCaseLetter(c) : isUpperCaseLetter(c) || (c >= '0' && c <= '9');
+            if (!valid) {
+                return ValidationCode.BAD_CHARSET;
+            }
+        }
+        return ValidationCode.VALID;
     }
 
     /**
@@ -71,6 +464,87 @@ public class BankingUtils {
             throw new IllegalArgumentException("Invalid IBAN");
         }
 
-        return iban.replaceAll(".{4}(?!$)", "$0 ");
+        return formatIBAN(iban, true, new StringBuilder(formattedIBANLength(iban))).toString();
+    }
+
+    /**
+     * Appends an IBAN grouped in blocks of 4 characters to a builder, without intermediate Strings.
+     *
+     * @param iban         the IBAN to format
+     * @param preValidated {@code true} if the caller has already validated the IBAN, to skip the check
+     * @param out          the builder to append to
+     * @return {@code out}
+     * @throws IllegalArgumentException if {@code preValidated} is {@code false} and the IBAN is invalid
+     */
+    public static StringBuilder formatIBAN(CharSequence iban, boolean preValidated, StringBuilder out) {
+        requireValidIBAN(iban, preValidated);
+        int length = iban.length();
+        out.ensureCapacity(out.length() + formattedIBANLength(iban));
+        for (int i = 0; i < length; i += IBAN_GROUP_LENGTH) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            out.append(iban, i, Math.min(i + IBAN_GROUP_LENGTH, length));
+        }
+        return out;
+    }
+
+    /**
+     * Appends an IBAN grouped in blocks of 4 characters to any {@link Appendable}, such as a
+     * {@link java.io.Writer}, one character at a time.
+     *
+     * @param iban         the IBAN to format
+     * @param preValidated {@code true} if the caller has already validated the IBAN, to skip the check
+     * @param out          the destination
+     * @return {@code out}
+     * @throws IllegalArgumentException if {@code preValidated} is {@code false} and the IBAN is invalid
+     * @throws IOException              if {@code out} fails
+     */
+    public static Appendable formatIBAN(CharSequence iban, boolean preValidated, Appendable out) throws IOException {
+        requireValidIBAN(iban, preValidated);
+        for (int i = 0; i < iban.length(); i++) {
+            if (i > 0 && i % IBAN_GROUP_LENGTH == 0) {
+                out.append(' ');
+            }
+            out.append(iban.charAt(i));
+        }
+        return out;
+    }
+
+    /**
+     * Writes an IBAN grouped in blocks of 4 characters into an array, which needs room for
+     * {@code iban.length() + (iban.length() - 1) / 4} characters (42 for the longest IBANs).
+     *
+     * @param iban         the IBAN to format
+     * @param preValidated {@code true} if the caller has already validated the IBAN, to skip the check
+     * @param out          the destination array
+     * @param offset       the index of the first character to write
+     * @return the number of characters written
+     * @throws IllegalArgumentException  if {@code preValidated} is {@code false} and the IBAN is invalid
+     * @throws IndexOutOfBoundsException if the formatted IBAN does not fit in {@code out} at {@code offset}
+     */
+    public static int formatIBAN(CharSequence iban, boolean preValidated, char[] out, int offset) {
+        requireValidIBAN(iban, preValidated);
+        int written = formattedIBANLength(iban);
+        Objects.checkFromIndexSize(offset, written, out.length);
+        int position = offset;
+        for (int i = 0; i < iban.length(); i++) {
+            if (i > 0 && i % IBAN_GROUP_LENGTH == 0) {
+                out[position++] = ' ';
+            }
+            out[position++] = iban.charAt(i);
+        }
+        return written;
+    }
+
+    private static void requireValidIBAN(CharSequence iban, boolean preValidated) {
+        if (!preValidated && !isValidIBAN(iban)) {
+            throw new IllegalArgumentException("Invalid IBAN");
+        }
+    }
+
+    private static int formattedIBANLength(CharSequence iban) {
+        int length = iban.length();
+        return length == 0 ? 0 : length + (length - 1) / IBAN_GROUP_LENGTH;
     }
 }
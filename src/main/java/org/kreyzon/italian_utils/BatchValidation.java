@@ -0,0 +1,162 @@
+package org.kreyzon.italian_utils;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Shared implementation of the batch validation entry points of the {@code *Utils} classes.
+ * <p>
+ * The batch methods run a single-value validator over an array of inputs and store one result per
+ * record, either in a caller-supplied {@code boolean[]} or in a {@link BitSet}. Large batches can be
+ * split over a {@link ForkJoinPool}; each task writes a disjoint range of the output array.
+ * The batch checks store one {@link ValidationCode} ordinal per record in a {@code byte[]}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-25
+ */
+final class BatchValidation {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BatchValidation() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    // Records per fork/join leaf task, large enough to amortize the task overhead
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Validates every input and stores the results in the output array.
+     *
+     * @param in        the inputs to validate, null elements are allowed
+     * @param out       the results, at least as long as {@code in}
+     * @param validator the single-value validator
+     * @return the number of valid inputs
+     */
+    static int validate(CharSequence[] in, boolean[] out, Predicate<CharSequence> validator) {
+        checkArrays(in, out);
+        return validateRange(in, out, validator, 0, in.length);
+    }
+
+    /**
+     * Validates every input, splitting the batch over a fork/join pool.
+     *
+     * @param in        the inputs to validate, null elements are allowed
+     * @param out       the results, at least as long as {@code in}
+     * @param validator the single-value validator, which must be thread-safe
+     * @param pool      the pool running the validation
+     * @return the number of valid inputs
+     */
+    static int validate(CharSequence[] in, boolean[] out, Predicate<CharSequence> validator, ForkJoinPool pool) {
+        checkArrays(in, out);
+        Objects.requireNonNull(pool, "pool");
+        if (in.length <= PARALLEL_THRESHOLD) {
+            return validateRange(in, out, validator, 0, in.length);
+        }
+        return pool.invoke(new ValidationTask(in, out, validator, 0, in.length));
+    }
+
+    /**
+     * Validates every input and returns the results as a bit set.
+     *
+     * @param in        the inputs to validate, null elements are allowed
+     * @param validator the single-value validator
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    static BitSet validate(CharSequence[] in, Predicate<CharSequence> validator) {
+        Objects.requireNonNull(in, "in");
+        BitSet valid = new BitSet(in.length);
+        for (int i = 0; i < in.length; i++) {
+            if (validator.test(in[i])) {
+                valid.set(i);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Checks every input and stores the ordinal of each {@link ValidationCode} in the output array.
+     *
+     * @param in      the inputs to check, null elements are allowed
+     * @param out     the code ordinals, at least as long as {@code in}
+     * @param checker the single-value check
+     * @return the number of valid inputs
+     */
+    static int check(CharSequence[] in, byte[] out, Function<CharSequence, ValidationCode> checker) {
+        Objects.requireNonNull(out, "out");
+        checkLength(in, out.length);
+        int validCount = 0;
+        for (int i = 0; i < in.length; i++) {
+            ValidationCode code = checker.apply(in[i]);
+            out[i] = (byte) code.ordinal();
+            if (code == ValidationCode.VALID) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    private static int validateRange(CharSequence[] in, boolean[] out, Predicate<CharSequence> validator, int from, int to) {
+        int validCount = 0;
+        for (int i = from; i < to; i++) {
+            boolean valid = validator.test(in[i]);
+            out[i] = valid;
+            if (valid) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    private static void checkArrays(CharSequence[] in, boolean[] out) {
+        Objects.requireNonNull(out, "out");
+        checkLength(in, out.length);
+    }
+
+    private static void checkLength(CharSequence[] in, int outLength) {
+        Objects.requireNonNull(in, "in");
+        if (outLength < in.length) {
+            throw new IllegalArgumentException("Output array is shorter than the input array");
+        }
+    }
+
+    /**
+     * Fork/join task validating a range of the batch.
+     */
+    private static final class ValidationTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient CharSequence[] in;
+        private final boolean[] out;
+        private final transient Predicate<CharSequence> validator;
+        private final int from;
+        private final int to;
+
+        ValidationTask(CharSequence[] in, boolean[] out, Predicate<CharSequence> validator, int from, int to) {
+            this.in = in;
+            this.out = out;
+            this.validator = validator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return validateRange(in, out, validator, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ValidationTask left = new ValidationTask(in, out, validator, from, middle);
+            left.fork();
+            int right = new ValidationTask(in, out, validator, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package org.kreyzon.italian_utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only index of Belfiore codes (codici catastali), the four-character codes identifying
+ * Italian municipalities and foreign countries in the birthplace field of a Codice Fiscale.
+ * <p>
+ * The index is a single binary image kept outside the Java heap: the sorted codes packed as
+ * {@code short} keys ({@code (letter - 'A') * 1000 + number}), the province of each row, its
+ * validity range as epoch days and the offsets of its name in a UTF-8 string pool. Lookups are a
+ * binary search over the packed keys and do not allocate; only the accessors returning a
+ * {@link String} or a {@link LocalDate} create objects.
+ * </p>
+ * <p>
+ * Build the index from the official list of the Agenzia delle Entrate with
+ * {@link #write(Reader, OutputStream)} and memory-map it with {@link #load(Path)}. A code may appear on
+ * several rows when it was reassigned; each row carries its own validity range.
+ * </p>
+ * <p>
+ * The library bundles only a sample of about 170 rows (the provincial capitals, the most common foreign
+ * countries of birth and a few mergers) for {@link SyntheticDataGenerator} and {@link Warmup}. It is not
+ * public: most real Codici Fiscali name a birthplace outside it, and a lookup returning -1 there would
+ * read as an invalid code.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-28
+ */
+public final class BelfioreIndex {
+
+    // "BELF"
+    private static final int MAGIC = 0x42454C46;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final String BUNDLED_RESOURCE = "belfiore.bin";
+
+    // Epoch days stored for open validity bounds
+    private static final int NO_START = Integer.MIN_VALUE;
+    private static final int NO_END = Integer.MAX_VALUE;
+
+    private static final int CODE_LENGTH = 4;
+    private static final int CODICE_FISCALE_LENGTH = 16;
+    private static final int BIRTHPLACE_OFFSET = 11;
+
+    private final ByteBuffer image;
+    private final int size;
+    private final int provincesOffset;
+    private final int validFromOffset;
+    private final int validToOffset;
+    private final int namesOffset;
+    private final int poolOffset;
+
+    private BelfioreIndex(ByteBuffer image) throws IOException {
+        if (image.capacity() < HEADER_SIZE || image.getInt(0) != MAGIC || image.getShort(4) != VERSION) {
+            throw new IOException("Not a Belfiore index image");
+        }
+        this.image = image;
+        this.size = image.getInt(8);
+        this.provincesOffset = HEADER_SIZE + 2 * size;
+        this.validFromOffset = provincesOffset + 2 * size;
+        this.validToOffset = validFromOffset + 4 * size;
+        this.namesOffset = validToOffset + 4 * size;
+        this.poolOffset = namesOffset + 4 * (size + 1);
+        if (size < 0 || (long) poolOffset + image.getInt(12) != image.capacity()) {
+            throw new IOException("Truncated Belfiore index image");
+        }
+    }
+
+    /**
+     * Returns the sample index bundled with the library, loading it on first use. It is not a complete
+     * list of Belfiore codes: a code missing from it is not necessarily invalid.
+     *
+     * @return the bundled sample index
+     */
+    static BelfioreIndex bundled() {
+        return BundledHolder.INDEX;
+    }
+
+    /**
+     * Memory-maps an index image written by {@link #write(Reader, OutputStream)}.
+     *
+     * @param path the index image
+     * @return the index, backed by the mapped file
+     * @throws IOException if the file cannot be read or is not an index image
+     */
+    public static BelfioreIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BelfioreIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Builds an index image from a semicolon-separated list of Belfiore codes.
+     * <p>
+     * Each line holds {@code code;name;province;validFrom;validTo}, with the province {@code EE} for
+     * foreign countries and ISO dates; an empty date leaves that bound open. Blank lines and lines
+     * starting with {@code #} are skipped.
+     * </p>
+     *
+     * @param csv the list of codes
+     * @param out the stream receiving the index image
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static void write(Reader csv, OutputStream out) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            rows.add(Row.parse(line, lineNumber));
+        }
+        rows.sort(Comparator.comparingInt((Row row) -> row.key).thenComparingInt(row -> row.validFrom));
+
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int[] nameOffsets = new int[rows.size() + 1];
+        for (int i = 0; i < rows.size(); i++) {
+            nameOffsets[i] = pool.size();
+            pool.writeBytes(rows.get(i).name.getBytes(StandardCharsets.UTF_8));
+        }
+        nameOffsets[rows.size()] = pool.size();
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(0);
+        data.writeInt(rows.size());
+        data.writeInt(pool.size());
+        for (Row row : rows) {
+            data.writeShort(row.key);
+        }
+        for (Row row : rows) {
+            data.writeShort(row.province.charAt(0) << 8 | row.province.charAt(1));
+        }
+        for (Row row : rows) {
+            data.writeInt(row.validFrom);
+        }
+        for (Row row : rows) {
+            data.writeInt(row.validTo);
+        }
+        for (int offset : nameOffsets) {
+            data.writeInt(offset);
+        }
+        pool.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Returns the number of rows in the index.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by the index image, which lives outside the Java heap.
+     *
+     * @return the size of the index image in bytes
+     */
+    public long memoryFootprint() {
+        return image.capacity();
+    }
+
+    /**
+     * Checks whether a Belfiore code is in the index.
+     *
+     * @param code the four-character code, such as {@code H501}
+     * @return {@code true} if at least one row has this code, {@code false} otherwise
+     */
+    public boolean contains(CharSequence code) {
+        return find(code) >= 0;
+    }
+
+    /**
+     * Finds the row of a Belfiore code. When the code has several rows, the one still in use is
+     * preferred, otherwise the most recent one is returned.
+     *
+     * @param code the four-character code, letters in either case
+     * @return the row, or -1 if the code is malformed or not in the index
+     */
+    public int find(CharSequence code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return -1;
+        }
+        return select(key(code.charAt(0), digit(code.charAt(1)), digit(code.charAt(2)), digit(code.charAt(3))));
+    }
+
+    /**
+     * Finds the row of a Belfiore code that was in use on a given date.
+     *
+     * @param code the four-character code, letters in either case
+     * @param date the date, such as a birth date
+     * @return the row, or -1 if the code is malformed, not in the index or not in use on that date
+     */
+    public int find(CharSequence code, LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        if (code == null || code.length() != CODE_LENGTH) {
+            return -1;
+        }
+        int key = key(code.charAt(0), digit(code.charAt(1)), digit(code.charAt(2)), digit(code.charAt(3)));
+        if (key < 0) {
+            return -1;
+        }
+        long epochDay = date.toEpochDay();
+        for (int row = firstRow(key); row < size && keyAt(row) == key; row++) {
+            if (validFromAt(row) <= epochDay && epochDay <= validToAt(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the row of the birthplace encoded in a Codice Fiscale, decoding omocodia letters.
+     * The Codice Fiscale itself is not validated.
+     *
+     * @param codiceFiscale the 16-character Codice Fiscale
+     * @return the row, or -1 if the birthplace field is malformed or not in the index
+     */
+    public int findBirthplace(CharSequence codiceFiscale) {
+        if (codiceFiscale == null || codiceFiscale.length() != CODICE_FISCALE_LENGTH) {
+            return -1;
+        }
+        return select(key(codiceFiscale.charAt(BIRTHPLACE_OFFSET),
+                CodiceFiscaleUtils.digitValue(codiceFiscale.charAt(BIRTHPLACE_OFFSET + 1)),
+                CodiceFiscaleUtils.digitValue(codiceFiscale.charAt(BIRTHPLACE_OFFSET + 2)),
+                CodiceFiscaleUtils.digitValue(codiceFiscale.charAt(BIRTHPLACE_OFFSET + 3))));
+    }
+
+    /**
+     * Returns the Belfiore code of a row.
+     *
+     * @param row the row returned by a lookup
+     * @return the four-character code
+     */
+    public String getCode(int row) {
+        return code(keyAt(Objects.checkIndex(row, size)));
+    }
+
+    /**
+     * Returns the name of the municipality or foreign country of a row.
+     *
+     * @param row the row returned by a lookup
+     * @return the name
+     */
+    public String getName(int row) {
+        Objects.checkIndex(row, size);
+        int start = image.getInt(namesOffset + 4 * row);
+        byte[] name = new byte[image.getInt(namesOffset + 4 * (row + 1)) - start];
+        image.get(poolOffset + start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the province abbreviation (sigla) of a row, {@code EE} for foreign countries.
+     *
+     * @param row the row returned by a lookup
+     * @return the two-letter province abbreviation
+     */
+    public String getProvince(int row) {
+        short province = image.getShort(provincesOffset + 2 * Objects.checkIndex(row, size));
+        return new String(new char[]{(char) (province >>> 8 & 0xFF), (char) (province & 0xFF)});
+    }
+
+    /**
+     * Checks whether a row describes a foreign country rather than an Italian municipality.
+     *
+     * @param row the row returned by a lookup
+     * @return {@code true} for foreign countries, {@code false} for municipalities
+     */
+    public boolean isForeignCountry(int row) {
+        return keyAt(Objects.checkIndex(row, size)) / 1000 == 'Z' - 'A';
+    }
+
+    /**
+     * Returns the first day a row was in use.
+     *
+     * @param row the row returned by a lookup
+     * @return the first day, or {@code null} if not recorded
+     */
+    public LocalDate getValidFrom(int row) {
+        int epochDay = validFromAt(Objects.checkIndex(row, size));
+        return epochDay == NO_START ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Returns the last day a row was in use, such as the day before a municipality was merged.
+     *
+     * @param row the row returned by a lookup
+     * @return the last day, or {@code null} if the code is still in use
+     */
+    public LocalDate getValidTo(int row) {
+        int epochDay = validToAt(Objects.checkIndex(row, size));
+        return epochDay == NO_END ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Checks whether a row is still in use.
+     *
+     * @param row the row returned by a lookup
+     * @return {@code true} if the code has not been suppressed, {@code false} otherwise
+     */
+    public boolean isActive(int row) {
+        return validToAt(Objects.checkIndex(row, size)) == NO_END;
+    }
+
+    @Override
+    public String toString() {
+        return "BelfioreIndex[rows=" + size + ", bytes=" + memoryFootprint() + "]";
+    }
+
+    /**
+     * Picks the row still in use among the rows of a key, or the most recent one.
+     */
+    private int select(int key) {
+        if (key < 0) {
+            return -1;
+        }
+        int row = firstRow(key);
+        if (row == size || keyAt(row) != key) {
+            return -1;
+        }
+        while (row + 1 < size && keyAt(row + 1) == key && validToAt(row) != NO_END) {
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Returns the first row whose key is greater than or equal to the given key.
+     */
+    private int firstRow(int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int keyAt(int row) {
+        return image.getShort(HEADER_SIZE + 2 * row);
+    }
+
+    private int validFromAt(int row) {
+        return image.getInt(validFromOffset + 4 * row);
+    }
+
+    private int validToAt(int row) {
+        return image.getInt(validToOffset + 4 * row);
+    }
+
+    /**
+     * Packs a letter and three digit values into a key.
+     *
+     * @return the key, or -1 if the letter is not an ASCII letter or a digit value is negative
+     */
+    static int key(char letter, int hundreds, int tens, int units) {
+        int index;
+        if (letter >= 'A' && letter <= 'Z') {
+            index = letter - 'A';
+        } else if (letter >= 'a' && letter <= 'z') {
+            index = letter - 'a';
+        } else {
+            return -1;
+        }
+        if ((hundreds | tens | units) < 0) {
+            return -1;
+        }
+        return index * 1000 + hundreds * 100 + tens * 10 + units;
+    }
+
+    static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    /**
+     * Unpacks a key into its four-character code.
+     */
+    static String code(int key) {
+        int number = key % 1000;
+        return new String(new char[]{
+                (char) ('A' + key / 1000),
+                (char) ('0' + number / 100),
+                (char) ('0' + number / 10 % 10),
+                (char) ('0' + number % 10)
+        });
+    }
+
+    /**
+     * Copies the bundled index image into a direct buffer, so it does not count against the heap.
+     */
+    private static BelfioreIndex loadBundled() {
+        try (InputStream in = BelfioreIndex.class.getResourceAsStream(BUNDLED_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled Belfiore index: " + BUNDLED_RESOURCE);
+            }
+            byte[] bytes = in.readAllBytes();
+            return new BelfioreIndex(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load the bundled Belfiore index", e);
+        }
+    }
+
+    /**
+     * Holder deferring the loading of the bundled index to its first use.
+     */
+    private static final class BundledHolder {
+        static final BelfioreIndex INDEX = loadBundled();
+    }
+
+    /**
+     * A parsed line of the source list.
+     */
+    private static final class Row {
+
+        final int key;
+        final String name;
+        final String province;
+        final int validFrom;
+        final int validTo;
+
+        private Row(int key, String name, String province, int validFrom, int validTo) {
+            this.key = key;
+            this.name = name;
+            this.province = province;
+            this.validFrom = validFrom;
+            this.validTo = validTo;
+        }
+
+        static Row parse(String line, int lineNumber) {
+            String[] fields = line.split(";", -1);
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 5 fields");
+            }
+            String code = fields[0].trim();
+            int key = code.length() == CODE_LENGTH
+                    ? key(Character.toUpperCase(code.charAt(0)), digit(code.charAt(1)), digit(code.charAt(2)), digit(code.charAt(3)))
+                    : -1;
+            if (key < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid Belfiore code " + code);
+            }
+            String name = fields[1].trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": missing name");
+            }
+            String province = fields[2].trim();
+            if (province.length() != 2 || !isUpperCaseLetter(province.charAt(0)) || !isUpperCaseLetter(province.charAt(1))) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid province " + province);
+            }
+            int validFrom = parseDate(fields[3], NO_START, lineNumber);
+            int validTo = parseDate(fields[4], NO_END, lineNumber);
+            if (validFrom > validTo) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": validity ends before it starts");
+            }
+            return new Row(key, name, province, validFrom, validTo);
+        }
+
+        private static int parseDate(String field, int openBound, int lineNumber) {
+            String value = field.trim();
+            if (value.isEmpty()) {
+                return openBound;
+            }
+            try {
+                return Math.toIntExact(LocalDate.parse(value).toEpochDay());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid date " + value, e);
+            }
+        }
+
+        private static boolean isUpperCaseLetter(char c) {
+            return c >= 'A' && c <= 'Z';
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.kreyzon.italian_utils;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Read-only {@link CharSequence} view over ASCII bytes in a {@code byte[]}, a {@link ByteBuffer}
+ * or a {@link MemorySegment}.
+ * <p>
+ * Used by the byte-oriented validator overloads to check a field in place, without decoding it
+ * into a String. Bytes 0 to 127 are read as the same characters. Any other byte, such as part of
+ * a multi-byte UTF-8 sequence, is read as U+FFFD, which no validator accepts, so non-ASCII fields
+ * are always invalid.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-05
+ */
+final class ByteSlice implements CharSequence {
+
+    private static final char NON_ASCII = '\uFFFD';
+
+    // Exactly one of bytes, buffer and segment is set
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private final MemorySegment segment;
+    private final long offset;
+    private final int length;
+
+    private ByteSlice(byte[] bytes, ByteBuffer buffer, MemorySegment segment, long offset, int length) {
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a view over a range of an array.
+     *
+     * @param bytes  the array, may be {@code null}
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the view, or {@code null} if {@code bytes} is {@code null}
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    static ByteSlice of(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            return null;
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return new ByteSlice(bytes, null, null, offset, length);
+    }
+
+    /**
+     * Creates a view over a range of a buffer, with absolute indexes as {@link ByteBuffer#get(int)}.
+     * The position of the buffer is not used nor changed.
+     *
+     * @param buffer the buffer, may be {@code null}
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return the view, or {@code null} if {@code buffer} is {@code null}
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    static ByteSlice of(ByteBuffer buffer, int index, int length) {
+        if (buffer == null) {
+            return null;
+        }
+        Objects.checkFromIndexSize(index, length, buffer.limit());
+        if (buffer.hasArray()) {
+            return new ByteSlice(buffer.array(), null, null, buffer.arrayOffset() + index, length);
+        }
+        return new ByteSlice(null, buffer, null, index, length);
+    }
+
+    /**
+     * Creates a view over a range of a memory segment.
+     *
+     * @param segment the segment, may be {@code null}
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return the view, or {@code null} if {@code segment} is {@code null}
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    static ByteSlice of(MemorySegment segment, long offset, int length) {
+        if (segment == null) {
+            return null;
+        }
+        Objects.checkFromIndexSize(offset, length, segment.byteSize());
+        return new ByteSlice(null, null, segment, offset, length);
+    }
+
+    /**
+     * Returns the backing array, for kernels that read the bytes in bulk.
+     *
+     * @return the backing array, or {@code null} if the view is backed by a direct or read-only
+     *         buffer or by a memory segment
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * Returns the index of the first byte of the view in the backing array.
+     *
+     * @return the offset of the view
+     */
+    int offset() {
+        return (int) offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        byte b;
+        if (bytes != null) {
+            b = bytes[(int) offset + index];
+        } else if (buffer != null) {
+            b = buffer.get((int) offset + index);
+        } else {
+            b = segment.get(ValueLayout.JAVA_BYTE, offset + index);
+        }
+        return b >= 0 ? (char) b : NON_ASCII;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
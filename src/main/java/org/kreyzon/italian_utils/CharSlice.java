@@ -0,0 +1,77 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Reusable {@link CharSequence} view over a range of a {@code char[]}.
+ * <p>
+ * Used to pass fields to validators without copying them into Strings. The view is mutable and
+ * is repointed to the next field after each call, so validators must not keep a reference to it.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+final class CharSlice implements CharSequence {
+
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    /**
+     * Points the view to a range of an array.
+     *
+     * @param chars the backing array
+     * @param from  the first character, inclusive
+     * @param to    the last character, exclusive
+     * @return this view
+     */
+    CharSlice reset(char[] chars, int from, int to) {
+        this.chars = chars;
+        this.offset = from;
+        this.length = to - from;
+        return this;
+    }
+
+    /**
+     * Returns the backing array, for kernels that read the characters in bulk.
+     *
+     * @return the backing array
+     */
+    char[] array() {
+        return chars;
+    }
+
+    /**
+     * Returns the index of the first character of the view in the backing array.
+     *
+     * @return the offset of the view
+     */
+    int offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + length);
+        }
+        return new String(chars, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
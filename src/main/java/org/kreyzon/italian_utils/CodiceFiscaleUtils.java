@@ -0,0 +1,468 @@
+package org.kreyzon.italian_utils;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Utility class for validating and generating Italian tax codes (Codice Fiscale).
+ * <p>
+ * A Codice Fiscale is made of 16 characters: three letters for the surname, three letters for the
+ * name, two digits for the birth year, a letter for the birth month, two digits for the birth day
+ * (plus 40 for women), the four-character Belfiore code of the birthplace and a check character.
+ * When two people would get the same code, the Agenzia delle Entrate replaces digits with letters
+ * starting from the right (omocodia); this class accepts those substitutions.
+ * </p>
+ * Validation works on any {@link CharSequence}, ignores the case of the letters and does not allocate.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-27
+ */
+public class CodiceFiscaleUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private CodiceFiscaleUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    // Length of a Codice Fiscale, and of the part covered by the check character
+    private static final int LENGTH = 16;
+    private static final int CHECKED_LENGTH = 15;
+
+    // Letters encoding the birth month, January to December
+    private static final String MONTH_LETTERS = "ABCDEHLMPRST";
+
+    // Letters replacing the digits 0-9 in omocodic codes
+    private static final String OMOCODIA_LETTERS = "LMNPQRSTUV";
+
+    // Positions that hold a digit, or its omocodia letter
+    private static final int[] DIGIT_POSITIONS = {6, 7, 9, 10, 12, 13, 14};
+
+    // Day of the month added for women
+    private static final int FEMALE_DAY_OFFSET = 40;
+
+    // Last valid day of each month; February accepts the 29th as the two-digit year says nothing of leap years
+    private static final int[] MONTH_LENGTHS = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    // Values of odd-position characters (1-based) in the check character algorithm, for digits 0-9 and letters A-Z alike
+    private static final int[] ODD_VALUES = {
+            1, 0, 5, 7, 9, 13, 15, 17, 19, 21, 2, 4, 18, 20, 11, 3, 6, 8, 12, 14, 16, 10, 22, 25, 24, 23
+    };
+
+    // Per-character lookup tables over ASCII, -1 for characters that cannot appear in a Codice Fiscale
+    private static final byte[] ODD_TABLE = new byte[128];
+    private static final byte[] EVEN_TABLE = new byte[128];
+    private static final byte[] DIGIT_TABLE = new byte[128];
+    private static final byte[] MONTH_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(ODD_TABLE, (byte) -1);
+        Arrays.fill(EVEN_TABLE, (byte) -1);
+        Arrays.fill(DIGIT_TABLE, (byte) -1);
+        Arrays.fill(MONTH_TABLE, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            ODD_TABLE['0' + i] = (byte) ODD_VALUES[i];
+            EVEN_TABLE['0' + i] = (byte) i;
+            DIGIT_TABLE['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 26; i++) {
+            ODD_TABLE['A' + i] = (byte) ODD_VALUES[i];
+            ODD_TABLE['a' + i] = (byte) ODD_VALUES[i];
+            EVEN_TABLE['A' + i] = (byte) i;
+            EVEN_TABLE['a' + i] = (byte) i;
+        }
+        for (int i = 0; i < OMOCODIA_LETTERS.length(); i++) {
+            DIGIT_TABLE[OMOCODIA_LETTERS.charAt(i)] = (byte) i;
+            DIGIT_TABLE[Character.toLowerCase(OMOCODIA_LETTERS.charAt(i))] = (byte) i;
+        }
+        for (int i = 0; i < MONTH_LETTERS.length(); i++) {
+            MONTH_TABLE[MONTH_LETTERS.charAt(i)] = (byte) (i + 1);
+            MONTH_TABLE[Character.toLowerCase(MONTH_LETTERS.charAt(i))] = (byte) (i + 1);
+        }
+    }
+
+    /**
+     * Validates a Codice Fiscale: structure, month letter, day, omocodia substitutions and check character.
+     *
+     * @param codiceFiscale the Codice Fiscale to validate
+     * @return {@code true} if the Codice Fiscale is valid, {@code false} otherwise
+     */
+    public static boolean isValidCodiceFiscale(String codiceFiscale) {
+        return isValidCodiceFiscale((CharSequence) codiceFiscale);
+    }
+
+    /**
+     * Validates a Codice Fiscale: structure, month letter, day, omocodia substitutions and check character.
+     * Letters are accepted in either case.
+     *
+     * @param codiceFiscale the Codice Fiscale to validate
+     * @return {@code true} if the Codice Fiscale is valid, {@code false} otherwise
+     */
+    public static boolean isValidCodiceFiscale(CharSequence codiceFiscale) {
+        return checkCodiceFiscale(codiceFiscale) == ValidationCode.VALID;
+    }
+
+    /**
+     * Checks a Codice Fiscale and returns the first reason it is invalid. A month letter or a day
+     * that no date can have, such as 32 or 72, is reported as {@link ValidationCode#BAD_CHARSET}.
+     * Letters are accepted in either case.
+     *
+     * @param codiceFiscale the Codice Fiscale to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH},
+     *         {@link ValidationCode#BAD_CHARSET} or {@link ValidationCode#BAD_CHECKSUM}
+     */
+    public static ValidationCode checkCodiceFiscale(CharSequence codiceFiscale) {
+        if (!ValidationMetrics.active()) {
+            return doCheckCodiceFiscale(codiceFiscale);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.CODICE_FISCALE, doCheckCodiceFiscale(codiceFiscale), start);
+    }
+
+    private static ValidationCode doCheckCodiceFiscale(CharSequence codiceFiscale) {
+        if (codiceFiscale == null) {
+            return ValidationCode.NULL;
+        }
+        if (codiceFiscale.length() != LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+
+        // Surname, name and birthplace letters
+        for (int i = 0; i < 6; i++) {
+            if (!isLetter(codiceFiscale.charAt(i))) {
+                return ValidationCode.BAD_CHARSET;
+            }
+        }
+        if (!isLetter(codiceFiscale.charAt(11))) {
+            return ValidationCode.BAD_CHARSET;
+        }
+
+        // Digits, possibly replaced by omocodia letters
+        for (int position : DIGIT_POSITIONS) {
+            if (digitValue(codiceFiscale.charAt(position)) < 0) {
+                return ValidationCode.BAD_CHARSET;
+            }
+        }
+
+        // Month letter and day of the month, including the offset for women
+        int month = lookup(MONTH_TABLE, codiceFiscale.charAt(8));
+        if (month < 0) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        int day = digitValue(codiceFiscale.charAt(9)) * 10 + digitValue(codiceFiscale.charAt(10));
+        if (day > FEMALE_DAY_OFFSET) {
+            day -= FEMALE_DAY_OFFSET;
+        }
+        if (day < 1 || day > MONTH_LENGTHS[month - 1]) {
+            return ValidationCode.BAD_CHARSET;
+        }
+
+        return toUpperCase(codiceFiscale.charAt(CHECKED_LENGTH)) == checkCharacter(codiceFiscale)
+                ? ValidationCode.VALID : ValidationCode.BAD_CHECKSUM;
+    }
+
+    /**
+     * Validates a Codice Fiscale stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the Codice Fiscale
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Codice Fiscale is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidCodiceFiscale(byte[] bytes, int offset, int length) {
+        return isValidCodiceFiscale(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a Codice Fiscale stored as ASCII bytes in a range of a buffer, in place. The index is
+     * absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the Codice Fiscale
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Codice Fiscale is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidCodiceFiscale(ByteBuffer buffer, int index, int length) {
+        return isValidCodiceFiscale(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a Codice Fiscale stored as ASCII bytes in a range of a memory segment, such as a mapped
+     * file, in place.
+     *
+     * @param segment the segment holding the Codice Fiscale
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the Codice Fiscale is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidCodiceFiscale(MemorySegment segment, long offset, int length) {
+        return isValidCodiceFiscale(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Validates a batch of Codici Fiscali and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidCodiceFiscale(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the Codici Fiscali to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid Codici Fiscali
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateCodiciFiscali(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, CodiceFiscaleUtils::isValidCodiceFiscale);
+    }
+
+    /**
+     * Validates a batch of Codici Fiscali, splitting large batches over a fork/join pool.
+     *
+     * @param in   the Codici Fiscali to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid Codici Fiscali
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateCodiciFiscali(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, CodiceFiscaleUtils::isValidCodiceFiscale, pool);
+    }
+
+    /**
+     * Validates a batch of Codici Fiscali and returns the results as a bit set.
+     *
+     * @param in the Codici Fiscali to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validateCodiciFiscali(CharSequence[] in) {
+        return BatchValidation.validate(in, CodiceFiscaleUtils::isValidCodiceFiscale);
+    }
+
+    /**
+     * Computes the check character of a Codice Fiscale from its first 15 characters.
+     *
+     * @param codiceFiscale a Codice Fiscale, complete or without the check character
+     * @return the uppercase check character
+     * @throws IllegalArgumentException if the input is shorter than 15 characters or contains
+     *                                  characters other than letters and digits
+     */
+    public static char computeCheckCharacter(CharSequence codiceFiscale) {
+        if (codiceFiscale == null || codiceFiscale.length() < CHECKED_LENGTH) {
+            throw new IllegalArgumentException("Codice Fiscale must have at least 15 characters");
+        }
+        for (int i = 0; i < CHECKED_LENGTH; i++) {
+            if (lookup(EVEN_TABLE, codiceFiscale.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid Codice Fiscale character: " + codiceFiscale.charAt(i));
+            }
+        }
+        return checkCharacter(codiceFiscale);
+    }
+
+    /**
+     * Replaces the omocodia letters of a Codice Fiscale with the original digits and recomputes
+     * the check character.
+     *
+     * @param codiceFiscale a valid Codice Fiscale
+     * @return the uppercase Codice Fiscale without omocodia substitutions
+     * @throws IllegalArgumentException if the Codice Fiscale is not valid
+     */
+    public static String normalizeOmocodia(CharSequence codiceFiscale) {
+        if (!isValidCodiceFiscale(codiceFiscale)) {
+            throw new IllegalArgumentException("Invalid Codice Fiscale");
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < CHECKED_LENGTH; i++) {
+            chars[i] = toUpperCase(codiceFiscale.charAt(i));
+        }
+        for (int position : DIGIT_POSITIONS) {
+            chars[position] = (char) ('0' + digitValue(chars[position]));
+        }
+        chars[CHECKED_LENGTH] = checkCharacter(new String(chars, 0, CHECKED_LENGTH));
+        return new String(chars);
+    }
+
+    /**
+     * Generates the Codice Fiscale of a person.
+     * <p>
+     * Accents are removed and characters other than letters (spaces, apostrophes) are ignored, so
+     * "D'Angelo" and "De Luca" are coded as "DANGELO" and "DELUCA".
+     * </p>
+     *
+     * @param name         the name
+     * @param surname      the surname
+     * @param gender       the gender, "M" or "F" (case insensitive), as accepted by {@link AnagraficaUtils#isValidGender(String)}
+     * @param birthdate    the birthdate
+     * @param belfioreCode the Belfiore code of the birthplace: a comune, or a foreign country (Z followed by three digits)
+     * @return the generated Codice Fiscale
+     * @throws IllegalArgumentException if any of the inputs is missing or malformed
+     */
+    public static String generateCodiceFiscale(String name, String surname, String gender,
+                                               LocalDate birthdate, String belfioreCode) {
+        if (!AnagraficaUtils.isValidGender(gender)) {
+            throw new IllegalArgumentException("Invalid gender");
+        }
+        if (birthdate == null) {
+            throw new IllegalArgumentException("Birthdate cannot be null");
+        }
+        if (belfioreCode == null || belfioreCode.length() != 4 || !isLetter(belfioreCode.charAt(0))
+                || !isAsciiDigit(belfioreCode.charAt(1)) || !isAsciiDigit(belfioreCode.charAt(2))
+                || !isAsciiDigit(belfioreCode.charAt(3))) {
+            throw new IllegalArgumentException("Invalid Belfiore code");
+        }
+        String surnameLetters = lettersOf(surname);
+        String nameLetters = lettersOf(name);
+        if (surnameLetters.isEmpty() || nameLetters.isEmpty()) {
+            throw new IllegalArgumentException("Name and surname must contain at least one letter");
+        }
+
+        StringBuilder code = new StringBuilder(LENGTH);
+        appendSurnameCode(code, surnameLetters);
+        appendNameCode(code, nameLetters);
+        return completeCodiceFiscale(code, birthdate, "F".equalsIgnoreCase(gender), belfioreCode);
+    }
+
+    /**
+     * Appends the birthdate, the birthplace and the check character to the six surname and name
+     * letters of a Codice Fiscale. The inputs are not checked.
+     *
+     * @param code         the six uppercase surname and name letters; the rest of the code is appended to it
+     * @param birthdate    the birthdate
+     * @param female       {@code true} to add the day offset for women
+     * @param belfioreCode the Belfiore code of the birthplace
+     * @return the complete Codice Fiscale
+     */
+    static String completeCodiceFiscale(StringBuilder code, LocalDate birthdate, boolean female, CharSequence belfioreCode) {
+        int year = birthdate.getYear() % 100;
+        code.append((char) ('0' + year / 10)).append((char) ('0' + year % 10));
+        code.append(MONTH_LETTERS.charAt(birthdate.getMonthValue() - 1));
+
+        int day = birthdate.getDayOfMonth() + (female ? FEMALE_DAY_OFFSET : 0);
+        code.append((char) ('0' + day / 10)).append((char) ('0' + day % 10));
+        code.append(toUpperCase(belfioreCode.charAt(0))).append(belfioreCode, 1, 4);
+
+        code.append(checkCharacter(code));
+        return code.toString();
+    }
+
+    /**
+     * Surname code: consonants first, then vowels, padded with X, three characters.
+     */
+    private static void appendSurnameCode(StringBuilder code, String letters) {
+        appendLetters(code, letters, false, 3);
+        appendLetters(code, letters, true, 3);
+        padWithX(code, 3);
+    }
+
+    /**
+     * Name code: first, third and fourth consonant when there are at least four,
+     * otherwise the same rule as the surname.
+     */
+    private static void appendNameCode(StringBuilder code, String letters) {
+        int consonantCount = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            if (!isVowel(letters.charAt(i))) {
+                consonantCount++;
+            }
+        }
+        if (consonantCount >= 4) {
+            int consonantIndex = 0;
+            for (int i = 0; i < letters.length() && code.length() < 6; i++) {
+                char c = letters.charAt(i);
+                if (!isVowel(c)) {
+                    if (consonantIndex != 1) {
+                        code.append(c);
+                    }
+                    consonantIndex++;
+                }
+            }
+            return;
+        }
+        appendLetters(code, letters, false, 6);
+        appendLetters(code, letters, true, 6);
+        padWithX(code, 6);
+    }
+
+    private static void appendLetters(StringBuilder code, String letters, boolean vowels, int limit) {
+        for (int i = 0; i < letters.length() && code.length() < limit; i++) {
+            char c = letters.charAt(i);
+            if (isVowel(c) == vowels) {
+                code.append(c);
+            }
+        }
+    }
+
+    private static void padWithX(StringBuilder code, int limit) {
+        while (code.length() < limit) {
+            code.append('X');
+        }
+    }
+
+    /**
+     * Removes accents and every character that is not a letter, and uppercases the rest.
+     */
+    private static String lettersOf(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder letters = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = toUpperCase(decomposed.charAt(i));
+            if (c >= 'A' && c <= 'Z') {
+                letters.append(c);
+            }
+        }
+        return letters.toString();
+    }
+
+    /**
+     * Computes the check character over the first 15 characters, which must be ASCII letters or digits.
+     */
+    private static char checkCharacter(CharSequence codiceFiscale) {
+        int sum = 0;
+        for (int i = 0; i < CHECKED_LENGTH; i += 2) {
+            sum += ODD_TABLE[codiceFiscale.charAt(i)];
+        }
+        for (int i = 1; i < CHECKED_LENGTH; i += 2) {
+            sum += EVEN_TABLE[codiceFiscale.charAt(i)];
+        }
+        return (char) ('A' + sum % 26);
+    }
+
+    /**
+     * Returns the digit at a digit position, decoding omocodia letters.
+     *
+     * @return the digit value, or -1 if the character is neither a digit nor an omocodia letter
+     */
+    static int digitValue(char c) {
+        return lookup(DIGIT_TABLE, c);
+    }
+
+    private static int lookup(byte[] table, char c) {
+        return c < table.length ? table[c] : -1;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U';
+    }
+
+    private static char toUpperCase(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,211 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Kernels over runs of ASCII digits, shared by the validators that check digit fields.
+ * <p>
+ * This class is the scalar implementation. When the {@code jdk.incubator.vector} module is
+ * resolved ({@code --add-modules jdk.incubator.vector}) and the CPU has 256-bit vectors,
+ * {@link #get()} returns {@link VectorDigitKernels}, which processes long runs in SIMD lanes and
+ * falls back to these methods for short ones. Setting the system property
+ * {@value #VECTOR_PROPERTY} to {@code false} forces the scalar kernels.
+ * </p>
+ * <p>
+ * Runs are given as {@code [from, to)} ranges of a {@code byte[]} (ASCII or UTF-8 input) or of a
+ * {@code char[]}. {@link #luhnSum} and {@link #mod97} expect digits only; check the run with
+ * {@link #isDigits} first.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-04
+ */
+class DigitKernels {
+
+    /**
+     * System property that disables the vector kernels when set to {@code false}.
+     */
+    static final String VECTOR_PROPERTY = "org.kreyzon.italian_utils.vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    // Luhn contribution of a digit at a doubled position: twice the digit, minus 9 when over 9
+    private static final byte[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
+    private static final DigitKernels SCALAR = new DigitKernels();
+
+    private static final class Holder {
+        private static final DigitKernels INSTANCE = select();
+    }
+
+    DigitKernels() {
+    }
+
+    /**
+     * Returns the fastest kernels available on this JVM.
+     *
+     * @return the vector kernels if available and enabled, the scalar kernels otherwise
+     */
+    static DigitKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the scalar kernels.
+     *
+     * @return the scalar kernels
+     */
+    static DigitKernels scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Returns the vector kernels, regardless of {@value #VECTOR_PROPERTY}.
+     *
+     * @return the vector kernels, or {@code null} if the vector module is not resolved or the CPU
+     *         lacks 256-bit vectors
+     */
+    static DigitKernels vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            // Loaded by name so that this class links without the incubator module
+            DigitKernels kernels = (DigitKernels) Class.forName(DigitKernels.class.getPackageName() + ".VectorDigitKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return kernels.isVectorized() ? kernels : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static DigitKernels select() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            return SCALAR;
+        }
+        DigitKernels vector = vector();
+        return vector != null ? vector : SCALAR;
+    }
+
+    /**
+     * Checks whether these kernels use SIMD instructions.
+     *
+     * @return {@code true} for the vector kernels, {@code false} for the scalar ones
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Checks whether a run contains only the digits 0 to 9.
+     *
+     * @param bytes the ASCII bytes
+     * @param from  the first byte, inclusive
+     * @param to    the last byte, exclusive
+     * @return {@code true} if every byte is a digit, {@code false} otherwise
+     */
+    boolean isDigits(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a run contains only the digits 0 to 9.
+     *
+     * @param chars the characters
+     * @param from  the first character, inclusive
+     * @param to    the last character, exclusive
+     * @return {@code true} if every character is a digit, {@code false} otherwise
+     */
+    boolean isDigits(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (chars[i] < '0' || chars[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the Luhn sum of a run of digits, doubling the digits at odd offsets from {@code from}
+     * (the second, fourth, ... digit), as for the Partita IVA check digit.
+     *
+     * @param bytes the ASCII digits
+     * @param from  the first digit, inclusive
+     * @param to    the last digit, exclusive
+     * @return the sum of the digits, doubled digits reduced by 9 when over 9
+     */
+    int luhnSum(byte[] bytes, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            sum += ((i - from) & 1) == 0 ? digit : DOUBLED[digit];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the Luhn sum of a run of digits, doubling the digits at odd offsets from {@code from}.
+     *
+     * @param chars the digits
+     * @param from  the first digit, inclusive
+     * @param to    the last digit, exclusive
+     * @return the sum of the digits, doubled digits reduced by 9 when over 9
+     */
+    int luhnSum(char[] chars, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            int digit = chars[i] - '0';
+            sum += ((i - from) & 1) == 0 ? digit : DOUBLED[digit];
+        }
+        return sum;
+    }
+
+    /**
+     * Appends a run of digits to a modulo 97 remainder, as in the ISO 13616 IBAN checksum.
+     *
+     * @param remainder the current remainder, between 0 and 96
+     * @param bytes     the ASCII digits
+     * @param from      the first digit, inclusive
+     * @param to        the last digit, exclusive
+     * @return the remainder of {@code remainder * 10^(to - from) + digits}, between 0 and 96
+     */
+    int mod97(int remainder, byte[] bytes, int from, int to) {
+        long value = remainder;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (bytes[i] - '0');
+            if (value >= Integer.MAX_VALUE) {
+                value %= 97;
+            }
+        }
+        return (int) (value % 97);
+    }
+
+    /**
+     * Appends a run of digits to a modulo 97 remainder, as in the ISO 13616 IBAN checksum.
+     *
+     * @param remainder the current remainder, between 0 and 96
+     * @param chars     the digits
+     * @param from      the first digit, inclusive
+     * @param to        the last digit, exclusive
+     * @return the remainder of {@code remainder * 10^(to - from) + digits}, between 0 and 96
+     */
+    int mod97(int remainder, char[] chars, int from, int to) {
+        long value = remainder;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (chars[i] - '0');
+            if (value >= Integer.MAX_VALUE) {
+                value %= 97;
+            }
+        }
+        return (int) (value % 97);
+    }
+
+    @Override
+    public String toString() {
+        return isVectorized() ? "DigitKernels[vector]" : "DigitKernels[scalar]";
+    }
+}
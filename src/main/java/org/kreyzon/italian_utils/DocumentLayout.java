@@ -0,0 +1,139 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Fixed-layout document code format, such as the nine characters of a CIE serial number, shared by
+ * the document validators.
+ * <p>
+ * A layout is written one character per position: {@code @} for a letter, {@code #} for a digit,
+ * {@code *} for a letter or a digit, and any other character for itself. Each position is compiled
+ * into a 128-bit mask of the ASCII characters it accepts, with both cases of every letter, so a
+ * check is one case-insensitive pass of mask lookups that does not allocate. Other characters are
+ * first mapped with {@link Character#toUpperCase(char)}, so that, for example, a dotless
+ * {@code ı} matches {@code I}; characters that only uppercase to several characters, such as
+ * {@code ß}, are rejected.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+final class DocumentLayout {
+
+    private static final char LETTER = '@';
+    private static final char DIGIT = '#';
+    private static final char ALPHANUMERIC = '*';
+
+    private static final int ASCII = 0x80;
+
+    // Two words per position: the accepted characters below 64 and from 64 to 127
+    private final long[] masks;
+    private final String layout;
+
+    private DocumentLayout(String layout) {
+        this.layout = layout;
+        this.masks = new long[2 * layout.length()];
+        for (int i = 0; i < layout.length(); i++) {
+            char c = layout.charAt(i);
+            switch (c) {
+                case LETTER -> acceptLetters(i);
+                case DIGIT -> accept(i, '0', '9');
+                case ALPHANUMERIC -> {
+                    acceptLetters(i);
+                    accept(i, '0', '9');
+                }
+                default -> {
+                    if (c >= ASCII) {
+                        throw new IllegalArgumentException("Layout characters must be ASCII: " + layout);
+                    }
+                    accept(i, c, c);
+                    if (isLetter(c)) {
+                        accept(i, (char) (c ^ 0x20), (char) (c ^ 0x20));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles a layout.
+     *
+     * @param layout the layout, one character per position
+     * @return the compiled layout
+     * @throws IllegalArgumentException if the layout is empty or contains a non-ASCII character
+     */
+    static DocumentLayout of(String layout) {
+        if (layout.isEmpty()) {
+            throw new IllegalArgumentException("Empty layout");
+        }
+        return new DocumentLayout(layout);
+    }
+
+    /**
+     * Returns the number of characters of a matching code.
+     */
+    int length() {
+        return layout.length();
+    }
+
+    /**
+     * Checks a code against the layout.
+     *
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH}
+     *         or {@link ValidationCode#BAD_CHARSET}
+     */
+    ValidationCode check(CharSequence value) {
+        if (value == null) {
+            return ValidationCode.NULL;
+        }
+        if (value.length() != layout.length()) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        return matches(value) ? ValidationCode.VALID : ValidationCode.BAD_CHARSET;
+    }
+
+    /**
+     * Checks the characters of a code of the right length against the layout.
+     */
+    boolean matches(CharSequence value) {
+        for (int i = 0; i < masks.length / 2; i++) {
+            if (!accepts(i, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a position accepts a character.
+     */
+    boolean accepts(int position, char c) {
+        char folded = fold(c);
+        return folded < ASCII && (masks[2 * position + (folded >>> 6)] & 1L << folded) != 0;
+    }
+
+    /**
+     * Maps a non-ASCII character to its uppercase form, which may be ASCII; ASCII characters are unchanged.
+     */
+    static char fold(char c) {
+        return c < ASCII ? c : Character.toUpperCase(c);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentLayout[" + layout + "]";
+    }
+
+    private void acceptLetters(int position) {
+        accept(position, 'A', 'Z');
+        accept(position, 'a', 'z');
+    }
+
+    private void accept(int position, char from, char to) {
+        for (char c = from; c <= to; c++) {
+            masks[2 * position + (c >>> 6)] |= 1L << c;
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+}
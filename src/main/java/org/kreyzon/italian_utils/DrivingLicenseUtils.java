@@ -0,0 +1,243 @@
+package org.kreyzon.italian_utils;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Utility class for validating Italian driving licence (patente di guida) numbers.
+ * <p>
+ * Two formats of ten characters are accepted, ignoring the case of the letters: the card format
+ * issued since 1999, {@code U1} followed by seven letters or digits and a letter, and the legacy
+ * format, the province abbreviation (sigla) of the issuing authority followed by seven digits and a
+ * letter. The sigla of a legacy number must be one of the current Italian provinces or of the
+ * provinces since abolished, such as FO, PS, CI, VS, OG and OT.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+public class DrivingLicenseUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private DrivingLicenseUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    // Card format: U1, seven letters or digits, a letter
+    private static final DocumentLayout CARD_LAYOUT = DocumentLayout.of("U1*******@");
+
+    // Legacy format: the province sigla, seven digits, a letter
+    private static final DocumentLayout LEGACY_LAYOUT = DocumentLayout.of("@@#######@");
+
+    private static final int LENGTH = 10;
+    private static final int LETTERS = 26;
+
+    /**
+     * Validates a driving licence number.
+     *
+     * @param number the driving licence number to validate
+     * @return {@code true} if the number is valid, {@code false} otherwise
+     */
+    public static boolean isValidDrivingLicense(String number) {
+        return isValidDrivingLicense((CharSequence) number);
+    }
+
+    /**
+     * Validates a driving licence number, in the card or legacy format, ignoring the case of the letters.
+     *
+     * @param number the driving licence number to validate
+     * @return {@code true} if the number is valid, {@code false} otherwise
+     */
+    public static boolean isValidDrivingLicense(CharSequence number) {
+        return checkDrivingLicense(number) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a driving licence number stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the driving licence number
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidDrivingLicense(byte[] bytes, int offset, int length) {
+        return isValidDrivingLicense(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a driving licence number stored as ASCII bytes in a range of a buffer, in place. The index
+     * is absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the driving licence number
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidDrivingLicense(ByteBuffer buffer, int index, int length) {
+        return isValidDrivingLicense(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a driving licence number stored as ASCII bytes in a range of a memory segment, such as a
+     * mapped file, in place.
+     *
+     * @param segment the segment holding the driving licence number
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidDrivingLicense(MemorySegment segment, long offset, int length) {
+        return isValidDrivingLicense(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks a driving licence number as {@link #isValidDrivingLicense(CharSequence)} does and returns the
+     * reason it is invalid, without throwing and without allocating.
+     *
+     * @param number the driving licence number to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH},
+     *         {@link ValidationCode#BAD_CHARSET} or, for a legacy number whose sigla is not a province,
+     *         {@link ValidationCode#BAD_OFFICE}
+     */
+    public static ValidationCode checkDrivingLicense(CharSequence number) {
+        if (!ValidationMetrics.active()) {
+            return doCheckDrivingLicense(number);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.DRIVING_LICENSE, doCheckDrivingLicense(number), start);
+    }
+
+    private static ValidationCode doCheckDrivingLicense(CharSequence number) {
+        if (number == null) {
+            return ValidationCode.NULL;
+        }
+        if (number.length() != LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        if (isCardFormat(number)) {
+            return CARD_LAYOUT.matches(number) ? ValidationCode.VALID : ValidationCode.BAD_CHARSET;
+        }
+        if (!LEGACY_LAYOUT.matches(number)) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        return isProvince(number) ? ValidationCode.VALID : ValidationCode.BAD_OFFICE;
+    }
+
+    /**
+     * Returns the province abbreviation (sigla) of the authority that issued a legacy driving licence.
+     *
+     * @param number the driving licence number
+     * @return the uppercase sigla, or {@code null} if the number is not a valid legacy driving licence,
+     *         including any number in the card format, which does not record the issuing authority
+     */
+    public static String getIssuingProvince(CharSequence number) {
+        if (checkDrivingLicense(number) != ValidationCode.VALID || isCardFormat(number)) {
+            return null;
+        }
+        return new String(new char[] {upperCase(number.charAt(0)), upperCase(number.charAt(1))});
+    }
+
+    /**
+     * Checks a batch of driving licence numbers and stores the {@link ValidationCode} ordinal of each record.
+     *
+     * @param in  the driving licence numbers to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid driving licence numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkDrivingLicenses(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, DrivingLicenseUtils::checkDrivingLicense);
+    }
+
+    /**
+     * Validates a batch of driving licence numbers and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidDrivingLicense(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the driving licence numbers to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid driving licence numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateDrivingLicenses(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, DrivingLicenseUtils::isValidDrivingLicense);
+    }
+
+    /**
+     * Validates a batch of driving licence numbers, splitting large batches over a fork/join pool.
+     *
+     * @param in   the driving licence numbers to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid driving licence numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateDrivingLicenses(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, DrivingLicenseUtils::isValidDrivingLicense, pool);
+    }
+
+    /**
+     * Validates a batch of driving licence numbers and returns the results as a bit set.
+     *
+     * @param in the driving licence numbers to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validateDrivingLicenses(CharSequence[] in) {
+        return BatchValidation.validate(in, DrivingLicenseUtils::isValidDrivingLicense);
+    }
+
+    // The card format is told apart by its U1 prefix, which is never a province sigla
+    private static boolean isCardFormat(CharSequence number) {
+        return CARD_LAYOUT.accepts(0, number.charAt(0)) && CARD_LAYOUT.accepts(1, number.charAt(1));
+    }
+
+    private static boolean isProvince(CharSequence number) {
+        int bit = provinceBit(upperCase(number.charAt(0)), upperCase(number.charAt(1)));
+        return (Provinces.PROVINCE_BITS[bit >>> 6] & 1L << bit) != 0;
+    }
+
+    private static int provinceBit(char first, char second) {
+        return (first - 'A') * LETTERS + second - 'A';
+    }
+
+    // Maps a character accepted as a letter by a layout to its uppercase ASCII form
+    private static char upperCase(char c) {
+        return (char) (DocumentLayout.fold(c) & ~0x20);
+    }
+
+    /**
+     * Holder deferring the province table, needed by legacy numbers only, to its first use.
+     */
+    private static final class Provinces {
+
+        // Current province siglas, followed by the abolished ones still found on legacy licences
+        private static final String[] PROVINCES = {
+                "AG", "AL", "AN", "AO", "AP", "AQ", "AR", "AT", "AV", "BA", "BG", "BI", "BL", "BN", "BO", "BR",
+                "BS", "BT", "BZ", "CA", "CB", "CE", "CH", "CL", "CN", "CO", "CR", "CS", "CT", "CZ", "EN", "FC",
+                "FE", "FG", "FI", "FM", "FR", "GE", "GO", "GR", "IM", "IS", "KR", "LC", "LE", "LI", "LO", "LT",
+                "LU", "MB", "MC", "ME", "MI", "MN", "MO", "MS", "MT", "NA", "NO", "NU", "OR", "PA", "PC", "PD",
+                "PE", "PG", "PI", "PN", "PO", "PR", "PT", "PU", "PV", "PZ", "RA", "RC", "RE", "RG", "RI", "RM",
+                "RN", "RO", "SA", "SI", "SO", "SP", "SR", "SS", "SU", "SV", "TA", "TE", "TN", "TO", "TP", "TR",
+                "TS", "TV", "UD", "VA", "VB", "VC", "VE", "VI", "VR", "VT", "VV",
+                "FO", "PS", "CI", "VS", "OG", "OT"
+        };
+
+        // Bit (first - 'A') * 26 + (second - 'A') is set for each known sigla
+        static final long[] PROVINCE_BITS = new long[(LETTERS * LETTERS + 63) / 64];
+
+        static {
+            for (String province : PROVINCES) {
+                int bit = provinceBit(province.charAt(0), province.charAt(1));
+                PROVINCE_BITS[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package org.kreyzon.italian_utils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * In-memory index of people by name, surname and birthdate, finding the records that may
+ * describe the same person as a query despite typos, accents or particles.
+ * <p>
+ * Records are blocked by birth year: a query only looks at the records born in the same year.
+ * Within the year, a record is a candidate if its surname has the same phonetic key as the
+ * query (see {@link AnagraficaUtils#getPhoneticKey(CharSequence)}), or if the trigrams of its
+ * surname and name, case and accents folded and spaces and apostrophes dropped, have a Dice
+ * similarity of at least {@link #getMinSimilarity()} with those of the query. Both are lists of
+ * record ids in primitive {@code int} arrays, keyed by year and phonetic key or year and trigram
+ * in a {@link LongHashMap}. A query merges lists in id order, counting the trigrams each record
+ * shares: as a record reaching the similarity shares a minimum number of trigrams with the query,
+ * only the shortest trigram lists are merged, and the longest, those of common trigrams such as
+ * "ARI", are probed by binary search for the records found. A query therefore allocates in
+ * proportion to the records of its year holding its rarer trigrams, never to the size of the index.
+ * </p>
+ * <p>
+ * Names are not stored: candidates are returned as the ids assigned by {@link #add}, to be
+ * compared in full by the caller. Instances are not thread-safe, but once no more records are
+ * added, queries may run concurrently.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-17
+ */
+public final class DuplicateIndex {
+
+    /**
+     * Trigram similarity above which a record is a candidate when no other similarity is given.
+     */
+    public static final double DEFAULT_MIN_SIMILARITY = 0.6;
+
+    // Trigrams are over the letters A-Z and a boundary around and between surname and name
+    private static final int BOUNDARY = 26;
+    private static final int RADIX = 27;
+    private static final int TRIGRAM_BITS = 15;
+
+    // Phonetic keys are packed five bits per sound, the sounds numbered from 1 in this order
+    private static final String SOUNDS = "ABCDFGJKLMNPRSTVXZ";
+    private static final int SOUND_BITS = 5;
+    private static final int PHONETIC_BITS = SOUND_BITS * AnagraficaUtils.PHONETIC_KEY_LENGTH;
+
+    private static final int MAX_YEAR = 9999;
+
+    // Similarities are ranked as fixed-point fractions of this scale
+    private static final int SCORE_SCALE = 1 << 20;
+
+    private final double minSimilarity;
+
+    // Each list holds its length at index 0, then record ids in increasing order
+    private final LongHashMap<int[]> blocks = new LongHashMap<>();
+    private final LongHashMap<int[]> postings = new LongHashMap<>();
+
+    private int[] trigramCounts = new int[16];
+    private int size;
+
+    /**
+     * Creates an empty index with the {@linkplain #DEFAULT_MIN_SIMILARITY default similarity}.
+     */
+    public DuplicateIndex() {
+        this(DEFAULT_MIN_SIMILARITY);
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param minSimilarity the Dice similarity of trigrams, above 0 and at most 1, from which a
+     *                      record whose surname sounds different is still a candidate
+     * @throws IllegalArgumentException if the similarity is out of range
+     */
+    public DuplicateIndex(double minSimilarity) {
+        if (!(minSimilarity > 0 && minSimilarity <= 1)) {
+            throw new IllegalArgumentException("Similarity out of range: " + minSimilarity);
+        }
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Adds a person to the index.
+     *
+     * @param name      the name
+     * @param surname   the surname
+     * @param birthdate the birthdate
+     * @return the id of the record, the number of records added before it
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the birth year is outside 0 to 9999
+     */
+    public int add(CharSequence name, CharSequence surname, LocalDate birthdate) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(surname, "surname");
+        long year = birthYear(birthdate);
+        int[] trigrams = trigrams(name, surname);
+        int id = size;
+        if (id == trigramCounts.length) {
+            trigramCounts = Arrays.copyOf(trigramCounts, id * 2);
+        }
+        trigramCounts[id] = trigrams.length;
+        append(blocks, year << PHONETIC_BITS | phoneticKey(surname), id);
+        for (int trigram : trigrams) {
+            append(postings, year << TRIGRAM_BITS | trigram, id);
+        }
+        size++;
+        return id;
+    }
+
+    /**
+     * Finds the records that may describe the same person, most similar first. A record
+     * already added finds itself.
+     *
+     * @param name      the name
+     * @param surname   the surname
+     * @param birthdate the birthdate
+     * @param ids       the array receiving the ids of the candidates, up to its length
+     * @return the number of candidates, which may exceed the length of {@code ids}
+     * @throws NullPointerException     if an argument is {@code null}
+     * @throws IllegalArgumentException if the birth year is outside 0 to 9999
+     */
+    public int findCandidates(CharSequence name, CharSequence surname, LocalDate birthdate, int[] ids) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(surname, "surname");
+        Objects.requireNonNull(ids, "ids");
+        long year = birthYear(birthdate);
+        int[] trigrams = trigrams(name, surname);
+        int[][] lists = new int[trigrams.length + 1][];
+        int present = 0;
+        for (int trigram : trigrams) {
+            int[] list = postings.get(year << TRIGRAM_BITS | trigram);
+            if (list != null) {
+                lists[present++] = list;
+            }
+        }
+        sortByLength(lists, present);
+        // A record reaching the similarity shares at least minShared trigrams, so it is in one of
+        // the present - minShared + 1 shortest lists; the longer ones are only probed
+        int minShared = Math.max(1, (int) (minSimilarity * trigrams.length / (2 - minSimilarity)));
+        int merged = Math.clamp(present - minShared + 1, 0, present);
+        int[][] probes = Arrays.copyOfRange(lists, merged, present);
+        int blockList = -1;
+        int[] block = blocks.get(year << PHONETIC_BITS | phoneticKey(surname));
+        if (block != null) {
+            blockList = merged;
+            lists[merged++] = block;
+        }
+        long[] candidates = merge(lists, merged, blockList, probes, trigrams.length);
+        int found = (int) candidates[0];
+        Arrays.sort(candidates, 1, found + 1);
+        for (int i = 0; i < found && i < ids.length; i++) {
+            ids[i] = (int) candidates[i + 1];
+        }
+        return found;
+    }
+
+    /**
+     * Returns the trigram similarity from which a record whose surname sounds different is a candidate.
+     *
+     * @return the minimum Dice similarity
+     */
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    /**
+     * Returns the number of records in the index.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateIndex[size=" + size + ", minSimilarity=" + minSimilarity + "]";
+    }
+
+    /**
+     * Merges id lists through a binary heap ordered by the id at the cursor of each list, so that
+     * each record is seen once with the number of trigram lists holding it, then probes the
+     * longer trigram lists by binary search for the records that could still reach the similarity.
+     *
+     * @return the candidates at indexes 1 to the value at index 0, each the id in the low 32 bits
+     *         below the complement of its score, so that ascending order ranks the best first
+     */
+    private long[] merge(int[][] lists, int count, int blockList, int[][] probes, int queryTrigrams) {
+        int[] cursors = new int[count];
+        int[] heap = new int[count];
+        for (int i = 0; i < count; i++) {
+            cursors[i] = 1;
+            heap[i] = i;
+        }
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(heap, count, i, lists, cursors);
+        }
+        int[] probeCursors = new int[probes.length];
+        Arrays.fill(probeCursors, 1);
+        long[] candidates = new long[16];
+        int found = 0;
+        int heapSize = count;
+        while (heapSize > 0) {
+            int id = lists[heap[0]][cursors[heap[0]]];
+            int shared = 0;
+            boolean blocked = false;
+            do {
+                int list = heap[0];
+                if (list == blockList) {
+                    blocked = true;
+                } else {
+                    shared++;
+                }
+                if (++cursors[list] > lists[list][0]) {
+                    heap[0] = heap[--heapSize];
+                }
+                if (heapSize > 0) {
+                    siftDown(heap, heapSize, 0, lists, cursors);
+                }
+            } while (heapSize > 0 && lists[heap[0]][cursors[heap[0]]] == id);
+            if (!blocked && 2.0 * (shared + probes.length) < minSimilarity * (queryTrigrams + trigramCounts[id])) {
+                continue;
+            }
+            // Ids come in increasing order, so each probe resumes where the previous one ended
+            for (int i = 0; i < probes.length; i++) {
+                int[] probe = probes[i];
+                int index = Arrays.binarySearch(probe, probeCursors[i], probe[0] + 1, id);
+                if (index >= 0) {
+                    shared++;
+                    probeCursors[i] = index + 1;
+                } else {
+                    probeCursors[i] = -index - 1;
+                }
+            }
+            int total = queryTrigrams + trigramCounts[id];
+            if (blocked || 2.0 * shared >= minSimilarity * total) {
+                if (++found == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, found * 2);
+                }
+                long score = ((long) shared << 21) / total;
+                candidates[found] = (SCORE_SCALE - score) << 32 | id;
+            }
+        }
+        candidates[0] = found;
+        return candidates;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int index, int[][] lists, int[] cursors) {
+        int list = heap[index];
+        int id = lists[list][cursors[list]];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            int childId = lists[heap[child]][cursors[heap[child]]];
+            if (child + 1 < heapSize) {
+                int rightId = lists[heap[child + 1]][cursors[heap[child + 1]]];
+                if (rightId < childId) {
+                    child++;
+                    childId = rightId;
+                }
+            }
+            if (childId >= id) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = list;
+    }
+
+    // Insertion sort: a query has a few dozen lists at most
+    private static void sortByLength(int[][] lists, int count) {
+        for (int i = 1; i < count; i++) {
+            int[] list = lists[i];
+            int j = i;
+            while (j > 0 && lists[j - 1][0] > list[0]) {
+                lists[j] = lists[j - 1];
+                j--;
+            }
+            lists[j] = list;
+        }
+    }
+
+    private static void append(LongHashMap<int[]> lists, long key, int id) {
+        int[] list = lists.get(key);
+        if (list == null) {
+            list = new int[4];
+            lists.put(key, list);
+        } else if (list[0] == list.length - 1) {
+            list = Arrays.copyOf(list, list.length * 2);
+            lists.put(key, list);
+        }
+        list[++list[0]] = id;
+    }
+
+    private static long birthYear(LocalDate birthdate) {
+        int year = Objects.requireNonNull(birthdate, "birthdate").getYear();
+        if (year < 0 || year > MAX_YEAR) {
+            throw new IllegalArgumentException("Birth year out of range: " + year);
+        }
+        return year;
+    }
+
+    private static long phoneticKey(CharSequence surname) {
+        char[] key = new char[AnagraficaUtils.PHONETIC_KEY_LENGTH];
+        int length = AnagraficaUtils.getPhoneticKey(surname, key, 0);
+        long packed = 0;
+        for (int i = 0; i < length; i++) {
+            packed = packed << SOUND_BITS | SOUNDS.indexOf(key[i]) + 1;
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the distinct trigrams of the surname and name, in increasing order, over the folded
+     * letters of each with a boundary before, between and after them.
+     */
+    static int[] trigrams(CharSequence name, CharSequence surname) {
+        int[] symbols = new int[surname.length() + name.length() + 3];
+        int length = 0;
+        symbols[length++] = BOUNDARY;
+        length = appendLetters(surname, symbols, length);
+        symbols[length++] = BOUNDARY;
+        length = appendLetters(name, symbols, length);
+        symbols[length++] = BOUNDARY;
+        int[] trigrams = new int[length - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (symbols[i] * RADIX + symbols[i + 1]) * RADIX + symbols[i + 2];
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static int appendLetters(CharSequence value, int[] symbols, int length) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = NameFolding.fold(value.charAt(i));
+            if (c >= 'A' && c <= 'Z') {
+                symbols[length++] = c - 'A';
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,702 @@
+package org.kreyzon.italian_utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-only geographic index of Italian comuni, their provinces, regions, postal codes (CAP) and
+ * Belfiore codes, for checking that the address fields of a record agree with each other.
+ * <p>
+ * Like {@link BelfioreIndex}, the index is a single binary image kept outside the Java heap, made of
+ * sorted primitive arrays: the province abbreviations (sigle) with the region of each, the comuni
+ * sorted by name with their province and Belfiore code, and the CAP ranges sorted by their first
+ * CAP with the comune of each. Names are compared after folding case and the accents of Italian
+ * vowels, so "forli" finds "Forlì". Every lookup is a binary search followed by a short scan and
+ * does not allocate; only the accessors returning a {@link String} create objects.
+ * </p>
+ * <p>
+ * No index is bundled: a consistency check is only as good as its list of comuni, and a partial
+ * list would report every address outside it as a {@link ValidationCode#MISMATCH}. Build the image
+ * from the complete official lists of provinces and of comuni with their CAPs with
+ * {@link #write(Reader, Reader, OutputStream)} and memory-map it with {@link #load(Path)}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-15
+ */
+public final class GeographicIndex {
+
+    // "GEOI"
+    private static final int MAGIC = 0x47454F49;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private static final int CAP_LENGTH = 5;
+    private static final int BELFIORE_CODE_LENGTH = 4;
+
+    private static final ItalianRegion[] REGIONS = ItalianRegion.values();
+
+    private final ByteBuffer image;
+    private final int size;
+    private final int capCount;
+    private final int provinceCount;
+    // Largest capTo - capFrom of a CAP range, bounding the scan of the ranges containing a CAP
+    private final int maxCapSpan;
+    private final int regionsOffset;
+    private final int comuneProvincesOffset;
+    private final int codesOffset;
+    private final int keyOffsetsOffset;
+    private final int nameOffsetsOffset;
+    private final int capFromOffset;
+    private final int capToOffset;
+    private final int capRowsOffset;
+    private final int keysOffset;
+    private final int poolOffset;
+
+    private GeographicIndex(ByteBuffer image) throws IOException {
+        if (image.capacity() < HEADER_SIZE || image.getInt(0) != MAGIC || image.getShort(4) != VERSION) {
+            throw new IOException("Not a geographic index image");
+        }
+        this.image = image;
+        this.size = image.getInt(8);
+        this.capCount = image.getInt(12);
+        this.provinceCount = image.getInt(16);
+        int keyLength = image.getInt(20);
+        int poolSize = image.getInt(24);
+        this.maxCapSpan = image.getInt(28);
+        if ((size | capCount | provinceCount | keyLength | poolSize | maxCapSpan) < 0) {
+            throw new IOException("Corrupt geographic index image");
+        }
+        this.regionsOffset = HEADER_SIZE + 2 * provinceCount;
+        this.comuneProvincesOffset = regionsOffset + 2 * provinceCount;
+        this.codesOffset = comuneProvincesOffset + 2 * size;
+        this.keyOffsetsOffset = codesOffset + 2 * size;
+        this.nameOffsetsOffset = keyOffsetsOffset + 4 * (size + 1);
+        this.capFromOffset = nameOffsetsOffset + 4 * (size + 1);
+        this.capToOffset = capFromOffset + 4 * capCount;
+        this.capRowsOffset = capToOffset + 4 * capCount;
+        this.keysOffset = capRowsOffset + 4 * capCount;
+        this.poolOffset = keysOffset + 2 * keyLength;
+        if ((long) poolOffset + poolSize != image.capacity()) {
+            throw new IOException("Truncated geographic index image");
+        }
+    }
+
+    /**
+     * Memory-maps an index image written by {@link #write(Reader, Reader, OutputStream)}.
+     *
+     * @param path the index image
+     * @return the index, backed by the mapped file
+     * @throws IOException if the file cannot be read or is not an index image
+     */
+    public static GeographicIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new GeographicIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Builds an index image from semicolon-separated lists of provinces and comuni.
+     * <p>
+     * Each province line holds {@code sigla;region}, with the region named as an {@link ItalianRegion}
+     * constant. Each comune line holds {@code belfioreCode;name;sigla;caps}, where {@code caps} is a
+     * comma-separated list of CAPs and CAP ranges such as {@code 00118-00199}. Blank lines and lines
+     * starting with {@code #} are skipped.
+     * </p>
+     *
+     * @param provinces the list of provinces
+     * @param comuni    the list of comuni
+     * @param out       the stream receiving the index image
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if a line is malformed, a sigla is unknown or a comune is listed twice
+     */
+    public static void write(Reader provinces, Reader comuni, OutputStream out) throws IOException {
+        Map<Integer, ItalianRegion> regions = new HashMap<>();
+        for (Line line : Line.readAll(provinces, 2)) {
+            int sigla = packProvince(line.fields[0]);
+            if (sigla < 0 || !isUpperCase(line.fields[0])) {
+                throw line.error("invalid province " + line.fields[0]);
+            }
+            ItalianRegion region;
+            try {
+                region = ItalianRegion.valueOf(line.fields[1]);
+            } catch (IllegalArgumentException e) {
+                throw line.error("invalid region " + line.fields[1]);
+            }
+            if (regions.put(sigla, region) != null) {
+                throw line.error("duplicate province " + line.fields[0]);
+            }
+        }
+
+        List<Comune> rows = new ArrayList<>();
+        for (Line line : Line.readAll(comuni, 4)) {
+            rows.add(Comune.parse(line, regions));
+        }
+        rows.sort(Comparator.comparing((Comune row) -> row.key).thenComparingInt(row -> row.province));
+        List<int[]> caps = new ArrayList<>();
+        int maxCapSpan = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            Comune comune = rows.get(row);
+            if (row > 0 && comune.key.equals(rows.get(row - 1).key) && comune.province == rows.get(row - 1).province) {
+                throw new IllegalArgumentException("Duplicate comune " + comune.name);
+            }
+            for (int i = 0; i < comune.caps.length; i += 2) {
+                caps.add(new int[] {comune.caps[i], comune.caps[i + 1], row});
+                maxCapSpan = Math.max(maxCapSpan, comune.caps[i + 1] - comune.caps[i]);
+            }
+        }
+        caps.sort(Comparator.comparingInt((int[] range) -> range[0]).thenComparingInt(range -> range[2]));
+        int[] siglas = regions.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        StringBuilder keys = new StringBuilder();
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int[] keyOffsets = new int[rows.size() + 1];
+        int[] nameOffsets = new int[rows.size() + 1];
+        for (int i = 0; i < rows.size(); i++) {
+            keyOffsets[i] = keys.length();
+            nameOffsets[i] = pool.size();
+            keys.append(rows.get(i).key);
+            pool.writeBytes(rows.get(i).name.getBytes(StandardCharsets.UTF_8));
+        }
+        keyOffsets[rows.size()] = keys.length();
+        nameOffsets[rows.size()] = pool.size();
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(0);
+        data.writeInt(rows.size());
+        data.writeInt(caps.size());
+        data.writeInt(siglas.length);
+        data.writeInt(keys.length());
+        data.writeInt(pool.size());
+        data.writeInt(maxCapSpan);
+        for (int sigla : siglas) {
+            data.writeShort(sigla);
+        }
+        for (int sigla : siglas) {
+            data.writeShort(regions.get(sigla).ordinal());
+        }
+        for (Comune row : rows) {
+            data.writeShort(row.province);
+        }
+        for (Comune row : rows) {
+            data.writeShort(row.code);
+        }
+        for (int offset : keyOffsets) {
+            data.writeInt(offset);
+        }
+        for (int offset : nameOffsets) {
+            data.writeInt(offset);
+        }
+        for (int[] range : caps) {
+            data.writeInt(range[0]);
+        }
+        for (int[] range : caps) {
+            data.writeInt(range[1]);
+        }
+        for (int[] range : caps) {
+            data.writeInt(range[2]);
+        }
+        data.writeChars(keys.toString());
+        pool.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Returns the number of comuni in the index.
+     *
+     * @return the number of comuni
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by the index image, which lives outside the Java heap.
+     *
+     * @return the size of the index image in bytes
+     */
+    public long memoryFootprint() {
+        return image.capacity();
+    }
+
+    /**
+     * Checks whether a province abbreviation is in the index.
+     *
+     * @param province the two-letter sigla, letters in either case
+     * @return {@code true} if the province is in the index, {@code false} otherwise
+     */
+    public boolean isProvince(CharSequence province) {
+        return findProvince(packProvince(province)) >= 0;
+    }
+
+    /**
+     * Returns the region of a province.
+     *
+     * @param province the two-letter sigla, letters in either case
+     * @return the region, or {@code null} if the province is malformed or not in the index
+     */
+    public ItalianRegion getRegion(CharSequence province) {
+        int index = findProvince(packProvince(province));
+        return index < 0 ? null : REGIONS[image.getShort(regionsOffset + 2 * index)];
+    }
+
+    /**
+     * Finds a comune by name, ignoring case and accents. When comuni in different provinces share
+     * the name, the one whose province comes first in alphabetical order is returned.
+     *
+     * @param name the name, such as "Reggio nell'Emilia"
+     * @return the row, or -1 if no comune has this name
+     */
+    public int findComune(CharSequence name) {
+        if (name == null) {
+            return -1;
+        }
+        int row = lowerBound(name, false);
+        return row < size && compareName(row, name, false) == 0 ? row : -1;
+    }
+
+    /**
+     * Finds a comune by name, ignoring case and accents, in a province.
+     *
+     * @param name     the name
+     * @param province the two-letter sigla, letters in either case
+     * @return the row, or -1 if no comune of the province has this name
+     */
+    public int findComune(CharSequence name, CharSequence province) {
+        int sigla = packProvince(province);
+        if (name == null || sigla < 0) {
+            return -1;
+        }
+        for (int row = lowerBound(name, false); row < size && compareName(row, name, false) == 0; row++) {
+            if (provinceAt(row) == sigla) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the comuni served by a CAP, in no particular order. A CAP may serve several comuni.
+     *
+     * @param cap  the five-digit CAP
+     * @param rows the array receiving the rows of the comuni, up to its length
+     * @return the number of comuni served by the CAP, which may exceed the length of {@code rows};
+     *         0 if the CAP is malformed or not in the index
+     */
+    public int findComuni(CharSequence cap, int[] rows) {
+        Objects.requireNonNull(rows, "rows");
+        int value = parseCap(cap);
+        if (value < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int range = lastCapRange(value); range >= 0 && capFromAt(range) >= value - maxCapSpan; range--) {
+            if (capToAt(range) >= value) {
+                if (count < rows.length) {
+                    rows[count] = capRowAt(range);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a CAP, a province and a comune name agree: the comune must belong to the
+     * province and be served by the CAP.
+     *
+     * @param cap      the five-digit CAP
+     * @param province the two-letter sigla, letters in either case
+     * @param comune   the name of the comune, ignoring case and accents
+     * @return {@code true} if the three fields agree, {@code false} otherwise
+     */
+    public boolean isConsistent(CharSequence cap, CharSequence province, CharSequence comune) {
+        return checkAddress(cap, province, comune) == ValidationCode.VALID;
+    }
+
+    /**
+     * Checks a CAP, a province and a comune name as {@link #isConsistent(CharSequence, CharSequence, CharSequence)}
+     * does and returns the reason they do not agree, without throwing and without allocating.
+     *
+     * @param cap      the five-digit CAP
+     * @param province the two-letter sigla, letters in either case
+     * @param comune   the name of the comune, ignoring case and accents
+     * @return {@link ValidationCode#VALID}; {@link ValidationCode#NULL} if a field is {@code null};
+     *         {@link ValidationCode#BAD_LENGTH} or {@link ValidationCode#BAD_CHARSET} for a malformed CAP;
+     *         {@link ValidationCode#BAD_OFFICE} for a province not in the index; or
+     *         {@link ValidationCode#MISMATCH} if the province has no comune of that name or the CAP
+     *         does not serve it
+     */
+    public ValidationCode checkAddress(CharSequence cap, CharSequence province, CharSequence comune) {
+        if (cap == null || province == null || comune == null) {
+            return ValidationCode.NULL;
+        }
+        if (cap.length() != CAP_LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        int value = parseCap(cap);
+        if (value < 0) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        int sigla = packProvince(province);
+        if (findProvince(sigla) < 0) {
+            return ValidationCode.BAD_OFFICE;
+        }
+        for (int row = lowerBound(comune, false); row < size && compareName(row, comune, false) == 0; row++) {
+            if (provinceAt(row) == sigla && isServedBy(row, value)) {
+                return ValidationCode.VALID;
+            }
+        }
+        return ValidationCode.MISMATCH;
+    }
+
+    /**
+     * Finds the comuni whose name starts with a prefix, ignoring case and accents, for autocompletion.
+     *
+     * @param prefix the prefix, such as "reg"
+     * @param rows   the array receiving the rows of the comuni in name order, up to its length
+     * @return the number of comuni whose name starts with the prefix, which may exceed the length of
+     *         {@code rows}; 0 if {@code prefix} is {@code null}
+     */
+    public int complete(CharSequence prefix, int[] rows) {
+        Objects.requireNonNull(rows, "rows");
+        if (prefix == null) {
+            return 0;
+        }
+        int from = lowerBound(prefix, true);
+        int to = upperBound(prefix, from);
+        for (int i = 0; i < rows.length && from + i < to; i++) {
+            rows[i] = from + i;
+        }
+        return to - from;
+    }
+
+    /**
+     * Returns the name of a comune.
+     *
+     * @param row the row returned by a lookup
+     * @return the name
+     */
+    public String getName(int row) {
+        Objects.checkIndex(row, size);
+        int start = image.getInt(nameOffsetsOffset + 4 * row);
+        byte[] name = new byte[image.getInt(nameOffsetsOffset + 4 * (row + 1)) - start];
+        image.get(poolOffset + start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the Belfiore code of a comune, as looked up by {@link BelfioreIndex#find(CharSequence)}.
+     *
+     * @param row the row returned by a lookup
+     * @return the four-character code
+     */
+    public String getCode(int row) {
+        return BelfioreIndex.code(image.getShort(codesOffset + 2 * Objects.checkIndex(row, size)));
+    }
+
+    /**
+     * Returns the province abbreviation (sigla) of a comune.
+     *
+     * @param row the row returned by a lookup
+     * @return the two-letter sigla
+     */
+    public String getProvince(int row) {
+        int province = provinceAt(Objects.checkIndex(row, size));
+        return new String(new char[]{(char) (province >>> 8), (char) (province & 0xFF)});
+    }
+
+    /**
+     * Returns the region of a comune.
+     *
+     * @param row the row returned by a lookup
+     * @return the region
+     */
+    public ItalianRegion getRegion(int row) {
+        return REGIONS[image.getShort(regionsOffset + 2 * findProvince(provinceAt(Objects.checkIndex(row, size))))];
+    }
+
+    @Override
+    public String toString() {
+        return "GeographicIndex[comuni=" + size + ", provinces=" + provinceCount + ", caps=" + capCount
+                + ", bytes=" + memoryFootprint() + "]";
+    }
+
+    /**
+     * Checks whether one of the CAP ranges of a comune contains a CAP.
+     */
+    private boolean isServedBy(int row, int cap) {
+        for (int range = lastCapRange(cap); range >= 0 && capFromAt(range) >= cap - maxCapSpan; range--) {
+            if (capRowAt(range) == row && capToAt(range) >= cap) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the last CAP range starting at or before a CAP, or -1 if there is none.
+     */
+    private int lastCapRange(int cap) {
+        int low = 0;
+        int high = capCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (capFromAt(middle) <= cap) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Returns the index of a packed sigla in the province table, or -1 if it is not there.
+     */
+    private int findProvince(int sigla) {
+        if (sigla < 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = provinceCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = image.getShort(HEADER_SIZE + 2 * middle);
+            if (value < sigla) {
+                low = middle + 1;
+            } else if (value > sigla) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first row whose folded name is not below the folded query.
+     */
+    private int lowerBound(CharSequence query, boolean prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareName(middle, query, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first row from {@code from} whose folded name does not start with the folded prefix.
+     */
+    private int upperBound(CharSequence prefix, int from) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareName(middle, prefix, true) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the folded name of a row with a query, folding the query as it goes. With
+     * {@code prefix}, a name starting with the query compares as equal.
+     */
+    private int compareName(int row, CharSequence query, boolean prefix) {
+        int start = image.getInt(keyOffsetsOffset + 4 * row);
+        int length = image.getInt(keyOffsetsOffset + 4 * (row + 1)) - start;
+        int common = Math.min(length, query.length());
+        for (int i = 0; i < common; i++) {
+            char key = image.getChar(keysOffset + 2 * (start + i));
+            char c = NameFolding.fold(query.charAt(i));
+            if (key != c) {
+                return key - c;
+            }
+        }
+        return prefix && query.length() <= length ? 0 : length - query.length();
+    }
+
+    private int provinceAt(int row) {
+        return image.getShort(comuneProvincesOffset + 2 * row);
+    }
+
+    private int capFromAt(int range) {
+        return image.getInt(capFromOffset + 4 * range);
+    }
+
+    private int capToAt(int range) {
+        return image.getInt(capToOffset + 4 * range);
+    }
+
+    private int capRowAt(int range) {
+        return image.getInt(capRowsOffset + 4 * range);
+    }
+
+    /**
+     * Packs a two-letter sigla, letters in either case, as its two uppercase characters.
+     *
+     * @return the packed sigla, or -1 if it is not two ASCII letters
+     */
+    private static int packProvince(CharSequence province) {
+        if (province == null || province.length() != 2) {
+            return -1;
+        }
+        int first = upperCaseLetter(province.charAt(0));
+        int second = upperCaseLetter(province.charAt(1));
+        return (first | second) < 0 ? -1 : first << 8 | second;
+    }
+
+    private static int upperCaseLetter(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 0x20;
+        }
+        return c >= 'A' && c <= 'Z' ? c : -1;
+    }
+
+    private static boolean isUpperCase(String value) {
+        return value.equals(value.toUpperCase());
+    }
+
+    /**
+     * Parses a five-digit CAP.
+     *
+     * @return the CAP, or -1 if it is not five ASCII digits
+     */
+    private static int parseCap(CharSequence cap) {
+        if (cap == null || cap.length() != CAP_LENGTH) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < CAP_LENGTH; i++) {
+            int digit = BelfioreIndex.digit(cap.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * A non-blank, non-comment line of a source list, split into trimmed fields.
+     */
+    private static final class Line {
+
+        final String[] fields;
+        final int number;
+
+        private Line(String[] fields, int number) {
+            this.fields = fields;
+            this.number = number;
+        }
+
+        static List<Line> readAll(Reader source, int fieldCount) throws IOException {
+            List<Line> lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(source);
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(";", -1);
+                if (fields.length != fieldCount) {
+                    throw new IllegalArgumentException("Line " + number + ": expected " + fieldCount + " fields");
+                }
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = fields[i].trim();
+                }
+                lines.add(new Line(fields, number));
+            }
+            return lines;
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Line " + number + ": " + message);
+        }
+    }
+
+    /**
+     * A parsed line of the list of comuni.
+     */
+    private static final class Comune {
+
+        final int code;
+        final String name;
+        final String key;
+        final int province;
+        // Pairs of first and last CAP
+        final int[] caps;
+
+        private Comune(int code, String name, int province, int[] caps) {
+            this.code = code;
+            this.name = name;
+            this.province = province;
+            this.caps = caps;
+            char[] key = name.toCharArray();
+            for (int i = 0; i < key.length; i++) {
+                key[i] = NameFolding.fold(key[i]);
+            }
+            this.key = new String(key);
+        }
+
+        static Comune parse(Line line, Map<Integer, ItalianRegion> regions) {
+            String code = line.fields[0];
+            int key = code.length() == BELFIORE_CODE_LENGTH
+                    ? BelfioreIndex.key(Character.toUpperCase(code.charAt(0)), BelfioreIndex.digit(code.charAt(1)),
+                            BelfioreIndex.digit(code.charAt(2)), BelfioreIndex.digit(code.charAt(3)))
+                    : -1;
+            if (key < 0) {
+                throw line.error("invalid Belfiore code " + code);
+            }
+            String name = line.fields[1];
+            if (name.isEmpty()) {
+                throw line.error("missing name");
+            }
+            int province = packProvince(line.fields[2]);
+            if (!regions.containsKey(province)) {
+                throw line.error("unknown province " + line.fields[2]);
+            }
+            String[] ranges = line.fields[3].split(",");
+            int[] caps = new int[2 * ranges.length];
+            for (int i = 0; i < ranges.length; i++) {
+                String range = ranges[i].trim();
+                int dash = range.indexOf('-');
+                caps[2 * i] = parseCap(dash < 0 ? range : range.substring(0, dash));
+                caps[2 * i + 1] = parseCap(dash < 0 ? range : range.substring(dash + 1));
+                if (caps[2 * i] < 0 || caps[2 * i + 1] < caps[2 * i]) {
+                    throw line.error("invalid CAP range " + range);
+                }
+            }
+            return new Comune(key, name, province, caps);
+        }
+    }
+}
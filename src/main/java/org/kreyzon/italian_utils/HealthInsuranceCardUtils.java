@@ -1,7 +1,12 @@
 package org.kreyzon.italian_utils;
 
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.regex.Pattern;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class for validating Italian Health Insurance Card (Tessera Sanitaria) details.
@@ -22,8 +27,14 @@ public class HealthInsuranceCardUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    // Regular expression pattern to match the Health Insurance Card serial number format: 20 numeric digits
-    private static final Pattern HIC_SERIAL_PATTERN = Pattern.compile("^\\d{20}$");
+    // Health Insurance Card serial number format: 20 numeric digits
+    private static final int HIC_SERIAL_LENGTH = 20;
+    private static final DocumentLayout HIC_SERIAL_LAYOUT = DocumentLayout.of("####################");
+
+    // A packed serial number is split after its first two digits, as 10^20 does not fit in a long
+    private static final int HIGH_DIGITS = 2;
+    private static final long MAX_PACKED_HIGH = 99;
+    private static final long MAX_PACKED_LOW = 999_999_999_999_999_999L;
 
     /**
      * Validates the Health Insurance Card serial number format.
@@ -32,10 +43,222 @@ public class HealthInsuranceCardUtils {
      * @return {@code true} if the serial number is valid, {@code false} otherwise
      */
     public static boolean isValidHICSerial(String serialNumber) {
+        return isValidHICSerial((CharSequence) serialNumber);
+    }
+
+    /**
+     * Validates the Health Insurance Card serial number format: exactly 20 ASCII digits.
+     *
+     * @param serialNumber the Health Insurance Card serial number to validate
+     * @return {@code true} if the serial number is valid, {@code false} otherwise
+     */
+    public static boolean isValidHICSerial(CharSequence serialNumber) {
+        return checkHICSerial(serialNumber) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a Health Insurance Card serial number stored as ASCII bytes in a range of an array, in
+     * place.
+     *
+     * @param bytes  the array holding the Health Insurance Card serial number
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Health Insurance Card serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidHICSerial(byte[] bytes, int offset, int length) {
+        return isValidHICSerial(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a Health Insurance Card serial number stored as ASCII bytes in a range of a buffer, in
+     * place. The index is absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the Health Insurance Card serial number
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Health Insurance Card serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidHICSerial(ByteBuffer buffer, int index, int length) {
+        return isValidHICSerial(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a Health Insurance Card serial number stored as ASCII bytes in a range of a memory
+     * segment, such as a mapped file, in place.
+     *
+     * @param segment the segment holding the Health Insurance Card serial number
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the Health Insurance Card serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidHICSerial(MemorySegment segment, long offset, int length) {
+        return isValidHICSerial(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks a Health Insurance Card serial number as {@link #isValidHICSerial(CharSequence)} does and
+     * returns the reason it is invalid, without throwing and without allocating.
+     *
+     * @param serialNumber the Health Insurance Card serial number to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH}
+     *         or {@link ValidationCode#BAD_CHARSET}
+     */
+    public static ValidationCode checkHICSerial(CharSequence serialNumber) {
+        if (!ValidationMetrics.active()) {
+            return doCheckHICSerial(serialNumber);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.HIC_SERIAL, doCheckHICSerial(serialNumber), start);
+    }
+
+    private static ValidationCode doCheckHICSerial(CharSequence serialNumber) {
         if (serialNumber == null) {
+            return ValidationCode.NULL;
+        }
+        if (serialNumber.length() != HIC_SERIAL_LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        if (serialNumber instanceof CharSlice slice) {
+            // Fields of a streamed record, or of a byte array, are checked in place by the digit kernels
+            return DigitKernels.get().isDigits(slice.array(), slice.offset(), slice.offset() + HIC_SERIAL_LENGTH)
+                    ? ValidationCode.VALID : ValidationCode.BAD_CHARSET;
+        }
+        if (serialNumber instanceof ByteSlice slice && slice.array() != null) {
+            return DigitKernels.get().isDigits(slice.array(), slice.offset(), slice.offset() + HIC_SERIAL_LENGTH)
+                    ? ValidationCode.VALID : ValidationCode.BAD_CHARSET;
+        }
+        return HIC_SERIAL_LAYOUT.matches(serialNumber) ? ValidationCode.VALID : ValidationCode.BAD_CHARSET;
+    }
+
+    /**
+     * Checks a batch of Health Insurance Card serial numbers and stores the {@link ValidationCode} ordinal
+     * of each record.
+     *
+     * @param in  the serial numbers to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkHICSerials(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, HealthInsuranceCardUtils::checkHICSerial);
+    }
+
+    /**
+     * Validates a batch of Health Insurance Card serial numbers and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidHICSerial(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the Health Insurance Card serial numbers to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid Health Insurance Card serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateHICSerials(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, HealthInsuranceCardUtils::isValidHICSerial);
+    }
+
+    /**
+     * Validates a batch of Health Insurance Card serial numbers, splitting large batches over a fork/join pool.
+     *
+     * @param in   the Health Insurance Card serial numbers to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid Health Insurance Card serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateHICSerials(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, HealthInsuranceCardUtils::isValidHICSerial, pool);
+    }
+
+    /**
+     * Validates a batch of Health Insurance Card serial numbers and returns the results as a bit set.
+     *
+     * @param in the Health Insurance Card serial numbers to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validateHICSerials(CharSequence[] in) {
+        return BatchValidation.validate(in, HealthInsuranceCardUtils::isValidHICSerial);
+    }
+
+    /**
+     * Packs a valid Health Insurance Card serial number into two {@code long}s, as its 20 digits do
+     * not fit in one: the first two digits, from 0 to 99, and the last eighteen digits, from 0 to
+     * 10^18 - 1, each read as a number. Comparing the high parts and then the low parts with
+     * {@link Long#compare(long, long)} orders packed serial numbers as the strings.
+     * <p>
+     * Cards issued in Italy all start with {@code 80}, so a {@link LongHashMap} from the high part to a
+     * {@link LongHashSet} of low parts holds a set of serial numbers at the cost of one {@code long} each.
+     * </p>
+     *
+     * @param serialNumber the Health Insurance Card serial number to pack
+     * @param out          the destination array, receiving the high part at {@code offset} and the low
+     *                     part at {@code offset + 1}
+     * @param offset       the index of the high part
+     * @return {@code true} if the serial number was packed, {@code false} if
+     *         {@link #checkHICSerial(CharSequence)} does not return {@link ValidationCode#VALID}, in which
+     *         case {@code out} is not changed
+     * @throws IndexOutOfBoundsException if the two parts do not fit in {@code out} at {@code offset}
+     */
+    public static boolean packHICSerial(CharSequence serialNumber, long[] out, int offset) {
+        Objects.checkFromIndexSize(offset, 2, out.length);
+        if (checkHICSerial(serialNumber) != ValidationCode.VALID) {
             return false;
         }
-        return HIC_SERIAL_PATTERN.matcher(serialNumber.toUpperCase()).matches();
+        long high = 0;
+        for (int i = 0; i < HIGH_DIGITS; i++) {
+            high = high * 10 + serialNumber.charAt(i) - '0';
+        }
+        long low = 0;
+        for (int i = HIGH_DIGITS; i < HIC_SERIAL_LENGTH; i++) {
+            low = low * 10 + serialNumber.charAt(i) - '0';
+        }
+        out[offset] = high;
+        out[offset + 1] = low;
+        return true;
+    }
+
+    /**
+     * Unpacks a Health Insurance Card serial number packed by
+     * {@link #packHICSerial(CharSequence, long[], int)}.
+     *
+     * @param high the first two digits, as packed
+     * @param low  the last eighteen digits, as packed
+     * @return the 20 digits of the serial number
+     * @throws IllegalArgumentException if either part is out of range
+     */
+    public static String unpackHICSerial(long high, long low) {
+        char[] chars = new char[HIC_SERIAL_LENGTH];
+        unpackHICSerial(high, low, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the 20 digits of a packed Health Insurance Card serial number into an array, without allocating.
+     *
+     * @param high   the first two digits, as packed
+     * @param low    the last eighteen digits, as packed
+     * @param out    the destination array
+     * @param offset the index of the first character to write
+     * @return the number of characters written, always 20
+     * @throws IllegalArgumentException  if either part is out of range
+     * @throws IndexOutOfBoundsException if the digits do not fit in {@code out} at {@code offset}
+     */
+    public static int unpackHICSerial(long high, long low, char[] out, int offset) {
+        if (high < 0 || high > MAX_PACKED_HIGH || low < 0 || low > MAX_PACKED_LOW) {
+            throw new IllegalArgumentException("Invalid packed Health Insurance Card serial number: " + high + ", " + low);
+        }
+        Objects.checkFromIndexSize(offset, HIC_SERIAL_LENGTH, out.length);
+        for (int i = offset + HIC_SERIAL_LENGTH - 1; i >= offset + HIGH_DIGITS; i--) {
+            out[i] = (char) ('0' + low % 10);
+            low /= 10;
+        }
+        out[offset + 1] = (char) ('0' + high % 10);
+        out[offset] = (char) ('0' + high / 10);
+        return HIC_SERIAL_LENGTH;
     }
 
     /**
@@ -45,10 +268,32 @@ public class HealthInsuranceCardUtils {
      * @return {@code true} if the card is currently valid, {@code false} otherwise
      */
     public static boolean isCardCurrentlyValid(LocalDate expirationDate) {
+        return isCardValidOn(expirationDate, LocalDate.now());
+    }
+
+    /**
+     * Checks if the Health Insurance Card is valid on the current date of the given clock.
+     *
+     * @param expirationDate the expiration date of the Health Insurance Card
+     * @param clock          the clock providing the current date
+     * @return {@code true} if the card is currently valid, {@code false} otherwise
+     */
+    public static boolean isCardCurrentlyValid(LocalDate expirationDate, Clock clock) {
+        return isCardValidOn(expirationDate, LocalDate.now(clock));
+    }
+
+    /**
+     * Checks if the Health Insurance Card is valid on a reference date, that is if it expires after that date.
+     *
+     * @param expirationDate the expiration date of the Health Insurance Card
+     * @param referenceDate  the date on which the card is checked
+     * @return {@code true} if the card is valid on the reference date, {@code false} otherwise
+     */
+    public static boolean isCardValidOn(LocalDate expirationDate, LocalDate referenceDate) {
         if (expirationDate == null) {
             return false;
         }
-        return LocalDate.now().isBefore(expirationDate);
+        return referenceDate.isBefore(expirationDate);
     }
 
     /**
@@ -61,4 +306,25 @@ public class HealthInsuranceCardUtils {
     public static boolean isValidHealthInsuranceCard(String serialNumber, LocalDate expirationDate) {
         return isValidHICSerial(serialNumber) && isCardCurrentlyValid(expirationDate);
     }
+
+    /**
+     * Checks Health Insurance Card details on a reference date and returns the reason they are invalid.
+     *
+     * @param serialNumber   the serial number of the Health Insurance Card
+     * @param expirationDate the expiration date of the Health Insurance Card
+     * @param referenceDate  the date on which the card is checked
+     * @return {@link ValidationCode#VALID}, the code of the serial number check, {@link ValidationCode#NULL}
+     *         for a missing expiration date or {@link ValidationCode#EXPIRED}
+     */
+    public static ValidationCode checkHealthInsuranceCard(CharSequence serialNumber, LocalDate expirationDate,
+                                                          LocalDate referenceDate) {
+        ValidationCode serial = checkHICSerial(serialNumber);
+        if (serial != ValidationCode.VALID) {
+            return serial;
+        }
+        if (expirationDate == null) {
+            return ValidationCode.NULL;
+        }
+        return isCardValidOn(expirationDate, referenceDate) ? ValidationCode.VALID : ValidationCode.EXPIRED;
+    }
 }
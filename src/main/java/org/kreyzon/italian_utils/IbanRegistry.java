@@ -0,0 +1,256 @@
+package org.kreyzon.italian_utils;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed registry of IBAN country specifications.
+ * <p>
+ * For every country in the SWIFT IBAN registry this class stores the total IBAN length and the
+ * character class expected at each BBAN position. Both tables are primitive arrays indexed by the
+ * two-letter country code ({@code (first - 'A') * 26 + (second - 'A')}), so a lookup is two
+ * subtractions and an array load, with no hashing and no String keys.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-22
+ */
+final class IbanRegistry {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private IbanRegistry() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    // BBAN character classes, as in the SWIFT notation: n = digits, a = uppercase letters, c = both
+    static final byte DIGIT = 1;
+    static final byte LETTER = 2;
+    static final byte ALPHANUMERIC = 3;
+
+    private static final int COUNTRY_COUNT = 26 * 26;
+
+    // Character class bits of each ASCII character, so a BBAN position is checked with a single mask
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    /**
+     * Country code, IBAN length and BBAN structure in the SWIFT IBAN registry notation.
+     */
+    private static final String[] SPECS = {
+            "AD 24 4!n4!n12!c",
+            "AE 23 3!n16!n",
+            "AL 28 8!n16!c",
+            "AT 20 5!n11!n",
+            "AZ 28 4!a20!c",
+            "BA 20 3!n3!n8!n2!n",
+            "BE 16 3!n7!n2!n",
+            "BG 22 4!a4!n2!n8!c",
+            "BH 22 4!a14!c",
+            "BR 29 8!n5!n10!n1!a1!c",
+            "BY 28 4!c4!n16!c",
+            "CH 21 5!n12!c",
+            "CR 22 4!n14!n",
+            "CY 28 3!n5!n16!c",
+            "CZ 24 4!n6!n10!n",
+            "DE 22 8!n10!n",
+            "DK 18 4!n9!n1!n",
+            "DO 28 4!c20!n",
+            "EE 20 2!n2!n11!n1!n",
+            "EG 29 4!n4!n17!n",
+            "ES 24 4!n4!n1!n1!n10!n",
+            "FI 18 3!n11!n",
+            "FO 18 4!n9!n1!n",
+            "FR 27 5!n5!n11!c2!n",
+            "GB 22 4!a6!n8!n",
+            "GE 22 2!a16!n",
+            "GI 23 4!a15!c",
+            "GL 18 4!n9!n1!n",
+            "GR 27 3!n4!n16!c",
+            "GT 28 4!c20!c",
+            "HR 21 7!n10!n",
+            "HU 28 3!n4!n1!n15!n1!n",
+            "IE 22 4!a6!n8!n",
+            "IL 23 3!n3!n13!n",
+            "IQ 23 4!a3!n12!n",
+            "IS 26 4!n2!n6!n10!n",
+            "IT 27 1!a5!n5!n12!c",
+            "JO 30 4!a4!n18!c",
+            "KW 30 4!a22!c",
+            "KZ 20 3!n13!c",
+            "LB 28 4!n20!c",
+            "LC 32 4!a24!c",
+            "LI 21 5!n12!c",
+            "LT 20 5!n11!n",
+            "LU 20 3!n13!c",
+            "LV 21 4!a13!c",
+            "MC 27 5!n5!n11!c2!n",
+            "MD 24 2!c18!c",
+            "ME 22 3!n13!n2!n",
+            "MK 19 3!n10!c2!n",
+            "MR 27 5!n5!n11!n2!n",
+            "MT 31 4!a5!n18!c",
+            "MU 30 4!a2!n2!n12!n3!n3!a",
+            "NL 18 4!a10!n",
+            "NO 15 4!n6!n1!n",
+            "PK 24 4!a16!c",
+            "PL 28 8!n16!n",
+            "PS 29 4!a21!c",
+            "PT 25 4!n4!n11!n2!n",
+            "QA 29 4!a21!c",
+            "RO 24 4!a16!c",
+            "RS 22 3!n13!n2!n",
+            "SA 24 2!n18!c",
+            "SC 31 4!a2!n2!n16!n3!a",
+            "SE 24 3!n16!n1!n",
+            "SI 19 5!n8!n2!n",
+            "SK 24 4!n6!n10!n",
+            "SM 27 1!a5!n5!n12!c",
+            "ST 25 4!n4!n11!n2!n",
+            "SV 28 4!a20!n",
+            "TL 23 3!n14!n2!n",
+            "TN 24 2!n3!n13!n2!n",
+            "TR 26 5!n1!n16!c",
+            "UA 29 6!n19!c",
+            "VA 22 3!n15!n",
+            "VG 24 4!a16!n",
+            "XK 20 4!n10!n2!n"
+    };
+
+    // IBAN length per country index, 0 for countries outside the registry
+    private static final byte[] LENGTHS = new byte[COUNTRY_COUNT];
+
+    // BBAN character class per position, per country index, null for countries outside the registry
+    private static final byte[][] LAYOUTS = new byte[COUNTRY_COUNT][];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII_CLASSES[c] = DIGIT;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ASCII_CLASSES[c] = LETTER;
+        }
+
+        for (String spec : SPECS) {
+            int index = countryIndex(spec.charAt(0), spec.charAt(1));
+            int length = Integer.parseInt(spec.substring(3, 5));
+            byte[] layout = parseLayout(spec.substring(6));
+            if (layout.length + 4 != length) {
+                throw new IllegalStateException("Inconsistent IBAN spec: " + spec);
+            }
+            LENGTHS[index] = (byte) length;
+            LAYOUTS[index] = layout;
+        }
+    }
+
+    /**
+     * Computes the registry index of a two-letter country code.
+     *
+     * @param first  the first letter of the country code
+     * @param second the second letter of the country code
+     * @return the index between 0 and 675, or -1 if either character is not an uppercase letter
+     */
+    static int countryIndex(char first, char second) {
+        if (first < 'A' || first > 'Z' || second < 'A' || second > 'Z') {
+            return -1;
+        }
+        return (first - 'A') * 26 + (second - 'A');
+    }
+
+    /**
+     * Returns the IBAN length registered for a country.
+     *
+     * @param countryIndex the index returned by {@link #countryIndex(char, char)}
+     * @return the IBAN length, or 0 if the country has no IBAN spec
+     */
+    static int length(int countryIndex) {
+        return countryIndex < 0 ? 0 : LENGTHS[countryIndex];
+    }
+
+    /**
+     * Checks an IBAN against its country spec: known country, exact length, two check digits
+     * and the BBAN character classes. Length is checked first, so most malformed input is rejected
+     * before looking at any other character.
+     *
+     * @param iban the IBAN to check
+     * @return {@code true} if the IBAN matches its country spec, {@code false} otherwise
+     */
+    static boolean matches(CharSequence iban) {
+        return check(iban) == ValidationCode.VALID;
+    }
+
+    /**
+     * Checks an IBAN against its country spec, as {@link #matches(CharSequence)}, and returns the
+     * reason it does not match.
+     *
+     * @param iban the IBAN to check
+     * @return {@link ValidationCode#VALID} if the IBAN matches its country spec, otherwise
+     *         {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH}, {@link ValidationCode#BAD_COUNTRY}
+     *         or {@link ValidationCode#BAD_CHARSET}
+     */
+    static ValidationCode check(CharSequence iban) {
+        if (iban == null) {
+            return ValidationCode.NULL;
+        }
+        if (iban.length() < 4) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        int index = countryIndex(iban.charAt(0), iban.charAt(1));
+        if (index < 0) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        if (LENGTHS[index] == 0) {
+            return ValidationCode.BAD_COUNTRY;
+        }
+        if (LENGTHS[index] != iban.length()) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        if (!isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+            return ValidationCode.BAD_CHARSET;
+        }
+
+        byte[] layout = LAYOUTS[index];
+        for (int i = 0; i < layout.length; i++) {
+            if (!matchesClass(layout[i], iban.charAt(i + 4))) {
+                return ValidationCode.BAD_CHARSET;
+            }
+        }
+        return ValidationCode.VALID;
+    }
+
+    private static boolean matchesClass(byte characterClass, char c) {
+        return c < ASCII_CLASSES.length && (ASCII_CLASSES[c] & characterClass) != 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Expands a BBAN structure such as {@code 1!a5!n5!n12!c} into one character class per position.
+     *
+     * @param structure the BBAN structure in SWIFT notation (fixed length fields only)
+     * @return the character class of each BBAN position
+     */
+    private static byte[] parseLayout(String structure) {
+        byte[] layout = new byte[30];
+        int position = 0;
+        int i = 0;
+        while (i < structure.length()) {
+            int count = 0;
+            while (isDigit(structure.charAt(i))) {
+                count = count * 10 + (structure.charAt(i++) - '0');
+            }
+            i++; // skip the '!' fixed length marker
+            byte characterClass = switch (structure.charAt(i++)) {
+                case 'n' -> DIGIT;
+                case 'a' -> LETTER;
+                case 'c' -> ALPHANUMERIC;
+                default -> throw new IllegalStateException("Unknown BBAN character class in " + structure);
+            };
+            for (int j = 0; j < count; j++) {
+                layout[position++] = characterClass;
+            }
+        }
+        return Arrays.copyOf(layout, position);
+    }
+}
@@ -0,0 +1,326 @@
+package org.kreyzon.italian_utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Read-only set of identifiers of one {@link IdentifierType}, such as the Partita IVA numbers of
+ * ceased companies or IBANs on a fraud list, sized for tens of millions of entries.
+ * <p>
+ * Each identifier is packed into a 64-bit key (see {@link IdentifierType}), and the set is a
+ * single binary image kept outside the Java heap: a Bloom filter with about 10 bits and 7 hashes
+ * per key, the keys scrambled by a bijective mix and sorted, and a directory of where each value
+ * of the top bits starts. A lookup packs the input without allocating and probes the filter,
+ * which rejects about 99% of absent identifiers; only then does it binary-search the few keys
+ * of its directory bucket. As the mix loses no bits, the answer is exact for a Partita IVA. Ten
+ * million identifiers take about 100 MB, against several gigabytes for a {@code HashSet<String>}.
+ * </p>
+ * <p>
+ * Build an image from a list with one identifier per line with
+ * {@link #write(IdentifierType, Reader, OutputStream)} and memory-map it with {@link #load(Path)},
+ * which reads nothing until the first lookups touch the pages. {@link #of(IdentifierType, Iterable)}
+ * builds a set in memory. {@link #check(CharSequence)} runs the validator of the type and then
+ * screens valid identifiers against the set, as an extra stage returning
+ * {@link ValidationCode#LISTED}. Instances are immutable and thread-safe.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+public final class IdentifierSet {
+
+    // "IDST"
+    private static final int MAGIC = 0x49445354;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    // The directory has one bucket per 8 to 16 keys
+    private static final int KEYS_PER_BUCKET = 8;
+
+    // Largest set whose image, filter and directory included, stays within the 2 GB a ByteBuffer can address
+    private static final int MAX_SIZE = 200_000_000;
+
+    private final ByteBuffer image;
+    private final IdentifierType type;
+    private final int size;
+    private final int bloomWords;
+    private final int bloomHashes;
+    private final int directoryShift;
+    private final int directoryOffset;
+    private final int keysOffset;
+
+    private IdentifierSet(ByteBuffer image) throws IOException {
+        if (image.capacity() < HEADER_SIZE || image.getInt(0) != MAGIC || image.getShort(4) != VERSION) {
+            throw new IOException("Not an identifier set image");
+        }
+        int typeOrdinal = image.getShort(6);
+        if (typeOrdinal < 0 || typeOrdinal >= IdentifierType.values().length) {
+            throw new IOException("Unknown identifier type " + typeOrdinal);
+        }
+        this.image = image;
+        this.type = IdentifierType.values()[typeOrdinal];
+        this.size = image.getInt(8);
+        this.bloomWords = image.getInt(12);
+        this.bloomHashes = image.getInt(16);
+        int directoryBits = image.getInt(20);
+        this.directoryShift = 64 - directoryBits;
+        this.directoryOffset = HEADER_SIZE + 8 * bloomWords;
+        this.keysOffset = directoryOffset + 4 * (1 << directoryBits);
+        if (size < 0 || Integer.bitCount(bloomWords) != 1 || bloomHashes <= 0 || directoryBits < 1 || directoryBits > 28
+                || (long) keysOffset + 8L * size != image.capacity()) {
+            throw new IOException("Truncated identifier set image");
+        }
+    }
+
+    /**
+     * Memory-maps a set image written by {@link #write(IdentifierType, Reader, OutputStream)}.
+     *
+     * @param path the set image
+     * @return the set, backed by the mapped file
+     * @throws IOException if the file cannot be read or is not a set image
+     */
+    public static IdentifierSet load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new IdentifierSet(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Builds a set image from a list with one identifier per line. Blank lines and lines starting
+     * with {@code #} are skipped, surrounding spaces are ignored and duplicates are stored once.
+     *
+     * @param type  the type of the identifiers
+     * @param lines the list of identifiers
+     * @param out   the stream receiving the set image
+     * @throws IOException              if reading or writing fails
+     * @throws IllegalArgumentException if a line cannot be packed, such as a Partita IVA with a
+     *                                  letter, or the list has more than 200 million identifiers
+     */
+    public static void write(IdentifierType type, Reader lines, OutputStream out) throws IOException {
+        Objects.requireNonNull(type, "type");
+        BufferedReader reader = new BufferedReader(lines);
+        long[] keys = new long[1024];
+        int count = 0;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String value = line.strip();
+            if (value.isEmpty() || value.startsWith("#")) {
+                continue;
+            }
+            long key = type.key(value);
+            if (key == IdentifierType.NO_KEY) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid identifier " + value);
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, newCapacity(count));
+            }
+            keys[count++] = key;
+        }
+        ByteBuffer image = image(type, keys, count);
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (image.hasRemaining()) {
+            channel.write(image);
+        }
+        out.flush();
+    }
+
+    /**
+     * Builds a set in memory, outside the Java heap.
+     *
+     * @param type   the type of the identifiers
+     * @param values the identifiers; duplicates are stored once
+     * @return the set
+     * @throws IllegalArgumentException if a value cannot be packed, or there are more than 200
+     *                                  million values
+     */
+    public static IdentifierSet of(IdentifierType type, Iterable<? extends CharSequence> values) {
+        Objects.requireNonNull(type, "type");
+        long[] keys = new long[16];
+        int count = 0;
+        for (CharSequence value : values) {
+            long key = type.key(value);
+            if (key == IdentifierType.NO_KEY) {
+                throw new IllegalArgumentException("Invalid identifier " + value);
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, newCapacity(count));
+            }
+            keys[count++] = key;
+        }
+        try {
+            return new IdentifierSet(image(type, keys, count));
+        } catch (IOException e) {
+            throw new IllegalStateException("Inconsistent identifier set image", e);
+        }
+    }
+
+    /**
+     * Returns the type of the identifiers in the set.
+     *
+     * @return the identifier type
+     */
+    public IdentifierType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of distinct identifiers in the set.
+     *
+     * @return the number of identifiers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by the set image, which lives outside the Java heap.
+     *
+     * @return the size of the set image in bytes
+     */
+    public long memoryFootprint() {
+        return image.capacity();
+    }
+
+    /**
+     * Checks whether an identifier is in the set. The identifier itself is not validated.
+     *
+     * @param value the identifier
+     * @return {@code true} if the identifier is in the set, {@code false} if it is not or cannot
+     *         be packed, such as {@code null}
+     */
+    public boolean contains(CharSequence value) {
+        long key = type.key(value);
+        if (key == IdentifierType.NO_KEY) {
+            return false;
+        }
+        long hash = IdentifierType.mix(key);
+        return mightContain(hash) && indexOf(hash) >= 0;
+    }
+
+    /**
+     * Validates an identifier with the validator of the set type, then screens it against the set.
+     *
+     * @param value the identifier
+     * @return the code of the validator if it is not {@link ValidationCode#VALID},
+     *         {@link ValidationCode#LISTED} if the identifier is valid and in the set, and
+     *         {@link ValidationCode#VALID} otherwise
+     */
+    public ValidationCode check(CharSequence value) {
+        ValidationCode code = type.check(value);
+        return code == ValidationCode.VALID && contains(value) ? ValidationCode.LISTED : code;
+    }
+
+    @Override
+    public String toString() {
+        return "IdentifierSet[type=" + type + ", size=" + size + ", bytes=" + memoryFootprint() + "]";
+    }
+
+    private boolean mightContain(long hash) {
+        // Double hashing: probe i tests bit hash + i * step, with an odd step so probes differ
+        long step = hash >>> 32 | 1;
+        long bitMask = 64L * bloomWords - 1;
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = (hash + i * step) & bitMask;
+            if ((image.getLong(HEADER_SIZE + 8 * (int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binary-searches the directory bucket of a mixed key, comparing keys as unsigned values.
+     */
+    private int indexOf(long hash) {
+        int bucket = (int) (hash >>> directoryShift);
+        int low = image.getInt(directoryOffset + 4 * bucket);
+        int high = bucket + 1 < 1 << (64 - directoryShift) ? image.getInt(directoryOffset + 4 * (bucket + 1)) - 1 : size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(image.getLong(keysOffset + 8 * middle), hash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Mixes, sorts and deduplicates the keys and lays out the image in a direct buffer.
+     */
+    private static ByteBuffer image(IdentifierType type, long[] keys, int count) {
+        // Flipping the sign bit makes the signed sort order the unsigned order of the mixed keys
+        for (int i = 0; i < count; i++) {
+            keys[i] = IdentifierType.mix(keys[i]) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(keys, 0, count);
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            long hash = keys[i] ^ Long.MIN_VALUE;
+            if (size == 0 || hash != keys[size - 1]) {
+                keys[size++] = hash;
+            }
+        }
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("More than " + MAX_SIZE + " identifiers");
+        }
+        int bloomWords = Integer.highestOneBit(Math.max(1, (int) (((long) size * BLOOM_BITS_PER_KEY + 63) / 64)) * 2 - 1);
+        int directoryBits = Math.max(1, 31 - Integer.numberOfLeadingZeros(Math.max(1, size / KEYS_PER_BUCKET)));
+        ByteBuffer image = ByteBuffer.allocateDirect(HEADER_SIZE + 8 * bloomWords + 4 * (1 << directoryBits) + 8 * size);
+        image.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) type.ordinal())
+                .putInt(size)
+                .putInt(bloomWords)
+                .putInt(BLOOM_HASHES)
+                .putInt(directoryBits);
+        long bitMask = 64L * bloomWords - 1;
+        for (int i = 0; i < size; i++) {
+            long hash = keys[i];
+            long step = hash >>> 32 | 1;
+            for (int j = 0; j < BLOOM_HASHES; j++) {
+                long bit = (hash + j * step) & bitMask;
+                int index = HEADER_SIZE + 8 * (int) (bit >>> 6);
+                image.putLong(index, image.getLong(index) | 1L << bit);
+            }
+        }
+        image.position(HEADER_SIZE + 8 * bloomWords);
+        int next = 0;
+        for (int bucket = 0; bucket < 1 << directoryBits; bucket++) {
+            while (next < size && keys[next] >>> (64 - directoryBits) < bucket) {
+                next++;
+            }
+            image.putInt(next);
+        }
+        for (int i = 0; i < size; i++) {
+            image.putLong(keys[i]);
+        }
+        return image.flip();
+    }
+
+    private static int newCapacity(int count) {
+        if (count >= Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("More than " + MAX_SIZE + " identifiers");
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8, count * 2L);
+    }
+}
@@ -1,7 +1,11 @@
 package org.kreyzon.italian_utils;
 
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
-import java.util.regex.Pattern;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class for validating and formatting Italian Electronic Identity Card (CIE) serial numbers and related data.
@@ -22,8 +26,16 @@ public class IdentityCardUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    // Regular expression pattern to match the CIE serial number format: two letters, five digits, two letters
-    private static final Pattern CIE_SERIAL_PATTERN = Pattern.compile("^[A-Z]{2}\\d{5}[A-Z]{2}$");
+    // Length of a CIE serial number: two letters, five digits, two letters
+    private static final int CIE_SERIAL_LENGTH = 9;
+
+    // Radixes of the packed CIE serial number: 26 per letter and 10^5 for the digits
+    private static final int LETTERS = 26;
+    private static final int DIGITS_RADIX = 100_000;
+    private static final long PACKED_CIE_SERIAL_LIMIT = (long) LETTERS * LETTERS * DIGITS_RADIX * LETTERS * LETTERS;
+
+    // CIE serial number format: two letters, five digits, two letters
+    private static final DocumentLayout CIE_SERIAL_LAYOUT = DocumentLayout.of("@@#####@@");
 
     /**
      * Validates the CIE serial number format.
@@ -32,10 +44,198 @@ public class IdentityCardUtils {
      * @return {@code true} if the serial number is valid, {@code false} otherwise
      */
     public static boolean isValidCIESerial(String serialNumber) {
-        if (serialNumber == null) {
-            return false;
+        return isValidCIESerial((CharSequence) serialNumber);
+    }
+
+    /**
+     * Validates the CIE serial number format, ignoring the case of the letters.
+     * <p>
+     * The serial number is checked in a single pass without allocating. A non-ASCII character is
+     * accepted as a letter when its uppercase form is an ASCII letter.
+     * </p>
+     *
+     * @param serialNumber the CIE serial number to validate
+     * @return {@code true} if the serial number is valid, {@code false} otherwise
+     */
+    public static boolean isValidCIESerial(CharSequence serialNumber) {
+        return checkCIESerial(serialNumber) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a CIE serial number, ignoring the case of the letters, stored as ASCII bytes in a range
+     * of an array, in place.
+     *
+     * @param bytes  the array holding the CIE serial number
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the CIE serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidCIESerial(byte[] bytes, int offset, int length) {
+        return isValidCIESerial(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a CIE serial number, ignoring the case of the letters, stored as ASCII bytes in a range
+     * of a buffer, in place. The index is absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used
+     * nor changed.
+     *
+     * @param buffer the buffer holding the CIE serial number
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the CIE serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidCIESerial(ByteBuffer buffer, int index, int length) {
+        return isValidCIESerial(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a CIE serial number, ignoring the case of the letters, stored as ASCII bytes in a range
+     * of a memory segment, such as a mapped file, in place.
+     *
+     * @param segment the segment holding the CIE serial number
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the CIE serial number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidCIESerial(MemorySegment segment, long offset, int length) {
+        return isValidCIESerial(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks a CIE serial number as {@link #isValidCIESerial(CharSequence)} does and returns the reason it
+     * is invalid, without throwing and without allocating.
+     *
+     * @param serialNumber the CIE serial number to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH}
+     *         or {@link ValidationCode#BAD_CHARSET}
+     */
+    public static ValidationCode checkCIESerial(CharSequence serialNumber) {
+        if (!ValidationMetrics.active()) {
+            return doCheckCIESerial(serialNumber);
         }
-        return CIE_SERIAL_PATTERN.matcher(serialNumber.toUpperCase()).matches();
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.CIE_SERIAL, doCheckCIESerial(serialNumber), start);
+    }
+
+    private static ValidationCode doCheckCIESerial(CharSequence serialNumber) {
+        return CIE_SERIAL_LAYOUT.check(serialNumber);
+    }
+
+    /**
+     * Checks a batch of CIE serial numbers and stores the {@link ValidationCode} ordinal of each record.
+     *
+     * @param in  the CIE serial numbers to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid CIE serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkCIESerials(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, IdentityCardUtils::checkCIESerial);
+    }
+
+    /**
+     * Validates a batch of CIE serial numbers and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidCIESerial(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the CIE serial numbers to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid CIE serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateCIESerials(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, IdentityCardUtils::isValidCIESerial);
+    }
+
+    /**
+     * Validates a batch of CIE serial numbers, splitting large batches over a fork/join pool.
+     *
+     * @param in   the CIE serial numbers to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid CIE serial numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validateCIESerials(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, IdentityCardUtils::isValidCIESerial, pool);
+    }
+
+    /**
+     * Validates a batch of CIE serial numbers and returns the results as a bit set.
+     *
+     * @param in the CIE serial numbers to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validateCIESerials(CharSequence[] in) {
+        return BatchValidation.validate(in, IdentityCardUtils::isValidCIESerial);
+    }
+
+    /**
+     * Packs a valid CIE serial number into a {@code long}, read as a mixed-radix number: base 26 for
+     * each letter (A = 0) and base 10^5 for the digits, so that packed values are below 4.6 * 10^10.
+     * Packed values compare with {@link Long#compare(long, long)} in the same order as the uppercase
+     * serial numbers, and can be stored in a {@link LongHashSet} or {@link LongHashMap}.
+     *
+     * @param serialNumber the CIE serial number to pack, letters in either case
+     * @return the packed serial number, or {@code -1} if {@link #checkCIESerial(CharSequence)} does
+     *         not return {@link ValidationCode#VALID}
+     */
+    public static long packCIESerial(CharSequence serialNumber) {
+        if (checkCIESerial(serialNumber) != ValidationCode.VALID) {
+            return -1;
+        }
+        long packed = letterIndex(serialNumber.charAt(0)) * LETTERS + letterIndex(serialNumber.charAt(1));
+        int digits = 0;
+        for (int i = 2; i <= 6; i++) {
+            digits = digits * 10 + serialNumber.charAt(i) - '0';
+        }
+        packed = packed * DIGITS_RADIX + digits;
+        return (packed * LETTERS + letterIndex(serialNumber.charAt(7))) * LETTERS + letterIndex(serialNumber.charAt(8));
+    }
+
+    /**
+     * Unpacks a CIE serial number packed by {@link #packCIESerial(CharSequence)}, with uppercase letters.
+     *
+     * @param packed the packed serial number
+     * @return the nine characters of the serial number
+     * @throws IllegalArgumentException if {@code packed} is not a packed serial number
+     */
+    public static String unpackCIESerial(long packed) {
+        char[] chars = new char[CIE_SERIAL_LENGTH];
+        unpackCIESerial(packed, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the nine characters of a packed CIE serial number into an array, without allocating.
+     *
+     * @param packed the packed serial number
+     * @param out    the destination array
+     * @param offset the index of the first character to write
+     * @return the number of characters written, always 9
+     * @throws IllegalArgumentException  if {@code packed} is not a packed serial number
+     * @throws IndexOutOfBoundsException if the serial number does not fit in {@code out} at {@code offset}
+     */
+    public static int unpackCIESerial(long packed, char[] out, int offset) {
+        if (packed < 0 || packed >= PACKED_CIE_SERIAL_LIMIT) {
+            throw new IllegalArgumentException("Invalid packed CIE serial number: " + packed);
+        }
+        Objects.checkFromIndexSize(offset, CIE_SERIAL_LENGTH, out.length);
+        out[offset + 8] = (char) ('A' + packed % LETTERS);
+        packed /= LETTERS;
+        out[offset + 7] = (char) ('A' + packed % LETTERS);
+        packed /= LETTERS;
+        for (int i = offset + 6; i >= offset + 2; i--) {
+            out[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        out[offset + 1] = (char) ('A' + packed % LETTERS);
+        out[offset] = (char) ('A' + packed / LETTERS);
+        return CIE_SERIAL_LENGTH;
     }
 
     /**
@@ -47,15 +247,57 @@ public class IdentityCardUtils {
      * @return {@code true} if all provided CIE details are valid, {@code false} otherwise
      */
     public static boolean isValidCIE(String serialNumber, LocalDate issueDate, LocalDate expirationDate) {
+        return checkCIE(serialNumber, issueDate, expirationDate) == ValidationCode.VALID;
+    }
+
+    /**
+     * Checks CIE details as {@link #isValidCIE(String, LocalDate, LocalDate)} does and returns the reason
+     * they are invalid.
+     *
+     * @param serialNumber   the serial number of the CIE
+     * @param issueDate      the issue date of the CIE (must be before expiration date)
+     * @param expirationDate the expiration date of the CIE (must be after issue date)
+     * @return {@link ValidationCode#VALID}, the code of the serial number check, {@link ValidationCode#NULL}
+     *         for a missing date or {@link ValidationCode#INVERTED_DATES}
+     */
+    public static ValidationCode checkCIE(CharSequence serialNumber, LocalDate issueDate, LocalDate expirationDate) {
         // Validate serial number format
-        if (!isValidCIESerial(serialNumber)) {
-            return false;
+        ValidationCode serial = checkCIESerial(serialNumber);
+        if (serial != ValidationCode.VALID) {
+            return serial;
         }
 
         // Validate that issueDate and expirationDate are not null and have logical order
         if (issueDate == null || expirationDate == null) {
-            return false;
+            return ValidationCode.NULL;
         }
-        return issueDate.isBefore(expirationDate);
+        return issueDate.isBefore(expirationDate) ? ValidationCode.VALID : ValidationCode.INVERTED_DATES;
+    }
+
+    /**
+     * Checks CIE details and that the card has not expired on a reference date.
+     *
+     * @param serialNumber   the serial number of the CIE
+     * @param issueDate      the issue date of the CIE (must be before expiration date)
+     * @param expirationDate the expiration date of the CIE (must be after issue date and the reference date)
+     * @param referenceDate  the date on which the card is checked
+     * @return {@link ValidationCode#VALID}, the code of {@link #checkCIE(CharSequence, LocalDate, LocalDate)},
+     *         {@link ValidationCode#NULL} if the reference date is {@code null}, or {@link ValidationCode#EXPIRED}
+     */
+    public static ValidationCode checkCIE(CharSequence serialNumber, LocalDate issueDate, LocalDate expirationDate,
+                                          LocalDate referenceDate) {
+        ValidationCode details = checkCIE(serialNumber, issueDate, expirationDate);
+        if (details != ValidationCode.VALID) {
+            return details;
+        }
+        if (referenceDate == null) {
+            return ValidationCode.NULL;
+        }
+        return referenceDate.isBefore(expirationDate) ? ValidationCode.VALID : ValidationCode.EXPIRED;
+    }
+
+    // Non-ASCII letters are valid only when they uppercase to an ASCII letter, as checkCIESerial matches them
+    private static int letterIndex(char c) {
+        return (DocumentLayout.fold(c) | 0x20) - 'a';
     }
-}
\ No newline at end of file
+}
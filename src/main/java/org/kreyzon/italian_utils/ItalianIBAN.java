@@ -0,0 +1,122 @@
+package org.kreyzon.italian_utils;
+
+import java.nio.CharBuffer;
+
+/**
+ * Parsed view of a valid Italian IBAN.
+ * <p>
+ * An Italian IBAN is made of the country code "IT", two check digits, the CIN (Codice di Controllo
+ * Interno) letter, the five-digit ABI bank code, the five-digit CAB branch code and the twelve-character
+ * account number (conto corrente). The view does not copy the IBAN: each component is returned as a
+ * read-only {@link CharSequence} slice over the original characters, so the view reflects later changes
+ * if a mutable sequence such as a {@link StringBuilder} was parsed.
+ * </p>
+ * Instances are created by {@link BankingUtils#parseItalianIBAN(CharSequence)}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-22
+ */
+public final class ItalianIBAN {
+
+    // Component offsets inside an Italian IBAN
+    private static final int CIN_INDEX = 4;
+    private static final int ABI_START = 5;
+    private static final int CAB_START = 10;
+    private static final int ACCOUNT_START = 15;
+    private static final int LENGTH = 27;
+
+    // Values of odd-position characters in the CIN algorithm, for digits 0-9 and letters A-Z alike
+    private static final int[] CIN_ODD_VALUES = {
+            1, 0, 5, 7, 9, 13, 15, 17, 19, 21, 2, 4, 18, 20, 11, 3, 6, 8, 12, 14, 16, 10, 22, 25, 24, 23
+    };
+
+    private final CharSequence iban;
+
+    ItalianIBAN(CharSequence iban) {
+        this.iban = iban;
+    }
+
+    /**
+     * Returns the two IBAN check digits.
+     *
+     * @return the check digits
+     */
+    public CharSequence getCheckDigits() {
+        return CharBuffer.wrap(iban, 2, CIN_INDEX);
+    }
+
+    /**
+     * Returns the CIN (Codice di Controllo Interno) letter.
+     *
+     * @return the CIN
+     */
+    public char getCin() {
+        return iban.charAt(CIN_INDEX);
+    }
+
+    /**
+     * Returns the ABI (Associazione Bancaria Italiana) code identifying the bank.
+     *
+     * @return the five-digit ABI code
+     */
+    public CharSequence getAbi() {
+        return CharBuffer.wrap(iban, ABI_START, CAB_START);
+    }
+
+    /**
+     * Returns the CAB (Codice di Avviamento Bancario) code identifying the branch.
+     *
+     * @return the five-digit CAB code
+     */
+    public CharSequence getCab() {
+        return CharBuffer.wrap(iban, CAB_START, ACCOUNT_START);
+    }
+
+    /**
+     * Returns the account number (conto corrente).
+     *
+     * @return the twelve-character account number
+     */
+    public CharSequence getAccountNumber() {
+        return CharBuffer.wrap(iban, ACCOUNT_START, LENGTH);
+    }
+
+    /**
+     * Checks the CIN letter against the national check computed over ABI, CAB and account number.
+     * <p>
+     * Characters in odd positions (1-based) are mapped through a fixed table, characters in even
+     * positions count as their digit value or letter index (A = 0), and the sum modulo 26 gives the
+     * expected CIN letter. The IBAN checksum does not cover this rule, so an IBAN can pass
+     * {@link BankingUtils#isValidIBAN(CharSequence)} with a wrong CIN.
+     * </p>
+     *
+     * @return {@code true} if the CIN matches the national check, {@code false} otherwise
+     */
+    public boolean hasValidCin() {
+        return iban.charAt(CIN_INDEX) == computeCin(iban, ABI_START);
+    }
+
+    /**
+     * Computes the CIN letter of the 22 uppercase characters of ABI, CAB and account number
+     * starting at an index.
+     */
+    static char computeCin(CharSequence chars, int from) {
+        int sum = 0;
+        for (int i = 0; i < LENGTH - ABI_START; i++) {
+            char c = chars.charAt(from + i);
+            int value = c <= '9' ? c - '0' : c - 'A';
+            sum += (i & 1) == 0 ? CIN_ODD_VALUES[value] : value;
+        }
+        return (char) ('A' + sum % 26);
+    }
+
+    /**
+     * Returns the IBAN this view was parsed from.
+     *
+     * @return the IBAN
+     */
+    @Override
+    public String toString() {
+        return iban.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * The twenty Italian regions, as returned by {@link GeographicIndex#getRegion(CharSequence)}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-15
+ */
+public enum ItalianRegion {
+
+    ABRUZZO("Abruzzo"),
+    BASILICATA("Basilicata"),
+    CALABRIA("Calabria"),
+    CAMPANIA("Campania"),
+    EMILIA_ROMAGNA("Emilia-Romagna"),
+    FRIULI_VENEZIA_GIULIA("Friuli-Venezia Giulia"),
+    LAZIO("Lazio"),
+    LIGURIA("Liguria"),
+    LOMBARDIA("Lombardia"),
+    MARCHE("Marche"),
+    MOLISE("Molise"),
+    PIEMONTE("Piemonte"),
+    PUGLIA("Puglia"),
+    SARDEGNA("Sardegna"),
+    SICILIA("Sicilia"),
+    TOSCANA("Toscana"),
+    TRENTINO_ALTO_ADIGE("Trentino-Alto Adige"),
+    UMBRIA("Umbria"),
+    VALLE_D_AOSTA("Valle d'Aosta"),
+    VENETO("Veneto");
+
+    private final String name;
+
+    ItalianRegion(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the Italian name of the region, such as "Emilia-Romagna".
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,29 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * {@link ValidationListener} emitting a JDK Flight Recorder event, named
+ * {@code org.kreyzon.italian_utils.Validation}, for every validation.
+ * <p>
+ * The event is disabled by default: enable it in the recording settings, for example with
+ * {@code jfr configure +org.kreyzon.italian_utils.Validation#enabled=true}, or with a threshold on
+ * its {@code latency} field in a custom settings file. When no recording enables it, the listener
+ * costs one check per validation. Combine it with {@link ValidationStatistics} through
+ * {@link ValidationListener#andThen(ValidationListener)}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public final class JfrValidationListener implements ValidationListener {
+
+    @Override
+    public void onValidation(ValidatorType validator, ValidationCode code, long durationNanos) {
+        ValidationEvent event = new ValidationEvent();
+        if (event.isEnabled()) {
+            event.validator = validator.name();
+            event.code = code.name();
+            event.latency = durationNanos;
+            event.commit();
+        }
+    }
+}
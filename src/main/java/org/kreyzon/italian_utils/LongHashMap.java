@@ -0,0 +1,269 @@
+package org.kreyzon.italian_utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Map from packed identifiers, such as those returned by {@link PartitaIVAUtils#packPartitaIVA(CharSequence)}
+ * and {@link IdentityCardUtils#packCIESerial(CharSequence)}, to values.
+ * <p>
+ * Keys are primitive {@code long}s in an open-addressing table with linear probing, at most three
+ * quarters full, next to a parallel array of values, so no entry or boxed key is allocated per
+ * mapping. As in {@link LongHashSet}, keys must be non-negative, lookups accept any key, and
+ * removal uses backward-shift deletion. Values cannot be {@code null}, so {@link #get(long)}
+ * returns {@code null} only for absent keys. Instances are not thread-safe.
+ * </p>
+ *
+ * @param <V> the type of the values
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-09
+ */
+public final class LongHashMap<V> {
+
+    private static final long EMPTY = -1;
+
+    // Keeps the table within the largest power-of-two array
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 2^64 divided by the golden ratio, to spread keys over slots
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int shift;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map with room for a number of mappings before it grows.
+     *
+     * @param expectedSize the expected number of mappings
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or above 3 * 2^28
+     */
+    public LongHashMap(int expectedSize) {
+        allocate(LongHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key   the key, non-negative
+     * @param value the value
+     * @return the previous value of the key, or {@code null} if it had none
+     * @throws IllegalArgumentException if the key is negative
+     * @throws NullPointerException     if the value is {@code null}
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            V previous = valueAt(index);
+            values[index] = value;
+            return previous;
+        }
+        insert(key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value of a key, computing and storing it first if the key has none.
+     *
+     * @param key             the key, non-negative
+     * @param mappingFunction the function computing the value of an absent key
+     * @return the current or computed value
+     * @throws IllegalArgumentException if the key is negative
+     * @throws NullPointerException     if the function returns {@code null}
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            return valueAt(index);
+        }
+        V value = Objects.requireNonNull(mappingFunction.apply(key), "value");
+        insert(key, value);
+        return value;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if the key is absent, always for a negative key
+     */
+    public V get(long key) {
+        int index = key < 0 ? -1 : indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    /**
+     * Checks whether a key has a value.
+     *
+     * @param key the key
+     * @return {@code true} if the key is in the map, {@code false} otherwise, always for a negative key
+     */
+    public boolean containsKey(long key) {
+        return key >= 0 && indexOf(key) >= 0;
+    }
+
+    /**
+     * Removes a key and its value.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if the key was absent
+     */
+    public V remove(long key) {
+        int index = key < 0 ? -1 : indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V value = valueAt(index);
+        removeAt(index);
+        return value;
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no mappings.
+     *
+     * @return {@code true} if the map is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every mapping, keeping the table for reuse.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Passes every mapping to an action, in no particular order.
+     *
+     * @param action the action, receiving the value and then its key
+     */
+    public void forEach(ObjLongConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(valueAt(i), keys[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongHashMap[size=" + size + "]";
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private int slot(long key) {
+        // The high bits of the product are the well mixed ones
+        return (int) ((key * GOLDEN_GAMMA) >>> shift);
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, Object value) {
+        if (size == keys.length / 4 * 3) {
+            rehash(keys.length * 2);
+        }
+        int i = freeSlot(key);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    // Backward-shift deletion: moves later mappings of the probe run into the hole, so no tombstones are needed
+    private void removeAt(int hole) {
+        int mask = keys.length - 1;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long key = keys[i];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key);
+            // The mapping can fill the hole unless its home slot lies cyclically in (hole, i]
+            boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+            if (!stays) {
+                keys[hole] = key;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Map full at " + size + " mappings");
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = freeSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int freeSlot(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+}
@@ -0,0 +1,242 @@
+package org.kreyzon.italian_utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of packed identifiers, such as those returned by {@link PartitaIVAUtils#packPartitaIVA(CharSequence)}
+ * and {@link IdentityCardUtils#packCIESerial(CharSequence)}, stored as primitive {@code long}s.
+ * <p>
+ * The set is a single open-addressing table with linear probing, at most three quarters full, so
+ * an entry takes 11 to 21 bytes against more than 80 for a Partita IVA String in a
+ * {@code HashSet<String>}. Keys must be non-negative, as every packed identifier is; {@code -1}
+ * marks empty slots. Lookups accept any key, so the {@code -1} returned for an invalid identifier
+ * is simply never contained. Removal uses backward-shift deletion, so the table needs no
+ * tombstones. Instances are not thread-safe.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-09
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    // Keeps the table within the largest power-of-two array
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 2^64 divided by the golden ratio, to spread keys over slots
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long[] table;
+    private int shift;
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty set with room for a number of keys before it grows.
+     *
+     * @param expectedSize the expected number of keys
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or above 3 * 2^28
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key the key, non-negative
+     * @return {@code true} if the key was added, {@code false} if it was already in the set
+     * @throws IllegalArgumentException if the key is negative
+     */
+    public boolean add(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        int mask = table.length - 1;
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            if (table[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size == table.length / 4 * 3) {
+            rehash(table.length * 2);
+            i = freeSlot(key);
+        }
+        table[i] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks whether a key is in the set.
+     *
+     * @param key the key
+     * @return {@code true} if the key is in the set, {@code false} otherwise, always for a negative key
+     */
+    public boolean contains(long key) {
+        return key >= 0 && indexOf(key) >= 0;
+    }
+
+    /**
+     * Removes a key from the set.
+     *
+     * @param key the key
+     * @return {@code true} if the key was removed, {@code false} if it was not in the set
+     */
+    public boolean remove(long key) {
+        int index = key < 0 ? -1 : indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set has no keys.
+     *
+     * @return {@code true} if the set is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every key, keeping the table for reuse.
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Passes every key to an action, in no particular order.
+     *
+     * @param action the action
+     */
+    public void forEach(LongConsumer action) {
+        for (long key : table) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys in ascending order, which for packed identifiers is the order of their strings.
+     *
+     * @return a new array with the keys
+     */
+    public long[] toSortedArray() {
+        long[] keys = new long[size];
+        int count = 0;
+        for (long key : table) {
+            if (key != EMPTY) {
+                keys[count++] = key;
+            }
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return "LongHashSet[size=" + size + "]";
+    }
+
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0 || expectedSize > MAX_CAPACITY / 4 * 3) {
+            throw new IllegalArgumentException("Expected size must be between 0 and " + MAX_CAPACITY / 4 * 3);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private int slot(long key) {
+        // The high bits of the product are the well mixed ones
+        return (int) ((key * GOLDEN_GAMMA) >>> shift);
+    }
+
+    private int indexOf(long key) {
+        int mask = table.length - 1;
+        for (int i = slot(key); table[i] != EMPTY; i = (i + 1) & mask) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Backward-shift deletion: moves later keys of the probe run into the hole, so no tombstones are needed
+    private void removeAt(int hole) {
+        int mask = table.length - 1;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long key = table[i];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key);
+            // The key can fill the hole unless its home slot lies cyclically in (hole, i]
+            boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+            if (!stays) {
+                table[hole] = key;
+                hole = i;
+            }
+        }
+        table[hole] = EMPTY;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Set full at " + size + " keys");
+        }
+        long[] old = table;
+        allocate(capacity);
+        for (long key : old) {
+            if (key != EMPTY) {
+                table[freeSlot(key)] = key;
+            }
+        }
+    }
+
+    private int freeSlot(long key) {
+        int mask = table.length - 1;
+        int i = slot(key);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+}
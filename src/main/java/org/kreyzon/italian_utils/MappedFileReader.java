@@ -0,0 +1,123 @@
+package org.kreyzon.italian_utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader decoding a memory-mapped file.
+ * <p>
+ * The file is mapped in windows of at most {@value #WINDOW_SIZE} bytes and decoded directly from the
+ * mapping, without copying it through a stream buffer. Files larger than 2 GB are read window by window.
+ * Malformed input is reported as a {@link java.nio.charset.CharacterCodingException}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+final class MappedFileReader extends Reader {
+
+    static final int WINDOW_SIZE = 1 << 30;
+
+    // Longest encoded character, so a window is remapped before it can end in the middle of one
+    private static final int MAX_CHARACTER_BYTES = 4;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private boolean flushed;
+
+    // A supplementary character does not fit in a single char: it is decoded here when the caller
+    // has room for one, and its low surrogate is returned by the next read
+    private final CharBuffer pair = CharBuffer.allocate(2);
+    private char pendingLowSurrogate;
+
+    MappedFileReader(Path file, Charset charset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (pendingLowSurrogate != 0) {
+            buffer[offset] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+            return 1;
+        }
+        if (flushed) {
+            return -1;
+        }
+        CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+        while (out.position() == offset) {
+            if (window == null || (window.remaining() < MAX_CHARACTER_BYTES && windowEnd < size)) {
+                map();
+            }
+            boolean endOfInput = windowEnd == size;
+            CoderResult result = decoder.decode(window, out, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow() && out.position() == offset) {
+                return readSurrogatePair(buffer, offset, endOfInput);
+            }
+            if (endOfInput && !window.hasRemaining()) {
+                decoder.flush(out);
+                flushed = true;
+                return out.position() == offset ? -1 : out.position() - offset;
+            }
+        }
+        return out.position() - offset;
+    }
+
+    /**
+     * Decodes the next character, a surrogate pair that overflowed a one-char destination, and
+     * returns its high surrogate, keeping the low one for the next read.
+     */
+    private int readSurrogatePair(char[] buffer, int offset, boolean endOfInput) throws IOException {
+        pair.clear();
+        CoderResult result = decoder.decode(window, pair, endOfInput);
+        if (result.isError()) {
+            result.throwException();
+        }
+        pair.flip();
+        buffer[offset] = pair.get();
+        if (pair.hasRemaining()) {
+            pendingLowSurrogate = pair.get();
+        }
+        return 1;
+    }
+
+    /**
+     * Maps the next window, starting at the first byte not decoded yet.
+     */
+    private void map() throws IOException {
+        long position = window == null ? 0 : windowStart + window.position();
+        long windowSize = Math.min(WINDOW_SIZE, size - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+        windowStart = position;
+        windowEnd = position + windowSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
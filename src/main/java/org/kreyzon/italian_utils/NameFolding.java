@@ -0,0 +1,38 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Folding of the characters of Italian names, shared by the lookups that compare names ignoring
+ * case and accents: comuni in {@link GeographicIndex}, phonetic keys in {@link AnagraficaUtils}
+ * and trigrams in {@link DuplicateIndex}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-17
+ */
+final class NameFolding {
+
+    // Accented letters folded to their base letter in names, both cases
+    private static final String ACCENTED = "ÀÁÂÄÈÉÊËÌÍÎÏÒÓÔÖÙÚÛÜàáâäèéêëìíîïòóôöùúûü’";
+    private static final String FOLDED = "AAAAEEEEIIIIOOOOUUUUAAAAEEEEIIIIOOOOUUUU'";
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private NameFolding() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Folds a character of a name: letters to uppercase, accented Italian vowels to their base letter
+     * and the typographic apostrophe to the ASCII one.
+     *
+     * @param c the character
+     * @return the folded character
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'a' && c <= 'z' ? (char) (c - 0x20) : c;
+        }
+        int index = ACCENTED.indexOf(c);
+        return index >= 0 ? FOLDED.charAt(index) : Character.toUpperCase(c);
+    }
+}
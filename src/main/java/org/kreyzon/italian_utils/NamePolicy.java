@@ -0,0 +1,24 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Character policies for validating names and surnames with {@link AnagraficaUtils}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-29
+ */
+public enum NamePolicy {
+
+    /**
+     * ASCII letters only; names may also contain spaces. This is the behaviour of
+     * {@link AnagraficaUtils#isValidName(String)} and {@link AnagraficaUtils#isValidSurname(String)}.
+     */
+    ASCII,
+
+    /**
+     * Latin letters including accented ones (Niccolò, Fabrizio De André), optionally followed by
+     * combining accents, in words separated by a single space, hyphen or apostrophe
+     * ({@code '} or {@code ’}), as in D'Angelo, De Luca or Romano-Verdi. The value must start and
+     * end with a letter. Names and surnames follow the same rules.
+     */
+    ITALIAN
+}
@@ -1,6 +1,10 @@
 package org.kreyzon.italian_utils;
 
-import java.util.regex.Pattern;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class for validating and formatting Italian VAT numbers (Partita IVA).
@@ -21,8 +25,30 @@ public class PartitaIVAUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    // Regular expression pattern to match exactly 11 digits
-    private static final Pattern PARTITA_IVA_PATTERN = Pattern.compile("\\d{11}");
+    // Number of digits in a Partita IVA, without the country prefix
+    private static final int PARTITA_IVA_LENGTH = 11;
+
+    // Position and number of the digits of the issuing office code, after the seven-digit progressive number
+    private static final int OFFICE_CODE_OFFSET = 7;
+    private static final int OFFICE_CODE_LENGTH = 3;
+    private static final int MAX_PROGRESSIVO = 9_999_999;
+
+    // Largest packed Partita IVA: eleven nines
+    private static final long MAX_PACKED_PARTITA_IVA = 99_999_999_999L;
+
+    // Highest provincial office code, and the codes assigned to central offices
+    private static final int MAX_PROVINCIAL_OFFICE_CODE = 100;
+    private static final int[] CENTRAL_OFFICE_CODES = {120, 121, 888, 999};
+
+    // Luhn contribution of each digit: the digit itself at odd positions (1-based), the doubled digit
+    // minus 9 when over 9 at even positions, indexed by (position parity * 10 + digit)
+    private static final byte[] LUHN_TABLE = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+            0, 2, 4, 6, 8, 1, 3, 5, 7, 9
+    };
+
+    // Exactly 11 digits, checked without loading java.util.regex
+    private static final DocumentLayout PARTITA_IVA_LAYOUT = DocumentLayout.of("###########");
 
     /**
      * Validates the given Partita IVA (Italian VAT number).
@@ -31,43 +57,338 @@ public class PartitaIVAUtils {
      * @return {@code true} if the Partita IVA is valid, {@code false} otherwise
      */
     public static boolean isValidPartitaIVA(String partitaIVA) {
+        return isValidPartitaIVA((CharSequence) partitaIVA);
+    }
+
+    /**
+     * Validates the given Partita IVA (Italian VAT number), with or without the "IT" prefix.
+     *
+     * @param partitaIVA the Partita IVA to validate
+     * @return {@code true} if the Partita IVA is valid, {@code false} otherwise
+     */
+    public static boolean isValidPartitaIVA(CharSequence partitaIVA) {
+        return checkPartitaIVA(partitaIVA) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a Partita IVA stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the Partita IVA
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Partita IVA is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidPartitaIVA(byte[] bytes, int offset, int length) {
+        return isValidPartitaIVA(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a Partita IVA stored as ASCII bytes in a range of a buffer, in place. The index is
+     * absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the Partita IVA
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the Partita IVA is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidPartitaIVA(ByteBuffer buffer, int index, int length) {
+        return isValidPartitaIVA(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a Partita IVA stored as ASCII bytes in a range of a memory segment, such as a mapped
+     * file, in place.
+     *
+     * @param segment the segment holding the Partita IVA
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the Partita IVA is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidPartitaIVA(MemorySegment segment, long offset, int length) {
+        return isValidPartitaIVA(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks a Partita IVA as {@link #isValidPartitaIVA(CharSequence)} does and returns the reason it is
+     * invalid, without throwing and without allocating.
+     * <p>
+     * The digits are checked and summed in a single pass; the "IT" prefix is skipped by offset. Digits 8
+     * to 10 must be an assigned office code (see {@link #isValidOfficeCode(int)}).
+     * </p>
+     *
+     * @param partitaIVA the Partita IVA to check, with or without the "IT" prefix
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH},
+     *         {@link ValidationCode#BAD_CHARSET}, {@link ValidationCode#BAD_OFFICE} or {@link ValidationCode#BAD_CHECKSUM}
+     */
+    public static ValidationCode checkPartitaIVA(CharSequence partitaIVA) {
+        if (!ValidationMetrics.active()) {
+            return doCheckPartitaIVA(partitaIVA);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.PARTITA_IVA, doCheckPartitaIVA(partitaIVA), start);
+    }
+
+    private static ValidationCode doCheckPartitaIVA(CharSequence partitaIVA) {
         if (partitaIVA == null) {
-            return false;
+            return ValidationCode.NULL;
         }
 
-        // Remove "IT" prefix if present
-        if (partitaIVA.startsWith("IT")) {
-            partitaIVA = partitaIVA.substring(2);
+        // Skip the "IT" prefix if present
+        int offset = hasCountryPrefix(partitaIVA) ? 2 : 0;
+
+        // Check if the remaining part is exactly 11 digits, summing the Luhn contributions on the way
+        if (partitaIVA.length() - offset != PARTITA_IVA_LENGTH) {
+            return ValidationCode.BAD_LENGTH;
+        }
+        if (partitaIVA instanceof CharSlice slice) {
+            return checkDigits(slice, offset);
+        }
+        if (partitaIVA instanceof ByteSlice slice && slice.array() != null) {
+            return checkDigits(slice, offset);
+        }
+        int sum = 0;
+        for (int i = 0; i < PARTITA_IVA_LENGTH; i++) {
+            int digit = partitaIVA.charAt(offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return ValidationCode.BAD_CHARSET;
+            }
+            sum += LUHN_TABLE[(i & 1) * 10 + digit];
         }
 
-        // Check if the remaining part matches the 11-digit pattern
-        if (!PARTITA_IVA_PATTERN.matcher(partitaIVA).matches()) {
-            return false;
+        if (!isValidOfficeCode(officeCode(partitaIVA, offset))) {
+            return ValidationCode.BAD_OFFICE;
         }
+        return sum % 10 == 0 ? ValidationCode.VALID : ValidationCode.BAD_CHECKSUM;
+    }
 
-        // Validate the check digit
-        return isValidCheckDigit(partitaIVA);
+    /**
+     * Checks whether an issuing office code (digits 8 to 10 of a Partita IVA) is assigned: 001 to 100
+     * for the provincial offices, 120 and 121, 888 and 999.
+     *
+     * @param officeCode the office code
+     * @return {@code true} if the office code is assigned, {@code false} otherwise
+     */
+    public static boolean isValidOfficeCode(int officeCode) {
+        if (officeCode >= 1 && officeCode <= MAX_PROVINCIAL_OFFICE_CODE) {
+            return true;
+        }
+        for (int code : CENTRAL_OFFICE_CODES) {
+            if (code == officeCode) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Checks if the check digit of the Partita IVA is valid using the Luhn algorithm.
+     * Computes the check digit of a Partita IVA from its first ten digits.
      *
-     * @param partitaIVA the normalized Partita IVA to check (11 digits)
-     * @return {@code true} if the check digit is valid, {@code false} otherwise
+     * @param partitaIVA a Partita IVA, complete or without the check digit, with or without the "IT" prefix
+     * @return the check digit, from 0 to 9
+     * @throws IllegalArgumentException if the input does not start with ten digits after the optional prefix
      */
-    private static boolean isValidCheckDigit(String partitaIVA) {
+    public static int computeCheckDigit(CharSequence partitaIVA) {
+        if (partitaIVA == null) {
+            throw new IllegalArgumentException("Partita IVA cannot be null");
+        }
+        int offset = hasCountryPrefix(partitaIVA) ? 2 : 0;
+        int length = partitaIVA.length() - offset;
+        if (length != PARTITA_IVA_LENGTH - 1 && length != PARTITA_IVA_LENGTH) {
+            throw new IllegalArgumentException("Partita IVA must have 10 or 11 digits");
+        }
         int sum = 0;
-        for (int i = 0; i < 11; i++) {
-            int digit = Character.getNumericValue(partitaIVA.charAt(i));
-            if ((i + 1) % 2 == 0) { // Even position (1-based index)
-                digit *= 2;
-                if (digit > 9) {
-                    digit -= 9;
-                }
+        for (int i = 0; i < PARTITA_IVA_LENGTH - 1; i++) {
+            int digit = partitaIVA.charAt(offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid Partita IVA digit: " + partitaIVA.charAt(offset + i));
             }
-            sum += digit;
+            sum += LUHN_TABLE[(i & 1) * 10 + digit];
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Generates a valid Partita IVA from a progressive number and an issuing office code.
+     * <p>
+     * The result is the progressive number on seven digits, the office code on three digits and the
+     * check digit, without the "IT" prefix. This is useful to synthesize test data.
+     * </p>
+     *
+     * @param officeCode  the issuing office code, as accepted by {@link #isValidOfficeCode(int)}
+     * @param progressivo the progressive number assigned by the office, from 0 to 9999999
+     * @return the generated Partita IVA
+     * @throws IllegalArgumentException if the office code is not assigned or the progressive number is out of range
+     */
+    public static String generatePartitaIVA(int officeCode, int progressivo) {
+        if (!isValidOfficeCode(officeCode)) {
+            throw new IllegalArgumentException("Invalid office code: " + officeCode);
+        }
+        if (progressivo < 0 || progressivo > MAX_PROGRESSIVO) {
+            throw new IllegalArgumentException("Invalid progressive number: " + progressivo);
+        }
+        char[] chars = new char[PARTITA_IVA_LENGTH];
+        writeDigits(chars, 0, OFFICE_CODE_OFFSET, progressivo);
+        writeDigits(chars, OFFICE_CODE_OFFSET, OFFICE_CODE_LENGTH, officeCode);
+        int sum = 0;
+        for (int i = 0; i < PARTITA_IVA_LENGTH - 1; i++) {
+            sum += LUHN_TABLE[(i & 1) * 10 + chars[i] - '0'];
+        }
+        chars[PARTITA_IVA_LENGTH - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(chars);
+    }
+
+    /**
+     * Packs a valid Partita IVA into a {@code long}: its eleven digits read as a number, from 0 to
+     * 99999999999. Packed values compare with {@link Long#compare(long, long)} in the same order as
+     * the Partita IVA strings, and can be stored in a {@link LongHashSet} or {@link LongHashMap}.
+     *
+     * @param partitaIVA the Partita IVA to pack, with or without the "IT" prefix
+     * @return the packed Partita IVA, or {@code -1} if {@link #checkPartitaIVA(CharSequence)} does not
+     *         return {@link ValidationCode#VALID}
+     */
+    public static long packPartitaIVA(CharSequence partitaIVA) {
+        if (checkPartitaIVA(partitaIVA) != ValidationCode.VALID) {
+            return -1;
+        }
+        int offset = hasCountryPrefix(partitaIVA) ? 2 : 0;
+        long packed = 0;
+        for (int i = 0; i < PARTITA_IVA_LENGTH; i++) {
+            packed = packed * 10 + partitaIVA.charAt(offset + i) - '0';
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a Partita IVA packed by {@link #packPartitaIVA(CharSequence)}, without the "IT" prefix.
+     *
+     * @param packed the packed Partita IVA
+     * @return the eleven digits of the Partita IVA
+     * @throws IllegalArgumentException if {@code packed} is not between 0 and 99999999999
+     */
+    public static String unpackPartitaIVA(long packed) {
+        char[] chars = new char[PARTITA_IVA_LENGTH];
+        unpackPartitaIVA(packed, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the eleven digits of a packed Partita IVA into an array, without allocating.
+     *
+     * @param packed the packed Partita IVA
+     * @param out    the destination array
+     * @param offset the index of the first character to write
+     * @return the number of characters written, always 11
+     * @throws IllegalArgumentException  if {@code packed} is not between 0 and 99999999999
+     * @throws IndexOutOfBoundsException if the digits do not fit in {@code out} at {@code offset}
+     */
+    public static int unpackPartitaIVA(long packed, char[] out, int offset) {
+        if (packed < 0 || packed > MAX_PACKED_PARTITA_IVA) {
+            throw new IllegalArgumentException("Invalid packed Partita IVA: " + packed);
+        }
+        Objects.checkFromIndexSize(offset, PARTITA_IVA_LENGTH, out.length);
+        for (int i = offset + PARTITA_IVA_LENGTH - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        return PARTITA_IVA_LENGTH;
+    }
+
+    /**
+     * Checks a batch of Partite IVA and stores the {@link ValidationCode} ordinal of each record.
+     *
+     * @param in  the Partite IVA to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid Partite IVA
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkPartiteIVA(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, PartitaIVAUtils::checkPartitaIVA);
+    }
+
+    /**
+     * Validates a batch of Partite IVA and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidPartitaIVA(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the Partite IVA to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid Partite IVA
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validatePartiteIVA(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, PartitaIVAUtils::isValidPartitaIVA);
+    }
+
+    /**
+     * Validates a batch of Partite IVA, splitting large batches over a fork/join pool.
+     *
+     * @param in   the Partite IVA to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid Partite IVA
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validatePartiteIVA(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, PartitaIVAUtils::isValidPartitaIVA, pool);
+    }
+
+    /**
+     * Validates a batch of Partite IVA and returns the results as a bit set.
+     *
+     * @param in the Partite IVA to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validatePartiteIVA(CharSequence[] in) {
+        return BatchValidation.validate(in, PartitaIVAUtils::isValidPartitaIVA);
+    }
+
+    // Same checks as checkPartitaIVA on the digits of a streamed record, read in place by the digit kernels
+    private static ValidationCode checkDigits(CharSlice slice, int offset) {
+        DigitKernels kernels = DigitKernels.get();
+        int from = slice.offset() + offset;
+        int to = from + PARTITA_IVA_LENGTH;
+        if (!kernels.isDigits(slice.array(), from, to)) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        if (!isValidOfficeCode(officeCode(slice, offset))) {
+            return ValidationCode.BAD_OFFICE;
+        }
+        return kernels.luhnSum(slice.array(), from, to) % 10 == 0 ? ValidationCode.VALID : ValidationCode.BAD_CHECKSUM;
+    }
+
+    // Same checks on the digits of a byte array
+    private static ValidationCode checkDigits(ByteSlice slice, int offset) {
+        DigitKernels kernels = DigitKernels.get();
+        int from = slice.offset() + offset;
+        int to = from + PARTITA_IVA_LENGTH;
+        if (!kernels.isDigits(slice.array(), from, to)) {
+            return ValidationCode.BAD_CHARSET;
+        }
+        if (!isValidOfficeCode(officeCode(slice, offset))) {
+            return ValidationCode.BAD_OFFICE;
         }
-        return sum % 10 == 0;
+        return kernels.luhnSum(slice.array(), from, to) % 10 == 0 ? ValidationCode.VALID : ValidationCode.BAD_CHECKSUM;
+    }
+
+    private static int officeCode(CharSequence partitaIVA, int offset) {
+        int start = offset + OFFICE_CODE_OFFSET;
+        return (partitaIVA.charAt(start) - '0') * 100 + (partitaIVA.charAt(start + 1) - '0') * 10
+                + partitaIVA.charAt(start + 2) - '0';
+    }
+
+    private static void writeDigits(char[] chars, int from, int count, int value) {
+        for (int i = from + count - 1; i >= from; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static boolean hasCountryPrefix(CharSequence partitaIVA) {
+        return partitaIVA.length() >= 2 && partitaIVA.charAt(0) == 'I' && partitaIVA.charAt(1) == 'T';
     }
 
     /**
@@ -87,7 +408,7 @@ public class PartitaIVAUtils {
         }
 
         // Validate the remaining part
-        if (!PARTITA_IVA_PATTERN.matcher(partitaIVA).matches()) {
+        if (PARTITA_IVA_LAYOUT.check(partitaIVA) != ValidationCode.VALID) {
             throw new IllegalArgumentException("Invalid Partita IVA");
         }
 
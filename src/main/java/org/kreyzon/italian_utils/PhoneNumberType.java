@@ -0,0 +1,22 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Categories of Italian phone numbers, as assigned by the national numbering plan and returned by
+ * {@link PhoneNumberUtils#classifyPhoneNumber(CharSequence)}.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-13
+ */
+public enum PhoneNumberType {
+
+    /** A mobile number: 3 followed by a non-zero digit, 9 or 10 digits long. */
+    MOBILE,
+    /** A landline number: 0, an area code of 2 to 4 digits in all, and 6 to 11 digits in all. */
+    GEOGRAPHIC,
+    /** A toll-free number: 800 and 6 digits, or 803 and 3 digits. */
+    TOLL_FREE,
+    /** A shared-cost number: 840 or 848 and 6 digits. */
+    SHARED_COST,
+    /** A premium-rate number: 892 and 3 digits, or 893, 894, 895 or 899 and 6 digits. */
+    PREMIUM
+}
@@ -0,0 +1,443 @@
+package org.kreyzon.italian_utils;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Utility class for validating, classifying and formatting Italian phone numbers.
+ * <p>
+ * A number may start with the {@code +39} or {@code 0039} country prefix and may contain spaces,
+ * hyphens, dots, slashes and parentheses between its digits. The national number is matched against
+ * a prefix trie compiled once from the numbering plan: mobile numbers (3), geographic numbers (0)
+ * with area codes of 2 to 4 digits, toll-free (800, 803), shared-cost (840, 848) and premium-rate
+ * (892 to 899) numbers. Validation and classification read the input once, walking the trie as they
+ * go, and do not allocate.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-13
+ */
+public class PhoneNumberUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private PhoneNumberUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private static final String COUNTRY_PREFIX = "+39";
+
+    // Geographic numbers: 6 to 11 digits, the leading 0 included
+    private static final int MIN_GEOGRAPHIC_DIGITS = 6;
+    private static final int MAX_GEOGRAPHIC_DIGITS = 11;
+
+    // Area codes of two and three digits; every other 0x prefix starts a four-digit area code
+    private static final String[] TWO_DIGIT_AREA_CODES = {"02", "06"};
+    private static final String[] THREE_DIGIT_AREA_CODES = {
+            "010", "011", "015", "019", "030", "031", "035", "039", "040", "041", "045", "049", "050", "051",
+            "055", "059", "070", "071", "075", "079", "080", "081", "085", "089", "090", "091", "095", "099"
+    };
+
+    // Node markers: no number ends at the node, or no number continues through it
+    private static final byte NONE = -1;
+    private static final byte UNASSIGNED = -2;
+
+    private static final PhoneNumberType[] TYPES = PhoneNumberType.values();
+
+    // Decimal trie of the numbering plan: the child of node n for digit d is CHILDREN[n * 10 + d], 0 for
+    // none, the root being node 0. A node with a type holds the length range of the numbers it starts.
+    private static final short[] CHILDREN;
+    private static final byte[] NODE_TYPES;
+    private static final byte[] MIN_DIGITS;
+    private static final byte[] MAX_DIGITS;
+    private static final byte[] AREA_CODE_LENGTHS;
+
+    static {
+        TrieBuilder trie = new TrieBuilder();
+        trie.add("0", PhoneNumberType.GEOGRAPHIC, MIN_GEOGRAPHIC_DIGITS, MAX_GEOGRAPHIC_DIGITS, 4);
+        trie.add("00", UNASSIGNED, 0, 0, 0);
+        for (String areaCode : TWO_DIGIT_AREA_CODES) {
+            trie.add(areaCode, PhoneNumberType.GEOGRAPHIC, MIN_GEOGRAPHIC_DIGITS, MAX_GEOGRAPHIC_DIGITS, 2);
+        }
+        for (String areaCode : THREE_DIGIT_AREA_CODES) {
+            trie.add(areaCode, PhoneNumberType.GEOGRAPHIC, MIN_GEOGRAPHIC_DIGITS, MAX_GEOGRAPHIC_DIGITS, 3);
+        }
+        for (char c = '1'; c <= '9'; c++) {
+            trie.add("3" + c, PhoneNumberType.MOBILE, 9, 10, 0);
+        }
+        trie.add("800", PhoneNumberType.TOLL_FREE, 9, 9, 0);
+        trie.add("803", PhoneNumberType.TOLL_FREE, 6, 6, 0);
+        trie.add("840", PhoneNumberType.SHARED_COST, 9, 9, 0);
+        trie.add("848", PhoneNumberType.SHARED_COST, 9, 9, 0);
+        trie.add("892", PhoneNumberType.PREMIUM, 6, 6, 0);
+        for (String prefix : new String[] {"893", "894", "895", "899"}) {
+            trie.add(prefix, PhoneNumberType.PREMIUM, 9, 9, 0);
+        }
+        CHILDREN = trie.children();
+        NODE_TYPES = trie.types();
+        MIN_DIGITS = trie.minDigits();
+        MAX_DIGITS = trie.maxDigits();
+        AREA_CODE_LENGTHS = trie.areaCodeLengths();
+    }
+
+    /**
+     * Validates an Italian phone number, with or without the +39 or 0039 prefix.
+     *
+     * @param phoneNumber the phone number to validate
+     * @return {@code true} if the phone number is valid, {@code false} otherwise
+     */
+    public static boolean isValidPhoneNumber(String phoneNumber) {
+        return isValidPhoneNumber((CharSequence) phoneNumber);
+    }
+
+    /**
+     * Validates an Italian phone number, with or without the +39 or 0039 prefix. Spaces, hyphens,
+     * dots, slashes and parentheses are ignored.
+     *
+     * @param phoneNumber the phone number to validate
+     * @return {@code true} if the phone number is valid, {@code false} otherwise
+     */
+    public static boolean isValidPhoneNumber(CharSequence phoneNumber) {
+        return checkPhoneNumber(phoneNumber) == ValidationCode.VALID;
+    }
+
+    /**
+     * Validates a phone number stored as ASCII bytes in a range of an array, in place.
+     *
+     * @param bytes  the array holding the phone number
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the phone number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static boolean isValidPhoneNumber(byte[] bytes, int offset, int length) {
+        return isValidPhoneNumber(ByteSlice.of(bytes, offset, length));
+    }
+
+    /**
+     * Validates a phone number stored as ASCII bytes in a range of a buffer, in place. The index is
+     * absolute, as in {@link ByteBuffer#get(int)}; the position of the buffer is neither used nor changed.
+     *
+     * @param buffer the buffer holding the phone number
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return {@code true} if the phone number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the limit of the buffer
+     */
+    public static boolean isValidPhoneNumber(ByteBuffer buffer, int index, int length) {
+        return isValidPhoneNumber(ByteSlice.of(buffer, index, length));
+    }
+
+    /**
+     * Validates a phone number stored as ASCII bytes in a range of a memory segment, such as a mapped
+     * file, in place.
+     *
+     * @param segment the segment holding the phone number
+     * @param offset  the offset of the first byte, in bytes
+     * @param length  the number of bytes
+     * @return {@code true} if the phone number is valid, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the range is outside the segment
+     */
+    public static boolean isValidPhoneNumber(MemorySegment segment, long offset, int length) {
+        return isValidPhoneNumber(ByteSlice.of(segment, offset, length));
+    }
+
+    /**
+     * Checks an Italian phone number as {@link #isValidPhoneNumber(CharSequence)} does and returns the
+     * reason it is invalid, without throwing and without allocating.
+     *
+     * @param phoneNumber the phone number to check
+     * @return {@link ValidationCode#VALID}, or {@link ValidationCode#NULL}, {@link ValidationCode#BAD_LENGTH},
+     *         {@link ValidationCode#BAD_CHARSET}, {@link ValidationCode#BAD_COUNTRY} for an international
+     *         prefix other than 39, or {@link ValidationCode#BAD_PREFIX} for a national prefix that the
+     *         numbering plan does not assign
+     */
+    public static ValidationCode checkPhoneNumber(CharSequence phoneNumber) {
+        if (!ValidationMetrics.active()) {
+            return doCheckPhoneNumber(phoneNumber);
+        }
+        long start = System.nanoTime();
+        return ValidationMetrics.record(ValidatorType.PHONE_NUMBER, doCheckPhoneNumber(phoneNumber), start);
+    }
+
+    private static ValidationCode doCheckPhoneNumber(CharSequence phoneNumber) {
+        int node = scan(phoneNumber);
+        return node > 0 ? ValidationCode.VALID : ValidationCode.fromOrdinal(-node);
+    }
+
+    /**
+     * Classifies an Italian phone number, in the same single allocation-free pass as
+     * {@link #checkPhoneNumber(CharSequence)}.
+     *
+     * @param phoneNumber the phone number to classify
+     * @return the type of the number, or {@code null} if it is invalid
+     */
+    public static PhoneNumberType classifyPhoneNumber(CharSequence phoneNumber) {
+        int node = scan(phoneNumber);
+        return node > 0 ? TYPES[NODE_TYPES[node]] : null;
+    }
+
+    /**
+     * Returns the area code of a geographic phone number, such as "06" for Rome or "0331" for Busto Arsizio.
+     *
+     * @param phoneNumber the phone number
+     * @return the area code, leading 0 included, or {@code null} if the number is invalid or not geographic
+     */
+    public static String getAreaCode(CharSequence phoneNumber) {
+        int node = scan(phoneNumber);
+        if (node <= 0 || NODE_TYPES[node] != PhoneNumberType.GEOGRAPHIC.ordinal()) {
+            return null;
+        }
+        StringBuilder areaCode = new StringBuilder(4);
+        int areaCodeLength = AREA_CODE_LENGTHS[node];
+        for (int i = nationalStart(phoneNumber); areaCode.length() < areaCodeLength; i++) {
+            char c = phoneNumber.charAt(i);
+            if (isDigit(c)) {
+                areaCode.append(c);
+            }
+        }
+        return areaCode.toString();
+    }
+
+    /**
+     * Formats an Italian phone number in the E.164 international format, such as {@code +390612345678}.
+     *
+     * @param phoneNumber the phone number to format
+     * @return the phone number with the +39 prefix and without separators
+     * @throws IllegalArgumentException if the phone number is invalid
+     */
+    public static String formatPhoneNumber(String phoneNumber) {
+        return formatPhoneNumber(phoneNumber, new StringBuilder(COUNTRY_PREFIX.length() + MAX_GEOGRAPHIC_DIGITS)).toString();
+    }
+
+    /**
+     * Appends an Italian phone number in the E.164 international format to a builder, without
+     * intermediate Strings.
+     *
+     * @param phoneNumber the phone number to format
+     * @param out         the builder to append to
+     * @return {@code out}
+     * @throws IllegalArgumentException if the phone number is invalid
+     */
+    public static StringBuilder formatPhoneNumber(CharSequence phoneNumber, StringBuilder out) {
+        if (scan(phoneNumber) <= 0) {
+            throw new IllegalArgumentException("Invalid phone number");
+        }
+        out.append(COUNTRY_PREFIX);
+        for (int i = nationalStart(phoneNumber); i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (isDigit(c)) {
+                out.append(c);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Checks a batch of phone numbers and stores the {@link ValidationCode} ordinal of each record.
+     *
+     * @param in  the phone numbers to check, null elements are allowed
+     * @param out the code ordinals, at least as long as {@code in}
+     * @return the number of valid phone numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int checkPhoneNumbers(CharSequence[] in, byte[] out) {
+        return BatchValidation.check(in, out, PhoneNumberUtils::checkPhoneNumber);
+    }
+
+    /**
+     * Validates a batch of phone numbers and stores one result per record.
+     * <p>
+     * Each result is exactly what {@link #isValidPhoneNumber(CharSequence)} returns for the same input.
+     * </p>
+     *
+     * @param in  the phone numbers to validate, null elements are allowed
+     * @param out the results, at least as long as {@code in}
+     * @return the number of valid phone numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validatePhoneNumbers(CharSequence[] in, boolean[] out) {
+        return BatchValidation.validate(in, out, PhoneNumberUtils::isValidPhoneNumber);
+    }
+
+    /**
+     * Validates a batch of phone numbers, splitting large batches over a fork/join pool.
+     *
+     * @param in   the phone numbers to validate, null elements are allowed
+     * @param out  the results, at least as long as {@code in}
+     * @param pool the pool running the validation (e.g., {@link ForkJoinPool#commonPool()})
+     * @return the number of valid phone numbers
+     * @throws IllegalArgumentException if {@code out} is shorter than {@code in}
+     */
+    public static int validatePhoneNumbers(CharSequence[] in, boolean[] out, ForkJoinPool pool) {
+        return BatchValidation.validate(in, out, PhoneNumberUtils::isValidPhoneNumber, pool);
+    }
+
+    /**
+     * Validates a batch of phone numbers and returns the results as a bit set.
+     *
+     * @param in the phone numbers to validate, null elements are allowed
+     * @return a bit set where bit {@code i} is set if {@code in[i]} is valid
+     */
+    public static BitSet validatePhoneNumbers(CharSequence[] in) {
+        return BatchValidation.validate(in, PhoneNumberUtils::isValidPhoneNumber);
+    }
+
+    /**
+     * Reads a phone number once, walking the trie along its digits.
+     *
+     * @return the trie node of the longest assigned prefix if the number is valid, otherwise the
+     *         negated ordinal of the {@link ValidationCode} rejecting it
+     */
+    private static int scan(CharSequence phoneNumber) {
+        if (phoneNumber == null) {
+            return -ValidationCode.NULL.ordinal();
+        }
+        int start = nationalStart(phoneNumber);
+        if (start < 0) {
+            return start;
+        }
+        int node = 0;
+        int match = 0;
+        int digits = 0;
+        for (int i = start; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+                if (node >= 0) {
+                    node = CHILDREN[node * 10 + c - '0'];
+                    if (node == 0) {
+                        node = -1;
+                    } else if (NODE_TYPES[node] == UNASSIGNED) {
+                        match = 0;
+                        node = -1;
+                    } else if (NODE_TYPES[node] != NONE) {
+                        match = node;
+                    }
+                }
+            } else if (!isSeparator(c)) {
+                return -ValidationCode.BAD_CHARSET.ordinal();
+            }
+        }
+        if (digits == 0) {
+            return -ValidationCode.BAD_LENGTH.ordinal();
+        }
+        if (match == 0) {
+            return -ValidationCode.BAD_PREFIX.ordinal();
+        }
+        if (digits < MIN_DIGITS[match] || digits > MAX_DIGITS[match]) {
+            return -ValidationCode.BAD_LENGTH.ordinal();
+        }
+        return match;
+    }
+
+    /**
+     * Skips the +39 or 0039 country prefix.
+     *
+     * @return the index of the national number, or the negated ordinal of the {@link ValidationCode}
+     *         rejecting the prefix
+     */
+    private static int nationalStart(CharSequence phoneNumber) {
+        int length = phoneNumber.length();
+        int prefixLength;
+        if (length > 0 && phoneNumber.charAt(0) == '+') {
+            prefixLength = 3;
+        } else if (length > 1 && phoneNumber.charAt(0) == '0' && phoneNumber.charAt(1) == '0') {
+            // No national number starts with 00, so this is an international prefix
+            prefixLength = 4;
+        } else {
+            return 0;
+        }
+        if (length < prefixLength) {
+            return -ValidationCode.BAD_LENGTH.ordinal();
+        }
+        char tens = phoneNumber.charAt(prefixLength - 2);
+        char units = phoneNumber.charAt(prefixLength - 1);
+        if (!isDigit(tens) || !isDigit(units)) {
+            return -ValidationCode.BAD_CHARSET.ordinal();
+        }
+        return tens == '3' && units == '9' ? prefixLength : -ValidationCode.BAD_COUNTRY.ordinal();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '.' || c == '/' || c == '(' || c == ')';
+    }
+
+    /**
+     * Compiles numbering plan prefixes into the arrays of the trie.
+     */
+    private static final class TrieBuilder {
+
+        private short[] children = new short[10 * 16];
+        private byte[] types = new byte[16];
+        private byte[] minDigits = new byte[16];
+        private byte[] maxDigits = new byte[16];
+        private byte[] areaCodeLengths = new byte[16];
+        private int size = 1;
+
+        TrieBuilder() {
+            types[0] = NONE;
+        }
+
+        void add(String prefix, PhoneNumberType type, int min, int max, int areaCodeLength) {
+            add(prefix, (byte) type.ordinal(), min, max, areaCodeLength);
+        }
+
+        void add(String prefix, byte type, int min, int max, int areaCodeLength) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int slot = node * 10 + prefix.charAt(i) - '0';
+                if (children[slot] == 0) {
+                    // Grow first: the array reference would be read before newNode replaces it
+                    int child = newNode();
+                    children[slot] = (short) child;
+                }
+                node = children[slot];
+            }
+            types[node] = type;
+            minDigits[node] = (byte) min;
+            maxDigits[node] = (byte) max;
+            areaCodeLengths[node] = (byte) areaCodeLength;
+        }
+
+        private int newNode() {
+            if (size == types.length) {
+                children = Arrays.copyOf(children, children.length * 2);
+                types = Arrays.copyOf(types, types.length * 2);
+                minDigits = Arrays.copyOf(minDigits, minDigits.length * 2);
+                maxDigits = Arrays.copyOf(maxDigits, maxDigits.length * 2);
+                areaCodeLengths = Arrays.copyOf(areaCodeLengths, areaCodeLengths.length * 2);
+            }
+            types[size] = NONE;
+            return size++;
+        }
+
+        short[] children() {
+            return Arrays.copyOf(children, size * 10);
+        }
+
+        byte[] types() {
+            return Arrays.copyOf(types, size);
+        }
+
+        byte[] minDigits() {
+            return Arrays.copyOf(minDigits, size);
+        }
+
+        byte[] maxDigits() {
+            return Arrays.copyOf(maxDigits, size);
+        }
+
+        byte[] areaCodeLengths() {
+            return Arrays.copyOf(areaCodeLengths, size);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.kreyzon.italian_utils;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+/**
+ * Field types that a {@link RecordValidator} column can be mapped to, each backed by the matching
+ * {@code *Utils} validator.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+public enum RecordField {
+
+    /** A name, as checked by {@link AnagraficaUtils#isValidName(CharSequence, NamePolicy)} with {@link NamePolicy#ASCII}. */
+    NAME,
+    /** A surname, as checked by {@link AnagraficaUtils#isValidSurname(CharSequence, NamePolicy)} with {@link NamePolicy#ASCII}. */
+    SURNAME,
+    /** A gender, as checked by {@link AnagraficaUtils#isValidGender(CharSequence)}. */
+    GENDER,
+    /** An ISO-8601 birthdate, as checked by {@link AnagraficaUtils#isValidBirthdate(CharSequence, LocalDate)}. */
+    BIRTHDATE,
+    /** A Codice Fiscale, as checked by {@link CodiceFiscaleUtils#isValidCodiceFiscale(CharSequence)}. */
+    CODICE_FISCALE,
+    /** A Partita IVA, as checked by {@link PartitaIVAUtils#isValidPartitaIVA(CharSequence)}. */
+    PARTITA_IVA,
+    /** An IBAN, as checked by {@link BankingUtils#isValidIBAN(CharSequence)}. */
+    IBAN,
+    /** A CIE serial number, as checked by {@link IdentityCardUtils#isValidCIESerial(CharSequence)}. */
+    CIE_SERIAL,
+    /** A Tessera Sanitaria serial number, as checked by {@link HealthInsuranceCardUtils#isValidHICSerial(CharSequence)}. */
+    HIC_SERIAL;
+
+    /**
+     * Returns the validator of this field type.
+     *
+     * @param referenceDate the date used by date-dependent checks, such as birthdates in the future
+     * @return the validator
+     */
+    Predicate<CharSequence> validator(LocalDate referenceDate) {
+        return switch (this) {
+            case NAME -> value -> AnagraficaUtils.isValidName(value, NamePolicy.ASCII);
+            case SURNAME -> value -> AnagraficaUtils.isValidSurname(value, NamePolicy.ASCII);
+            case GENDER -> AnagraficaUtils::isValidGender;
+            case BIRTHDATE -> value -> AnagraficaUtils.isValidBirthdate(value, referenceDate);
+            case CODICE_FISCALE -> CodiceFiscaleUtils::isValidCodiceFiscale;
+            case PARTITA_IVA -> PartitaIVAUtils::isValidPartitaIVA;
+            case IBAN -> BankingUtils::isValidIBAN;
+            case CIE_SERIAL -> IdentityCardUtils::isValidCIESerial;
+            case HIC_SERIAL -> HealthInsuranceCardUtils::isValidHICSerial;
+        };
+    }
+}
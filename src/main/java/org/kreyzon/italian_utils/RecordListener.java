@@ -0,0 +1,24 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Receives the result of each record checked by a {@link RecordValidator}.
+ * <p>
+ * Results are delivered on the thread that called {@code validate}, in input order, as soon as the
+ * chunk holding the record has been checked.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+@FunctionalInterface
+public interface RecordListener {
+
+    /**
+     * Called once per record, header and blank lines excluded.
+     *
+     * @param lineNumber     the 1-based line number of the record in the input
+     * @param invalidColumns a bit mask with bit {@code i} set if column {@code i} failed its check or
+     *                       is missing; 0 for a valid record
+     */
+    void onRecord(long lineNumber, long invalidColumns);
+}
@@ -0,0 +1,496 @@
+package org.kreyzon.italian_utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Predicate;
+
+/**
+ * Streaming validator for delimited records, such as anagrafica exports with one person per line.
+ * <p>
+ * Each column is mapped to a {@link RecordField} or to a custom validator. The input is read in
+ * chunks of whole lines; chunks are checked on an {@link Executor} and their results are delivered to
+ * a {@link RecordListener} in input order. At most {@code 2 * parallelism} chunks are in flight, so
+ * memory stays constant whatever the size of the input, and a slow listener applies back-pressure
+ * to the reader. Fields are passed to the validators as reused {@link CharSequence} views, without
+ * creating Strings.
+ * </p>
+ * <p>
+ * Lines are split on the delimiter only: quoted fields are not supported. Line endings may be
+ * {@code \n} or {@code \r\n}; blank lines are skipped. A validator is thread-safe and reusable.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+public final class RecordValidator {
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    // Columns are reported in a long bit mask
+    static final int MAX_COLUMNS = Long.SIZE;
+
+    private final char delimiter;
+    private final boolean skipHeader;
+    private final Predicate<CharSequence>[] validators;
+    private final long mappedColumns;
+    private final int parallelism;
+    private final Executor executor;
+    private final int chunkSize;
+
+    private RecordValidator(Builder builder) {
+        this.delimiter = builder.delimiter;
+        this.skipHeader = builder.skipHeader;
+        this.validators = builder.validators(builder.referenceDate != null ? builder.referenceDate : LocalDate.now());
+        this.mappedColumns = builder.mappedColumns;
+        this.parallelism = builder.parallelism;
+        this.executor = builder.executor;
+        this.chunkSize = builder.chunkSize;
+    }
+
+    /**
+     * Creates a builder for a record validator.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Validates every record read from a reader. The reader is not closed.
+     *
+     * @param in       the records
+     * @param listener the listener receiving the result of each record
+     * @return the number of invalid records
+     * @throws IOException if reading fails
+     */
+    public long validate(Reader in, RecordListener listener) throws IOException {
+        Objects.requireNonNull(in, "in");
+        Objects.requireNonNull(listener, "listener");
+        return run(in, listener);
+    }
+
+    /**
+     * Validates every record read from a stream. The stream is not closed.
+     *
+     * @param in       the records
+     * @param charset  the charset of the stream
+     * @param listener the listener receiving the result of each record
+     * @return the number of invalid records
+     * @throws IOException if reading fails
+     */
+    public long validate(InputStream in, Charset charset, RecordListener listener) throws IOException {
+        Objects.requireNonNull(in, "in");
+        return validate(new InputStreamReader(in, charset), listener);
+    }
+
+    /**
+     * Validates every record of a file, memory-mapping it instead of reading it through a stream.
+     *
+     * @param file     the file
+     * @param charset  the charset of the file
+     * @param listener the listener receiving the result of each record
+     * @return the number of invalid records
+     * @throws IOException if the file cannot be read or is not valid in the charset
+     */
+    public long validate(Path file, Charset charset, RecordListener listener) throws IOException {
+        Objects.requireNonNull(listener, "listener");
+        try (Reader in = new MappedFileReader(file, charset)) {
+            return run(in, listener);
+        }
+    }
+
+    private long run(Reader in, RecordListener listener) throws IOException {
+        ChunkReader chunks = new ChunkReader(in, chunkSize);
+        Emitter emitter = new Emitter(listener);
+        ArrayDeque<Future<ChunkResult>> pending = new ArrayDeque<>();
+        int maxPending = 2 * parallelism;
+        boolean header = skipHeader;
+        try {
+            Chunk chunk;
+            while ((chunk = chunks.next()) != null) {
+                Chunk current = chunk;
+                boolean skipFirstLine = header;
+                header = false;
+                if (parallelism == 1) {
+                    emitter.emit(check(current, skipFirstLine));
+                    continue;
+                }
+                if (pending.size() == maxPending) {
+                    emitter.emit(await(pending.poll()));
+                }
+                FutureTask<ChunkResult> task = new FutureTask<>(() -> check(current, skipFirstLine));
+                executor.execute(task);
+                pending.add(task);
+            }
+            while (!pending.isEmpty()) {
+                emitter.emit(await(pending.poll()));
+            }
+        } finally {
+            for (Future<ChunkResult> task : pending) {
+                task.cancel(false);
+            }
+        }
+        return emitter.invalidRecords;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating records", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Checks every line of a chunk.
+     */
+    private ChunkResult check(Chunk chunk, boolean skipFirstLine) {
+        char[] chars = chunk.chars;
+        int lineCount = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            if (chars[i] == '\n') {
+                lineCount++;
+            }
+        }
+        if (chunk.length > 0 && chars[chunk.length - 1] != '\n') {
+            lineCount++;
+        }
+
+        ChunkResult result = new ChunkResult(lineCount);
+        CharSlice field = new CharSlice();
+        int lineStart = 0;
+        for (int line = 0; line < lineCount; line++) {
+            int lineEnd = lineStart;
+            while (lineEnd < chunk.length && chars[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && chars[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            if ((line == 0 && skipFirstLine) || lineEnd == lineStart) {
+                result.skipped[line] = true;
+            } else {
+                result.invalidColumns[line] = checkLine(chars, lineStart, lineEnd, field);
+            }
+            lineStart = next;
+        }
+        return result;
+    }
+
+    private long checkLine(char[] chars, int from, int to, CharSlice field) {
+        long invalidColumns = 0;
+        int column = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || chars[i] == delimiter) {
+                if (column < validators.length && validators[column] != null
+                        && !validators[column].test(field.reset(chars, fieldStart, i))) {
+                    invalidColumns |= 1L << column;
+                }
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        // Mapped columns missing from the line
+        if (column < MAX_COLUMNS) {
+            invalidColumns |= mappedColumns & (-1L << column);
+        }
+        return invalidColumns;
+    }
+
+    /**
+     * A run of whole lines, the unit of work of the parallel stage.
+     */
+    private static final class Chunk {
+
+        final char[] chars;
+        final int length;
+
+        Chunk(char[] chars, int length) {
+            this.chars = chars;
+            this.length = length;
+        }
+    }
+
+    /**
+     * The results of the lines of a chunk.
+     */
+    private static final class ChunkResult {
+
+        final long[] invalidColumns;
+        final boolean[] skipped;
+
+        ChunkResult(int lineCount) {
+            this.invalidColumns = new long[lineCount];
+            this.skipped = new boolean[lineCount];
+        }
+    }
+
+    /**
+     * Splits a reader into chunks ending on a line boundary. A line longer than the chunk size
+     * grows the chunk until the line fits.
+     */
+    private static final class ChunkReader {
+
+        private final Reader in;
+        private final int chunkSize;
+        private char[] carry = new char[0];
+        private int carryLength;
+        private boolean endOfInput;
+
+        ChunkReader(Reader in, int chunkSize) {
+            this.in = in;
+            this.chunkSize = chunkSize;
+        }
+
+        Chunk next() throws IOException {
+            if (endOfInput && carryLength == 0) {
+                return null;
+            }
+            char[] chars = new char[Math.max(chunkSize, carryLength * 2)];
+            System.arraycopy(carry, 0, chars, 0, carryLength);
+            int length = carryLength;
+            int searchFrom = carryLength;
+            carryLength = 0;
+            while (true) {
+                while (!endOfInput && length < chars.length) {
+                    int read = in.read(chars, length, chars.length - length);
+                    if (read < 0) {
+                        endOfInput = true;
+                    } else {
+                        length += read;
+                    }
+                }
+                int lastNewline = lastIndexOf(chars, '\n', searchFrom, length);
+                if (lastNewline >= 0) {
+                    carryLength = length - lastNewline - 1;
+                    if (carry.length < carryLength) {
+                        carry = new char[Math.max(carryLength, chunkSize)];
+                    }
+                    System.arraycopy(chars, lastNewline + 1, carry, 0, carryLength);
+                    return new Chunk(chars, lastNewline + 1);
+                }
+                if (endOfInput) {
+                    return length == 0 ? null : new Chunk(chars, length);
+                }
+                searchFrom = length;
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+        }
+
+        private static int lastIndexOf(char[] chars, char c, int from, int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (chars[i] == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Delivers chunk results to the listener in input order, numbering the lines.
+     */
+    private static final class Emitter {
+
+        private final RecordListener listener;
+        private long lineNumber;
+        private long invalidRecords;
+
+        Emitter(RecordListener listener) {
+            this.listener = listener;
+        }
+
+        void emit(ChunkResult result) {
+            for (int i = 0; i < result.skipped.length; i++) {
+                lineNumber++;
+                if (result.skipped[i]) {
+                    continue;
+                }
+                long invalidColumns = result.invalidColumns[i];
+                if (invalidColumns != 0) {
+                    invalidRecords++;
+                }
+                listener.onRecord(lineNumber, invalidColumns);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link RecordValidator}.
+     */
+    public static final class Builder {
+
+        private char delimiter = ';';
+        private boolean skipHeader;
+        private final Object[] columns = new Object[MAX_COLUMNS];
+        private long mappedColumns;
+        private LocalDate referenceDate;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private Executor executor = ForkJoinPool.commonPool();
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the field delimiter, {@code ;} by default.
+         *
+         * @param delimiter the delimiter
+         * @return this builder
+         */
+        public Builder delimiter(char delimiter) {
+            if (delimiter == '\n' || delimiter == '\r') {
+                throw new IllegalArgumentException("Delimiter cannot be a line terminator");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Sets whether the first line is a header to skip, {@code false} by default.
+         *
+         * @param skipHeader {@code true} to skip the first line
+         * @return this builder
+         */
+        public Builder skipHeader(boolean skipHeader) {
+            this.skipHeader = skipHeader;
+            return this;
+        }
+
+        /**
+         * Maps a column to a field type.
+         *
+         * @param column the 0-based column index, below 64
+         * @param field  the field type
+         * @return this builder
+         */
+        public Builder column(int column, RecordField field) {
+            return map(column, Objects.requireNonNull(field, "field"));
+        }
+
+        /**
+         * Maps a column to a custom validator. The validator must be thread-safe and must not keep
+         * a reference to the value it receives, which is reused for the next field.
+         *
+         * @param column    the 0-based column index, below 64
+         * @param validator the validator
+         * @return this builder
+         */
+        public Builder column(int column, Predicate<CharSequence> validator) {
+            return map(column, Objects.requireNonNull(validator, "validator"));
+        }
+
+        /**
+         * Sets the date used by date-dependent checks, such as birthdates in the future.
+         * Defaults to the current date when the validator is built.
+         *
+         * @param referenceDate the reference date
+         * @return this builder
+         */
+        public Builder referenceDate(LocalDate referenceDate) {
+            this.referenceDate = Objects.requireNonNull(referenceDate, "referenceDate");
+            return this;
+        }
+
+        /**
+         * Sets the number of chunks checked concurrently, the number of available processors by default.
+         * With 1, every chunk is checked on the calling thread.
+         *
+         * @param parallelism the parallelism, at least 1
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the executor checking the chunks, the common fork/join pool by default.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the number of characters read per chunk, 65536 by default.
+         *
+         * @param chunkSize the chunk size, at least 1
+         * @return this builder
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("Chunk size must be at least 1");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Builds the record validator.
+         *
+         * @return the record validator
+         * @throws IllegalArgumentException if no column is mapped
+         */
+        public RecordValidator build() {
+            if (mappedColumns == 0) {
+                throw new IllegalArgumentException("No column is mapped to a validator");
+            }
+            return new RecordValidator(this);
+        }
+
+        private Builder map(int column, Object validator) {
+            if (column < 0 || column >= MAX_COLUMNS) {
+                throw new IllegalArgumentException("Column index must be between 0 and " + (MAX_COLUMNS - 1));
+            }
+            columns[column] = validator;
+            mappedColumns |= 1L << column;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Predicate<CharSequence>[] validators(LocalDate referenceDate) {
+            int length = Long.SIZE - Long.numberOfLeadingZeros(mappedColumns);
+            Predicate<CharSequence>[] validators = (Predicate<CharSequence>[]) new Predicate<?>[length];
+            for (int i = 0; i < length; i++) {
+                if (columns[i] instanceof RecordField field) {
+                    validators[i] = field.validator(referenceDate);
+                } else {
+                    validators[i] = (Predicate<CharSequence>) columns[i];
+                }
+            }
+            return validators;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.kreyzon.italian_utils;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Synthetic identity record produced by a {@link SyntheticDataGenerator}.
+ * <p>
+ * A record holds one value per {@link RecordField}, in the order of {@link RecordField#values()}:
+ * name, surname, gender, ISO birthdate, Codice Fiscale, Partita IVA, Italian IBAN, CIE serial number
+ * and Tessera Sanitaria serial number. Every value passes the validator of its field, except in a
+ * deliberately invalid record, where exactly the field returned by {@link #getInvalidField()} fails.
+ * Records are immutable.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-10
+ */
+public final class SyntheticRecord {
+
+    private final long index;
+    private final String[] values;
+    private final RecordField invalidField;
+
+    SyntheticRecord(long index, String[] values, RecordField invalidField) {
+        this.index = index;
+        this.values = values;
+        this.invalidField = invalidField;
+    }
+
+    /**
+     * Returns the index of the record in the sequence of its generator.
+     *
+     * @return the index, from 0
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the value of a field.
+     *
+     * @param field the field
+     * @return the value
+     */
+    public String get(RecordField field) {
+        return values[field.ordinal()];
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return get(RecordField.NAME);
+    }
+
+    /**
+     * Returns the surname.
+     *
+     * @return the surname
+     */
+    public String getSurname() {
+        return get(RecordField.SURNAME);
+    }
+
+    /**
+     * Returns the gender, "M" or "F".
+     *
+     * @return the gender
+     */
+    public String getGender() {
+        return get(RecordField.GENDER);
+    }
+
+    /**
+     * Returns the birthdate as an ISO-8601 date.
+     *
+     * @return the birthdate
+     */
+    public String getBirthdate() {
+        return get(RecordField.BIRTHDATE);
+    }
+
+    /**
+     * Returns the Codice Fiscale.
+     *
+     * @return the Codice Fiscale
+     */
+    public String getCodiceFiscale() {
+        return get(RecordField.CODICE_FISCALE);
+    }
+
+    /**
+     * Returns the Partita IVA, without the "IT" prefix.
+     *
+     * @return the Partita IVA
+     */
+    public String getPartitaIVA() {
+        return get(RecordField.PARTITA_IVA);
+    }
+
+    /**
+     * Returns the Italian IBAN.
+     *
+     * @return the IBAN
+     */
+    public String getIban() {
+        return get(RecordField.IBAN);
+    }
+
+    /**
+     * Returns the CIE serial number.
+     *
+     * @return the CIE serial number
+     */
+    public String getCieSerial() {
+        return get(RecordField.CIE_SERIAL);
+    }
+
+    /**
+     * Returns the Tessera Sanitaria serial number.
+     *
+     * @return the Tessera Sanitaria serial number
+     */
+    public String getHicSerial() {
+        return get(RecordField.HIC_SERIAL);
+    }
+
+    /**
+     * Returns the field that was made invalid on purpose.
+     *
+     * @return the invalid field, or {@code null} if every field is valid
+     */
+    public RecordField getInvalidField() {
+        return invalidField;
+    }
+
+    /**
+     * Checks whether every field of the record is valid.
+     *
+     * @return {@code true} if the record has no invalid field, {@code false} otherwise
+     */
+    public boolean isValid() {
+        return invalidField == null;
+    }
+
+    /**
+     * Appends the record as one delimited line, without the line terminator, with the fields in the
+     * order of {@link RecordField#values()}.
+     *
+     * @param out       the destination
+     * @param delimiter the field delimiter
+     * @return {@code out}
+     */
+    public StringBuilder appendTo(StringBuilder out, char delimiter) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(delimiter);
+            }
+            out.append(values[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Appends the record as one delimited line, without the line terminator, with the fields in the
+     * order of {@link RecordField#values()}.
+     *
+     * @param out       the destination
+     * @param delimiter the field delimiter
+     * @return {@code out}
+     * @throws IOException if appending fails
+     */
+    public Appendable appendTo(Appendable out, char delimiter) throws IOException {
+        Objects.requireNonNull(out, "out");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(delimiter);
+            }
+            out.append(values[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Returns the record as one line with fields separated by {@code ;}.
+     *
+     * @return the record line
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(128), ';').toString();
+    }
+}
@@ -0,0 +1,85 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Result of the validation of one item by a {@link ValidationProcessor}.
+ * <p>
+ * The invalid fields are reported as a bit mask indexed by {@link RecordField#ordinal()}, so a
+ * result holds no collection. Results are immutable.
+ * </p>
+ *
+ * @param <T> the type of the validated items
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-12
+ */
+public final class ValidatedItem<T> {
+
+    private final long index;
+    private final T item;
+    private final long invalidFields;
+
+    ValidatedItem(long index, T item, long invalidFields) {
+        this.index = index;
+        this.item = item;
+        this.invalidFields = invalidFields;
+    }
+
+    /**
+     * Returns the position of the item in the validated stream.
+     *
+     * @return the index, from 0
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the validated item.
+     *
+     * @return the item
+     */
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * Returns the fields that failed their check.
+     *
+     * @return a bit mask with bit {@code i} set if the field of ordinal {@code i} is invalid; 0 for a valid item
+     */
+    public long getInvalidFields() {
+        return invalidFields;
+    }
+
+    /**
+     * Checks whether a field failed its check.
+     *
+     * @param field the field
+     * @return {@code true} if the field is mapped and invalid, {@code false} otherwise
+     */
+    public boolean isInvalid(RecordField field) {
+        return (invalidFields & 1L << field.ordinal()) != 0;
+    }
+
+    /**
+     * Checks whether every mapped field passed its check.
+     *
+     * @return {@code true} if the item is valid, {@code false} otherwise
+     */
+    public boolean isValid() {
+        return invalidFields == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("ValidatedItem[index=").append(index).append(", invalid=[");
+        boolean first = true;
+        for (RecordField field : RecordField.values()) {
+            if (isInvalid(field)) {
+                out.append(first ? "" : ", ").append(field);
+                first = false;
+            }
+        }
+        return out.append("], item=").append(item).append(']').toString();
+    }
+}
@@ -0,0 +1,349 @@
+package org.kreyzon.italian_utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache of validation results, for inputs that repeat heavily, such as the
+ * IBANs and Partita IVA numbers of a payments service.
+ * <p>
+ * The cache is opt-in: create one with {@link #forIBAN(int)}, {@link #forPartitaIVA(int)} or
+ * around any {@code check*} method, and call {@link #check(CharSequence)} instead of the wrapped
+ * method. Results are keyed by the raw value, so {@code "IT60X0542811101000000123456"} and its
+ * lowercase form are different entries.
+ * </p>
+ * <p>
+ * Entries are spread over lock-striped segments. Each segment is an open-addressing table with
+ * room for twice its share of the maximum size; lookups read it without locking, and a miss
+ * locks only its segment to insert the result. When a segment is full, the CLOCK algorithm picks
+ * the entry to evict: a hand sweeps the table, giving a second chance to entries that were read
+ * since it last passed. New entries are not marked, so values seen only once are evicted first.
+ * Lookups hash any {@code CharSequence} in place, so checking a {@link StringBuilder} or a slice
+ * of a read buffer allocates only on a miss, when the value is copied to a String key.
+ * </p>
+ * <p>
+ * Hit, miss and eviction counts are kept in {@link LongAdder}s. A lookup that races with an
+ * eviction in its segment may miss an entry that is present; it then checks the value again and
+ * is counted as a miss, which never changes the result.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+public final class ValidationCache {
+
+    // Segments are only split while each keeps at least this many entries
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENTS = 64;
+
+    // Keeps the slot tables, up to four times the capacity of a segment, within an int
+    private static final int MAX_SIZE = 1 << 28;
+
+    // 2^64 divided by the golden ratio, to spread hash codes over segments and slots
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    private final Function<? super CharSequence, ValidationCode> check;
+    private final int maximumSize;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache around a check method.
+     *
+     * @param check       the check method, such as {@code BankingUtils::checkIBAN}; it must return
+     *                    the same code every time for the same value
+     * @param maximumSize the maximum number of cached results
+     * @throws IllegalArgumentException if {@code maximumSize} is not between 1 and 2^28
+     */
+    public ValidationCache(Function<? super CharSequence, ValidationCode> check, int maximumSize) {
+        this.check = Objects.requireNonNull(check, "check");
+        if (maximumSize <= 0 || maximumSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Maximum size must be between 1 and " + MAX_SIZE);
+        }
+        this.maximumSize = maximumSize;
+        int count = Math.min(segmentCount(), Integer.highestOneBit(Math.max(1, maximumSize / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder so the capacities add up to exactly maximumSize
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Creates a cache of {@link BankingUtils#checkIBAN(CharSequence)} results.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return the cache
+     * @throws IllegalArgumentException if {@code maximumSize} is not between 1 and 2^28
+     */
+    public static ValidationCache forIBAN(int maximumSize) {
+        return new ValidationCache(BankingUtils::checkIBAN, maximumSize);
+    }
+
+    /**
+     * Creates a cache of {@link PartitaIVAUtils#checkPartitaIVA(CharSequence)} results.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return the cache
+     * @throws IllegalArgumentException if {@code maximumSize} is not between 1 and 2^28
+     */
+    public static ValidationCache forPartitaIVA(int maximumSize) {
+        return new ValidationCache(PartitaIVAUtils::checkPartitaIVA, maximumSize);
+    }
+
+    /**
+     * Checks a value, returning the cached result when there is one. A {@code null} value is
+     * passed to the check method and never cached.
+     *
+     * @param value the value to check
+     * @return the result of the check method for the value
+     */
+    public ValidationCode check(CharSequence value) {
+        if (value == null) {
+            return check.apply(null);
+        }
+        // The high bits of the product are the well mixed ones: the top six pick the segment, the next ones the slot
+        long spread = hash(value) * GOLDEN_GAMMA;
+        Segment segment = segments[(int) (spread >>> 58) & (segments.length - 1)];
+        int hash = (int) (spread >>> 32);
+        ValidationCode code = segment.get(value, hash);
+        if (code != null) {
+            hits.increment();
+            return code;
+        }
+        misses.increment();
+        code = check.apply(value);
+        if (segment.put(value, hash, code)) {
+            evictions.increment();
+        }
+        return code;
+    }
+
+    /**
+     * Checks whether a value is valid, using the cached result when there is one.
+     *
+     * @param value the value to check
+     * @return {@code true} if the check method returns {@link ValidationCode#VALID}
+     */
+    public boolean isValid(CharSequence value) {
+        return check(value) == ValidationCode.VALID;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that called the check method, {@code null} values excluded.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the maximum number of cached results.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of cached results, approximate while other threads update the cache.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Removes every cached result. The counters are not reset.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationCache[size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    private static int segmentCount() {
+        int target = Math.min(MAX_SEGMENTS, 4 * Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(target);
+    }
+
+    // Same value as String#hashCode, so Strings use their cached hash
+    private static int hash(CharSequence value) {
+        if (value instanceof String string) {
+            return string.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Cached result. The key and code are final, so a lookup that reads an entry without locking
+     * always sees them initialized; only the CLOCK mark changes after publication.
+     */
+    private static final class Entry {
+
+        private final String key;
+        private final int hash;
+        private final ValidationCode code;
+
+        // Set by lookups and cleared by the CLOCK hand; a lost update only changes which entry is evicted
+        private boolean referenced;
+
+        Entry(String key, int hash, ValidationCode code) {
+            this.key = key;
+            this.hash = hash;
+            this.code = code;
+        }
+    }
+
+    /**
+     * One lock stripe: a linear-probing table at most half full, with its CLOCK hand. Slots are
+     * read with acquire semantics and written with release semantics under the segment lock.
+     */
+    private static final class Segment {
+
+        private final Entry[] table;
+        private final int mask;
+        private final int capacity;
+        private volatile int size;
+        private int hand;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.table = new Entry[Integer.highestOneBit(Math.max(1, capacity) * 4 - 1)];
+            this.mask = table.length - 1;
+        }
+
+        ValidationCode get(CharSequence value, int hash) {
+            for (int i = hash & mask, probes = 0; probes < table.length; i = (i + 1) & mask, probes++) {
+                Entry entry = (Entry) SLOTS.getAcquire(table, i);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.hash == hash && entry.key.contentEquals(value)) {
+                    if (!entry.referenced) {
+                        entry.referenced = true;
+                    }
+                    return entry.code;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Inserts a result unless another thread already did.
+         *
+         * @return {@code true} if an entry was evicted to make room
+         */
+        synchronized boolean put(CharSequence value, int hash, ValidationCode code) {
+            if (indexOf(value, hash) >= 0) {
+                return false;
+            }
+            boolean evicted = size == capacity;
+            if (evicted) {
+                evict();
+            }
+            int i = hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            SLOTS.setRelease(table, i, new Entry(value.toString(), hash, code));
+            size++;
+            return evicted;
+        }
+
+        synchronized void clear() {
+            for (int i = 0; i < table.length; i++) {
+                SLOTS.setRelease(table, i, (Entry) null);
+            }
+            size = 0;
+            hand = 0;
+        }
+
+        private int indexOf(CharSequence value, int hash) {
+            for (int i = hash & mask; table[i] != null; i = (i + 1) & mask) {
+                if (table[i].hash == hash && table[i].key.contentEquals(value)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Advances the hand to the first entry not read since the last sweep, clearing marks on the way
+        private void evict() {
+            while (true) {
+                Entry entry = table[hand];
+                if (entry != null) {
+                    if (!entry.referenced) {
+                        remove(hand);
+                        return;
+                    }
+                    entry.referenced = false;
+                }
+                hand = (hand + 1) & mask;
+            }
+        }
+
+        // Backward-shift deletion: moves later entries of the probe run into the hole, so no tombstones are needed
+        private void remove(int hole) {
+            int i = hole;
+            while (true) {
+                i = (i + 1) & mask;
+                Entry entry = table[i];
+                if (entry == null) {
+                    break;
+                }
+                int home = entry.hash & mask;
+                // The entry can fill the hole unless its home slot lies cyclically in (hole, i]
+                boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+                if (!stays) {
+                    SLOTS.setRelease(table, hole, entry);
+                    hole = i;
+                }
+            }
+            SLOTS.setRelease(table, hole, (Entry) null);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Reason codes returned by the {@code check*} methods of the {@code *Utils} classes.
+ * <p>
+ * A check returns {@link #VALID} or the first reason the input was rejected, without throwing and
+ * without allocating. Batch checks store the {@link #ordinal()} of each code in a {@code byte[]};
+ * {@link #fromOrdinal(int)} turns it back into a code.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-03
+ */
+public enum ValidationCode {
+
+    /** The input is valid. */
+    VALID,
+    /** The input, or a required part of it such as a date, is {@code null}. */
+    NULL,
+    /** The input has the wrong length. */
+    BAD_LENGTH,
+    /** The input contains a character not allowed at its position. */
+    BAD_CHARSET,
+    /** The country code is well formed but unknown, such as an IBAN of a country without IBANs. */
+    BAD_COUNTRY,
+    /** The check digits or check character do not match. */
+    BAD_CHECKSUM,
+    /** The document expired on or before the reference date. */
+    EXPIRED,
+    /** The issue date is not before the expiration date. */
+    INVERTED_DATES,
+    /**
+     * The issuing office code, such as digits 8 to 10 of a Partita IVA or the province of a legacy
+     * driving licence, is not assigned.
+     */
+    BAD_OFFICE,
+    /** The input is valid but listed in an {@link IdentifierSet}, such as a list of ceased companies. */
+    LISTED,
+    /** The prefix is not assigned by the numbering plan, such as a phone number starting with 1 or 30. */
+    BAD_PREFIX,
+    /** The fields are valid on their own but contradict each other, such as a CAP of another comune. */
+    MISMATCH;
+
+    private static final ValidationCode[] VALUES = values();
+
+    /**
+     * Checks whether this code means the input is valid.
+     *
+     * @return {@code true} for {@link #VALID}, {@code false} otherwise
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    /**
+     * Returns the code with the given ordinal, as stored by the batch checks.
+     *
+     * @param ordinal the ordinal of the code
+     * @return the code
+     * @throws IllegalArgumentException if no code has this ordinal
+     */
+    public static ValidationCode fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Invalid validation code ordinal: " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,35 @@
+package org.kreyzon.italian_utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event emitted by {@link JfrValidationListener} for one validation.
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+@Name("org.kreyzon.italian_utils.Validation")
+@Label("Validation")
+@Category({"Italian Utils", "Validation"})
+@Description("Outcome and latency of an identifier validation")
+@Enabled(false)
+@StackTrace(false)
+final class ValidationEvent extends Event {
+
+    @Label("Validator")
+    String validator;
+
+    @Label("Code")
+    String code;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+}
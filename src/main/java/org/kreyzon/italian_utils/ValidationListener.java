@@ -0,0 +1,43 @@
+package org.kreyzon.italian_utils;
+
+import java.util.Objects;
+
+/**
+ * Receives the outcome and latency of each validation, once installed with
+ * {@link ValidationMetrics#setListener(ValidationListener)}.
+ * <p>
+ * The listener runs on the validating thread, inside the validation call, so it must be thread-safe
+ * and fast, and should not throw: an exception propagates to the caller of the validator.
+ * {@link ValidationStatistics} counts outcomes and records latencies; {@link JfrValidationListener}
+ * emits JDK Flight Recorder events.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+@FunctionalInterface
+public interface ValidationListener {
+
+    /**
+     * Called after a validation.
+     *
+     * @param validator     the validator that ran
+     * @param code          the outcome, {@link ValidationCode#VALID} or the reason of the rejection
+     * @param durationNanos the time spent in the validator, in nanoseconds
+     */
+    void onValidation(ValidatorType validator, ValidationCode code, long durationNanos);
+
+    /**
+     * Returns a listener calling this listener and then another one.
+     *
+     * @param next the listener called second
+     * @return the combined listener
+     */
+    default ValidationListener andThen(ValidationListener next) {
+        Objects.requireNonNull(next, "next");
+        return (validator, code, durationNanos) -> {
+            onValidation(validator, code, durationNanos);
+            next.onValidation(validator, code, durationNanos);
+        };
+    }
+}
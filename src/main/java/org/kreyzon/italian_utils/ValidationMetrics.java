@@ -0,0 +1,108 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Switch and installation point of the validation instrumentation.
+ * <p>
+ * Instrumentation is compiled out unless the JVM starts with the system property
+ * {@value #PROPERTY} set to {@code true}. The property is read once into a {@code static final}
+ * field, so when it is not set the JIT removes the check from every validator and validations cost
+ * exactly what they did before. When it is set, each instrumented validator reads the installed
+ * {@link ValidationListener} and, if there is one, times itself with {@link System#nanoTime()} and
+ * reports its outcome. The instrumented validators are listed in {@link ValidatorType}; batch and
+ * byte-oriented entry points report each value they check.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public final class ValidationMetrics {
+
+    /**
+     * System property that enables the instrumentation when set to {@code true}.
+     */
+    public static final String PROPERTY = "org.kreyzon.italian_utils.metrics";
+
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static volatile ValidationListener listener;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ValidationMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks whether the instrumentation was enabled when the JVM started.
+     *
+     * @return {@code true} if {@value #PROPERTY} is {@code true}, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Installs the listener receiving every validation, replacing the previous one.
+     *
+     * @param listener the listener, or {@code null} to stop reporting
+     * @throws IllegalStateException if the instrumentation is not enabled
+     */
+    public static void setListener(ValidationListener listener) {
+        if (!ENABLED) {
+            throw new IllegalStateException("Validation metrics are disabled; start the JVM with -D" + PROPERTY + "=true");
+        }
+        ValidationMetrics.listener = listener;
+    }
+
+    /**
+     * Returns the installed listener.
+     *
+     * @return the listener, or {@code null} if none is installed
+     */
+    public static ValidationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Checks whether validators should time and report themselves.
+     */
+    static boolean active() {
+        return ENABLED && listener != null;
+    }
+
+    /**
+     * Reports a validation that returned a code.
+     *
+     * @return {@code code}, so that validators can return the result of this call
+     */
+    static ValidationCode record(ValidatorType validator, ValidationCode code, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        ValidationListener current = listener;
+        if (current != null) {
+            current.onValidation(validator, code, duration);
+        }
+        return code;
+    }
+
+    /**
+     * Reports a validation that returned a boolean, deriving the code from the value.
+     *
+     * @param length the required length of the value, or 0 if any non-empty value is allowed
+     * @return {@code valid}, so that validators can return the result of this call
+     */
+    static boolean record(ValidatorType validator, CharSequence value, int length, boolean valid, long startNanos) {
+        ValidationCode code;
+        if (valid) {
+            code = ValidationCode.VALID;
+        } else if (value == null) {
+            code = ValidationCode.NULL;
+        } else if (length == 0 ? value.length() == 0 : value.length() != length) {
+            code = ValidationCode.BAD_LENGTH;
+        } else {
+            code = ValidationCode.BAD_CHARSET;
+        }
+        record(validator, code, startNanos);
+        return valid;
+    }
+}
@@ -0,0 +1,620 @@
+package org.kreyzon.italian_utils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link Flow.Processor} validating a stream of items, such as the records of an ingestion pipeline,
+ * with the {@code *Utils} validators.
+ * <p>
+ * Each {@link RecordField} is mapped to a function extracting its value from an item. Items are
+ * grouped into batches, which are closed when they are full or when their first item has waited for
+ * the maximum latency, and checked on an {@link Executor}, at most {@code parallelism} batches at a
+ * time. Results are delivered in input order. The processor requests
+ * {@code 2 * batchSize * parallelism} items from upstream and requests one more for each result
+ * the subscriber takes, so at most that many items are buffered whatever the speeds of the
+ * publisher and the subscriber, and a slow subscriber slows the publisher down.
+ * </p>
+ * <p>
+ * The processor accepts one subscriber. A failure, either from upstream or from an extractor or a
+ * validator, cancels upstream and is signalled at once, discarding results not yet delivered. A
+ * processor validates a single stream: build one per subscription.
+ * </p>
+ *
+ * @param <T> the type of the validated items
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-12
+ */
+public final class ValidationProcessor<T> implements Flow.Processor<T, ValidatedItem<T>> {
+
+    static final int DEFAULT_BATCH_SIZE = 256;
+    static final Duration DEFAULT_MAX_LATENCY = Duration.ofMillis(10);
+
+    private final RecordField[] fields;
+    private final Function<? super T, ? extends CharSequence>[] extractors;
+    private final Predicate<CharSequence>[] validators;
+    private final int batchSize;
+    private final int parallelism;
+    private final int capacity;
+    private final Executor executor;
+    private final Executor flushTimer;
+
+    // Serializes the signals to the subscriber; the state below is guarded by the lock
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Flow.Subscription upstream;
+    private boolean subscribed;
+    // Set once the subscriber has returned from onSubscribe, so that no signal overtakes it
+    private Flow.Subscriber<? super ValidatedItem<T>> downstream;
+    private Batch<T> open;
+    // Closed batches in input order, and those of them waiting for a free worker
+    private final ArrayDeque<Batch<T>> closed = new ArrayDeque<>();
+    private final ArrayDeque<Batch<T>> waiting = new ArrayDeque<>();
+    private int running;
+    private long nextIndex;
+    private long demand;
+    private boolean upstreamDone;
+    private Throwable failure;
+    private boolean cancelled;
+    private boolean terminated;
+
+    private ValidationProcessor(Builder<T> builder) {
+        LocalDate referenceDate = builder.referenceDate != null ? builder.referenceDate : LocalDate.now();
+        this.fields = builder.fields();
+        this.extractors = builder.extractors();
+        this.validators = builder.validators(referenceDate);
+        this.batchSize = builder.batchSize;
+        this.parallelism = builder.parallelism;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, 2L * batchSize * parallelism);
+        this.executor = builder.executor;
+        this.flushTimer = CompletableFuture.delayedExecutor(builder.maxLatency.toNanos(), TimeUnit.NANOSECONDS, executor);
+    }
+
+    /**
+     * Creates a builder for a validation processor.
+     *
+     * @param <T> the type of the validated items
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = upstream == null && !cancelled && !terminated;
+            if (accepted) {
+                upstream = subscription;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (accepted) {
+            subscription.request(capacity);
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "item");
+        Batch<T> started = null;
+        Batch<T> created = null;
+        lock.lock();
+        try {
+            if (upstreamDone || cancelled) {
+                return;
+            }
+            if (open == null) {
+                open = new Batch<>(nextIndex, batchSize);
+                created = open;
+            }
+            open.add(item);
+            nextIndex++;
+            if (open.size == batchSize) {
+                started = close();
+                created = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (started != null) {
+            execute(started);
+        }
+        if (created != null) {
+            Batch<T> batch = created;
+            flushTimer.execute(() -> flush(batch));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        Batch<T> started = null;
+        lock.lock();
+        try {
+            if (upstreamDone) {
+                return;
+            }
+            upstreamDone = true;
+            if (open != null) {
+                started = close();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (started != null) {
+            execute(started);
+        }
+        drain();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ValidatedItem<T>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = !subscribed;
+            subscribed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (!accepted) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A validation processor accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Downstream());
+        lock.lock();
+        try {
+            downstream = subscriber;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationProcessor[batchSize=" + batchSize + ", parallelism=" + parallelism + "]";
+    }
+
+    /**
+     * Closes the open batch after the maximum latency, unless it was closed in the meantime.
+     */
+    private void flush(Batch<T> batch) {
+        Batch<T> started = null;
+        lock.lock();
+        try {
+            if (open == batch) {
+                started = close();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (started != null) {
+            execute(started);
+        }
+    }
+
+    /**
+     * Moves the open batch to the closed ones, under the lock.
+     *
+     * @return the batch if a worker is free to check it, {@code null} if it must wait
+     */
+    private Batch<T> close() {
+        Batch<T> batch = open;
+        open = null;
+        closed.add(batch);
+        if (running < parallelism) {
+            running++;
+            return batch;
+        }
+        waiting.add(batch);
+        return null;
+    }
+
+    private void execute(Batch<T> batch) {
+        try {
+            executor.execute(() -> work(batch));
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Checks a batch, then the batches waiting for a worker, until none is left.
+     */
+    private void work(Batch<T> batch) {
+        while (batch != null) {
+            try {
+                check(batch);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            lock.lock();
+            try {
+                batch.done = true;
+                batch = waiting.poll();
+                if (batch == null) {
+                    running--;
+                }
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+    }
+
+    private void check(Batch<T> batch) {
+        for (int i = 0; i < batch.size; i++) {
+            T item = batch.item(i);
+            long invalidFields = 0;
+            for (int f = 0; f < fields.length; f++) {
+                if (!validators[f].test(extractors[f].apply(item))) {
+                    invalidFields |= 1L << fields[f].ordinal();
+                }
+            }
+            batch.invalidFields[i] = invalidFields;
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        Flow.Subscription subscription;
+        lock.lock();
+        try {
+            if (failure != null || terminated) {
+                return;
+            }
+            failure = throwable;
+            upstreamDone = true;
+            subscription = upstream;
+            clear();
+        } finally {
+            lock.unlock();
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    private void clear() {
+        open = null;
+        closed.clear();
+        waiting.clear();
+    }
+
+    /**
+     * Delivers the results the subscriber asked for and the terminal signal, from one thread at a time,
+     * and requests as many items from upstream as results were delivered.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            long delivered = 0;
+            Flow.Subscriber<? super ValidatedItem<T>> subscriber = null;
+            Throwable error = null;
+            boolean complete = false;
+            while (true) {
+                ValidatedItem<T> result;
+                lock.lock();
+                try {
+                    subscriber = downstream;
+                    if (subscriber == null || cancelled || terminated) {
+                        break;
+                    }
+                    if (failure != null) {
+                        terminated = true;
+                        error = failure;
+                        break;
+                    }
+                    result = demand > 0 ? poll() : null;
+                    if (result == null) {
+                        if (upstreamDone && open == null && closed.isEmpty()) {
+                            terminated = true;
+                            complete = true;
+                        }
+                        break;
+                    }
+                    demand--;
+                } finally {
+                    lock.unlock();
+                }
+                subscriber.onNext(result);
+                delivered++;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else if (complete) {
+                subscriber.onComplete();
+            } else if (delivered > 0) {
+                requestUpstream(delivered);
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Takes the next result if its batch has been checked, under the lock.
+     */
+    private ValidatedItem<T> poll() {
+        Batch<T> head = closed.peek();
+        if (head == null || !head.done) {
+            return null;
+        }
+        int i = head.delivered++;
+        if (head.delivered == head.size) {
+            closed.poll();
+        }
+        return new ValidatedItem<>(head.firstIndex + i, head.item(i), head.invalidFields[i]);
+    }
+
+    private void requestUpstream(long n) {
+        Flow.Subscription subscription;
+        lock.lock();
+        try {
+            subscription = upstreamDone || cancelled ? null : upstream;
+        } finally {
+            lock.unlock();
+        }
+        if (subscription != null) {
+            subscription.request(n);
+        }
+    }
+
+    /**
+     * A run of consecutive items, the unit of work of the parallel stage.
+     */
+    private static final class Batch<T> {
+
+        final long firstIndex;
+        final Object[] items;
+        final long[] invalidFields;
+        int size;
+        int delivered;
+        boolean done;
+
+        Batch(long firstIndex, int capacity) {
+            this.firstIndex = firstIndex;
+            this.items = new Object[capacity];
+            this.invalidFields = new long[capacity];
+        }
+
+        void add(T item) {
+            items[size++] = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        T item(int i) {
+            return (T) items[i];
+        }
+    }
+
+    /**
+     * The subscription of the subscriber.
+     */
+    private final class Downstream implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested items must be positive: " + n));
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription;
+            lock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                subscription = upstream;
+                clear();
+            } finally {
+                lock.unlock();
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link ValidationProcessor}.
+     *
+     * @param <T> the type of the validated items
+     */
+    public static final class Builder<T> {
+
+        private final Function<?, ?>[] extractors = new Function<?, ?>[RecordField.values().length];
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Duration maxLatency = DEFAULT_MAX_LATENCY;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private Executor executor = ForkJoinPool.commonPool();
+        private LocalDate referenceDate;
+
+        private Builder() {
+        }
+
+        /**
+         * Maps a field to the function extracting its value from an item. The function must be
+         * thread-safe; it may return {@code null}, which fails the check of the field.
+         *
+         * @param field     the field type
+         * @param extractor the function returning the value of the field
+         * @return this builder
+         */
+        public Builder<T> field(RecordField field, Function<? super T, ? extends CharSequence> extractor) {
+            extractors[Objects.requireNonNull(field, "field").ordinal()] = Objects.requireNonNull(extractor, "extractor");
+            return this;
+        }
+
+        /**
+         * Sets the number of items checked together, 256 by default.
+         *
+         * @param batchSize the batch size, at least 1
+         * @return this builder
+         */
+        public Builder<T> batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be at least 1");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long the first item of a batch waits for the batch to fill before it is checked
+         * anyway, 10 milliseconds by default.
+         *
+         * @param maxLatency the maximum latency, positive
+         * @return this builder
+         */
+        public Builder<T> maxLatency(Duration maxLatency) {
+            Objects.requireNonNull(maxLatency, "maxLatency");
+            if (maxLatency.isNegative() || maxLatency.isZero()) {
+                throw new IllegalArgumentException("Maximum latency must be positive");
+            }
+            this.maxLatency = maxLatency;
+            return this;
+        }
+
+        /**
+         * Sets the number of batches checked concurrently, the number of available processors by default.
+         *
+         * @param parallelism the parallelism, at least 1
+         * @return this builder
+         */
+        public Builder<T> parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the executor checking the batches and closing them after the maximum latency, the
+         * common fork/join pool by default.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder<T> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the date used by date-dependent checks, such as birthdates in the future.
+         * Defaults to the current date when the processor is built.
+         *
+         * @param referenceDate the reference date
+         * @return this builder
+         */
+        public Builder<T> referenceDate(LocalDate referenceDate) {
+            this.referenceDate = Objects.requireNonNull(referenceDate, "referenceDate");
+            return this;
+        }
+
+        /**
+         * Builds the validation processor.
+         *
+         * @return the validation processor
+         * @throws IllegalArgumentException if no field is mapped
+         */
+        public ValidationProcessor<T> build() {
+            if (fields().length == 0) {
+                throw new IllegalArgumentException("No field is mapped to an extractor");
+            }
+            return new ValidationProcessor<>(this);
+        }
+
+        private RecordField[] fields() {
+            RecordField[] all = RecordField.values();
+            int count = 0;
+            for (Function<?, ?> extractor : extractors) {
+                if (extractor != null) {
+                    count++;
+                }
+            }
+            RecordField[] fields = new RecordField[count];
+            count = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (extractors[i] != null) {
+                    fields[count++] = all[i];
+                }
+            }
+            return fields;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Function<? super T, ? extends CharSequence>[] extractors() {
+            RecordField[] fields = fields();
+            Function<? super T, ? extends CharSequence>[] mapped =
+                    (Function<? super T, ? extends CharSequence>[]) new Function<?, ?>[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                mapped[i] = (Function<? super T, ? extends CharSequence>) extractors[fields[i].ordinal()];
+            }
+            return mapped;
+        }
+
+        private Predicate<CharSequence>[] validators(LocalDate referenceDate) {
+            RecordField[] fields = fields();
+            @SuppressWarnings("unchecked")
+            Predicate<CharSequence>[] validators = (Predicate<CharSequence>[]) new Predicate<?>[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                validators[i] = fields[i].validator(referenceDate);
+            }
+            return validators;
+        }
+    }
+}
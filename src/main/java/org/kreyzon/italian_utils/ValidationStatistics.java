@@ -0,0 +1,126 @@
+package org.kreyzon.italian_utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ValidationListener} counting outcomes and recording latencies of every validator.
+ * <p>
+ * Each validator has one {@link LongAdder} per {@link ValidationCode} and one {@link LatencyHistogram}.
+ * Counters are striped, so threads validating concurrently do not contend on a shared cache line,
+ * and reads sum the stripes. Install an instance with
+ * {@link ValidationMetrics#setListener(ValidationListener)} and read it from a monitoring thread at
+ * any time.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public final class ValidationStatistics implements ValidationListener {
+
+    private static final ValidatorType[] VALIDATORS = ValidatorType.values();
+    private static final ValidationCode[] CODES = ValidationCode.values();
+
+    private final LongAdder[] counts = new LongAdder[VALIDATORS.length * CODES.length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[VALIDATORS.length];
+
+    /**
+     * Creates statistics with every counter at zero.
+     */
+    public ValidationStatistics() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void onValidation(ValidatorType validator, ValidationCode code, long durationNanos) {
+        counts[validator.ordinal() * CODES.length + code.ordinal()].increment();
+        latencies[validator.ordinal()].record(durationNanos);
+    }
+
+    /**
+     * Returns the number of validations of a validator with an outcome.
+     *
+     * @param validator the validator
+     * @param code      the outcome
+     * @return the number of validations
+     */
+    public long getCount(ValidatorType validator, ValidationCode code) {
+        return counts[validator.ordinal() * CODES.length + code.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of validations of a validator.
+     *
+     * @param validator the validator
+     * @return the number of validations
+     */
+    public long getCount(ValidatorType validator) {
+        long total = 0;
+        for (ValidationCode code : CODES) {
+            total += getCount(validator, code);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of validations of a validator with any outcome but {@link ValidationCode#VALID}.
+     *
+     * @param validator the validator
+     * @return the number of failed validations
+     */
+    public long getFailureCount(ValidatorType validator) {
+        return getCount(validator) - getCount(validator, ValidationCode.VALID);
+    }
+
+    /**
+     * Returns the latency histogram of a validator.
+     *
+     * @param validator the validator
+     * @return the live histogram, updated by later validations
+     */
+    public LatencyHistogram getLatency(ValidatorType validator) {
+        return latencies[validator.ordinal()];
+    }
+
+    /**
+     * Sets every counter back to zero and empties every histogram.
+     */
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+    }
+
+    /**
+     * Returns a summary of every validator that ran, with its count, failures and latency percentiles.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("ValidationStatistics[");
+        boolean first = true;
+        for (ValidatorType validator : VALIDATORS) {
+            long count = getCount(validator);
+            if (count == 0) {
+                continue;
+            }
+            LatencyHistogram latency = getLatency(validator);
+            out.append(first ? "" : ", ").append(validator)
+                    .append("{count=").append(count)
+                    .append(", failures=").append(getFailureCount(validator))
+                    .append(", p50=").append(latency.getValueAtPercentile(50))
+                    .append("ns, p99=").append(latency.getValueAtPercentile(99))
+                    .append("ns, max=").append(latency.getMax()).append("ns}");
+            first = false;
+        }
+        return out.append(']').toString();
+    }
+}
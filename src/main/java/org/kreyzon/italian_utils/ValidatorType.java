@@ -0,0 +1,42 @@
+package org.kreyzon.italian_utils;
+
+/**
+ * Validators reported to a {@link ValidationListener}, one per instrumented check.
+ * <p>
+ * The {@code check*} validators report the {@link ValidationCode} they return. The name, surname,
+ * gender and birthdate validators return a boolean, so they report {@link ValidationCode#NULL} for
+ * {@code null}, {@link ValidationCode#BAD_LENGTH} for an empty value or one of the wrong length, and
+ * {@link ValidationCode#BAD_CHARSET} for any other rejection, including a birthdate that is not a
+ * calendar date or is after the reference date.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public enum ValidatorType {
+
+    /** {@link BankingUtils#checkIBAN(CharSequence)}. */
+    IBAN,
+    /** {@link BankingUtils#checkSWIFT(CharSequence)}. */
+    SWIFT,
+    /** {@link PartitaIVAUtils#checkPartitaIVA(CharSequence)}. */
+    PARTITA_IVA,
+    /** {@link CodiceFiscaleUtils#checkCodiceFiscale(CharSequence)}. */
+    CODICE_FISCALE,
+    /** {@link IdentityCardUtils#checkCIESerial(CharSequence)}. */
+    CIE_SERIAL,
+    /** {@link HealthInsuranceCardUtils#checkHICSerial(CharSequence)}. */
+    HIC_SERIAL,
+    /** {@link DrivingLicenseUtils#checkDrivingLicense(CharSequence)}. */
+    DRIVING_LICENSE,
+    /** {@link PhoneNumberUtils#checkPhoneNumber(CharSequence)}. */
+    PHONE_NUMBER,
+    /** {@link AnagraficaUtils#isValidName(CharSequence, NamePolicy)}. */
+    NAME,
+    /** {@link AnagraficaUtils#isValidSurname(CharSequence, NamePolicy)}. */
+    SURNAME,
+    /** {@link AnagraficaUtils#isValidGender(CharSequence)}. */
+    GENDER,
+    /** {@link AnagraficaUtils#isValidBirthdate(CharSequence, java.time.LocalDate)}. */
+    BIRTHDATE
+}
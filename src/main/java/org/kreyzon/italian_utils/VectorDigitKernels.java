@@ -0,0 +1,144 @@
+package org.kreyzon.italian_utils;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DigitKernels} implemented with the JDK Vector API.
+ * <p>
+ * Digit checks compare 16 bytes or 16 characters per step. Luhn sums and modulo 97 remainders
+ * widen 8 digits at a time to {@code int} lanes and multiply them by per-lane weights. Runs shorter
+ * than one step, and the tail of longer runs, go through the scalar kernels.
+ * </p>
+ * <p>
+ * This class needs the {@code jdk.incubator.vector} module at run time; it is only loaded
+ * through {@link DigitKernels#get()}, which checks that the module is resolved.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-04
+ */
+final class VectorDigitKernels extends DigitKernels {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_128;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_256;
+
+    // Eight digits widened to eight int lanes
+    private static final VectorSpecies<Byte> DIGIT_BYTES = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Short> DIGIT_SHORTS = ShortVector.SPECIES_128;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_256;
+    private static final int DIGIT_STEP = 8;
+
+    // Luhn weights and doubled lanes for a step starting at an even offset
+    private static final IntVector LUHN_WEIGHTS = IntVector.fromArray(INTS, new int[] {1, 2, 1, 2, 1, 2, 1, 2}, 0);
+    private static final VectorMask<Integer> DOUBLED_LANES =
+            VectorMask.fromArray(INTS, new boolean[] {false, true, false, true, false, true, false, true}, 0);
+
+    // 10^(7 - lane) mod 97, and 10^8 mod 97 to shift the remainder by one step
+    private static final IntVector MOD97_WEIGHTS;
+    private static final int MOD97_STEP_SHIFT;
+
+    static {
+        int[] weights = new int[DIGIT_STEP];
+        int power = 1;
+        for (int lane = DIGIT_STEP - 1; lane >= 0; lane--) {
+            weights[lane] = power;
+            power = power * 10 % 97;
+        }
+        MOD97_WEIGHTS = IntVector.fromArray(INTS, weights, 0);
+        MOD97_STEP_SHIFT = power;
+    }
+
+    VectorDigitKernels() {
+    }
+
+    @Override
+    boolean isVectorized() {
+        return IntVector.SPECIES_PREFERRED.vectorBitSize() >= INTS.vectorBitSize();
+    }
+
+    @Override
+    boolean isDigits(byte[] bytes, int from, int to) {
+        int i = from;
+        for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length()) {
+            ByteVector v = ByteVector.fromArray(BYTES, bytes, i);
+            if (v.compare(VectorOperators.LT, (byte) '0').or(v.compare(VectorOperators.GT, (byte) '9')).anyTrue()) {
+                return false;
+            }
+        }
+        return super.isDigits(bytes, i, to);
+    }
+
+    @Override
+    boolean isDigits(char[] chars, int from, int to) {
+        int i = from;
+        for (int bound = from + SHORTS.loopBound(to - from); i < bound; i += SHORTS.length()) {
+            // Characters over 0x7FFF are negative shorts, so they fail the lower bound
+            ShortVector v = ShortVector.fromCharArray(SHORTS, chars, i);
+            if (v.compare(VectorOperators.LT, (short) '0').or(v.compare(VectorOperators.GT, (short) '9')).anyTrue()) {
+                return false;
+            }
+        }
+        return super.isDigits(chars, i, to);
+    }
+
+    @Override
+    int luhnSum(byte[] bytes, int from, int to) {
+        IntVector sums = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += DIGIT_STEP) {
+            sums = sums.add(luhnStep(digits(bytes, i)));
+        }
+        // Steps are even, so the tail keeps the parity of the run
+        return sums.reduceLanes(VectorOperators.ADD) + super.luhnSum(bytes, i, to);
+    }
+
+    @Override
+    int luhnSum(char[] chars, int from, int to) {
+        IntVector sums = IntVector.zero(INTS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += DIGIT_STEP) {
+            sums = sums.add(luhnStep(digits(chars, i)));
+        }
+        return sums.reduceLanes(VectorOperators.ADD) + super.luhnSum(chars, i, to);
+    }
+
+    @Override
+    int mod97(int remainder, byte[] bytes, int from, int to) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += DIGIT_STEP) {
+            remainder = (remainder * MOD97_STEP_SHIFT + digits(bytes, i).mul(MOD97_WEIGHTS).reduceLanes(VectorOperators.ADD)) % 97;
+        }
+        return super.mod97(remainder, bytes, i, to);
+    }
+
+    @Override
+    int mod97(int remainder, char[] chars, int from, int to) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += DIGIT_STEP) {
+            remainder = (remainder * MOD97_STEP_SHIFT + digits(chars, i).mul(MOD97_WEIGHTS).reduceLanes(VectorOperators.ADD)) % 97;
+        }
+        return super.mod97(remainder, chars, i, to);
+    }
+
+    private static IntVector digits(byte[] bytes, int from) {
+        return ((IntVector) ByteVector.fromArray(DIGIT_BYTES, bytes, from)
+                .convertShape(VectorOperators.B2I, INTS, 0))
+                .sub('0');
+    }
+
+    private static IntVector digits(char[] chars, int from) {
+        return ((IntVector) ShortVector.fromCharArray(DIGIT_SHORTS, chars, from)
+                .convertShape(VectorOperators.S2I, INTS, 0))
+                .sub('0');
+    }
+
+    // Doubles the odd lanes and subtracts 9 from the doubled digits over 4
+    private static IntVector luhnStep(IntVector digits) {
+        return digits.mul(LUHN_WEIGHTS).sub(9, digits.compare(VectorOperators.GT, 4).and(DOUBLED_LANES));
+    }
+}
@@ -0,0 +1,78 @@
+package org.kreyzon.italian_utils;
+
+import java.time.LocalDate;
+
+/**
+ * Loads and initializes the validators of the library ahead of the first real validation.
+ * <p>
+ * Short-lived processes, such as serverless functions, pay the class loading and table
+ * initialization of each validator on its first call. {@link #run()} pays it up front: call it
+ * from the initialization phase of the function, or run {@link #main(String[])} as the training run
+ * of an AppCDS archive, so that the archive holds every class a validation loads:
+ * </p>
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=italian-utils.jsa -cp italian-utils.jar org.kreyzon.italian_utils.Warmup
+ * java -XX:SharedArchiveFile=italian-utils.jsa -cp italian-utils.jar:app.jar com.example.Main
+ * </pre>
+ * <p>
+ * Each validator checks one valid and one invalid value, so that both the accepting and the
+ * rejecting paths are loaded, and the sample Belfiore index of {@link SyntheticDataGenerator} is
+ * read. Run it before installing a {@link ValidationListener}, which would otherwise observe these
+ * validations.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-16
+ */
+public final class Warmup {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 12, 16);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private Warmup() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs {@link #run()}, as the training run of an AppCDS archive.
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        run();
+    }
+
+    /**
+     * Loads and initializes every validator and the sample Belfiore index.
+     *
+     * @return the number of warm-up values found valid, so that the work cannot be optimized away
+     */
+    public static int run() {
+        int valid = 0;
+        valid += count(AnagraficaUtils.isValidName("Mario"), AnagraficaUtils.isValidName("M@rio"));
+        valid += count(AnagraficaUtils.isValidSurname("Rossi"), AnagraficaUtils.isValidSurname("Ros$i"));
+        valid += count(AnagraficaUtils.isValidGender("F"), AnagraficaUtils.isValidGender("X"));
+        valid += count(AnagraficaUtils.isValidBirthdate("1985-12-10", REFERENCE_DATE),
+                AnagraficaUtils.isValidBirthdate("1985-02-30", REFERENCE_DATE));
+        valid += count(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562S"),
+                CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562T"));
+        valid += count(PartitaIVAUtils.isValidPartitaIVA("00123450066"), PartitaIVAUtils.isValidPartitaIVA("00123450067"));
+        valid += count(BankingUtils.isValidIBAN("IT60X0542811101000000123456"),
+                BankingUtils.isValidIBAN("DE89370400440532013001"));
+        valid += count(BankingUtils.isValidSWIFT("BCITITMM"), BankingUtils.isValidSWIFT("BC1TITMM"));
+        valid += count(IdentityCardUtils.isValidCIESerial("CA12345AB"), IdentityCardUtils.isValidCIESerial("CA1234XAB"));
+        valid += count(HealthInsuranceCardUtils.isValidHICSerial("80380000500012345678"),
+                HealthInsuranceCardUtils.isValidHICSerial("8038000050001234567A"));
+        valid += count(DrivingLicenseUtils.isValidDrivingLicense("U15J73826X"),
+                DrivingLicenseUtils.isValidDrivingLicense("XX2512345X"));
+        valid += count(PhoneNumberUtils.isValidPhoneNumber("+39 333 123 4567"), PhoneNumberUtils.isValidPhoneNumber("3012345678"));
+        valid += count(BelfioreIndex.bundled().contains("H501"), BelfioreIndex.bundled().contains("A000"));
+        return valid;
+    }
+
+    private static int count(boolean accepted, boolean rejected) {
+        return (accepted ? 1 : 0) + (rejected ? 1 : 0);
+    }
+}
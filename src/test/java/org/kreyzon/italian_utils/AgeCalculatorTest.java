@@ -0,0 +1,93 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Test class for the AgeCalculator class.
+ * <p>
+ * This class provides unit tests to verify that {@link AgeCalculator} computes the same ages as
+ * {@link Period} from a fixed reference date, both from dates and from epoch days.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-29
+ */
+public class AgeCalculatorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 11, 29);
+
+    /**
+     * Tests ages around birthdays, including leap day birthdays and birthdates after the reference date.
+     */
+    @Test
+    public void testAge() {
+        AgeCalculator calculator = new AgeCalculator(REFERENCE_DATE);
+        assertEquals(34, calculator.age(LocalDate.of(1990, 1, 1)));
+        assertEquals(18, calculator.age(LocalDate.of(2006, 11, 29)));
+        assertEquals(17, calculator.age(LocalDate.of(2006, 11, 30)));
+        assertEquals(0, calculator.age(REFERENCE_DATE));
+        assertEquals(0, calculator.age(LocalDate.of(2025, 11, 28)));
+        assertEquals(-1, calculator.age(LocalDate.of(2025, 11, 29)));
+
+        AgeCalculator leapDay = new AgeCalculator(LocalDate.of(2023, 2, 28));
+        assertEquals(19, leapDay.age(LocalDate.of(2004, 2, 28)));
+        assertEquals(18, leapDay.age(LocalDate.of(2004, 2, 29).toEpochDay()));
+        assertEquals(19, new AgeCalculator(LocalDate.of(2023, 3, 1)).age(LocalDate.of(2004, 2, 29)));
+    }
+
+    /**
+     * Tests the over 18 check on the day before, on and after the 18th birthday.
+     */
+    @Test
+    public void testIsOver18() {
+        AgeCalculator calculator = new AgeCalculator(REFERENCE_DATE);
+        assertTrue(calculator.isOver18(LocalDate.of(2006, 11, 28)));
+        assertTrue(calculator.isOver18(LocalDate.of(2006, 11, 29)));
+        assertFalse(calculator.isOver18(LocalDate.of(2006, 11, 30)));
+        assertFalse(calculator.isOver18(LocalDate.of(2006, 11, 30).toEpochDay()));
+        assertTrue(calculator.isOver18(LocalDate.of(1900, 1, 1).toEpochDay()));
+    }
+
+    /**
+     * Tests that the reference date is read from the clock once, when the calculator is created.
+     */
+    @Test
+    public void testClock() {
+        Clock clock = Clock.fixed(Instant.parse("2024-11-29T10:15:30Z"), ZoneOffset.UTC);
+        AgeCalculator calculator = new AgeCalculator(clock);
+        assertEquals(REFERENCE_DATE, calculator.getReferenceDate());
+        assertTrue(calculator.isAfterReferenceDate(REFERENCE_DATE.plusDays(1).toEpochDay()));
+        assertFalse(calculator.isAfterReferenceDate(REFERENCE_DATE.toEpochDay()));
+        assertThrows(NullPointerException.class, () -> new AgeCalculator((LocalDate) null));
+    }
+
+    /**
+     * Tests that ages and the over 18 check agree with {@link Period} over random birthdates and reference dates,
+     * including dates before 1970 and before the Gregorian reform.
+     */
+    @Test
+    public void testMatchesPeriod() {
+        Random random = new Random(20241129L);
+        long minDay = LocalDate.of(1500, 1, 1).toEpochDay();
+        long maxDay = LocalDate.of(2200, 12, 31).toEpochDay();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate referenceDate = LocalDate.ofEpochDay(minDay + random.nextInt((int) (maxDay - minDay)));
+            AgeCalculator calculator = new AgeCalculator(referenceDate);
+            for (int j = 0; j < 50; j++) {
+                LocalDate birthdate = LocalDate.ofEpochDay(minDay + random.nextInt((int) (maxDay - minDay)));
+                int expected = Period.between(birthdate, referenceDate).getYears();
+                assertEquals(expected, calculator.age(birthdate), birthdate + " on " + referenceDate);
+                assertEquals(expected, calculator.age(birthdate.toEpochDay()), birthdate + " on " + referenceDate);
+                assertEquals(expected >= 18, calculator.isOver18(birthdate), birthdate + " on " + referenceDate);
+                assertEquals(expected, AnagraficaUtils.calculateAge(birthdate, referenceDate), birthdate + " on " + referenceDate);
+            }
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package org.kreyzon.italian_utils;
 
 import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -119,13 +126,40 @@ public class AnagraficaUtilsTest {
 
     /**
      * Tests age calculation based on the provided birthdate.
-     * Assumes a static birthdate and compares against the expected age.
+     * Uses a fixed reference date so the expected age does not depend on the current date.
      */
     @Test
     public void testCalculateAge() {
         LocalDate birthdate = LocalDate.of(1990, 1, 1);
-        int age = AnagraficaUtils.calculateAge(birthdate);
-        assertEquals(34, age);  // Adjust the expected age based on the current date
+        int age = AnagraficaUtils.calculateAge(birthdate, LocalDate.of(2024, 11, 12));
+        assertEquals(34, age);
+    }
+
+    /**
+     * Tests age calculation and the over 18 check against a fixed clock.
+     */
+    @Test
+    public void testCalculateAgeWithClock() {
+        Clock clock = Clock.fixed(Instant.parse("2024-02-29T23:30:00Z"), ZoneOffset.UTC);
+        assertEquals(20, AnagraficaUtils.calculateAge(LocalDate.of(2004, 2, 29), clock));
+        assertEquals(19, AnagraficaUtils.calculateAge(LocalDate.of(2004, 3, 1), clock));
+        assertTrue(AnagraficaUtils.isOver18(LocalDate.of(2006, 2, 28), clock));
+        assertFalse(AnagraficaUtils.isOver18(LocalDate.of(2006, 3, 1), clock));
+
+        // The same instant is already March 1st in Rome
+        Clock rome = clock.withZone(ZoneId.of("Europe/Rome"));
+        assertTrue(AnagraficaUtils.isOver18(LocalDate.of(2006, 3, 1), rome));
+    }
+
+    /**
+     * Tests the over 18 check on a reference date, around the 18th birthday.
+     */
+    @Test
+    public void testIsOver18OnReferenceDate() {
+        LocalDate birthdate = LocalDate.of(2006, 11, 12);
+        assertFalse(AnagraficaUtils.isOver18(birthdate, LocalDate.of(2024, 11, 11)));
+        assertTrue(AnagraficaUtils.isOver18(birthdate, LocalDate.of(2024, 11, 12)));
+        assertEquals(-1, AnagraficaUtils.calculateAge(LocalDate.of(2025, 11, 12), LocalDate.of(2024, 11, 11)));
     }
 
     /**
@@ -183,4 +217,206 @@ public class AnagraficaUtilsTest {
        LocalDate birthdate = LocalDate.of(2010, 1, 1);
        assertFalse(AnagraficaUtils.isOver18(birthdate));
    }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the scanners accept exactly the strings accepted by the original regular expressions,
+     * over random strings built from letters, spaces, digits, punctuation, non-ASCII characters and title fragments.
+     */
+    @Test
+    public void testAsciiPolicyMatchesRegex() {
+        String[] tokens = {
+                "A", "a", "M", "z", " ", "0", "9", "'", "-", ".", "$", "_", "à", "Ò",
+                "\u0301", "\u2019", "\u0000", "\t", "Μ", "Sig", "Dott", ".ra"
+        };
+        Random random = new Random(20241129L);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                value.append(tokens[random.nextInt(tokens.length)]);
+            }
+            String input = value.toString();
+            assertEquals(input.matches("[A-Za-z ]+"), AnagraficaUtils.isValidName(input), input);
+            assertEquals(input.matches("[A-Za-z]+"), AnagraficaUtils.isValidSurname(input), input);
+            assertEquals(input.matches("(Sig\\.|Sig\\.ra|Dott\\.)"), AnagraficaUtils.isValidTitle(input), input);
+            if (AnagraficaUtils.isValidSurname(input)) {
+                assertTrue(AnagraficaUtils.isValidSurname(input, NamePolicy.ITALIAN), input);
+            }
+        }
+    }
+
+    /**
+     * Tests names and surnames with accented letters, apostrophes and compound parts under the Italian policy.
+     */
+    @Test
+    public void testItalianPolicy() {
+        assertTrue(AnagraficaUtils.isValidName("Niccolò", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidName("Anna Maria", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidName("Nicolo\u0300", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname("D'Angelo", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname("D\u2019Angelo", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname("De Luca", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname("Romano-Verdi", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname("De André", NamePolicy.ITALIAN));
+        assertTrue(AnagraficaUtils.isValidSurname(new StringBuilder("Espositò"), NamePolicy.ITALIAN));
+
+        assertFalse(AnagraficaUtils.isValidName("Niccolò", NamePolicy.ASCII));
+        assertFalse(AnagraficaUtils.isValidSurname("D'Angelo", NamePolicy.ASCII));
+        assertFalse(AnagraficaUtils.isValidSurname("De Luca", NamePolicy.ASCII));
+    }
+
+    /**
+     * Tests that the Italian policy rejects misplaced separators, digits and non-Latin letters.
+     */
+    @Test
+    public void testItalianPolicyRejectsMalformedNames() {
+        assertFalse(AnagraficaUtils.isValidSurname(null, NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname(" ", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("De  Luca", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname(" Rossi", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("Rossi ", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("D'", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("'Angelo", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("D'-Angelo", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("\u0301Rossi", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("Rossi2", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("Ros$si", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidSurname("Παπαδόπουλος", NamePolicy.ITALIAN));
+        assertFalse(AnagraficaUtils.isValidName("Mario\n", NamePolicy.ITALIAN));
+        assertThrows(NullPointerException.class, () -> AnagraficaUtils.isValidName(NAME, null));
+    }
+
+    /**
+     * Tests the gender check on CharSequence values.
+     */
+    @Test
+    public void testValidGenderCharSequence() {
+        assertTrue(AnagraficaUtils.isValidGender(new StringBuilder("f")));
+        assertFalse(AnagraficaUtils.isValidGender(new StringBuilder("MF")));
+        assertFalse(AnagraficaUtils.isValidGender((CharSequence) null));
+    }
+
+    /**
+     * Tests the validation of ISO-8601 birthdates: calendar checks, leap years and dates after the reference date.
+     */
+    @Test
+    public void testIsValidBirthdate() {
+        LocalDate referenceDate = LocalDate.of(2024, 12, 2);
+        assertTrue(AnagraficaUtils.isValidBirthdate("1990-01-31", referenceDate));
+        assertTrue(AnagraficaUtils.isValidBirthdate("2000-02-29", referenceDate));
+        assertTrue(AnagraficaUtils.isValidBirthdate("2024-12-02", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("2024-12-03", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("2025-01-01", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1900-02-29", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1990-04-31", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1990-13-01", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1990-00-10", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1990/01/31", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("1990-1-31", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate("199O-01-31", referenceDate));
+        assertFalse(AnagraficaUtils.isValidBirthdate(null, referenceDate));
+    }
+
+    /**
+     * Tests that the formatters writing into a builder, an Appendable or an array give the same
+     * result as the String formatters, including titles, blank parts and null parts.
+     */
+    @Test
+    public void testFormattersIntoBuffers() throws IOException {
+        String[][] fullNames = {
+                {"Sig.", NAME, SURNAME}, {null, "Anna", SURNAME_VERDI}, {"", "", SURNAME}, {null, " Anna ", ""},
+                {"Dott.", null, SURNAME}, {null, null, null}, {"  ", " ", "\t"}
+        };
+        char[] chars = new char[64];
+        for (String[] parts : fullNames) {
+            String expected = (parts[0] != null ? parts[0] + " " : "") + parts[1] + " " + parts[2];
+            expected = expected.trim();
+            assertEquals(expected, AnagraficaUtils.formatFullName(parts[0], parts[1], parts[2]));
+            assertEquals("#" + expected, AnagraficaUtils.formatFullName(parts[0], parts[1], parts[2], new StringBuilder("#")).toString());
+            assertEquals(expected, AnagraficaUtils.formatFullName(parts[0], parts[1], parts[2], (Appendable) new StringWriter()).toString());
+            int written = AnagraficaUtils.formatFullName(parts[0], parts[1], parts[2], chars, 3);
+            assertEquals(expected, new String(chars, 3, written));
+        }
+
+        assertEquals("#MR", AnagraficaUtils.getInitials(NAME, "rossi", new StringBuilder("#")).toString());
+        assertEquals("A", AnagraficaUtils.getInitials(null, "anna", (Appendable) new StringWriter()).toString());
+        assertEquals(1, AnagraficaUtils.getInitials("", SURNAME, chars, 0));
+        assertEquals('R', chars[0]);
+        assertEquals("", AnagraficaUtils.getInitials(null, ""));
+
+        assertEquals("#D'angelo", AnagraficaUtils.normalizeName("d'ANGELO", new StringBuilder("#")).toString());
+        assertEquals("Niccolò", AnagraficaUtils.normalizeName("NICCOLÒ", (Appendable) new StringWriter()).toString());
+        assertEquals(5, AnagraficaUtils.normalizeName("aNNA ", chars, 10));
+        assertEquals("Anna ", new String(chars, 10, 5));
+        assertEquals(0, AnagraficaUtils.normalizeName(null, chars, 0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> AnagraficaUtils.formatFullName("Sig.", NAME, SURNAME, new char[10], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> AnagraficaUtils.normalizeName(NAME, new char[5], 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> AnagraficaUtils.getInitials(NAME, SURNAME, new char[2], 1));
+    }
+
+    /**
+     * Tests that spellings of the same Italian sounds share a phonetic key.
+     */
+    @Test
+    public void testPhoneticKeyEquivalences() {
+        String[][] equivalent = {
+                {"De Luca", "Deluca", "DE LUCA", "de-luca"}, {"D'Angelo", "Dangelo", "D’Angelo"},
+                {"Rossi", "Rosi", "ROSSI"}, {"Ricci", "Rici"}, {"Maggi", "Magi"}, {"Bacchi", "Bachi"},
+                {"Figlioli", "Filioli"}, {"Bognanni", "Bonanni"}, {"Acquaviva", "Aquaviva", "Acuaviva"},
+                {"Niccolò", "Nicolo", "NICCOLO'"}, {"Iacopo", "Jacopo"}, {"Ghezzi", "GHEZZI", "Ghezi"},
+                {"Philips", "Filips"}, {"Hernandez", "Ernandez"}
+        };
+        for (String[] spellings : equivalent) {
+            for (String spelling : spellings) {
+                assertEquals(AnagraficaUtils.getPhoneticKey(spellings[0]), AnagraficaUtils.getPhoneticKey(spelling), spelling);
+            }
+        }
+    }
+
+    /**
+     * Tests the keys of the Italian spelling rules: soft and hard C and G, GN, GLI, SC and vowels.
+     */
+    @Test
+    public void testPhoneticKeyRules() {
+        assertEquals("DLK", AnagraficaUtils.getPhoneticKey("De Luca"));
+        assertEquals("CS", AnagraficaUtils.getPhoneticKey("Cesa"));
+        assertEquals("KS", AnagraficaUtils.getPhoneticKey("Chiesa"));
+        assertEquals("JKM", AnagraficaUtils.getPhoneticKey("Giacomo"));
+        assertEquals("GR", AnagraficaUtils.getPhoneticKey("Ghera"));
+        assertEquals("GR", AnagraficaUtils.getPhoneticKey("Gara"));
+        assertEquals("NK", AnagraficaUtils.getPhoneticKey("Gnocchi"));
+        assertEquals("FLL", AnagraficaUtils.getPhoneticKey("Figlioli"));
+        assertEquals("GL", AnagraficaUtils.getPhoneticKey("Gallo"));
+        assertEquals("XMN", AnagraficaUtils.getPhoneticKey("Scimone"));
+        assertEquals("SKVN", AnagraficaUtils.getPhoneticKey("Schiavone"));
+        assertEquals("ASPST", AnagraficaUtils.getPhoneticKey("Esposito"));
+        assertEquals("NN", AnagraficaUtils.getPhoneticKey("Nani"));
+        assertEquals("N", AnagraficaUtils.getPhoneticKey("Anna").substring(1));
+        assertEquals("KS", AnagraficaUtils.getPhoneticKey("Quasi"));
+        assertEquals("SS", AnagraficaUtils.getPhoneticKey("Xausa"));
+        assertNotEquals(AnagraficaUtils.getPhoneticKey("Rossi"), AnagraficaUtils.getPhoneticKey("Bianchi"));
+        assertNotEquals(AnagraficaUtils.getPhoneticKey("Cesa"), AnagraficaUtils.getPhoneticKey("Chiesa"));
+    }
+
+    /**
+     * Tests empty and null inputs, truncation and the array overload.
+     */
+    @Test
+    public void testPhoneticKeyBounds() {
+        assertNull(AnagraficaUtils.getPhoneticKey(null));
+        assertEquals("", AnagraficaUtils.getPhoneticKey(""));
+        assertEquals("", AnagraficaUtils.getPhoneticKey(" '-"));
+        assertEquals("", AnagraficaUtils.getPhoneticKey("hh"));
+        assertEquals("A", AnagraficaUtils.getPhoneticKey("Ea"));
+        assertEquals(AnagraficaUtils.PHONETIC_KEY_LENGTH, AnagraficaUtils.getPhoneticKey("Brambilla Pisoni Trombetta").length());
+        assertEquals("BRMBLPSN", AnagraficaUtils.getPhoneticKey("Brambilla Pisoni Trombetta"));
+
+        char[] chars = new char[12];
+        assertEquals(3, AnagraficaUtils.getPhoneticKey("deluca", chars, 2));
+        assertEquals("DLK", new String(chars, 2, 3));
+        assertEquals(0, AnagraficaUtils.getPhoneticKey(null, chars, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> AnagraficaUtils.getPhoneticKey("Rossi", chars, 5));
+    }
+}
@@ -2,6 +2,12 @@ package org.kreyzon.italian_utils;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Test class for the BankingUtils utility class.
@@ -55,6 +61,132 @@ public class BankingUtilsTest {
         assertFalse(BankingUtils.isValidIBAN(invalidIban), "Expected the IBAN to be invalid due to incorrect length.");
     }
 
+    /**
+     * Tests that IBANs with lowercase letters or separators are rejected by the structural check.
+     */
+    @Test
+    public void testInvalidIBANStructure() {
+        assertFalse(BankingUtils.isValidIBAN(null), "Expected a null IBAN to be invalid.");
+        assertFalse(BankingUtils.isValidIBAN("it60x0542811101000000123456"), "Expected a lowercase IBAN to be invalid.");
+        assertFalse(BankingUtils.isValidIBAN("IT60 X054 2811 1010 0000 0123 456"), "Expected an IBAN with spaces to be invalid.");
+        assertFalse(BankingUtils.isValidIBAN("IT6AX0542811101000000123456"), "Expected non-digit check digits to be invalid.");
+    }
+
+    /**
+     * Tests the modulo 97 checksum on valid IBANs from several countries.
+     */
+    @Test
+    public void testIbanChecksumValid() {
+        assertEquals(1, BankingUtils.ibanChecksum("IT60X0542811101000000123456"));
+        assertEquals(1, BankingUtils.ibanChecksum("DE89370400440532013000"));
+        assertEquals(1, BankingUtils.ibanChecksum("GB82WEST12345698765432"));
+        assertEquals(1, BankingUtils.ibanChecksum("FR1420041010050500013M02606"));
+        assertEquals(1, BankingUtils.ibanChecksum(new StringBuilder("it60x0542811101000000123456")),
+                "Expected the checksum to accept lowercase letters and any CharSequence.");
+    }
+
+    /**
+     * Tests the modulo 97 checksum on wrong check digits and malformed input.
+     */
+    @Test
+    public void testIbanChecksumInvalid() {
+        assertNotEquals(1, BankingUtils.ibanChecksum("IT60X0542811101000000123450"));
+        assertEquals(-1, BankingUtils.ibanChecksum(null));
+        assertEquals(-1, BankingUtils.ibanChecksum("IT60"));
+        assertEquals(-1, BankingUtils.ibanChecksum("IT60X05428-1101000000123456"));
+    }
+
+    /**
+     * Tests the computation of IBAN check digits from a country code and a BBAN.
+     */
+    @Test
+    public void testComputeIbanCheckDigits() {
+        assertEquals("60", BankingUtils.computeIbanCheckDigits("IT", "X0542811101000000123456"));
+        assertEquals("89", BankingUtils.computeIbanCheckDigits("DE", "370400440532013000"));
+        assertEquals("82", BankingUtils.computeIbanCheckDigits("GB", "WEST12345698765432"));
+        assertEquals("68", BankingUtils.computeIbanCheckDigits("BE", "539007547034"));
+    }
+
+    /**
+     * Tests that generated check digits always produce a valid IBAN.
+     */
+    @Test
+    public void testComputeIbanCheckDigitsRoundTrip() {
+        for (int account = 0; account < 1000; account++) {
+            String bban = "X05428111010000" + String.format("%08d", account * 7919);
+            String iban = "IT" + BankingUtils.computeIbanCheckDigits("IT", bban) + bban;
+            assertTrue(BankingUtils.isValidIBAN(iban), "Expected the generated IBAN to be valid: " + iban);
+        }
+    }
+
+    /**
+     * Tests that malformed inputs to the check digit computation throw an IllegalArgumentException.
+     */
+    @Test
+    public void testComputeIbanCheckDigitsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.computeIbanCheckDigits("it", "X0542811101000000123456"));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.computeIbanCheckDigits("ITA", "X0542811101000000123456"));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.computeIbanCheckDigits("IT", ""));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.computeIbanCheckDigits("IT", "X0542 811101"));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.computeIbanCheckDigits(null, "X0542811101000000123456"));
+    }
+
+    /**
+     * Tests that IBANs of countries outside the IBAN registry are rejected.
+     */
+    @Test
+    public void testInvalidIBANUnknownCountry() {
+        assertFalse(BankingUtils.isValidIBAN("XX60X0542811101000000123456"), "Expected an IBAN with an unknown country to be invalid.");
+    }
+
+    /**
+     * Tests the IBAN length lookup by country code.
+     */
+    @Test
+    public void testGetIbanLength() {
+        assertEquals(27, BankingUtils.getIbanLength("IT"));
+        assertEquals(22, BankingUtils.getIbanLength("DE"));
+        assertEquals(15, BankingUtils.getIbanLength("NO"));
+        assertEquals(0, BankingUtils.getIbanLength("US"));
+        assertEquals(0, BankingUtils.getIbanLength("it"));
+        assertEquals(0, BankingUtils.getIbanLength(null));
+    }
+
+    /**
+     * Tests that an Italian IBAN is split into CIN, ABI, CAB and account number.
+     */
+    @Test
+    public void testParseItalianIBAN() {
+        ItalianIBAN iban = BankingUtils.parseItalianIBAN("IT60X0542811101000000123456");
+        assertEquals("60", iban.getCheckDigits().toString());
+        assertEquals('X', iban.getCin());
+        assertEquals("05428", iban.getAbi().toString());
+        assertEquals("11101", iban.getCab().toString());
+        assertEquals("000000123456", iban.getAccountNumber().toString());
+        assertTrue(iban.hasValidCin(), "Expected the CIN to match the national check.");
+        assertEquals("IT60X0542811101000000123456", iban.toString());
+    }
+
+    /**
+     * Tests that an IBAN with a valid checksum but a wrong CIN is detected.
+     */
+    @Test
+    public void testParseItalianIBANWrongCin() {
+        String bban = "Y0542811101000000123456";
+        String iban = "IT" + BankingUtils.computeIbanCheckDigits("IT", bban) + bban;
+        assertFalse(BankingUtils.parseItalianIBAN(iban).hasValidCin(), "Expected the CIN to be rejected.");
+    }
+
+    /**
+     * Tests that parsing an invalid or non-Italian IBAN throws an IllegalArgumentException.
+     */
+    @Test
+    public void testParseItalianIBANInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.parseItalianIBAN("IT60X0542811101000000123450"));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.parseItalianIBAN("SM86U0322509800000000270100"));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.parseItalianIBAN(null));
+    }
+
     /**
      * Tests the formatting of a valid IBAN to include spaces every 4 characters.
      */
@@ -65,6 +197,29 @@ public class BankingUtilsTest {
         assertEquals(expectedFormattedIban, BankingUtils.formatIBAN(iban), "Expected the IBAN to be formatted with spaces.");
     }
 
+    /**
+     * Tests the IBAN formatters writing into a builder, an Appendable or an array, with and without
+     * validation.
+     */
+    @Test
+    public void testFormatIBANIntoBuffers() throws IOException {
+        String iban = "IT60X0542811101000000123456";
+        String expected = "IT60 X054 2811 1010 0000 0123 456";
+        assertEquals("IBAN: " + expected, BankingUtils.formatIBAN(iban, false, new StringBuilder("IBAN: ")).toString());
+        assertEquals(expected, BankingUtils.formatIBAN(iban, false, (Appendable) new StringWriter()).toString());
+        char[] chars = new char[40];
+        assertEquals(expected.length(), BankingUtils.formatIBAN(iban, false, chars, 2));
+        assertEquals(expected, new String(chars, 2, expected.length()));
+        assertEquals("NL91 ABNA 0417 1643 00", BankingUtils.formatIBAN("NL91ABNA0417164300", true, new StringBuilder()).toString());
+
+        // Pre-validated input is not checked again
+        String invalid = "IT60X0542811101000000123450";
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.formatIBAN(invalid, false, new StringBuilder()));
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.formatIBAN(invalid, false, chars, 0));
+        assertEquals("IT60 X054 2811 1010 0000 0123 450", BankingUtils.formatIBAN(invalid, true, new StringBuilder()).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> BankingUtils.formatIBAN(iban, true, chars, 10));
+    }
+
     /**
      * Tests that formatting an invalid IBAN throws an IllegalArgumentException.
      */
@@ -109,4 +264,112 @@ public class BankingUtilsTest {
         String invalidSwift = "BCITITM"; // Only 7 characters
         assertFalse(BankingUtils.isValidSWIFT(invalidSwift), "Expected the SWIFT/BIC code to be invalid due to incorrect length.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the batch validation of IBANs matches the single-value validation.
+     */
+    @Test
+    public void testBatchValidationMatchesSingleValue() {
+        CharSequence[] in = {"IT60X0542811101000000123456", "IT60X0542811101000000123450", null, "", new StringBuilder("DE89370400440532013000"), "it60x0542811101000000123456"};
+        boolean[] out = new boolean[in.length];
+        int validCount = BankingUtils.validateIBANs(in, out);
+
+        int expectedCount = 0;
+        for (int i = 0; i < in.length; i++) {
+            boolean expected = BankingUtils.isValidIBAN(in[i] == null ? null : in[i].toString());
+            assertEquals(expected, out[i], "Unexpected batch result for " + in[i]);
+            assertEquals(expected, BankingUtils.validateIBANs(in).get(i), "Unexpected bit set result for " + in[i]);
+            expectedCount += expected ? 1 : 0;
+        }
+        assertEquals(expectedCount, validCount);
+    }
+
+    /**
+     * Tests that a large batch split over a fork/join pool gives the same results as the sequential batch.
+     */
+    @Test
+    public void testParallelBatchValidation() {
+        CharSequence[] sample = {"IT60X0542811101000000123456", "IT60X0542811101000000123450", null, "", new StringBuilder("DE89370400440532013000"), "it60x0542811101000000123456"};
+        CharSequence[] in = new CharSequence[50_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = sample[i % sample.length];
+        }
+        boolean[] sequential = new boolean[in.length];
+        boolean[] parallel = new boolean[in.length];
+        int sequentialCount = BankingUtils.validateIBANs(in, sequential);
+        int parallelCount = BankingUtils.validateIBANs(in, parallel, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sequential, parallel);
+        assertEquals(sequentialCount, parallelCount);
+    }
+
+    /**
+     * Tests that an output array shorter than the input array is rejected.
+     */
+    @Test
+    public void testBatchValidationShortOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BankingUtils.validateIBANs(new CharSequence[2], new boolean[1]));
+    }
+
+    /**
+     * Tests the reason codes returned by the IBAN and SWIFT/BIC checks.
+     */
+    @Test
+    public void testCheckIBANAndSWIFT() {
+        assertEquals(ValidationCode.VALID, BankingUtils.checkIBAN("IT60X0542811101000000123456"));
+        assertEquals(ValidationCode.NULL, BankingUtils.checkIBAN(null));
+        assertEquals(ValidationCode.BAD_LENGTH, BankingUtils.checkIBAN("IT60X054281110100000012345"));
+        assertEquals(ValidationCode.BAD_LENGTH, BankingUtils.checkIBAN("IT6"));
+        assertEquals(ValidationCode.BAD_COUNTRY, BankingUtils.checkIBAN("XX60X0542811101000000123456"));
+        assertEquals(ValidationCode.BAD_CHARSET, BankingUtils.checkIBAN("it60x0542811101000000123456"));
+        assertEquals(ValidationCode.BAD_CHARSET, BankingUtils.checkIBAN("IT6AX0542811101000000123456"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, BankingUtils.checkIBAN("IT60X0542811101000000123450"));
+
+        assertEquals(ValidationCode.VALID, BankingUtils.checkSWIFT("BCITITMM"));
+        assertEquals(ValidationCode.VALID, BankingUtils.checkSWIFT("BCITITMM500"));
+        assertEquals(ValidationCode.NULL, BankingUtils.checkSWIFT(null));
+        assertEquals(ValidationCode.BAD_LENGTH, BankingUtils.checkSWIFT("BCITITM"));
+        assertEquals(ValidationCode.BAD_LENGTH, BankingUtils.checkSWIFT("BCITITMM50"));
+        assertEquals(ValidationCode.BAD_CHARSET, BankingUtils.checkSWIFT("BCIT1TMM"));
+        assertEquals(ValidationCode.BAD_CHARSET, BankingUtils.checkSWIFT("BCITITmm"));
+    }
+
+    /**
+     * Tests that the checks agree with the boolean validators, and that the batch check stores the same codes.
+     */
+    @Test
+    public void testCheckMatchesValidation() {
+        CharSequence[] in = {"IT60X0542811101000000123456", "IT60X0542811101000000123450", null, "", "IT",
+                new StringBuilder("DE89370400440532013000"), "it60x0542811101000000123456", "IT60X05428111010000001234567",
+                "GB82WEST12345698765432", "GB82WEST1234569876543Z", "BCITITMM", "BCITITMM500", "BCITITMM5", "BCIT1TMM"};
+        byte[] out = new byte[in.length];
+        int valid = BankingUtils.checkIBANs(in, out);
+
+        int expected = 0;
+        for (int i = 0; i < in.length; i++) {
+            ValidationCode code = BankingUtils.checkIBAN(in[i]);
+            assertEquals(code, ValidationCode.fromOrdinal(out[i]));
+            assertEquals(BankingUtils.isValidIBAN(in[i]), code.isValid());
+            String swift = in[i] == null ? null : in[i].toString();
+            assertEquals(BankingUtils.isValidSWIFT(swift), BankingUtils.checkSWIFT(swift).isValid());
+            expected += code.isValid() ? 1 : 0;
+        }
+        assertEquals(expected, valid);
+        assertThrows(IllegalArgumentException.class, () -> BankingUtils.checkIBANs(new CharSequence[2], new byte[1]));
+    }
+
+    /**
+     * Tests validation of IBANs and SWIFT/BIC codes stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "IBAN IT60X0542811101000000123456 BIC BCITITMM".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(BankingUtils.isValidIBAN(bytes, 5, 27));
+        assertFalse(BankingUtils.isValidIBAN(bytes, 5, 26));
+        assertTrue(BankingUtils.isValidSWIFT(bytes, 37, 8));
+        assertTrue(BankingUtils.isValidIBAN(ByteBuffer.wrap(bytes), 5, 27));
+        assertFalse(BankingUtils.isValidSWIFT(ByteBuffer.wrap(bytes), 36, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> BankingUtils.isValidIBAN(bytes, 40, 27));
+    }
+}
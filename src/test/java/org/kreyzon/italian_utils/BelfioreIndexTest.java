@@ -0,0 +1,201 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Test class for the BelfioreIndex class.
+ * <p>
+ * This class provides unit tests to verify the lookups, the handling of suppressed codes and the
+ * image format of {@link BelfioreIndex}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-28
+ */
+public class BelfioreIndexTest {
+
+    private static final String SAMPLE_CSV = String.join("\n",
+            "# sample",
+            "H501;Roma;RM;;",
+            "D005;Corigliano Calabro;CS;;2018-03-30",
+            "M403;Corigliano-Rossano;CS;2018-03-31;",
+            "Z133;Svizzera;EE;;",
+            "",
+            "Z123;Città di prova;EE;1990-01-01;1999-12-31",
+            "Z123;Città di prova nuova;EE;2000-01-01;");
+
+    /**
+     * Tests that the bundled image is the one built from the bundled source list, so the two cannot drift apart.
+     * After editing {@code belfiore.csv}, regenerate {@code belfiore.bin} with {@link BelfioreIndex#write}.
+     */
+    @Test
+    public void testBundledImageIsUpToDate() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (InputStream csv = BelfioreIndexTest.class.getResourceAsStream("belfiore.csv")) {
+            assertNotNull(csv, "Missing belfiore.csv test resource");
+            BelfioreIndex.write(new InputStreamReader(csv, StandardCharsets.UTF_8), expected);
+        }
+        try (InputStream image = BelfioreIndex.class.getResourceAsStream("belfiore.bin")) {
+            assertNotNull(image, "Missing belfiore.bin resource");
+            assertArrayEquals(expected.toByteArray(), image.readAllBytes(),
+                    "belfiore.bin is out of date, regenerate it from belfiore.csv");
+        }
+    }
+
+    /**
+     * Tests lookups of municipalities and foreign countries in the bundled index.
+     */
+    @Test
+    public void testBundledLookups() {
+        BelfioreIndex index = BelfioreIndex.bundled();
+        assertSame(index, BelfioreIndex.bundled());
+
+        int roma = index.find("H501");
+        assertTrue(roma >= 0);
+        assertEquals("H501", index.getCode(roma));
+        assertEquals("Roma", index.getName(roma));
+        assertEquals("RM", index.getProvince(roma));
+        assertFalse(index.isForeignCountry(roma));
+        assertTrue(index.isActive(roma));
+
+        int forli = index.find("d704");
+        assertEquals("Forlì", index.getName(forli));
+        assertEquals("FC", index.getProvince(forli));
+
+        int germania = index.find("Z112");
+        assertEquals("Germania", index.getName(germania));
+        assertEquals("EE", index.getProvince(germania));
+        assertTrue(index.isForeignCountry(germania));
+    }
+
+    /**
+     * Tests that malformed and unknown codes are not found.
+     */
+    @Test
+    public void testUnknownCodes() {
+        BelfioreIndex index = BelfioreIndex.bundled();
+        assertEquals(-1, index.find(null));
+        assertEquals(-1, index.find(""));
+        assertEquals(-1, index.find("H50"));
+        assertEquals(-1, index.find("H5011"));
+        assertEquals(-1, index.find("1501"));
+        assertEquals(-1, index.find("H5O1"));
+        assertEquals(-1, index.find("À501"));
+        assertFalse(index.contains("A000"));
+        assertFalse(index.contains("Z999"));
+        assertTrue(index.contains("F205"));
+    }
+
+    /**
+     * Tests the decoding of the birthplace of a Codice Fiscale, including omocodia letters.
+     */
+    @Test
+    public void testFindBirthplace() {
+        BelfioreIndex index = BelfioreIndex.bundled();
+        assertEquals("Roma", index.getName(index.findBirthplace("VRDNNA90A41H501J")));
+        assertEquals("Milano", index.getName(index.findBirthplace("BNCLRA92M55F205P")));
+        assertEquals("Milano", index.getName(index.findBirthplace("BNCLRA92M55F2LRP")));
+        assertEquals(-1, index.findBirthplace("VRDNNA90A41H501"));
+        assertEquals(-1, index.findBirthplace("VRDNNA90A41H5A1J"));
+        assertEquals(-1, index.findBirthplace(null));
+    }
+
+    /**
+     * Tests suppressed municipalities and their validity ranges.
+     */
+    @Test
+    public void testSuppressedMunicipality() {
+        BelfioreIndex index = BelfioreIndex.bundled();
+        int corigliano = index.find("D005");
+        assertFalse(index.isActive(corigliano));
+        assertNull(index.getValidFrom(corigliano));
+        assertEquals(LocalDate.of(2018, 3, 30), index.getValidTo(corigliano));
+        assertEquals(corigliano, index.find("D005", LocalDate.of(1980, 5, 1)));
+        assertEquals(-1, index.find("D005", LocalDate.of(2018, 3, 31)));
+
+        int merged = index.find("M403");
+        assertTrue(index.isActive(merged));
+        assertEquals(LocalDate.of(2018, 3, 31), index.getValidFrom(merged));
+        assertEquals(-1, index.find("M403", LocalDate.of(2018, 3, 30)));
+        assertEquals(merged, index.find("M403", LocalDate.of(2018, 3, 31)));
+    }
+
+    /**
+     * Tests a code with several rows: plain lookups prefer the row still in use, dated lookups pick by validity.
+     */
+    @Test
+    public void testReassignedCode() throws IOException {
+        BelfioreIndex index = build(SAMPLE_CSV);
+        assertEquals(6, index.size());
+        assertEquals("Città di prova nuova", index.getName(index.find("Z123")));
+        assertEquals("Città di prova", index.getName(index.find("Z123", LocalDate.of(1995, 1, 1))));
+        assertEquals("Città di prova nuova", index.getName(index.find("Z123", LocalDate.of(2024, 1, 1))));
+        assertEquals(-1, index.find("Z123", LocalDate.of(1980, 1, 1)));
+    }
+
+    /**
+     * Tests that an image written to a file can be memory-mapped.
+     */
+    @Test
+    public void testLoadMappedImage(@TempDir Path directory) throws IOException {
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        BelfioreIndex.write(new StringReader(SAMPLE_CSV), image);
+        Path file = directory.resolve("belfiore.bin");
+        Files.write(file, image.toByteArray());
+
+        BelfioreIndex index = BelfioreIndex.load(file);
+        assertEquals(6, index.size());
+        assertEquals(image.size(), index.memoryFootprint());
+        assertEquals("Svizzera", index.getName(index.find("Z133")));
+
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> BelfioreIndex.load(garbage));
+    }
+
+    /**
+     * Tests that malformed source lines are rejected with their line number.
+     */
+    @Test
+    public void testWriteRejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> build("H501;Roma;RM;"));
+        assertThrows(IllegalArgumentException.class, () -> build("H5O1;Roma;RM;;"));
+        assertThrows(IllegalArgumentException.class, () -> build("H501;;RM;;"));
+        assertThrows(IllegalArgumentException.class, () -> build("H501;Roma;Rm;;"));
+        assertThrows(IllegalArgumentException.class, () -> build("H501;Roma;RM;2020-13-01;"));
+        assertThrows(IllegalArgumentException.class, () -> build("H501;Roma;RM;2020-01-02;2020-01-01"));
+    }
+
+    /**
+     * Tests that row accessors reject rows outside the index.
+     */
+    @Test
+    public void testRowOutOfBounds() {
+        BelfioreIndex index = BelfioreIndex.bundled();
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getName(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getCode(index.size()));
+    }
+
+    private static BelfioreIndex build(String csv) throws IOException {
+        Path file = Files.createTempFile("belfiore", ".bin");
+        try {
+            try (var out = Files.newOutputStream(file)) {
+                BelfioreIndex.write(new StringReader(csv), out);
+            }
+            return BelfioreIndex.load(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
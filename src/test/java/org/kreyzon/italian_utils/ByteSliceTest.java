@@ -0,0 +1,137 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Test class for the ByteSlice class.
+ * <p>
+ * This class provides unit tests to verify the byte views and that every byte-oriented validator
+ * overload agrees with the String validator, for arrays, heap, direct and read-only buffers and
+ * memory segments.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-05
+ */
+public class ByteSliceTest {
+
+    private static final String[] VALUES = {
+            "", "IT", "IT60X0542811101000000123456", "IT60X0542811101000000123450", "it60x0542811101000000123456",
+            "GB82WEST12345698765432", "DE89370400440532013000", "BCITITMM", "BCITITMM500", "BCIT1TMM",
+            "00123450066", "IT00123450066", "00123450067", "12345678903", "0012345006A",
+            "CA12345AB", "ca12345ab", "CA1234XAB", "80380000500012345678", "8038000050001234567X",
+            "RSSMRA85T10A562S", "RSSMRA85T10A562T", "RSSMRA85T1LA562S", "rssmra85t10a562s",
+            "CA12345ÀB", "0012345006é", "8038000050001234567٠"
+    };
+
+    /**
+     * Tests the characters, length and bounds of the views.
+     */
+    @Test
+    public void testView() {
+        byte[] bytes = "##AB1é##".getBytes(StandardCharsets.UTF_8);
+        ByteSlice slice = ByteSlice.of(bytes, 2, 5);
+        assertEquals(5, slice.length());
+        assertEquals('A', slice.charAt(0));
+        assertEquals('1', slice.charAt(2));
+        assertEquals('\uFFFD', slice.charAt(3));
+        assertEquals("AB1\uFFFD\uFFFD", slice.toString());
+        assertEquals("B1", slice.subSequence(1, 3).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteSlice.of(bytes, 4, 10));
+        assertNull(ByteSlice.of((byte[]) null, 0, 0));
+        assertNull(ByteSlice.of((ByteBuffer) null, 0, 0));
+        assertNull(ByteSlice.of((MemorySegment) null, 0, 0));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).position(6);
+        assertEquals("AB1", ByteSlice.of(buffer, 2, 3).toString());
+        assertEquals(6, buffer.position());
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteSlice.of(buffer.limit(4), 2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteSlice.of(MemorySegment.ofArray(bytes), 4, 10));
+    }
+
+    /**
+     * Tests that every byte-oriented overload agrees with the String validator.
+     */
+    @Test
+    public void testOverloadsMatchStrings() {
+        assertOverloads(BankingUtils::isValidIBAN, BankingUtils::isValidIBAN, BankingUtils::isValidIBAN, BankingUtils::isValidIBAN);
+        assertOverloads(BankingUtils::isValidSWIFT, BankingUtils::isValidSWIFT, BankingUtils::isValidSWIFT, BankingUtils::isValidSWIFT);
+        assertOverloads(PartitaIVAUtils::isValidPartitaIVA, PartitaIVAUtils::isValidPartitaIVA,
+                PartitaIVAUtils::isValidPartitaIVA, PartitaIVAUtils::isValidPartitaIVA);
+        assertOverloads(IdentityCardUtils::isValidCIESerial, IdentityCardUtils::isValidCIESerial,
+                IdentityCardUtils::isValidCIESerial, IdentityCardUtils::isValidCIESerial);
+        assertOverloads(HealthInsuranceCardUtils::isValidHICSerial, HealthInsuranceCardUtils::isValidHICSerial,
+                HealthInsuranceCardUtils::isValidHICSerial, HealthInsuranceCardUtils::isValidHICSerial);
+        assertOverloads(CodiceFiscaleUtils::isValidCodiceFiscale, CodiceFiscaleUtils::isValidCodiceFiscale,
+                CodiceFiscaleUtils::isValidCodiceFiscale, CodiceFiscaleUtils::isValidCodiceFiscale);
+    }
+
+    /**
+     * Tests that fields of a larger record are validated in place at any position.
+     */
+    @Test
+    public void testFieldsInsideRecord() {
+        byte[] record = "Mario;IT60X0542811101000000123456;00123450066;80380000500012345678\n".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(BankingUtils.isValidIBAN(record, 6, 27));
+        assertTrue(PartitaIVAUtils.isValidPartitaIVA(record, 34, 11));
+        assertTrue(HealthInsuranceCardUtils.isValidHICSerial(record, 46, 20));
+        assertFalse(HealthInsuranceCardUtils.isValidHICSerial(record, 46, 21));
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate(record.length);
+            MemorySegment.copy(MemorySegment.ofArray(record), 0, segment, 0, record.length);
+            assertTrue(BankingUtils.isValidIBAN(segment, 6, 27));
+            assertTrue(PartitaIVAUtils.isValidPartitaIVA(segment, 34, 11));
+            assertTrue(HealthInsuranceCardUtils.isValidHICSerial(segment, 46, 20));
+            assertFalse(HealthInsuranceCardUtils.isValidHICSerial(segment, 45, 20));
+        }
+    }
+
+    private interface ArrayValidator {
+        boolean isValid(byte[] bytes, int offset, int length);
+    }
+
+    private interface BufferValidator {
+        boolean isValid(ByteBuffer buffer, int index, int length);
+    }
+
+    private interface SegmentValidator {
+        boolean isValid(MemorySegment segment, long offset, int length);
+    }
+
+    private static void assertOverloads(Predicate<String> strings, ArrayValidator arrays,
+                                        BufferValidator buffers, SegmentValidator segments) {
+        assertFalse(arrays.isValid(null, 0, 0));
+        assertFalse(buffers.isValid(null, 0, 0));
+        assertFalse(segments.isValid(null, 0, 0));
+        try (Arena arena = Arena.ofConfined()) {
+            for (String value : VALUES) {
+                boolean expected = strings.test(value);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                byte[] padded = new byte[bytes.length + 6];
+                System.arraycopy(bytes, 0, padded, 3, bytes.length);
+
+                assertEquals(expected, arrays.isValid(padded, 3, bytes.length), value);
+                assertEquals(expected, buffers.isValid(ByteBuffer.wrap(padded), 3, bytes.length), value);
+                assertEquals(expected, buffers.isValid(ByteBuffer.wrap(padded, 1, padded.length - 1).slice(), 2, bytes.length), value);
+                assertEquals(expected, buffers.isValid(ByteBuffer.wrap(padded).asReadOnlyBuffer(), 3, bytes.length), value);
+
+                ByteBuffer direct = ByteBuffer.allocateDirect(padded.length).put(padded);
+                assertEquals(expected, buffers.isValid(direct, 3, bytes.length), value);
+                assertEquals(padded.length, direct.position());
+
+                MemorySegment segment = arena.allocate(padded.length);
+                MemorySegment.copy(MemorySegment.ofArray(padded), 0, segment, 0, padded.length);
+                assertEquals(expected, segments.isValid(segment, 3, bytes.length), value);
+                assertEquals(expected, segments.isValid(MemorySegment.ofArray(padded), 3, bytes.length), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for the CodiceFiscaleUtils utility class.
+ * <p>
+ * This class provides unit tests to verify the validation, omocodia handling and generation
+ * methods in {@link CodiceFiscaleUtils} for Italian tax codes (Codice Fiscale).
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-27
+ */
+public class CodiceFiscaleUtilsTest {
+
+    private static final String VALID_CODICE_FISCALE = "RSSMRA85T10A562S";
+
+    private static final String OMOCODIC_CODICE_FISCALE = "RSSMRA85T10A56NH";
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            // Use reflection to access the private constructor
+            java.lang.reflect.Constructor<CodiceFiscaleUtils> constructor = CodiceFiscaleUtils.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        }, "Expected IllegalStateException to be thrown when instantiating CodiceFiscaleUtils");
+    }
+
+    /**
+     * Tests the validation of valid Codici Fiscali, for men and women, in either case.
+     */
+    @Test
+    public void testValidCodiceFiscale() {
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(VALID_CODICE_FISCALE));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale("VRDNNA90A41H501J"));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale("rssmra85t10a562s"));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(new StringBuilder(VALID_CODICE_FISCALE)));
+    }
+
+    /**
+     * Tests the validation of Codici Fiscali with omocodia substitutions.
+     */
+    @Test
+    public void testValidOmocodicCodiceFiscale() {
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(OMOCODIC_CODICE_FISCALE));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85TM0A562D"));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10ARSNO"));
+    }
+
+    /**
+     * Tests that a wrong check character is rejected.
+     */
+    @Test
+    public void testInvalidCheckCharacter() {
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562T"));
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A56NS"));
+    }
+
+    /**
+     * Tests that malformed Codici Fiscali are rejected.
+     */
+    @Test
+    public void testInvalidStructure() {
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale((String) null));
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(""));
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562"), "Expected a short code to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A562SS"), "Expected a long code to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSS1RA85T10A562S"), "Expected a digit in the name code to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10A5A2S"), "Expected a non-omocodia letter to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10-562S"), "Expected a symbol to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale("RSSMRA85T10À562S"), "Expected an accented letter to be rejected.");
+    }
+
+    /**
+     * Tests that invalid months and days are rejected.
+     */
+    @Test
+    public void testInvalidDate() {
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA85F10A562")), "Expected F not to be a month letter.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA85T00A562")), "Expected day 00 to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA85T32A562")), "Expected day 32 to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA85B30A562")), "Expected February 30 to be rejected.");
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA85D71A562")), "Expected April 31 for women to be rejected.");
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(withCheckCharacter("RSSMRA84B69A562")), "Expected February 29 for women to be accepted.");
+    }
+
+    /**
+     * Tests the computation of the check character.
+     */
+    @Test
+    public void testComputeCheckCharacter() {
+        assertEquals('S', CodiceFiscaleUtils.computeCheckCharacter("RSSMRA85T10A562"));
+        assertEquals('S', CodiceFiscaleUtils.computeCheckCharacter(VALID_CODICE_FISCALE));
+        assertEquals('H', CodiceFiscaleUtils.computeCheckCharacter("rssmra85t10a56n"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.computeCheckCharacter("RSSMRA85T10A56"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.computeCheckCharacter("RSSMRA85T10A56-"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.computeCheckCharacter(null));
+    }
+
+    /**
+     * Tests that omocodia letters are replaced with the original digits.
+     */
+    @Test
+    public void testNormalizeOmocodia() {
+        assertEquals(VALID_CODICE_FISCALE, CodiceFiscaleUtils.normalizeOmocodia(OMOCODIC_CODICE_FISCALE));
+        assertEquals(VALID_CODICE_FISCALE, CodiceFiscaleUtils.normalizeOmocodia("rssmra85tm0a562d"));
+        assertEquals(VALID_CODICE_FISCALE, CodiceFiscaleUtils.normalizeOmocodia(VALID_CODICE_FISCALE));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.normalizeOmocodia("RSSMRA85T10A562T"));
+    }
+
+    /**
+     * Tests the generation of Codici Fiscali, including short names, names with four consonants,
+     * particles, apostrophes and women.
+     */
+    @Test
+    public void testGenerateCodiceFiscale() {
+        assertEquals(VALID_CODICE_FISCALE,
+                CodiceFiscaleUtils.generateCodiceFiscale("Mario", "Rossi", "M", LocalDate.of(1985, 12, 10), "A562"));
+        assertEquals("VRDNNA90A41H501J",
+                CodiceFiscaleUtils.generateCodiceFiscale("Anna", "Verdi", "F", LocalDate.of(1990, 1, 1), "H501"));
+        assertEquals("BNCGFR00B29F205X",
+                CodiceFiscaleUtils.generateCodiceFiscale("Gianfranco", "Bianchi", "m", LocalDate.of(2000, 2, 29), "f205"));
+        assertEquals("DLCGPP70L01Z404H",
+                CodiceFiscaleUtils.generateCodiceFiscale("Giuseppe", "De Luca", "M", LocalDate.of(1970, 7, 1), "Z404"));
+        assertEquals("DNGMRA99S70L219N",
+                CodiceFiscaleUtils.generateCodiceFiscale("Maria", "D'Angelo", "F", LocalDate.of(1999, 11, 30), "L219"));
+    }
+
+    /**
+     * Tests that short names and surnames are padded with X and accents are removed.
+     */
+    @Test
+    public void testGenerateCodiceFiscalePadding() {
+        String codiceFiscale = CodiceFiscaleUtils.generateCodiceFiscale("Lù", "Fo", "M", LocalDate.of(1985, 12, 10), "A562");
+        assertEquals("FOXLUX", codiceFiscale.substring(0, 6));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(codiceFiscale));
+    }
+
+    /**
+     * Tests that generation rejects missing or malformed inputs.
+     */
+    @Test
+    public void testGenerateCodiceFiscaleInvalidInput() {
+        LocalDate birthdate = LocalDate.of(1985, 12, 10);
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("Mario", "Rossi", "X", birthdate, "A562"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("Mario", "Rossi", "M", null, "A562"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("Mario", "Rossi", "M", birthdate, "A56"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("Mario", "Rossi", "M", birthdate, "1562"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("123", "Rossi", "M", birthdate, "A562"));
+        assertThrows(IllegalArgumentException.class, () -> CodiceFiscaleUtils.generateCodiceFiscale("Mario", null, "M", birthdate, "A562"));
+    }
+
+    /**
+     * Tests that the batch validation of Codici Fiscali matches the single-value validation.
+     */
+    @Test
+    public void testBatchValidationMatchesSingleValue() {
+        CharSequence[] in = {VALID_CODICE_FISCALE, OMOCODIC_CODICE_FISCALE, "RSSMRA85T10A562T", null, "", new StringBuilder("VRDNNA90A41H501J")};
+        boolean[] out = new boolean[in.length];
+        assertEquals(3, CodiceFiscaleUtils.validateCodiciFiscali(in, out));
+        assertArrayEquals(new boolean[] {true, true, false, false, false, true}, out);
+        assertEquals(3, CodiceFiscaleUtils.validateCodiciFiscali(in).cardinality());
+        assertEquals(3, CodiceFiscaleUtils.validateCodiciFiscali(in, new boolean[in.length], ForkJoinPool.commonPool()));
+    }
+
+    private static String withCheckCharacter(String first15) {
+        return first15 + CodiceFiscaleUtils.computeCheckCharacter(first15);
+    }
+
+    /**
+     * Tests validation of Codici Fiscali stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "RSSMRA85T10A562S;RSSMRA85T10A562T".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(bytes, 0, 16));
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(bytes, 17, 16));
+        assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(ByteBuffer.wrap(bytes), 0, 16));
+        assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(ByteBuffer.wrap(bytes), 0, bytes.length));
+    }
+
+    /**
+     * Tests the reason codes returned by checkCodiceFiscale.
+     */
+    @Test
+    public void testCheckCodiceFiscale() {
+        assertEquals(ValidationCode.VALID, CodiceFiscaleUtils.checkCodiceFiscale(VALID_CODICE_FISCALE));
+        assertEquals(ValidationCode.VALID, CodiceFiscaleUtils.checkCodiceFiscale(OMOCODIC_CODICE_FISCALE));
+        assertEquals(ValidationCode.NULL, CodiceFiscaleUtils.checkCodiceFiscale(null));
+        assertEquals(ValidationCode.BAD_LENGTH, CodiceFiscaleUtils.checkCodiceFiscale("RSSMRA85T10A562"));
+        assertEquals(ValidationCode.BAD_CHARSET, CodiceFiscaleUtils.checkCodiceFiscale("RSSMR485T10A562S"));
+        assertEquals(ValidationCode.BAD_CHARSET, CodiceFiscaleUtils.checkCodiceFiscale("RSSMRA85T10A5A2S"));
+        assertEquals(ValidationCode.BAD_CHARSET, CodiceFiscaleUtils.checkCodiceFiscale("RSSMRA85Z10A562S"));
+        assertEquals(ValidationCode.BAD_CHARSET, CodiceFiscaleUtils.checkCodiceFiscale("RSSMRA85T32A562S"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, CodiceFiscaleUtils.checkCodiceFiscale("RSSMRA85T10A562T"));
+    }
+}
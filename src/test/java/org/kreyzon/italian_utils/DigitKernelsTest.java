@@ -0,0 +1,135 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Test class for the DigitKernels class.
+ * <p>
+ * This class provides unit tests to verify the scalar digit kernels against plain reference
+ * implementations, the vector kernels against the scalar ones, and the validators that read
+ * streamed fields through the kernels.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-04
+ */
+public class DigitKernelsTest {
+
+    /**
+     * Tests the scalar kernels against BigInteger and a textbook Luhn sum.
+     */
+    @Test
+    public void testScalarKernels() {
+        assertKernels(DigitKernels.scalar());
+    }
+
+    /**
+     * Tests the vector kernels against the same references, when the vector module is available.
+     */
+    @Test
+    public void testVectorKernels() {
+        DigitKernels vector = DigitKernels.vector();
+        assumeTrue(vector != null, "jdk.incubator.vector is not resolved or the CPU lacks 256-bit vectors");
+        assertTrue(vector.isVectorized());
+        assertKernels(vector);
+    }
+
+    /**
+     * Tests that the selected kernels honour the system property and describe themselves.
+     */
+    @Test
+    public void testSelection() {
+        assertFalse(DigitKernels.scalar().isVectorized());
+        assertEquals("DigitKernels[scalar]", DigitKernels.scalar().toString());
+        boolean enabled = Boolean.parseBoolean(System.getProperty(DigitKernels.VECTOR_PROPERTY, "true"));
+        assertEquals(enabled && DigitKernels.vector() != null, DigitKernels.get().isVectorized());
+    }
+
+    /**
+     * Tests that validators give the same result for a streamed field, read through the kernels,
+     * as for a String.
+     */
+    @Test
+    public void testSliceValidatorsMatchStrings() {
+        String[] values = {
+                "00123450066", "IT00123450066", "00123450067", "12345678903", "0012345006A", "IT0012345006",
+                "80380000500012345678", "8038000050001234567X", "803800005000123456é78",
+                "IT60X0542811101000000123456", "IT60X0542811101000000123450", "IT60X054281110100000012345A",
+                "GB82WEST12345698765432", "DE89370400440532013000", "DE89370400440532013001", "IT60X05428111010000001234٠"
+        };
+        CharSlice slice = new CharSlice();
+        for (String value : values) {
+            char[] chars = ("##" + value + "##").toCharArray();
+            slice.reset(chars, 2, chars.length - 2);
+            assertEquals(PartitaIVAUtils.checkPartitaIVA(value), PartitaIVAUtils.checkPartitaIVA(slice), value);
+            assertEquals(HealthInsuranceCardUtils.checkHICSerial(value), HealthInsuranceCardUtils.checkHICSerial(slice), value);
+            assertEquals(BankingUtils.ibanChecksum(value), BankingUtils.ibanChecksum(slice), value);
+            assertEquals(BankingUtils.checkIBAN(value), BankingUtils.checkIBAN(slice), value);
+        }
+    }
+
+    private static void assertKernels(DigitKernels kernels) {
+        Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            int length = random.nextInt(80);
+            int from = random.nextInt(5);
+            char[] chars = new char[from + length + random.nextInt(5)];
+            byte[] bytes = new byte[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('0' + random.nextInt(10));
+            }
+            // One in four runs gets a character that is not a digit, including ones that are negative as bytes or shorts
+            boolean digits = length == 0 || random.nextInt(4) != 0;
+            if (!digits) {
+                char[] intruders = {'/', ':', 'A', ' ', 'é', '٠', '０', '耰'};
+                chars[from + random.nextInt(length)] = intruders[random.nextInt(intruders.length)];
+            }
+            for (int i = 0; i < chars.length; i++) {
+                bytes[i] = (byte) chars[i];
+            }
+            int to = from + length;
+            String run = new String(chars, from, length);
+
+            assertEquals(digits, kernels.isDigits(chars, from, to), run);
+            assertEquals(bytesAreDigits(bytes, from, to), kernels.isDigits(bytes, from, to), run);
+            if (digits) {
+                int remainder = random.nextInt(97);
+                int expectedMod97 = length == 0 ? remainder
+                        : new BigInteger(remainder + run).mod(BigInteger.valueOf(97)).intValue();
+                assertEquals(expectedMod97, kernels.mod97(remainder, chars, from, to), run);
+                assertEquals(expectedMod97, kernels.mod97(remainder, bytes, from, to), run);
+                assertEquals(luhnSum(run), kernels.luhnSum(chars, from, to), run);
+                assertEquals(luhnSum(run), kernels.luhnSum(bytes, from, to), run);
+            }
+        }
+    }
+
+    // Truncated characters such as 耰 can turn into ASCII digits as bytes
+    private static boolean bytesAreDigits(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int luhnSum(String run) {
+        int sum = 0;
+        for (int i = 0; i < run.length(); i++) {
+            int digit = run.charAt(i) - '0';
+            if (i % 2 == 1) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,90 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the DocumentLayout class.
+ * <p>
+ * This class provides unit tests to verify the character classes of a layout, literal positions,
+ * case folding of letters and the reason codes of codes that do not match.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+public class DocumentLayoutTest {
+
+    /**
+     * Tests the letter, digit and alphanumeric classes, in both cases.
+     */
+    @Test
+    public void testCharacterClasses() {
+        DocumentLayout layout = DocumentLayout.of("@#*");
+        assertEquals(3, layout.length());
+        assertTrue(layout.matches("A1B"));
+        assertTrue(layout.matches("z09"));
+        assertFalse(layout.matches("11B"));
+        assertFalse(layout.matches("AAB"));
+        assertFalse(layout.matches("A1-"));
+        assertFalse(layout.matches("@1B"));
+        assertFalse(layout.matches("[1B"));
+        assertFalse(layout.matches("`1B"));
+        assertFalse(layout.matches("{1B"));
+        assertFalse(layout.matches("A:B"));
+        assertFalse(layout.matches("A/B"));
+    }
+
+    /**
+     * Tests that other layout characters match themselves, letters in either case.
+     */
+    @Test
+    public void testLiterals() {
+        DocumentLayout layout = DocumentLayout.of("U1-#");
+        assertTrue(layout.matches("U1-5"));
+        assertTrue(layout.matches("u1-5"));
+        assertFalse(layout.matches("V1-5"));
+        assertFalse(layout.matches("U2-5"));
+        assertFalse(layout.matches("U1_5"));
+    }
+
+    /**
+     * Tests that non-ASCII characters are matched by their uppercase form.
+     */
+    @Test
+    public void testNonAsciiCharacters() {
+        DocumentLayout layout = DocumentLayout.of("@@");
+        assertTrue(layout.matches("ıA"));
+        assertTrue(layout.matches("ſA"));
+        assertFalse(layout.matches("ÇA"));
+        assertFalse(layout.matches("ßA"));
+        assertFalse(DocumentLayout.of("#").matches("٣"));
+        assertEquals('I', DocumentLayout.fold('ı'));
+        assertEquals('a', DocumentLayout.fold('a'));
+    }
+
+    /**
+     * Tests the reason codes returned by the check.
+     */
+    @Test
+    public void testCheck() {
+        DocumentLayout layout = DocumentLayout.of("@@#####@@");
+        assertEquals(ValidationCode.VALID, layout.check("CA12345AB"));
+        assertEquals(ValidationCode.VALID, layout.check(new StringBuilder("ca12345ab")));
+        assertEquals(ValidationCode.NULL, layout.check(null));
+        assertEquals(ValidationCode.BAD_LENGTH, layout.check(""));
+        assertEquals(ValidationCode.BAD_LENGTH, layout.check("CA12345ABC"));
+        assertEquals(ValidationCode.BAD_CHARSET, layout.check("CA1234XAB"));
+        assertEquals("DocumentLayout[@@#####@@]", layout.toString());
+    }
+
+    /**
+     * Tests that invalid layouts are rejected.
+     */
+    @Test
+    public void testInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> DocumentLayout.of(""));
+        assertThrows(IllegalArgumentException.class, () -> DocumentLayout.of("@é"));
+        assertThrows(NullPointerException.class, () -> DocumentLayout.of(null));
+    }
+}
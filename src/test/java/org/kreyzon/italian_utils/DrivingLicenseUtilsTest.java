@@ -0,0 +1,116 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for the DrivingLicenseUtils utility class.
+ * <p>
+ * This class provides unit tests to verify the validation of driving licence numbers in the card and
+ * legacy formats, the issuing provinces of legacy numbers, the reason codes of invalid numbers and the
+ * batch entry points.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-14
+ */
+public class DrivingLicenseUtilsTest {
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            java.lang.reflect.Constructor<DrivingLicenseUtils> constructor = DrivingLicenseUtils.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        });
+    }
+
+    /**
+     * Tests valid numbers in both formats and in either case.
+     */
+    @Test
+    public void testValidDrivingLicense() {
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("U15J73826X"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("U1AB12CD3E"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("u15j73826x"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("MI2512345X"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("rm0000001a"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense("FO1234567B"));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense(new StringBuilder("OT7654321Z")));
+    }
+
+    /**
+     * Tests the reason codes of invalid numbers.
+     */
+    @Test
+    public void testCheckDrivingLicense() {
+        assertEquals(ValidationCode.VALID, DrivingLicenseUtils.checkDrivingLicense("U15J73826X"));
+        assertEquals(ValidationCode.NULL, DrivingLicenseUtils.checkDrivingLicense(null));
+        assertEquals(ValidationCode.BAD_LENGTH, DrivingLicenseUtils.checkDrivingLicense(""));
+        assertEquals(ValidationCode.BAD_LENGTH, DrivingLicenseUtils.checkDrivingLicense("U15J73826"));
+        assertEquals(ValidationCode.BAD_LENGTH, DrivingLicenseUtils.checkDrivingLicense("MI2512345XY"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("U15J738261"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("U15J7-826X"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("U2AB12CD3E"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("MI25123X5X"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("M12512345X"));
+        assertEquals(ValidationCode.BAD_CHARSET, DrivingLicenseUtils.checkDrivingLicense("MI25123456"));
+        assertEquals(ValidationCode.BAD_OFFICE, DrivingLicenseUtils.checkDrivingLicense("XX2512345X"));
+        assertEquals(ValidationCode.BAD_OFFICE, DrivingLicenseUtils.checkDrivingLicense("UA2512345X"));
+        assertEquals(ValidationCode.BAD_OFFICE, DrivingLicenseUtils.checkDrivingLicense("zz2512345x"));
+    }
+
+    /**
+     * Tests the issuing province of legacy numbers.
+     */
+    @Test
+    public void testGetIssuingProvince() {
+        assertEquals("MI", DrivingLicenseUtils.getIssuingProvince("MI2512345X"));
+        assertEquals("RM", DrivingLicenseUtils.getIssuingProvince("rm0000001a"));
+        assertEquals("CI", DrivingLicenseUtils.getIssuingProvince("Ci1234567B"));
+        assertNull(DrivingLicenseUtils.getIssuingProvince("U15J73826X"));
+        assertNull(DrivingLicenseUtils.getIssuingProvince("XX2512345X"));
+        assertNull(DrivingLicenseUtils.getIssuingProvince(null));
+    }
+
+    /**
+     * Tests validation of numbers stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "U15J73826X;mi2512345x;XX2512345X".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense(bytes, 0, 10));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense(bytes, 11, 10));
+        assertFalse(DrivingLicenseUtils.isValidDrivingLicense(bytes, 22, 10));
+        assertTrue(DrivingLicenseUtils.isValidDrivingLicense(ByteBuffer.wrap(bytes), 11, 10));
+        assertFalse(DrivingLicenseUtils.isValidDrivingLicense(ByteBuffer.wrap(bytes), 0, bytes.length));
+    }
+
+    /**
+     * Tests that the batch entry points agree with the single-value validator.
+     */
+    @Test
+    public void testBatch() {
+        CharSequence[] in = {"U15J73826X", "MI2512345X", null, "", "XX2512345X", "U15J738261", "ps1234567q"};
+        boolean[] results = new boolean[in.length];
+        byte[] codes = new byte[in.length];
+        assertEquals(3, DrivingLicenseUtils.validateDrivingLicenses(in, results));
+        assertEquals(3, DrivingLicenseUtils.checkDrivingLicenses(in, codes));
+        BitSet bits = DrivingLicenseUtils.validateDrivingLicenses(in);
+        boolean[] parallel = new boolean[in.length];
+        assertEquals(3, DrivingLicenseUtils.validateDrivingLicenses(in, parallel, ForkJoinPool.commonPool()));
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(DrivingLicenseUtils.isValidDrivingLicense(in[i]), results[i]);
+            assertEquals(DrivingLicenseUtils.checkDrivingLicense(in[i]), ValidationCode.fromOrdinal(codes[i]));
+            assertEquals(results[i], bits.get(i));
+            assertEquals(results[i], parallel[i]);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test class for the DuplicateIndex class.
+ * <p>
+ * This class provides unit tests to verify that the index finds duplicates differing by typos,
+ * accents and particles, keeps apart people born in other years, ranks candidates and agrees with
+ * a brute-force search on synthetic records.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-17
+ */
+public class DuplicateIndexTest {
+
+    private static final LocalDate BIRTHDATE = LocalDate.of(1985, 12, 10);
+
+    /**
+     * Tests that variants of a person are candidates, found by phonetic key or by trigrams.
+     */
+    @Test
+    public void testFindsVariants() {
+        DuplicateIndex index = new DuplicateIndex();
+        int deLuca = index.add("Mario", "De Luca", BIRTHDATE);
+        int rossi = index.add("Niccolò", "Rossi", BIRTHDATE);
+        int bianchi = index.add("Giulia", "Bianchi", BIRTHDATE);
+        assertEquals(3, index.size());
+
+        assertCandidates(index, "Mario", "Deluca", BIRTHDATE, deLuca);
+        assertCandidates(index, "MARIO", "DE LUCA", BIRTHDATE.withMonth(1), deLuca);
+        assertCandidates(index, "Niccolo", "Rosi", BIRTHDATE, rossi);
+        // Different phonetic key, found by trigrams: "Bianchi" misspelled with a P
+        assertCandidates(index, "Giulia", "Pianchi", BIRTHDATE, bianchi);
+        // Same surname sound, any name
+        assertCandidates(index, "Anna", "Bianki", BIRTHDATE, bianchi);
+        assertCandidates(index, "Giovanni", "Verdi", BIRTHDATE);
+    }
+
+    /**
+     * Tests that records born in another year are not candidates.
+     */
+    @Test
+    public void testBlocksByBirthYear() {
+        DuplicateIndex index = new DuplicateIndex();
+        index.add("Mario", "Rossi", BIRTHDATE);
+        int other = index.add("Mario", "Rossi", BIRTHDATE.plusYears(1));
+        assertCandidates(index, "Mario", "Rossi", LocalDate.of(1986, 1, 1), other);
+        assertCandidates(index, "Mario", "Rossi", LocalDate.of(1990, 1, 1));
+    }
+
+    /**
+     * Tests that candidates come most similar first and that the count may exceed the array.
+     */
+    @Test
+    public void testRanking() {
+        DuplicateIndex index = new DuplicateIndex();
+        int maria = index.add("Maria", "Rossi", BIRTHDATE);
+        int exact = index.add("Mario", "Rossi", BIRTHDATE);
+        int typo = index.add("Mario", "Rosi", BIRTHDATE);
+        int[] ids = new int[3];
+        assertEquals(3, index.findCandidates("Mario", "Rossi", BIRTHDATE, ids));
+        assertArrayEquals(new int[] {exact, typo, maria}, ids);
+        int[] first = new int[1];
+        assertEquals(3, index.findCandidates("Mario", "Rossi", BIRTHDATE, first));
+        assertEquals(exact, first[0]);
+        assertEquals(3, index.findCandidates("Mario", "Rossi", BIRTHDATE, new int[0]));
+    }
+
+    /**
+     * Tests the similarity threshold and the argument checks.
+     */
+    @Test
+    public void testArguments() {
+        assertEquals(DuplicateIndex.DEFAULT_MIN_SIMILARITY, new DuplicateIndex().getMinSimilarity());
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateIndex(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateIndex(Double.NaN));
+
+        DuplicateIndex strict = new DuplicateIndex(1);
+        int bianchi = strict.add("Giulia", "Bianchi", BIRTHDATE);
+        assertCandidates(strict, "Giulia", "Bianchi", BIRTHDATE, bianchi);
+        assertCandidates(strict, "Giulia", "Pianchi", BIRTHDATE);
+
+        assertThrows(NullPointerException.class, () -> strict.add(null, "Rossi", BIRTHDATE));
+        assertThrows(NullPointerException.class, () -> strict.add("Mario", "Rossi", null));
+        assertThrows(NullPointerException.class, () -> strict.findCandidates("Mario", "Rossi", BIRTHDATE, null));
+        assertThrows(IllegalArgumentException.class, () -> strict.add("Mario", "Rossi", LocalDate.of(-1, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> strict.add("Mario", "Rossi", LocalDate.of(10000, 1, 1)));
+        assertEquals(1, strict.size());
+    }
+
+    /**
+     * Tests that the trigrams are distinct, sorted, and ignore case, accents and particles.
+     */
+    @Test
+    public void testTrigrams() {
+        int[] trigrams = DuplicateIndex.trigrams("Mario", "Rossi");
+        assertEquals(11, trigrams.length);
+        for (int i = 1; i < trigrams.length; i++) {
+            assertTrue(trigrams[i - 1] < trigrams[i]);
+        }
+        assertArrayEquals(DuplicateIndex.trigrams("Niccolo", "Deluca"), DuplicateIndex.trigrams("NICCOLÒ", "De Luca"));
+        assertEquals(1, DuplicateIndex.trigrams("", "").length);
+    }
+
+    /**
+     * Tests that the candidates agree with a brute-force search over synthetic records, with the
+     * same phonetic and similarity rules.
+     */
+    @Test
+    public void testAgreesWithBruteForce() {
+        int count = 2_000;
+        String[] names = new String[count];
+        String[] surnames = new String[count];
+        LocalDate[] birthdates = new LocalDate[count];
+        DuplicateIndex index = new DuplicateIndex(0.5);
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder().seed(11).invalidRate(0).build();
+        for (int i = 0; i < count; i++) {
+            SyntheticRecord record = generator.record(i);
+            names[i] = record.getName();
+            surnames[i] = i % 7 == 0 ? record.getSurname().substring(1) : record.getSurname();
+            birthdates[i] = LocalDate.parse(record.getBirthdate());
+            assertEquals(i, index.add(names[i], surnames[i], birthdates[i]));
+        }
+        int[] ids = new int[count];
+        for (int query = 0; query < count; query += 13) {
+            int found = index.findCandidates(names[query], surnames[query], birthdates[query], ids);
+            Set<Integer> actual = new HashSet<>();
+            for (int i = 0; i < found; i++) {
+                actual.add(ids[i]);
+            }
+            Set<Integer> expected = new HashSet<>();
+            int[] queryTrigrams = DuplicateIndex.trigrams(names[query], surnames[query]);
+            for (int i = 0; i < count; i++) {
+                if (birthdates[i].getYear() != birthdates[query].getYear()) {
+                    continue;
+                }
+                int[] trigrams = DuplicateIndex.trigrams(names[i], surnames[i]);
+                int shared = (int) Arrays.stream(trigrams).filter(t -> Arrays.binarySearch(queryTrigrams, t) >= 0).count();
+                boolean sameSound = AnagraficaUtils.getPhoneticKey(surnames[i]).equals(AnagraficaUtils.getPhoneticKey(surnames[query]));
+                if (sameSound || 2.0 * shared >= 0.5 * (trigrams.length + queryTrigrams.length)) {
+                    expected.add(i);
+                }
+            }
+            assertTrue(actual.contains(query));
+            assertEquals(expected, actual, "query " + query);
+        }
+    }
+
+    private static void assertCandidates(DuplicateIndex index, String name, String surname, LocalDate birthdate, int... expected) {
+        int[] ids = new int[16];
+        int found = index.findCandidates(name, surname, birthdate, ids);
+        int[] actual = Arrays.copyOf(ids, found);
+        Arrays.sort(actual);
+        assertArrayEquals(expected, actual, name + " " + surname);
+    }
+}
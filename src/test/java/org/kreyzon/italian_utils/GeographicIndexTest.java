@@ -0,0 +1,279 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+
+/**
+ * Test class for the GeographicIndex class.
+ * <p>
+ * This class provides unit tests to verify the province, comune and CAP lookups, the consistency
+ * checks between them, prefix autocompletion and the image format of {@link GeographicIndex}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-15
+ */
+public class GeographicIndexTest {
+
+    private static final String SAMPLE_PROVINCES = String.join("\n",
+            "# sample",
+            "TO;PIEMONTE",
+            "TN;TRENTINO_ALTO_ADIGE",
+            "",
+            "CS;CALABRIA");
+
+    private static final String SAMPLE_COMUNI = String.join("\n",
+            "# sample",
+            "I062;Samone;TO;10010",
+            "I063;Samone;TN;38059",
+            "C045;Cavour;TO;10061",
+            "M403;Corigliano-Rossano;CS;87064, 87067",
+            "L219;Torino;TO;10121-10156",
+            "B791;Carignano;TO;10041",
+            "E020;Giaveno;TO;10094",
+            "L327;Trana;TO;10090",
+            "H583;Rosta;TO;10090");
+
+    /**
+     * Tests that the sample image is the one built from the sample source lists, so they cannot drift apart.
+     * After editing {@code geographic-provinces.csv} or {@code geographic-comuni.csv}, regenerate
+     * {@code geographic.bin} with {@link GeographicIndex#write}.
+     */
+    @Test
+    public void testSampleImageIsUpToDate() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (InputStream provinces = GeographicIndexTest.class.getResourceAsStream("geographic-provinces.csv");
+             InputStream comuni = GeographicIndexTest.class.getResourceAsStream("geographic-comuni.csv")) {
+            assertNotNull(provinces, "Missing geographic-provinces.csv test resource");
+            assertNotNull(comuni, "Missing geographic-comuni.csv test resource");
+            GeographicIndex.write(new InputStreamReader(provinces, StandardCharsets.UTF_8),
+                    new InputStreamReader(comuni, StandardCharsets.UTF_8), expected);
+        }
+        try (InputStream image = GeographicIndex.class.getResourceAsStream("geographic.bin")) {
+            assertNotNull(image, "Missing geographic.bin test resource");
+            assertArrayEquals(expected.toByteArray(), image.readAllBytes(),
+                    "geographic.bin is out of date, regenerate it from the geographic CSV files");
+        }
+    }
+
+    /**
+     * Tests that every sample comune has the Belfiore code, name and province of the bundled Belfiore index.
+     */
+    @Test
+    public void testSampleComuniMatchBelfioreIndex() {
+        GeographicIndex index = sample();
+        BelfioreIndex belfiore = BelfioreIndex.bundled();
+        for (int row = 0; row < index.size(); row++) {
+            int code = belfiore.find(index.getCode(row));
+            assertTrue(code >= 0, index.getCode(row));
+            assertEquals(belfiore.getName(code), index.getName(row));
+            assertEquals(belfiore.getProvince(code), index.getProvince(row));
+            assertTrue(belfiore.isActive(code));
+        }
+    }
+
+    /**
+     * Tests the regions of provinces and comuni.
+     */
+    @Test
+    public void testRegions() {
+        GeographicIndex index = sample();
+        assertEquals(ItalianRegion.LAZIO, index.getRegion("RM"));
+        assertEquals(ItalianRegion.EMILIA_ROMAGNA, index.getRegion("fc"));
+        assertEquals(ItalianRegion.SARDEGNA, index.getRegion("SU"));
+        assertEquals(ItalianRegion.VALLE_D_AOSTA, index.getRegion("Ao"));
+        assertEquals("Valle d'Aosta", ItalianRegion.VALLE_D_AOSTA.getName());
+        assertNull(index.getRegion("XX"));
+        assertNull(index.getRegion("FO"));
+        assertNull(index.getRegion("R"));
+        assertNull(index.getRegion(null));
+        assertTrue(index.isProvince("bt"));
+        assertFalse(index.isProvince("B1"));
+        assertEquals(ItalianRegion.PUGLIA, index.getRegion(index.findComune("Trani")));
+    }
+
+    /**
+     * Tests lookups of comuni by name, ignoring case and accents.
+     */
+    @Test
+    public void testFindComune() {
+        GeographicIndex index = sample();
+        int roma = index.findComune("Roma");
+        assertEquals("Roma", index.getName(roma));
+        assertEquals("H501", index.getCode(roma));
+        assertEquals("RM", index.getProvince(roma));
+        assertEquals(roma, index.findComune("ROMA"));
+        assertEquals(roma, index.findComune("roma", "rm"));
+        assertEquals("Forlì", index.getName(index.findComune("forli")));
+        assertEquals("Forlì", index.getName(index.findComune("FORLÌ")));
+        assertEquals("Reggio nell'Emilia", index.getName(index.findComune("reggio nell’emilia")));
+        assertEquals(-1, index.findComune("Rom"));
+        assertEquals(-1, index.findComune("Romae"));
+        assertEquals(-1, index.findComune("Roma", "MI"));
+        assertEquals(-1, index.findComune("Roma", "R"));
+        assertEquals(-1, index.findComune(null));
+        assertEquals(-1, index.findComune("", "RM"));
+    }
+
+    /**
+     * Tests the consistency checks between CAP, province and comune.
+     */
+    @Test
+    public void testCheckAddress() {
+        GeographicIndex index = sample();
+        assertEquals(ValidationCode.VALID, index.checkAddress("00118", "RM", "Roma"));
+        assertEquals(ValidationCode.VALID, index.checkAddress("00199", "rm", "ROMA"));
+        assertEquals(ValidationCode.VALID, index.checkAddress("20121", "MI", "Milano"));
+        assertEquals(ValidationCode.VALID, index.checkAddress("87067", "CS", "Corigliano-Rossano"));
+        assertEquals(ValidationCode.VALID, index.checkAddress("47121", "FC", "Forli"));
+        assertTrue(index.isConsistent("09121", "CA", "Cagliari"));
+
+        assertEquals(ValidationCode.NULL, index.checkAddress(null, "RM", "Roma"));
+        assertEquals(ValidationCode.NULL, index.checkAddress("00118", null, "Roma"));
+        assertEquals(ValidationCode.NULL, index.checkAddress("00118", "RM", null));
+        assertEquals(ValidationCode.BAD_LENGTH, index.checkAddress("0011", "RM", "Roma"));
+        assertEquals(ValidationCode.BAD_CHARSET, index.checkAddress("0011A", "RM", "Roma"));
+        assertEquals(ValidationCode.BAD_OFFICE, index.checkAddress("00118", "XX", "Roma"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("00117", "RM", "Roma"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("20121", "RM", "Roma"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("00118", "MI", "Roma"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("87065", "CS", "Corigliano-Rossano"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("00118", "RM", "Rome"));
+        assertFalse(index.isConsistent("00118", "RM", "Milano"));
+    }
+
+    /**
+     * Tests lookups of the comuni served by a CAP.
+     */
+    @Test
+    public void testFindComuni() {
+        GeographicIndex index = sample();
+        int[] rows = new int[4];
+        assertEquals(1, index.findComuni("00150", rows));
+        assertEquals("Roma", index.getName(rows[0]));
+        assertEquals(1, index.findComuni("61029", rows));
+        assertEquals("Urbino", index.getName(rows[0]));
+        assertEquals(0, index.findComuni("00117", rows));
+        assertEquals(0, index.findComuni("00000", rows));
+        assertEquals(0, index.findComuni("99999", rows));
+        assertEquals(0, index.findComuni("0015", rows));
+        assertEquals(0, index.findComuni(null, rows));
+        assertThrows(NullPointerException.class, () -> index.findComuni("00150", null));
+    }
+
+    /**
+     * Tests prefix autocompletion on comune names.
+     */
+    @Test
+    public void testComplete() {
+        GeographicIndex index = sample();
+        int[] rows = new int[8];
+        int count = index.complete("reg", rows);
+        assertEquals(2, count);
+        assertEquals("Reggio di Calabria", index.getName(rows[0]));
+        assertEquals("Reggio nell'Emilia", index.getName(rows[1]));
+
+        assertEquals(1, index.complete("FORLÌ", rows));
+        assertEquals("Forlì", index.getName(rows[0]));
+        assertEquals(0, index.complete("Xyz", rows));
+        assertEquals(0, index.complete(null, rows));
+        assertEquals(index.size(), index.complete("", new int[0]));
+
+        count = index.complete("t", rows);
+        assertTrue(count > 1);
+        String previous = "";
+        for (int i = 0; i < Math.min(count, rows.length); i++) {
+            String name = index.getName(rows[i]);
+            assertTrue(name.startsWith("T"), name);
+            assertTrue(name.compareTo(previous) > 0, name);
+            previous = name;
+        }
+    }
+
+    /**
+     * Tests an index built from a sample list: homonymous comuni, shared CAPs and a memory-mapped image.
+     */
+    @Test
+    public void testWriteAndLoad(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("sample.bin");
+        try (var out = Files.newOutputStream(file)) {
+            GeographicIndex.write(new StringReader(SAMPLE_PROVINCES), new StringReader(SAMPLE_COMUNI), out);
+        }
+        GeographicIndex index = GeographicIndex.load(file);
+        assertEquals(9, index.size());
+        assertEquals(Files.size(file), index.memoryFootprint());
+
+        assertEquals("TN", index.getProvince(index.findComune("Samone")));
+        assertEquals("TO", index.getProvince(index.findComune("Samone", "TO")));
+        assertEquals(ItalianRegion.TRENTINO_ALTO_ADIGE, index.getRegion(index.findComune("Samone", "TN")));
+        assertEquals(ValidationCode.VALID, index.checkAddress("38059", "TN", "Samone"));
+        assertEquals(ValidationCode.VALID, index.checkAddress("10010", "TO", "Samone"));
+        assertEquals(ValidationCode.MISMATCH, index.checkAddress("10010", "TN", "Samone"));
+
+        int[] rows = new int[1];
+        assertEquals(2, index.findComuni("10090", rows));
+        assertTrue(Arrays.asList("Trana", "Rosta").contains(index.getName(rows[0])));
+        rows = new int[4];
+        assertEquals(2, index.findComuni("10090", rows));
+        assertEquals(1, index.findComuni("10121", rows));
+        assertEquals("Torino", index.getName(rows[0]));
+        assertEquals(1, index.findComuni("10041", rows));
+        assertEquals("Carignano", index.getName(rows[0]));
+
+        assertEquals(2, index.complete("ca", rows));
+        assertEquals("Carignano", index.getName(rows[0]));
+        assertEquals("Cavour", index.getName(rows[1]));
+        assertEquals(1, index.complete("corigliano-", rows));
+        assertEquals("Corigliano-Rossano", index.getName(rows[0]));
+    }
+
+    /**
+     * Tests that malformed source lines and images are rejected.
+     */
+    @Test
+    public void testMalformedInput(@TempDir Path directory) throws IOException {
+        assertMalformed("RM;LAZIO", "1501;Roma;RM;00118");
+        assertMalformed("RM;LAZIO", "H501;;RM;00118");
+        assertMalformed("RM;LAZIO", "H501;Roma;MI;00118");
+        assertMalformed("RM;LAZIO", "H501;Roma;RM;0011");
+        assertMalformed("RM;LAZIO", "H501;Roma;RM;00199-00118");
+        assertMalformed("RM;LAZIO", "H501;Roma;RM");
+        assertMalformed("RM;LAZIO", "H501;Roma;RM;00118\nH502;ROMA;RM;00119");
+        assertMalformed("RM;LATIUM", "H501;Roma;RM;00118");
+        assertMalformed("rm;LAZIO", "H501;Roma;RM;00118");
+        assertMalformed("RM;LAZIO\nRM;LAZIO", "H501;Roma;RM;00118");
+
+        Path file = directory.resolve("belfiore.bin");
+        try (InputStream image = BelfioreIndex.class.getResourceAsStream("belfiore.bin")) {
+            Files.write(file, image.readAllBytes());
+        }
+        assertThrows(IOException.class, () -> GeographicIndex.load(file));
+    }
+
+    private static void assertMalformed(String provinces, String comuni) {
+        assertThrows(IllegalArgumentException.class, () -> GeographicIndex.write(new StringReader(provinces),
+                new StringReader(comuni), new ByteArrayOutputStream()), comuni);
+    }
+
+    /**
+     * Memory-maps the sample image, built from the provincial capitals in the test resources.
+     */
+    private static GeographicIndex sample() {
+        try {
+            return GeographicIndex.load(Path.of(GeographicIndexTest.class.getResource("geographic.bin").toURI()));
+        } catch (IOException | URISyntaxException e) {
+            throw new AssertionError("Cannot load the sample geographic index", e);
+        }
+    }
+}
@@ -2,7 +2,13 @@ package org.kreyzon.italian_utils;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Test class for the HealthInsuranceCardUtils utility class.
@@ -79,6 +85,19 @@ public class HealthInsuranceCardUtilsTest {
                 "Expected the card to be invalid with a past expiration date.");
     }
 
+    /**
+     * Tests the expiration check against a fixed clock and a reference date: a card is no longer valid on its expiration date.
+     */
+    @Test
+    public void testCardValidOnReferenceDate() {
+        LocalDate expirationDate = LocalDate.of(2025, 6, 30);
+        Clock clock = Clock.fixed(Instant.parse("2025-06-29T12:00:00Z"), ZoneOffset.UTC);
+        assertTrue(HealthInsuranceCardUtils.isCardCurrentlyValid(expirationDate, clock));
+        assertTrue(HealthInsuranceCardUtils.isCardValidOn(expirationDate, LocalDate.of(2025, 6, 29)));
+        assertFalse(HealthInsuranceCardUtils.isCardValidOn(expirationDate, LocalDate.of(2025, 6, 30)));
+        assertFalse(HealthInsuranceCardUtils.isCardValidOn(null, LocalDate.of(2025, 6, 29)));
+    }
+
     /**
      * Tests the comprehensive validation of a valid Health Insurance Card.
      */
@@ -111,4 +130,121 @@ public class HealthInsuranceCardUtilsTest {
         assertFalse(HealthInsuranceCardUtils.isValidHealthInsuranceCard(validSerial, pastDate),
                 "Expected the Health Insurance Card to be invalid due to expiration date.");
     }
+
+    /**
+     * Tests that the batch validation of Health Insurance Card serial numbers matches the single-value validation.
+     */
+    @Test
+    public void testBatchValidationMatchesSingleValue() {
+        CharSequence[] in = {"00123456789012345678", "AB12345678901234567", null, "", new StringBuilder("80380000500012345678"), "8038000050001234567A", "\u0668\u0660380000500012345678"};
+        boolean[] out = new boolean[in.length];
+        int validCount = HealthInsuranceCardUtils.validateHICSerials(in, out);
+
+        int expectedCount = 0;
+        for (int i = 0; i < in.length; i++) {
+            boolean expected = HealthInsuranceCardUtils.isValidHICSerial(in[i] == null ? null : in[i].toString());
+            assertEquals(expected, out[i], "Unexpected batch result for " + in[i]);
+            assertEquals(expected, HealthInsuranceCardUtils.validateHICSerials(in).get(i), "Unexpected bit set result for " + in[i]);
+            expectedCount += expected ? 1 : 0;
+        }
+        assertEquals(expectedCount, validCount);
+    }
+
+    /**
+     * Tests that a large batch split over a fork/join pool gives the same results as the sequential batch.
+     */
+    @Test
+    public void testParallelBatchValidation() {
+        CharSequence[] sample = {"00123456789012345678", "AB12345678901234567", null, "", new StringBuilder("80380000500012345678"), "8038000050001234567A", "\u0668\u0660380000500012345678"};
+        CharSequence[] in = new CharSequence[50_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = sample[i % sample.length];
+        }
+        boolean[] sequential = new boolean[in.length];
+        boolean[] parallel = new boolean[in.length];
+        int sequentialCount = HealthInsuranceCardUtils.validateHICSerials(in, sequential);
+        int parallelCount = HealthInsuranceCardUtils.validateHICSerials(in, parallel, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sequential, parallel);
+        assertEquals(sequentialCount, parallelCount);
+    }
+
+    /**
+     * Tests that an output array shorter than the input array is rejected.
+     */
+    @Test
+    public void testBatchValidationShortOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> HealthInsuranceCardUtils.validateHICSerials(new CharSequence[2], new boolean[1]));
+    }
+
+    /**
+     * Tests the reason codes returned by the Health Insurance Card checks, and that they agree with the validator.
+     */
+    @Test
+    public void testCheckHealthInsuranceCard() {
+        LocalDate referenceDate = LocalDate.of(2024, 12, 2);
+        assertEquals(ValidationCode.VALID,
+                HealthInsuranceCardUtils.checkHealthInsuranceCard("80380000500012345678", referenceDate.plusDays(1), referenceDate));
+        assertEquals(ValidationCode.EXPIRED,
+                HealthInsuranceCardUtils.checkHealthInsuranceCard("80380000500012345678", referenceDate, referenceDate));
+        assertEquals(ValidationCode.NULL,
+                HealthInsuranceCardUtils.checkHealthInsuranceCard("80380000500012345678", null, referenceDate));
+        assertEquals(ValidationCode.BAD_LENGTH,
+                HealthInsuranceCardUtils.checkHealthInsuranceCard("8038000050001234567", referenceDate, referenceDate));
+
+        CharSequence[] in = {"80380000500012345678", null, "", "8038000050001234567", "8038000050001234567X",
+                "803800005000123456789", new StringBuilder("00000000000000000000")};
+        byte[] out = new byte[in.length];
+        int valid = HealthInsuranceCardUtils.checkHICSerials(in, out);
+        int expected = 0;
+        for (int i = 0; i < in.length; i++) {
+            ValidationCode code = ValidationCode.fromOrdinal(out[i]);
+            assertEquals(HealthInsuranceCardUtils.checkHICSerial(in[i]), code);
+            assertEquals(HealthInsuranceCardUtils.isValidHICSerial(in[i]), code.isValid());
+            expected += code.isValid() ? 1 : 0;
+        }
+        assertEquals(expected, valid);
+        assertEquals(ValidationCode.BAD_CHARSET, HealthInsuranceCardUtils.checkHICSerial("8038000050001234567X"));
+    }
+
+    /**
+     * Tests validation of Health Insurance Card serial numbers stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "80380000500012345678;8038000050001234567X".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(HealthInsuranceCardUtils.isValidHICSerial(bytes, 0, 20));
+        assertFalse(HealthInsuranceCardUtils.isValidHICSerial(bytes, 21, 20));
+        assertTrue(HealthInsuranceCardUtils.isValidHICSerial(ByteBuffer.wrap(bytes), 0, 20));
+        assertFalse(HealthInsuranceCardUtils.isValidHICSerial(ByteBuffer.wrap(bytes), 1, 20));
+    }
+
+    /**
+     * Tests packing Health Insurance Card serial numbers into two longs: round trips and ordering.
+     */
+    @Test
+    public void testPackHICSerial() {
+        long[] packed = new long[4];
+        assertTrue(HealthInsuranceCardUtils.packHICSerial("80380000500012345678", packed, 0));
+        assertEquals(80, packed[0]);
+        assertEquals(380000500012345678L, packed[1]);
+        assertEquals("80380000500012345678", HealthInsuranceCardUtils.unpackHICSerial(packed[0], packed[1]));
+        assertTrue(HealthInsuranceCardUtils.packHICSerial("99999999999999999999", packed, 2));
+        assertEquals("99999999999999999999", HealthInsuranceCardUtils.unpackHICSerial(packed[2], packed[3]));
+        assertTrue(packed[0] < packed[2]);
+
+        assertFalse(HealthInsuranceCardUtils.packHICSerial("8038000050001234567X", packed, 0));
+        assertEquals(80, packed[0]);
+        assertFalse(HealthInsuranceCardUtils.packHICSerial(null, packed, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> HealthInsuranceCardUtils.packHICSerial("80380000500012345678", packed, 3));
+
+        char[] out = new char[20];
+        assertEquals(20, HealthInsuranceCardUtils.unpackHICSerial(0, 12, out, 0));
+        assertEquals("00000000000000000012", new String(out));
+        assertThrows(IllegalArgumentException.class, () -> HealthInsuranceCardUtils.unpackHICSerial(100, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> HealthInsuranceCardUtils.unpackHICSerial(0, 1_000_000_000_000_000_000L));
+    }
 }
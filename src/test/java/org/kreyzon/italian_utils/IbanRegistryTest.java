@@ -0,0 +1,108 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the IbanRegistry class.
+ * <p>
+ * This class provides unit tests to verify the per-country IBAN lengths and BBAN layouts
+ * stored in {@link IbanRegistry}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-11-22
+ */
+public class IbanRegistryTest {
+
+    // Example IBANs published in the SWIFT IBAN registry
+    private static final String[] REGISTRY_EXAMPLES = {
+            "AD1200012030200359100100", "AE070331234567890123456", "AL47212110090000000235698741",
+            "AT611904300234573201", "AZ21NABZ00000000137010001944", "BA391290079401028494",
+            "BE68539007547034", "BG80BNBG96611020345678", "BH67BMAG00001299123456",
+            "BR1800360305000010009795493C1", "BY13NBRB3600900000002Z00AB00", "CH9300762011623852957",
+            "CR05015202001026284066", "CY17002001280000001200527600", "CZ6508000000192000145399",
+            "DE89370400440532013000", "DK5000400440116243", "DO28BAGR00000001212453611324",
+            "EE382200221020145685", "EG380019000500000000263180002", "ES9121000418450200051332",
+            "FI2112345600000785", "FO6264600001631634", "FR1420041010050500013M02606",
+            "GB29NWBK60161331926819", "GE29NB0000000101904917", "GI75NWBK000000007099453",
+            "GL8964710001000206", "GR1601101250000000012300695", "GT82TRAJ01020000001210029690",
+            "HR1210010051863000160", "HU42117730161111101800000000", "IE29AIBK93115212345678",
+            "IL620108000000099999999", "IQ98NBIQ850123456789012", "IS140159260076545510730339",
+            "IT60X0542811101000000123456", "JO94CBJO0010000000000131000302", "KW81CBKU0000000000001234560101",
+            "KZ86125KZT5004100100", "LB62099900000001001901229114", "LC55HEMM000100010012001200023015",
+            "LI21088100002324013AA", "LT121000011101001000", "LU280019400644750000",
+            "LV80BANK0000435195001", "MC5811222000010123456789030", "MD24AG000225100013104168",
+            "ME25505000012345678951", "MK07250120000058984", "MR1300020001010000123456753",
+            "MT84MALT011000012345MTLCAST001S", "MU17BOMM0101101030300200000MUR", "NL91ABNA0417164300",
+            "NO9386011117947", "PK36SCBL0000001123456702", "PL61109010140000071219812874",
+            "PT50000201231234567890154", "QA58DOHB00001234567890ABCDEFG",
+            "RO49AAAA1B31007593840000", "RS35260005601001611379", "SA0380000000608010167519",
+            "SC18SSCB11010000000000001497USD", "SE4550000000058398257466", "SI56263300012039086",
+            "SK3112000000198742637541", "SM86U0322509800000000270100", "ST68000100010051845310112",
+            "SV62CENR00000000000000700025", "TL380080012345678910157", "TN5910006035183598478831",
+            "TR330006100519786457841326", "UA213223130000026007233566001", "VA59001123000012345678",
+            "VG96VPVG0000012345678901", "XK051212012345678906"
+    };
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            // Use reflection to access the private constructor
+            java.lang.reflect.Constructor<IbanRegistry> constructor = IbanRegistry.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        }, "Expected IllegalStateException to be thrown when instantiating IbanRegistry");
+    }
+
+    /**
+     * Tests that every registry example matches its country layout and passes the checksum.
+     */
+    @Test
+    public void testRegistryExamples() {
+        for (String iban : REGISTRY_EXAMPLES) {
+            assertTrue(IbanRegistry.matches(iban), "Expected the IBAN to match its country layout: " + iban);
+            assertTrue(BankingUtils.isValidIBAN(iban), "Expected the IBAN to be valid: " + iban);
+        }
+    }
+
+    /**
+     * Tests that IBANs one character too short or too long for their country are rejected.
+     */
+    @Test
+    public void testWrongLength() {
+        for (String iban : REGISTRY_EXAMPLES) {
+            assertFalse(IbanRegistry.matches(iban.substring(0, iban.length() - 1)), "Expected a short IBAN to be rejected: " + iban);
+            assertFalse(IbanRegistry.matches(iban + "0"), "Expected a long IBAN to be rejected: " + iban);
+        }
+    }
+
+    /**
+     * Tests that the BBAN character classes are enforced.
+     */
+    @Test
+    public void testBbanLayout() {
+        assertFalse(IbanRegistry.matches("IT6010542811101000000123456"), "Expected a digit CIN to be rejected.");
+        assertFalse(IbanRegistry.matches("IT60X054281110100000012345a"), "Expected a lowercase account character to be rejected.");
+        assertFalse(IbanRegistry.matches("DE8937040044053201300A"), "Expected a letter in a German BBAN to be rejected.");
+        assertFalse(IbanRegistry.matches("GB29NWB160161331926819"), "Expected a digit in a British bank code to be rejected.");
+        assertFalse(IbanRegistry.matches("ITX0X0542811101000000123456"), "Expected non-digit check digits to be rejected.");
+    }
+
+    /**
+     * Tests that unknown countries and malformed country codes are rejected.
+     */
+    @Test
+    public void testUnknownCountry() {
+        assertFalse(IbanRegistry.matches("US60X0542811101000000123456"));
+        assertFalse(IbanRegistry.matches("it60X0542811101000000123456"));
+        assertFalse(IbanRegistry.matches(null));
+        assertFalse(IbanRegistry.matches("IT6"));
+        assertEquals(-1, IbanRegistry.countryIndex('I', 't'));
+        assertEquals(0, IbanRegistry.length(IbanRegistry.countryIndex('U', 'S')));
+        assertEquals(27, IbanRegistry.length(IbanRegistry.countryIndex('I', 'T')));
+    }
+}
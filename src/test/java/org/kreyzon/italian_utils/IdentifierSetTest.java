@@ -0,0 +1,124 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for the IdentifierSet class.
+ * <p>
+ * This class provides unit tests to verify membership for each identifier type, the screening
+ * stage added to the validators, and building, writing and memory-mapping set images.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+public class IdentifierSetTest {
+
+    /**
+     * Tests that Partita IVA membership is exact, with or without the IT prefix.
+     */
+    @Test
+    public void testPartitaIVAMembership() {
+        List<String> ceased = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ceased.add(PartitaIVAUtils.generatePartitaIVA(1 + i % 100, i * 3));
+        }
+        IdentifierSet set = IdentifierSet.of(IdentifierType.PARTITA_IVA, ceased);
+        assertEquals(IdentifierType.PARTITA_IVA, set.getType());
+        assertEquals(10_000, set.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(ceased.get(i)));
+            assertFalse(set.contains(PartitaIVAUtils.generatePartitaIVA(1 + i % 100, i * 3 + 1)));
+        }
+        assertTrue(set.contains("IT" + ceased.get(0)));
+        assertTrue(set.contains("it" + ceased.get(0)));
+        assertFalse(set.contains("DE" + ceased.get(0)));
+        assertFalse(set.contains(ceased.get(0).substring(1)));
+        assertFalse(set.contains("0012345006A"));
+        assertFalse(set.contains(null));
+        assertTrue(set.memoryFootprint() < 10_000 * 16 + 64);
+    }
+
+    /**
+     * Tests that hashed IBAN and Codice Fiscale keys ignore case and spaces.
+     */
+    @Test
+    public void testHashedMembership() {
+        IdentifierSet ibans = IdentifierSet.of(IdentifierType.IBAN,
+                List.of("IT60X0542811101000000123456", "DE89 3704 0044 0532 0130 00"));
+        assertTrue(ibans.contains("IT60X0542811101000000123456"));
+        assertTrue(ibans.contains("it60 x054 2811 1010 0000 0123 456"));
+        assertTrue(ibans.contains(new StringBuilder("DE89370400440532013000")));
+        assertFalse(ibans.contains("IT60X0542811101000000123450"));
+        assertFalse(ibans.contains("GB82WEST12345698765432"));
+
+        IdentifierSet codiciFiscali = IdentifierSet.of(IdentifierType.CODICE_FISCALE, List.of("RSSMRA85T10A562S"));
+        assertTrue(codiciFiscali.contains("rssmra85t10a562s"));
+        assertFalse(codiciFiscali.contains("RSSMRA85T10A56NH"));
+    }
+
+    /**
+     * Tests the screening stage: invalid identifiers keep their code, valid listed ones are LISTED.
+     */
+    @Test
+    public void testCheck() {
+        IdentifierSet set = IdentifierSet.of(IdentifierType.PARTITA_IVA, List.of("00123450066", "00123450067"));
+        assertEquals(ValidationCode.LISTED, set.check("00123450066"));
+        assertEquals(ValidationCode.LISTED, set.check("IT00123450066"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, set.check("00123450067"));
+        assertEquals(ValidationCode.VALID, set.check(PartitaIVAUtils.generatePartitaIVA(1, 42)));
+        assertEquals(ValidationCode.NULL, set.check(null));
+
+        IdentifierSet fraud = IdentifierSet.of(IdentifierType.IBAN, List.of("IT60X0542811101000000123456"));
+        assertEquals(ValidationCode.LISTED, fraud.check("IT60X0542811101000000123456"));
+        assertEquals(ValidationCode.VALID, fraud.check("GB82WEST12345698765432"));
+        IdentifierSet persons = IdentifierSet.of(IdentifierType.CODICE_FISCALE, List.of("RSSMRA85T10A562S"));
+        assertEquals(ValidationCode.LISTED, persons.check("RSSMRA85T10A562S"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, persons.check("RSSMRA85T10A562T"));
+    }
+
+    /**
+     * Tests writing an image from a list, memory-mapping it back, and the checks on malformed lists and images.
+     */
+    @Test
+    public void testWriteAndLoad(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("ceased.bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            IdentifierSet.write(IdentifierType.PARTITA_IVA,
+                    new StringReader("# ceased companies\n00123450066\n\n  IT07759910016 \n00123450066\n"), out);
+        }
+        IdentifierSet set = IdentifierSet.load(file);
+        assertEquals(2, set.size());
+        assertEquals(Files.size(file), set.memoryFootprint());
+        assertTrue(set.contains("00123450066"));
+        assertTrue(set.contains("07759910016"));
+        assertFalse(set.contains("12345670124"));
+        assertEquals("IdentifierSet[type=PARTITA_IVA, size=2, bytes=" + Files.size(file) + "]", set.toString());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> IdentifierSet.write(
+                IdentifierType.PARTITA_IVA, new StringReader("00123450066\n0012345006A\n"), OutputStream.nullOutputStream()));
+        assertTrue(e.getMessage().startsWith("Line 2"));
+
+        Path empty = directory.resolve("empty.bin");
+        try (OutputStream out = Files.newOutputStream(empty)) {
+            IdentifierSet.write(IdentifierType.IBAN, new StringReader(""), out);
+        }
+        assertEquals(0, IdentifierSet.load(empty).size());
+        assertFalse(IdentifierSet.load(empty).contains("IT60X0542811101000000123456"));
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(file), (int) Files.size(file) - 8));
+        assertThrows(IOException.class, () -> IdentifierSet.load(truncated));
+        assertThrows(IOException.class, () -> IdentifierSet.load(directory.resolve("missing.bin")));
+    }
+}
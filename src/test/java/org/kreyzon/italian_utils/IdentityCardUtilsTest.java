@@ -2,7 +2,10 @@ package org.kreyzon.italian_utils;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Test class for the IdentityCardUtils utility class.
@@ -85,4 +88,139 @@ public class IdentityCardUtilsTest {
         assertFalse(IdentityCardUtils.isValidCIE(SERIAL_NUMBER_ONE, LocalDate.of(2022, 1, 1), null),
                 "Expected the CIE to be invalid due to null expiration date.");
     }
+
+    /**
+     * Tests that the batch validation of CIE serial numbers matches the single-value validation.
+     */
+    @Test
+    public void testBatchValidationMatchesSingleValue() {
+        CharSequence[] in = {"AB12345CD", "ab12345cd", "A123456CD", null, "", new StringBuilder("CA00000ZZ"), "AB12345C\u0131", "AB12345C1"};
+        boolean[] out = new boolean[in.length];
+        int validCount = IdentityCardUtils.validateCIESerials(in, out);
+
+        int expectedCount = 0;
+        for (int i = 0; i < in.length; i++) {
+            boolean expected = IdentityCardUtils.isValidCIESerial(in[i] == null ? null : in[i].toString());
+            assertEquals(expected, out[i], "Unexpected batch result for " + in[i]);
+            assertEquals(expected, IdentityCardUtils.validateCIESerials(in).get(i), "Unexpected bit set result for " + in[i]);
+            expectedCount += expected ? 1 : 0;
+        }
+        assertEquals(expectedCount, validCount);
+    }
+
+    /**
+     * Tests that a large batch split over a fork/join pool gives the same results as the sequential batch.
+     */
+    @Test
+    public void testParallelBatchValidation() {
+        CharSequence[] sample = {"AB12345CD", "ab12345cd", "A123456CD", null, "", new StringBuilder("CA00000ZZ"), "AB12345C\u0131", "AB12345C1"};
+        CharSequence[] in = new CharSequence[50_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = sample[i % sample.length];
+        }
+        boolean[] sequential = new boolean[in.length];
+        boolean[] parallel = new boolean[in.length];
+        int sequentialCount = IdentityCardUtils.validateCIESerials(in, sequential);
+        int parallelCount = IdentityCardUtils.validateCIESerials(in, parallel, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sequential, parallel);
+        assertEquals(sequentialCount, parallelCount);
+    }
+
+    /**
+     * Tests that an output array shorter than the input array is rejected.
+     */
+    @Test
+    public void testBatchValidationShortOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> IdentityCardUtils.validateCIESerials(new CharSequence[2], new boolean[1]));
+    }
+
+    /**
+     * Tests the reason codes returned by the CIE checks.
+     */
+    @Test
+    public void testCheckCIE() {
+        LocalDate issue = LocalDate.of(2020, 1, 1);
+        LocalDate expiration = LocalDate.of(2030, 1, 1);
+        assertEquals(ValidationCode.VALID, IdentityCardUtils.checkCIE("CA12345AB", issue, expiration));
+        assertEquals(ValidationCode.NULL, IdentityCardUtils.checkCIE(null, issue, expiration));
+        assertEquals(ValidationCode.BAD_LENGTH, IdentityCardUtils.checkCIE("CA1234AB", issue, expiration));
+        assertEquals(ValidationCode.BAD_CHARSET, IdentityCardUtils.checkCIE("CA1234XAB", issue, expiration));
+        assertEquals(ValidationCode.NULL, IdentityCardUtils.checkCIE("CA12345AB", null, expiration));
+        assertEquals(ValidationCode.INVERTED_DATES, IdentityCardUtils.checkCIE("CA12345AB", expiration, issue));
+        assertEquals(ValidationCode.INVERTED_DATES, IdentityCardUtils.checkCIE("CA12345AB", issue, issue));
+
+        assertEquals(ValidationCode.VALID,
+                IdentityCardUtils.checkCIE("CA12345AB", issue, expiration, LocalDate.of(2029, 12, 31)));
+        assertEquals(ValidationCode.EXPIRED,
+                IdentityCardUtils.checkCIE("CA12345AB", issue, expiration, LocalDate.of(2030, 1, 1)));
+        assertEquals(ValidationCode.INVERTED_DATES,
+                IdentityCardUtils.checkCIE("CA12345AB", expiration, issue, LocalDate.of(2040, 1, 1)));
+        assertEquals(ValidationCode.NULL, IdentityCardUtils.checkCIE("CA12345AB", issue, expiration, null));
+        assertEquals(ValidationCode.BAD_CHARSET, IdentityCardUtils.checkCIE("CA1234XAB", issue, expiration, null));
+    }
+
+    /**
+     * Tests that the serial number checks agree with the validator, including non-ASCII characters, which
+     * are accepted as letters only when their uppercase form is a single ASCII letter.
+     */
+    @Test
+    public void testCheckCIESerialMatchesValidation() {
+        CharSequence[] in = {"CA12345AB", "ca12345ab", null, "", "CA1234AB", "CA1234XAB", "ÇA12345AB", "ﬀ12345AB",
+                "ıA12345AB", "CA12345ABC", new StringBuilder("ZZ00000ZZ")};
+        byte[] out = new byte[in.length];
+        int valid = IdentityCardUtils.checkCIESerials(in, out);
+        int expected = 0;
+        for (int i = 0; i < in.length; i++) {
+            ValidationCode code = ValidationCode.fromOrdinal(out[i]);
+            assertEquals(IdentityCardUtils.checkCIESerial(in[i]), code);
+            assertEquals(IdentityCardUtils.isValidCIESerial(in[i]), code.isValid());
+            expected += code.isValid() ? 1 : 0;
+        }
+        assertEquals(expected, valid);
+        assertEquals(ValidationCode.BAD_LENGTH, IdentityCardUtils.checkCIESerial("ﬀ12345AB"));
+        assertEquals(ValidationCode.BAD_CHARSET, IdentityCardUtils.checkCIESerial("ÇA12345AB"));
+        assertEquals(ValidationCode.VALID, IdentityCardUtils.checkCIESerial("ıA12345AB"));
+        assertEquals(IdentityCardUtils.packCIESerial("IA12345AB"), IdentityCardUtils.packCIESerial("ıA12345AB"));
+    }
+
+    /**
+     * Tests validation of CIE serial numbers stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "CA12345AB;ca12345ab;CA1234XAB".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(IdentityCardUtils.isValidCIESerial(bytes, 0, 9));
+        assertTrue(IdentityCardUtils.isValidCIESerial(bytes, 10, 9));
+        assertFalse(IdentityCardUtils.isValidCIESerial(bytes, 20, 9));
+        assertTrue(IdentityCardUtils.isValidCIESerial(ByteBuffer.wrap(bytes), 10, 9));
+        assertFalse(IdentityCardUtils.isValidCIESerial(ByteBuffer.wrap(bytes), 0, bytes.length));
+    }
+
+    /**
+     * Tests packing CIE serial numbers into longs: round trips, validation on packing and ordering.
+     */
+    @Test
+    public void testPackCIESerial() {
+        assertEquals(0, IdentityCardUtils.packCIESerial("AA00000AA"));
+        long packed = IdentityCardUtils.packCIESerial("CA12345AB");
+        assertEquals(packed, IdentityCardUtils.packCIESerial("ca12345ab"));
+        assertEquals("CA12345AB", IdentityCardUtils.unpackCIESerial(packed));
+        assertEquals("ZZ99999ZZ", IdentityCardUtils.unpackCIESerial(IdentityCardUtils.packCIESerial("ZZ99999ZZ")));
+        assertEquals(-1, IdentityCardUtils.packCIESerial("CA1234XAB"));
+        assertEquals(-1, IdentityCardUtils.packCIESerial(null));
+
+        String[] ordered = {"AA00000AB", "AA00001AA", "AB00000AA", "CA12345AB", "CA12345BA", "CB00000AA", "ZZ99999ZZ"};
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(IdentityCardUtils.packCIESerial(ordered[i - 1]) < IdentityCardUtils.packCIESerial(ordered[i]), ordered[i]);
+        }
+
+        char[] out = new char[9];
+        assertEquals(9, IdentityCardUtils.unpackCIESerial(packed, out, 0));
+        assertEquals("CA12345AB", new String(out));
+        assertThrows(IllegalArgumentException.class, () -> IdentityCardUtils.unpackCIESerial(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> IdentityCardUtils.unpackCIESerial(IdentityCardUtils.packCIESerial("ZZ99999ZZ") + 1));
+    }
 }
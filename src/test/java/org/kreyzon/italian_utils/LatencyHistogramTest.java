@@ -0,0 +1,87 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for the LatencyHistogram class.
+ * <p>
+ * This class provides unit tests to verify the bucket layout, the precision of percentiles, the
+ * exact count, mean and maximum, and resetting.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that buckets are contiguous, cover every non-negative long and contain their upper bound.
+     */
+    @Test
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(31, LatencyHistogram.bucketOf(31));
+        assertEquals(32, LatencyHistogram.bucketOf(32));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.BUCKET_COUNT - 1));
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            if (bucket + 1 < LatencyHistogram.BUCKET_COUNT) {
+                assertEquals(bucket + 1, LatencyHistogram.bucketOf(upper + 1));
+            }
+        }
+    }
+
+    /**
+     * Tests percentiles against the exact ones of random latencies.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(11);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(3 + random.nextDouble() * 12);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact + exact / 16,
+                    percentile + ": " + reported + " for " + exact);
+        }
+        assertEquals(values[0], histogram.getValueAtPercentile(0), values[0] / 16.0);
+        assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Tests the mean, negative values and resetting.
+     */
+    @Test
+    public void testMeanAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMean());
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+        assertEquals(3, histogram.getCount());
+        assertEquals(400 / 3.0, histogram.getMean(), 1e-9);
+        assertEquals(0, histogram.getValueAtPercentile(1));
+        assertEquals(300, histogram.getMax());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(Double.NaN));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,86 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test class for the LongHashMap class.
+ * <p>
+ * This class provides unit tests to verify mapping packed identifiers to values, and agreement
+ * with {@link HashMap} under random operations.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-09
+ */
+public class LongHashMapTest {
+
+    /**
+     * Tests a map keyed by packed CIE serial numbers.
+     */
+    @Test
+    public void testPackedCIESerials() {
+        LongHashMap<String> owners = new LongHashMap<>();
+        assertNull(owners.put(IdentityCardUtils.packCIESerial("CA12345AB"), "Mario Rossi"));
+        assertEquals("Mario Rossi", owners.put(IdentityCardUtils.packCIESerial("ca12345ab"), "Maria Rossi"));
+        assertEquals("Maria Rossi", owners.get(IdentityCardUtils.packCIESerial("CA12345AB")));
+        assertNull(owners.get(IdentityCardUtils.packCIESerial("CA12345AC")));
+        assertNull(owners.get(IdentityCardUtils.packCIESerial("CA1234XAB")));
+        assertFalse(owners.containsKey(-1));
+        assertEquals(1, owners.size());
+        assertThrows(IllegalArgumentException.class, () -> owners.put(-1, "Invalid"));
+        assertThrows(NullPointerException.class, () -> owners.put(0, null));
+    }
+
+    /**
+     * Tests the high-part map of low-part sets suggested for Health Insurance Card serial numbers.
+     */
+    @Test
+    public void testHICSerialSets() {
+        LongHashMap<LongHashSet> serials = new LongHashMap<>();
+        long[] packed = new long[2];
+        for (String serial : new String[]{"80380000500012345678", "80380000500012345679", "12000000000000000000"}) {
+            assertTrue(HealthInsuranceCardUtils.packHICSerial(serial, packed, 0));
+            assertTrue(serials.computeIfAbsent(packed[0], high -> new LongHashSet()).add(packed[1]));
+        }
+        assertEquals(2, serials.size());
+        assertEquals(2, serials.get(80).size());
+        HealthInsuranceCardUtils.packHICSerial("80380000500012345679", packed, 0);
+        assertTrue(serials.get(packed[0]).contains(packed[1]));
+        assertThrows(NullPointerException.class, () -> serials.computeIfAbsent(1, high -> null));
+        assertFalse(serials.containsKey(1));
+    }
+
+    /**
+     * Tests the map against a HashMap under random puts and removes.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(7);
+        LongHashMap<Integer> map = new LongHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((value, key) -> visited.put(key, value));
+        assertEquals(expected, visited);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertEquals("LongHashMap[size=0]", map.toString());
+    }
+}
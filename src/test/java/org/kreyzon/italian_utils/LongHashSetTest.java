@@ -0,0 +1,78 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test class for the LongHashSet class.
+ * <p>
+ * This class provides unit tests to verify adding, finding and removing packed identifiers,
+ * growth of the table and agreement with {@link HashSet} under random operations.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-09
+ */
+public class LongHashSetTest {
+
+    /**
+     * Tests a set of packed Partite IVA, including the -1 returned for invalid ones.
+     */
+    @Test
+    public void testPackedPartiteIVA() {
+        LongHashSet ceased = new LongHashSet();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ceased.add(PartitaIVAUtils.packPartitaIVA(PartitaIVAUtils.generatePartitaIVA(1 + i % 100, i))));
+        }
+        assertFalse(ceased.add(PartitaIVAUtils.packPartitaIVA("IT" + PartitaIVAUtils.generatePartitaIVA(1, 0))));
+        assertEquals(1_000, ceased.size());
+        assertTrue(ceased.contains(PartitaIVAUtils.packPartitaIVA(PartitaIVAUtils.generatePartitaIVA(58, 57))));
+        assertFalse(ceased.contains(PartitaIVAUtils.packPartitaIVA(PartitaIVAUtils.generatePartitaIVA(58, 58))));
+        assertFalse(ceased.contains(PartitaIVAUtils.packPartitaIVA("00123450067")));
+        assertFalse(ceased.remove(-1));
+        assertThrows(IllegalArgumentException.class, () -> ceased.add(-1));
+
+        long[] sorted = ceased.toSortedArray();
+        assertEquals(1_000, sorted.length);
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(PartitaIVAUtils.unpackPartitaIVA(sorted[i - 1]).compareTo(PartitaIVAUtils.unpackPartitaIVA(sorted[i])) < 0);
+        }
+    }
+
+    /**
+     * Tests the set against a HashSet under random adds and removes, which exercise growth and
+     * backward-shift deletion over long probe runs.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(10);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+        long[] sum = new long[1];
+        set.forEach(key -> sum[0] += key);
+        assertEquals(expected.stream().mapToLong(Long::longValue).sum(), sum[0]);
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), set.toSortedArray());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
+        assertEquals(0, set.toSortedArray().length);
+        assertEquals("LongHashSet[size=0]", set.toString());
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+    }
+}
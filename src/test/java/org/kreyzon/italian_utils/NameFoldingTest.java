@@ -0,0 +1,47 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the NameFolding class.
+ * <p>
+ * This class provides unit tests to verify the folding of case, accents and apostrophes in names.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-17
+ */
+public class NameFoldingTest {
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            java.lang.reflect.Constructor<NameFolding> constructor = NameFolding.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        });
+    }
+
+    /**
+     * Tests case, accent and apostrophe folding, and that other characters are kept.
+     */
+    @Test
+    public void testFold() {
+        assertEquals('A', NameFolding.fold('a'));
+        assertEquals('Z', NameFolding.fold('Z'));
+        assertEquals('O', NameFolding.fold('ò'));
+        assertEquals('E', NameFolding.fold('É'));
+        assertEquals('U', NameFolding.fold('ü'));
+        assertEquals('\'', NameFolding.fold('’'));
+        assertEquals('Ñ', NameFolding.fold('ñ'));
+        assertEquals(' ', NameFolding.fold(' '));
+        assertEquals('1', NameFolding.fold('1'));
+        StringBuilder folded = new StringBuilder();
+        "Forlì D’Angelo".chars().forEach(c -> folded.append(NameFolding.fold((char) c)));
+        assertEquals("FORLI D'ANGELO", folded.toString());
+    }
+}
@@ -2,6 +2,11 @@ package org.kreyzon.italian_utils;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Test class for the PartitaIVAUtils utility class.
@@ -81,4 +86,184 @@ public class PartitaIVAUtilsTest {
                 () -> PartitaIVAUtils.formatPartitaIVA(null),
                 "Expected an IllegalArgumentException due to null input.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the batch validation of Partite IVA matches the single-value validation.
+     */
+    @Test
+    public void testBatchValidationMatchesSingleValue() {
+        CharSequence[] in = {"12345678903", "IT12345678903", "12345678904", null, "", "IT", new StringBuilder("IT00123450066"), "12345A78903"};
+        boolean[] out = new boolean[in.length];
+        int validCount = PartitaIVAUtils.validatePartiteIVA(in, out);
+
+        int expectedCount = 0;
+        for (int i = 0; i < in.length; i++) {
+            boolean expected = PartitaIVAUtils.isValidPartitaIVA(in[i] == null ? null : in[i].toString());
+            assertEquals(expected, out[i], "Unexpected batch result for " + in[i]);
+            assertEquals(expected, PartitaIVAUtils.validatePartiteIVA(in).get(i), "Unexpected bit set result for " + in[i]);
+            expectedCount += expected ? 1 : 0;
+        }
+        assertEquals(expectedCount, validCount);
+    }
+
+    /**
+     * Tests that a large batch split over a fork/join pool gives the same results as the sequential batch.
+     */
+    @Test
+    public void testParallelBatchValidation() {
+        CharSequence[] sample = {"12345678903", "IT12345678903", "12345678904", null, "", "IT", new StringBuilder("IT00123450066"), "12345A78903"};
+        CharSequence[] in = new CharSequence[50_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = sample[i % sample.length];
+        }
+        boolean[] sequential = new boolean[in.length];
+        boolean[] parallel = new boolean[in.length];
+        int sequentialCount = PartitaIVAUtils.validatePartiteIVA(in, sequential);
+        int parallelCount = PartitaIVAUtils.validatePartiteIVA(in, parallel, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sequential, parallel);
+        assertEquals(sequentialCount, parallelCount);
+    }
+
+    /**
+     * Tests that an output array shorter than the input array is rejected.
+     */
+    @Test
+    public void testBatchValidationShortOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PartitaIVAUtils.validatePartiteIVA(new CharSequence[2], new boolean[1]));
+    }
+
+    /**
+     * Tests the reason codes returned by the Partita IVA check, and that they agree with the validator.
+     */
+    @Test
+    public void testCheckPartitaIVA() {
+        assertEquals(ValidationCode.VALID, PartitaIVAUtils.checkPartitaIVA("00123450066"));
+        assertEquals(ValidationCode.VALID, PartitaIVAUtils.checkPartitaIVA("IT00123450066"));
+        assertEquals(ValidationCode.NULL, PartitaIVAUtils.checkPartitaIVA(null));
+        assertEquals(ValidationCode.BAD_LENGTH, PartitaIVAUtils.checkPartitaIVA("0012345006"));
+        assertEquals(ValidationCode.BAD_CHARSET, PartitaIVAUtils.checkPartitaIVA("0012345006A"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, PartitaIVAUtils.checkPartitaIVA("00123450067"));
+        assertEquals(ValidationCode.BAD_OFFICE, PartitaIVAUtils.checkPartitaIVA("12345678903"));
+        assertEquals(ValidationCode.BAD_OFFICE, PartitaIVAUtils.checkPartitaIVA("IT00000000000"));
+
+        CharSequence[] in = {"00123450066", "IT00123450066", null, "", "IT", "0012345006A", "00123450067",
+                new StringBuilder("12345678903"), "IT1234567890"};
+        byte[] out = new byte[in.length];
+        int valid = PartitaIVAUtils.checkPartiteIVA(in, out);
+        int expected = 0;
+        for (int i = 0; i < in.length; i++) {
+            ValidationCode code = ValidationCode.fromOrdinal(out[i]);
+            assertEquals(PartitaIVAUtils.checkPartitaIVA(in[i]), code);
+            assertEquals(PartitaIVAUtils.isValidPartitaIVA(in[i]), code.isValid());
+            expected += code.isValid() ? 1 : 0;
+        }
+        assertEquals(expected, valid);
+    }
+
+    /**
+     * Tests the assigned office codes.
+     */
+    @Test
+    public void testIsValidOfficeCode() {
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(1));
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(100));
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(120));
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(121));
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(888));
+        assertTrue(PartitaIVAUtils.isValidOfficeCode(999));
+        assertFalse(PartitaIVAUtils.isValidOfficeCode(0));
+        assertFalse(PartitaIVAUtils.isValidOfficeCode(101));
+        assertFalse(PartitaIVAUtils.isValidOfficeCode(122));
+        assertFalse(PartitaIVAUtils.isValidOfficeCode(890));
+    }
+
+    /**
+     * Tests the check digit computation, with and without prefix and check digit, against a plain Luhn sum.
+     */
+    @Test
+    public void testComputeCheckDigit() {
+        assertEquals(6, PartitaIVAUtils.computeCheckDigit("0012345006"));
+        assertEquals(6, PartitaIVAUtils.computeCheckDigit("00123450066"));
+        assertEquals(6, PartitaIVAUtils.computeCheckDigit("IT00123450067"));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.computeCheckDigit(null));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.computeCheckDigit("001234500"));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.computeCheckDigit("001234500661"));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.computeCheckDigit("00123A5006"));
+
+        Random random = new Random(42);
+        for (int n = 0; n < 10_000; n++) {
+            StringBuilder digits = new StringBuilder();
+            int sum = 0;
+            for (int i = 0; i < 10; i++) {
+                int digit = random.nextInt(10);
+                digits.append(digit);
+                int weighted = i % 2 == 1 ? digit * 2 : digit;
+                sum += weighted > 9 ? weighted - 9 : weighted;
+            }
+            assertEquals((10 - sum % 10) % 10, PartitaIVAUtils.computeCheckDigit(digits));
+        }
+    }
+
+    /**
+     * Tests that generated Partite IVA are valid and keep the progressive number and the office code.
+     */
+    @Test
+    public void testGeneratePartitaIVA() {
+        assertEquals("00123450066", PartitaIVAUtils.generatePartitaIVA(6, 12345));
+        assertEquals("0000000001" + PartitaIVAUtils.computeCheckDigit("0000000001"), PartitaIVAUtils.generatePartitaIVA(1, 0));
+        for (int office : new int[]{1, 58, 100, 120, 121, 888, 999}) {
+            for (int progressivo = 0; progressivo < 10_000_000; progressivo += 99_991) {
+                String partitaIVA = PartitaIVAUtils.generatePartitaIVA(office, progressivo);
+                assertEquals(ValidationCode.VALID, PartitaIVAUtils.checkPartitaIVA(partitaIVA), partitaIVA);
+                assertEquals(progressivo, Integer.parseInt(partitaIVA.substring(0, 7)));
+                assertEquals(office, Integer.parseInt(partitaIVA.substring(7, 10)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.generatePartitaIVA(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.generatePartitaIVA(200, 1));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.generatePartitaIVA(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.generatePartitaIVA(1, 10_000_000));
+    }
+
+    /**
+     * Tests validation of Partite IVA stored as bytes, in place.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "IT00123450066;00123450067".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(PartitaIVAUtils.isValidPartitaIVA(bytes, 0, 13));
+        assertTrue(PartitaIVAUtils.isValidPartitaIVA(bytes, 2, 11));
+        assertFalse(PartitaIVAUtils.isValidPartitaIVA(bytes, 14, 11));
+        assertTrue(PartitaIVAUtils.isValidPartitaIVA(ByteBuffer.wrap(bytes), 0, 13));
+        assertFalse(PartitaIVAUtils.isValidPartitaIVA(ByteBuffer.wrap(bytes), 0, bytes.length));
+    }
+
+    /**
+     * Tests packing Partite IVA into longs: round trips, validation on packing and ordering.
+     */
+    @Test
+    public void testPackPartitaIVA() {
+        assertEquals(123450066L, PartitaIVAUtils.packPartitaIVA("00123450066"));
+        assertEquals(123450066L, PartitaIVAUtils.packPartitaIVA("IT00123450066"));
+        assertEquals("00123450066", PartitaIVAUtils.unpackPartitaIVA(123450066L));
+        assertEquals(-1, PartitaIVAUtils.packPartitaIVA("00123450067"));
+        assertEquals(-1, PartitaIVAUtils.packPartitaIVA("0012345006"));
+        assertEquals(-1, PartitaIVAUtils.packPartitaIVA(null));
+
+        String lower = PartitaIVAUtils.generatePartitaIVA(1, 9_999_999);
+        String higher = PartitaIVAUtils.generatePartitaIVA(999, 9_999_999);
+        for (String partitaIVA : new String[]{lower, higher, PartitaIVAUtils.generatePartitaIVA(58, 0)}) {
+            assertEquals(partitaIVA, PartitaIVAUtils.unpackPartitaIVA(PartitaIVAUtils.packPartitaIVA(partitaIVA)));
+        }
+        assertTrue(Long.compare(PartitaIVAUtils.packPartitaIVA(lower), PartitaIVAUtils.packPartitaIVA(higher)) < 0);
+
+        char[] out = new char[13];
+        assertEquals(11, PartitaIVAUtils.unpackPartitaIVA(123450066L, out, 2));
+        assertEquals("00123450066", new String(out, 2, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> PartitaIVAUtils.unpackPartitaIVA(123450066L, out, 3));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.unpackPartitaIVA(-1));
+        assertThrows(IllegalArgumentException.class, () -> PartitaIVAUtils.unpackPartitaIVA(100_000_000_000L));
+    }
+}
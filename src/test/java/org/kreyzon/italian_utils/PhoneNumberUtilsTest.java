@@ -0,0 +1,144 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for the PhoneNumberUtils utility class.
+ * <p>
+ * This class provides unit tests to verify the validation, classification, area codes and
+ * formatting of Italian phone numbers, the reason codes of invalid ones and the batch entry points.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-13
+ */
+public class PhoneNumberUtilsTest {
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            java.lang.reflect.Constructor<PhoneNumberUtils> constructor = PhoneNumberUtils.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        });
+    }
+
+    /**
+     * Tests the classification of each type of number, with and without prefixes and separators.
+     */
+    @Test
+    public void testClassifyPhoneNumber() {
+        assertEquals(PhoneNumberType.MOBILE, PhoneNumberUtils.classifyPhoneNumber("3331234567"));
+        assertEquals(PhoneNumberType.MOBILE, PhoneNumberUtils.classifyPhoneNumber("+39 333 123 4567"));
+        assertEquals(PhoneNumberType.MOBILE, PhoneNumberUtils.classifyPhoneNumber("0039-347-1234567"));
+        assertEquals(PhoneNumberType.MOBILE, PhoneNumberUtils.classifyPhoneNumber("338123456"));
+        assertEquals(PhoneNumberType.GEOGRAPHIC, PhoneNumberUtils.classifyPhoneNumber("06 12345678"));
+        assertEquals(PhoneNumberType.GEOGRAPHIC, PhoneNumberUtils.classifyPhoneNumber("+39 (02) 1234.5678"));
+        assertEquals(PhoneNumberType.GEOGRAPHIC, PhoneNumberUtils.classifyPhoneNumber("0331/123456"));
+        assertEquals(PhoneNumberType.TOLL_FREE, PhoneNumberUtils.classifyPhoneNumber("800 123 456"));
+        assertEquals(PhoneNumberType.TOLL_FREE, PhoneNumberUtils.classifyPhoneNumber("803131"));
+        assertEquals(PhoneNumberType.SHARED_COST, PhoneNumberUtils.classifyPhoneNumber("848 800 777"));
+        assertEquals(PhoneNumberType.PREMIUM, PhoneNumberUtils.classifyPhoneNumber("892424"));
+        assertEquals(PhoneNumberType.PREMIUM, PhoneNumberUtils.classifyPhoneNumber("899123456"));
+        assertNull(PhoneNumberUtils.classifyPhoneNumber("3331234"));
+        assertNull(PhoneNumberUtils.classifyPhoneNumber(null));
+    }
+
+    /**
+     * Tests the reason codes of invalid numbers.
+     */
+    @Test
+    public void testCheckPhoneNumber() {
+        assertEquals(ValidationCode.VALID, PhoneNumberUtils.checkPhoneNumber("+393331234567"));
+        assertEquals(ValidationCode.NULL, PhoneNumberUtils.checkPhoneNumber(null));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber(""));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber(" - "));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber("+3"));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber("33312345678"));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber("06123"));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber("061234567890"));
+        assertEquals(ValidationCode.BAD_LENGTH, PhoneNumberUtils.checkPhoneNumber("8001234567"));
+        assertEquals(ValidationCode.BAD_CHARSET, PhoneNumberUtils.checkPhoneNumber("333 123 456a"));
+        assertEquals(ValidationCode.BAD_CHARSET, PhoneNumberUtils.checkPhoneNumber("+3x3331234567"));
+        assertEquals(ValidationCode.BAD_CHARSET, PhoneNumberUtils.checkPhoneNumber("333+1234567"));
+        assertEquals(ValidationCode.BAD_COUNTRY, PhoneNumberUtils.checkPhoneNumber("+41 44 668 18 00"));
+        assertEquals(ValidationCode.BAD_COUNTRY, PhoneNumberUtils.checkPhoneNumber("0041446681800"));
+        assertEquals(ValidationCode.BAD_PREFIX, PhoneNumberUtils.checkPhoneNumber("1234567890"));
+        assertEquals(ValidationCode.BAD_PREFIX, PhoneNumberUtils.checkPhoneNumber("3012345678"));
+        assertEquals(ValidationCode.BAD_PREFIX, PhoneNumberUtils.checkPhoneNumber("+39 00 1234567"));
+        assertEquals(ValidationCode.BAD_PREFIX, PhoneNumberUtils.checkPhoneNumber("801123456"));
+        assertEquals(ValidationCode.BAD_PREFIX, PhoneNumberUtils.checkPhoneNumber("891123456"));
+        assertTrue(PhoneNumberUtils.isValidPhoneNumber("0039 06 1234567"));
+        assertFalse(PhoneNumberUtils.isValidPhoneNumber("5123456789"));
+    }
+
+    /**
+     * Tests the area codes of geographic numbers of each length.
+     */
+    @Test
+    public void testGetAreaCode() {
+        assertEquals("06", PhoneNumberUtils.getAreaCode("06 12345678"));
+        assertEquals("02", PhoneNumberUtils.getAreaCode("+39 02-1234567"));
+        assertEquals("011", PhoneNumberUtils.getAreaCode("011 1234567"));
+        assertEquals("081", PhoneNumberUtils.getAreaCode("0039 0 8 1 1234567"));
+        assertEquals("0331", PhoneNumberUtils.getAreaCode("0331 123456"));
+        assertEquals("0471", PhoneNumberUtils.getAreaCode("0471/123456"));
+        assertEquals("010", PhoneNumberUtils.getAreaCode("010 1234567"));
+        assertEquals("099", PhoneNumberUtils.getAreaCode("099 123456"));
+        assertNull(PhoneNumberUtils.getAreaCode("3331234567"));
+        assertNull(PhoneNumberUtils.getAreaCode("06"));
+    }
+
+    /**
+     * Tests the E.164 formatting.
+     */
+    @Test
+    public void testFormatPhoneNumber() {
+        assertEquals("+393331234567", PhoneNumberUtils.formatPhoneNumber("333 123 4567"));
+        assertEquals("+390612345678", PhoneNumberUtils.formatPhoneNumber("0039 (06) 1234-5678"));
+        assertEquals("+39800123456", PhoneNumberUtils.formatPhoneNumber("+39 800.123.456"));
+        assertEquals("tel: +393331234567", PhoneNumberUtils.formatPhoneNumber("3331234567", new StringBuilder("tel: ")).toString());
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumberUtils.formatPhoneNumber("12345"));
+        assertThrows(IllegalArgumentException.class, () -> PhoneNumberUtils.formatPhoneNumber((String) null));
+    }
+
+    /**
+     * Tests validation of ASCII bytes in arrays and buffers.
+     */
+    @Test
+    public void testByteOverloads() {
+        byte[] bytes = "tel;+39 333 1234567;".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(PhoneNumberUtils.isValidPhoneNumber(bytes, 4, 15));
+        assertFalse(PhoneNumberUtils.isValidPhoneNumber(bytes, 4, 16));
+        assertTrue(PhoneNumberUtils.isValidPhoneNumber(ByteBuffer.wrap(bytes), 4, 15));
+    }
+
+    /**
+     * Tests the batch entry points against the single-value methods.
+     */
+    @Test
+    public void testBatch() {
+        CharSequence[] in = {"3331234567", null, "06 1234567", "12345", "+41 44 668 18 00", "892424"};
+        boolean[] out = new boolean[in.length];
+        byte[] codes = new byte[in.length];
+        assertEquals(3, PhoneNumberUtils.validatePhoneNumbers(in, out));
+        assertEquals(3, PhoneNumberUtils.validatePhoneNumbers(in, new boolean[in.length], ForkJoinPool.commonPool()));
+        assertEquals(3, PhoneNumberUtils.checkPhoneNumbers(in, codes));
+        BitSet bits = PhoneNumberUtils.validatePhoneNumbers(in);
+        for (int i = 0; i < in.length; i++) {
+            assertEquals(PhoneNumberUtils.isValidPhoneNumber(in[i]), out[i]);
+            assertEquals(out[i], bits.get(i));
+            assertEquals(PhoneNumberUtils.checkPhoneNumber(in[i]), ValidationCode.fromOrdinal(codes[i]));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> PhoneNumberUtils.validatePhoneNumbers(new CharSequence[2], new boolean[1]));
+    }
+}
@@ -0,0 +1,237 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test class for the RecordValidator class.
+ * <p>
+ * This class provides unit tests to verify the column mapping, the per-record results, the ordering
+ * of the parallel stage and the input sources of {@link RecordValidator}.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-02
+ */
+public class RecordValidatorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 12, 2);
+
+    private static final String HEADER = "name;surname;gender;birthdate;partita_iva;iban;cie;tessera\n";
+
+    private static final String VALID_RECORD =
+            "Mario;Rossi;M;1985-12-10;00123450066;IT60X0542811101000000123456;CA12345AB;80380000500012345678";
+
+    private static final String INVALID_RECORD =
+            "M@rio;Rossi;X;1985-02-30;00123450067;IT60X0542811101000000123456;CA12345AB;8038000050001234567";
+
+    /**
+     * Tests the per-record bit masks: one bit per failed column, 0 for valid records.
+     */
+    @Test
+    public void testInvalidColumns() throws IOException {
+        List<long[]> results = new ArrayList<>();
+        long invalid = anagraficaValidator(1).validate(
+                new StringReader(HEADER + VALID_RECORD + "\n" + INVALID_RECORD + "\n"),
+                (line, columns) -> results.add(new long[]{line, columns}));
+
+        assertEquals(1, invalid);
+        assertEquals(2, results.size());
+        assertArrayEquals(new long[]{2, 0}, results.get(0));
+        assertArrayEquals(new long[]{3, 0b1001_1101}, results.get(1));
+    }
+
+    /**
+     * Tests that missing columns are reported as invalid, and that blank lines and CRLF endings are handled.
+     */
+    @Test
+    public void testMissingColumnsAndLineEndings() throws IOException {
+        List<long[]> results = new ArrayList<>();
+        anagraficaValidator(1).validate(
+                new StringReader(HEADER + VALID_RECORD + "\r\n\r\n\nMario;Rossi;M\r\n" + VALID_RECORD),
+                (line, columns) -> results.add(new long[]{line, columns}));
+
+        assertEquals(3, results.size());
+        assertArrayEquals(new long[]{2, 0}, results.get(0));
+        assertArrayEquals(new long[]{5, 0b1111_1000}, results.get(1));
+        assertArrayEquals(new long[]{6, 0}, results.get(2));
+    }
+
+    /**
+     * Tests that a birthdate after the reference date is invalid.
+     */
+    @Test
+    public void testBirthdateAfterReferenceDate() throws IOException {
+        RecordValidator validator = RecordValidator.builder()
+                .column(0, RecordField.BIRTHDATE)
+                .referenceDate(REFERENCE_DATE)
+                .parallelism(1)
+                .build();
+        List<Long> results = new ArrayList<>();
+        validator.validate(new StringReader("2024-12-02\n2024-12-03\n2000-02-29\n1900-02-29\n"),
+                (line, columns) -> results.add(columns));
+        assertEquals(List.of(0L, 1L, 0L, 1L), results);
+    }
+
+    /**
+     * Tests that the parallel stage delivers the same results, in input order, as the sequential one,
+     * with chunks much smaller than the input and lines longer than a chunk.
+     */
+    @Test
+    public void testParallelMatchesSequential() throws IOException {
+        StringBuilder input = new StringBuilder(HEADER);
+        for (int i = 0; i < 20_000; i++) {
+            input.append(i % 7 == 0 ? INVALID_RECORD : VALID_RECORD);
+            if (i % 1000 == 0) {
+                input.append(";").append("x".repeat(300));
+            }
+            input.append('\n');
+        }
+
+        List<Long> sequential = new ArrayList<>();
+        long sequentialInvalid = anagraficaValidator(1).validate(new StringReader(input.toString()),
+                (line, columns) -> sequential.add(line * 1000 + columns));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RecordValidator parallel = RecordValidator.builder()
+                    .skipHeader(true)
+                    .column(0, RecordField.NAME)
+                    .column(1, RecordField.SURNAME)
+                    .column(2, RecordField.GENDER)
+                    .column(3, RecordField.BIRTHDATE)
+                    .column(4, RecordField.PARTITA_IVA)
+                    .column(5, RecordField.IBAN)
+                    .column(6, RecordField.CIE_SERIAL)
+                    .column(7, RecordField.HIC_SERIAL)
+                    .referenceDate(REFERENCE_DATE)
+                    .parallelism(4)
+                    .executor(executor)
+                    .chunkSize(100)
+                    .build();
+            List<Long> results = new ArrayList<>();
+            long invalid = parallel.validate(new StringReader(input.toString()),
+                    (line, columns) -> results.add(line * 1000 + columns));
+            assertEquals(sequentialInvalid, invalid);
+            assertEquals(20_000 / 7 + 1, invalid);
+            assertEquals(sequential, results);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests validation of a memory-mapped UTF-8 file and of an input stream with custom validators.
+     */
+    @Test
+    public void testFileAndStreamSources(@TempDir Path directory) throws IOException {
+        RecordValidator validator = RecordValidator.builder()
+                .delimiter(',')
+                .column(0, value -> AnagraficaUtils.isValidSurname(value, NamePolicy.ITALIAN))
+                .column(1, RecordField.CODICE_FISCALE)
+                .parallelism(2)
+                .build();
+        String content = "D'Angelo,RSSMRA85T10A562S\nNiccolò,RSSMRA85T10A562T\nDe Luca,VRDNNA90A41H501J";
+        Path file = directory.resolve("records.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        List<Long> fromFile = new ArrayList<>();
+        assertEquals(1, validator.validate(file, StandardCharsets.UTF_8, (line, columns) -> fromFile.add(columns)));
+        assertEquals(List.of(0L, 2L, 0L), fromFile);
+
+        List<Long> fromStream = new ArrayList<>();
+        validator.validate(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8,
+                (line, columns) -> fromStream.add(columns));
+        assertEquals(fromFile, fromStream);
+
+        Path empty = directory.resolve("empty.csv");
+        Files.write(empty, new byte[0]);
+        assertEquals(0, validator.validate(empty, StandardCharsets.UTF_8, (line, columns) -> fail("No records expected")));
+
+        Path malformed = directory.resolve("malformed.csv");
+        Files.write(malformed, new byte[]{'R', 'o', (byte) 0xC3, ',', 'X', '\n'});
+        assertThrows(CharacterCodingException.class,
+                () -> validator.validate(malformed, StandardCharsets.UTF_8, (line, columns) -> { }));
+    }
+
+    /**
+     * Tests that a supplementary character decoded from a mapped file at the end of a chunk, where the
+     * reader has room for one char only, is split across two reads instead of stalling the reader.
+     */
+    @Test
+    public void testSupplementaryCharacterAtChunkBoundary(@TempDir Path directory) throws IOException {
+        String content = "Mario;Ross\uD83D\uDE00i\nLuigi;Verdi\n";
+        Path file = directory.resolve("emoji.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize <= content.length() + 1; chunkSize++) {
+            List<String> surnames = new ArrayList<>();
+            RecordValidator validator = RecordValidator.builder()
+                    .column(1, value -> surnames.add(value.toString()))
+                    .chunkSize(chunkSize)
+                    .build();
+            long invalid = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> validator.validate(file, StandardCharsets.UTF_8, (line, columns) -> { }), "chunk size " + chunkSize);
+            assertEquals(0, invalid);
+            assertEquals(List.of("Ross\uD83D\uDE00i", "Verdi"), surnames, "chunk size " + chunkSize);
+        }
+    }
+
+    /**
+     * Tests that exceptions thrown by a validator reach the caller.
+     */
+    @Test
+    public void testValidatorExceptionPropagates() {
+        RecordValidator validator = RecordValidator.builder()
+                .column(0, value -> {
+                    throw new IllegalStateException("boom");
+                })
+                .parallelism(2)
+                .build();
+        assertThrows(IllegalStateException.class,
+                () -> validator.validate(new StringReader("a\nb\n"), (line, columns) -> { }));
+    }
+
+    /**
+     * Tests the builder argument checks.
+     */
+    @Test
+    public void testBuilderChecks() {
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().column(64, RecordField.IBAN));
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().column(-1, RecordField.IBAN));
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().parallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().chunkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> RecordValidator.builder().delimiter('\n'));
+        assertThrows(NullPointerException.class, () -> RecordValidator.builder().column(0, (RecordField) null));
+    }
+
+    private static RecordValidator anagraficaValidator(int parallelism) {
+        return RecordValidator.builder()
+                .skipHeader(true)
+                .column(0, RecordField.NAME)
+                .column(1, RecordField.SURNAME)
+                .column(2, RecordField.GENDER)
+                .column(3, RecordField.BIRTHDATE)
+                .column(4, RecordField.PARTITA_IVA)
+                .column(5, RecordField.IBAN)
+                .column(6, RecordField.CIE_SERIAL)
+                .column(7, RecordField.HIC_SERIAL)
+                .referenceDate(REFERENCE_DATE)
+                .parallelism(parallelism)
+                .build();
+    }
+}
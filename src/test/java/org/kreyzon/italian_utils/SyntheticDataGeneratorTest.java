@@ -0,0 +1,121 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for the SyntheticDataGenerator class.
+ * <p>
+ * This class provides unit tests to verify that generated records pass the validators of the
+ * library, that invalid records fail on exactly their corrupted field, and that generation is
+ * deterministic whatever the parallelism.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-10
+ */
+public class SyntheticDataGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 12, 10);
+
+    /**
+     * Tests that every field of valid records passes its validator, and that each invalid record
+     * fails on its invalid field only.
+     */
+    @Test
+    public void testRecordsMatchValidators() {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder()
+                .seed(42).invalidRate(0.3).referenceDate(REFERENCE_DATE).build();
+        RecordField[] fields = RecordField.values();
+        int invalid = 0;
+        for (int i = 0; i < 20_000; i++) {
+            SyntheticRecord record = generator.record(i);
+            assertEquals(i, record.getIndex());
+            for (RecordField field : fields) {
+                Predicate<CharSequence> validator = field.validator(REFERENCE_DATE);
+                assertEquals(field != record.getInvalidField(), validator.test(record.get(field)), record + " " + field);
+            }
+            if (!record.isValid()) {
+                invalid++;
+            }
+        }
+        assertTrue(invalid > 5_500 && invalid < 6_500, "invalid records: " + invalid);
+    }
+
+    /**
+     * Tests that the Codice Fiscale matches the name, surname, gender and birthdate of the record,
+     * and that the IBAN is Italian with a valid CIN.
+     */
+    @Test
+    public void testConsistentIdentity() {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder().seed(7).referenceDate(REFERENCE_DATE).build();
+        for (int i = 0; i < 2_000; i++) {
+            SyntheticRecord record = generator.record(i);
+            String codiceFiscale = record.getCodiceFiscale();
+            assertEquals(CodiceFiscaleUtils.generateCodiceFiscale(record.getName(), record.getSurname(), record.getGender(),
+                    LocalDate.parse(record.getBirthdate()), codiceFiscale.substring(11, 15)), codiceFiscale);
+            assertTrue(BelfioreIndex.bundled().findBirthplace(codiceFiscale) >= 0, codiceFiscale);
+            assertTrue(BankingUtils.parseItalianIBAN(record.getIban()).hasValidCin(), record.getIban());
+            assertTrue(AnagraficaUtils.calculateAge(LocalDate.parse(record.getBirthdate()), REFERENCE_DATE) >= 18);
+        }
+    }
+
+    /**
+     * Tests that records depend only on the seed and index, whatever the split of the stream.
+     */
+    @Test
+    public void testDeterministicParallelStream() {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder()
+                .seed(1).invalidRate(0.1).referenceDate(REFERENCE_DATE).build();
+        List<String> sequential = generator.records(5_000).map(SyntheticRecord::toString).collect(Collectors.toList());
+        List<String> parallel = generator.records(5_000).parallel().map(SyntheticRecord::toString).collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+        assertEquals(sequential.subList(1_000, 2_000),
+                generator.records(1_000, 2_000).map(SyntheticRecord::toString).collect(Collectors.toList()));
+        assertEquals(sequential.get(0), SyntheticDataGenerator.builder()
+                .seed(1).invalidRate(0.1).referenceDate(REFERENCE_DATE).build().record(0).toString());
+        assertNotEquals(sequential.get(0), SyntheticDataGenerator.builder()
+                .seed(2).invalidRate(0.1).referenceDate(REFERENCE_DATE).build().record(0).toString());
+        assertNotEquals(sequential.get(0).substring(0, 60), sequential.get(1).substring(0, 60));
+
+        Spliterator<SyntheticRecord> spliterator = generator.spliterator(10, 20);
+        assertEquals(10, spliterator.estimateSize());
+        assertEquals(5, spliterator.trySplit().estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertThrows(IllegalArgumentException.class, () -> generator.records(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> generator.record(-1));
+    }
+
+    /**
+     * Tests that written lines are accepted by a RecordValidator mapped with the field order.
+     */
+    @Test
+    public void testWriteForRecordValidator() throws IOException {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder()
+                .seed(3).invalidRate(0.05).referenceDate(REFERENCE_DATE).build();
+        StringBuilder out = new StringBuilder();
+        long written = generator.write(0, 10_000, out, ';');
+
+        RecordValidator.Builder builder = RecordValidator.builder().referenceDate(REFERENCE_DATE).parallelism(1);
+        for (RecordField field : RecordField.values()) {
+            builder.column(field.ordinal(), field);
+        }
+        long[] mismatches = new long[1];
+        long invalid = builder.build().validate(new StringReader(out.toString()), (line, columns) -> {
+            RecordField field = generator.record(line - 1).getInvalidField();
+            if (columns != (field == null ? 0 : 1L << field.ordinal())) {
+                mismatches[0]++;
+            }
+        });
+        assertEquals(written, invalid);
+        assertEquals(0, mismatches[0]);
+        assertThrows(IllegalArgumentException.class, () -> SyntheticDataGenerator.builder().invalidRate(1.5));
+    }
+}
@@ -0,0 +1,149 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the ValidationCache class.
+ * <p>
+ * This class provides unit tests to verify that cached results match the wrapped check methods,
+ * the hit, miss and eviction counters, the CLOCK eviction bound and concurrent use.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-06
+ */
+public class ValidationCacheTest {
+
+    /**
+     * Tests that the IBAN and Partita IVA caches return the same codes as the check methods, and count hits and misses.
+     */
+    @Test
+    public void testMatchesCheckMethods() {
+        ValidationCache ibans = ValidationCache.forIBAN(1000);
+        String[] values = {"IT60X0542811101000000123456", "IT60X0542811101000000123450", "it60x0542811101000000123456", "", "IT"};
+        for (int round = 0; round < 3; round++) {
+            for (String value : values) {
+                assertEquals(BankingUtils.checkIBAN(value), ibans.check(value), value);
+                assertEquals(BankingUtils.isValidIBAN(value), ibans.isValid(value), value);
+            }
+        }
+        assertEquals(values.length, ibans.getMissCount());
+        assertEquals(values.length * 5L, ibans.getHitCount());
+        assertEquals(values.length, ibans.size());
+        assertEquals(ValidationCode.NULL, ibans.check(null));
+        assertEquals(values.length, ibans.getMissCount());
+
+        ValidationCache partiteIVA = ValidationCache.forPartitaIVA(10);
+        assertEquals(ValidationCode.VALID, partiteIVA.check("00123450066"));
+        assertEquals(ValidationCode.BAD_CHECKSUM, partiteIVA.check("00123450067"));
+        assertEquals(ValidationCode.VALID, partiteIVA.check(new StringBuilder("IT00123450066")));
+        assertEquals(3, partiteIVA.getMissCount());
+    }
+
+    /**
+     * Tests that mutable inputs are looked up by content and copied on insertion.
+     */
+    @Test
+    public void testMutableInputs() {
+        ValidationCache cache = ValidationCache.forIBAN(100);
+        StringBuilder builder = new StringBuilder("IT60X0542811101000000123456");
+        assertTrue(cache.isValid(builder));
+        builder.setCharAt(26, '0');
+        assertFalse(cache.isValid(builder));
+        assertTrue(cache.isValid("IT60X0542811101000000123456"));
+
+        CharSlice slice = new CharSlice();
+        char[] chars = "##IT60X0542811101000000123456##".toCharArray();
+        slice.reset(chars, 2, chars.length - 2);
+        assertTrue(cache.isValid(slice));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    /**
+     * Tests that the cache never grows past its maximum size, and that entries read again survive eviction.
+     */
+    @Test
+    public void testClockEviction() {
+        AtomicInteger calls = new AtomicInteger();
+        ValidationCache cache = new ValidationCache(value -> {
+            calls.incrementAndGet();
+            return PartitaIVAUtils.checkPartitaIVA(value);
+        }, 256);
+
+        List<String> hot = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            hot.add(PartitaIVAUtils.generatePartitaIVA(1, i));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            cache.check(hot.get(i & 63));
+            cache.check(PartitaIVAUtils.generatePartitaIVA(2, i));
+            assertTrue(cache.size() <= 256);
+        }
+        assertEquals(256, cache.size());
+        assertEquals(64 + 20_000, cache.getMissCount());
+        assertEquals(64 + 20_000 - 256, cache.getEvictionCount());
+        assertEquals(calls.get(), cache.getMissCount());
+
+        // Hot values are read between sweeps of the hand, so they are not evicted
+        long misses = cache.getMissCount();
+        for (String value : hot) {
+            assertEquals(ValidationCode.VALID, cache.check(value));
+        }
+        assertEquals(misses, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.check(hot.get(0));
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    /**
+     * Tests that concurrent lookups and evictions always return the result of the check method.
+     */
+    @Test
+    public void testConcurrentUse() throws Exception {
+        ValidationCache cache = ValidationCache.forPartitaIVA(512);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        int progressivo = (i * 7 + seed) % 2000;
+                        String valid = PartitaIVAUtils.generatePartitaIVA(1, progressivo);
+                        String invalid = valid.substring(0, 10) + (char) ('0' + (valid.charAt(10) - '0' + 1) % 10);
+                        assertEquals(ValidationCode.VALID, cache.check(valid));
+                        assertEquals(ValidationCode.BAD_CHECKSUM, cache.check(invalid));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4 * 100_000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.size() <= 512);
+    }
+
+    /**
+     * Tests the constructor argument checks.
+     */
+    @Test
+    public void testConstructorChecks() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationCache.forIBAN(0));
+        assertThrows(IllegalArgumentException.class, () -> ValidationCache.forIBAN((1 << 28) + 1));
+        assertThrows(NullPointerException.class, () -> new ValidationCache(null, 10));
+        assertEquals(1, ValidationCache.forIBAN(1).getMaximumSize());
+    }
+}
@@ -0,0 +1,36 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ValidationCode enum.
+ * <p>
+ * This class provides unit tests to verify the ordinal round trip used by the batch checks.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-03
+ */
+public class ValidationCodeTest {
+
+    /**
+     * Tests that every code is restored from its ordinal and that only VALID is valid.
+     */
+    @Test
+    public void testFromOrdinal() {
+        for (ValidationCode code : ValidationCode.values()) {
+            assertSame(code, ValidationCode.fromOrdinal(code.ordinal()));
+            assertEquals(code == ValidationCode.VALID, code.isValid());
+        }
+    }
+
+    /**
+     * Tests that ordinals outside the range of the enum are rejected.
+     */
+    @Test
+    public void testFromOrdinalOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationCode.fromOrdinal(-1));
+        assertThrows(IllegalArgumentException.class, () -> ValidationCode.fromOrdinal(ValidationCode.values().length));
+    }
+}
@@ -0,0 +1,114 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the ValidationMetrics class.
+ * <p>
+ * This class provides unit tests to verify that every instrumented validator reports its outcome to
+ * the installed listener, that {@link ValidationStatistics} counts outcomes and latencies, and that
+ * listeners can be combined and removed. The tests need the JVM started with
+ * {@code -Dorg.kreyzon.italian_utils.metrics=true}, as the Maven build does.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-11
+ */
+public class ValidationMetricsTest {
+
+    // Generated before any listener is installed, as the generator runs validators itself
+    private static final List<SyntheticRecord> RECORDS = SyntheticDataGenerator.builder()
+            .seed(19).invalidRate(0).build().records(100).toList();
+
+    private final List<String> reports = new ArrayList<>();
+
+    @BeforeEach
+    public void installListener() {
+        assumeTrue(ValidationMetrics.isEnabled(), "metrics disabled");
+        ValidationMetrics.setListener((validator, code, durationNanos) -> {
+            assertTrue(durationNanos >= 0);
+            reports.add(validator + " " + code);
+        });
+    }
+
+    @AfterEach
+    public void removeListener() {
+        if (ValidationMetrics.isEnabled()) {
+            ValidationMetrics.setListener(null);
+        }
+    }
+
+    /**
+     * Tests the outcomes reported by the validators returning a code.
+     */
+    @Test
+    public void testCheckValidators() {
+        SyntheticRecord record = RECORDS.get(0);
+        BankingUtils.isValidIBAN(record.getIban());
+        BankingUtils.checkIBAN("XX00");
+        BankingUtils.isValidSWIFT("UNCRITMM");
+        PartitaIVAUtils.isValidPartitaIVA(record.getPartitaIVA().getBytes(), 0, 11);
+        CodiceFiscaleUtils.checkCodiceFiscale(null);
+        IdentityCardUtils.isValidCIESerial(record.getCieSerial());
+        HealthInsuranceCardUtils.checkHICSerial(record.getHicSerial().substring(1));
+        assertEquals(List.of("IBAN VALID", "IBAN BAD_COUNTRY", "SWIFT VALID", "PARTITA_IVA VALID",
+                "CODICE_FISCALE NULL", "CIE_SERIAL VALID", "HIC_SERIAL BAD_LENGTH"), reports);
+    }
+
+    /**
+     * Tests the outcomes derived for the validators returning a boolean.
+     */
+    @Test
+    public void testAnagraficaValidators() {
+        AnagraficaUtils.isValidName("Mario");
+        AnagraficaUtils.isValidName("");
+        AnagraficaUtils.isValidSurname("De Luca", NamePolicy.ASCII);
+        AnagraficaUtils.isValidGender((String) null);
+        AnagraficaUtils.isValidGender("MF");
+        AnagraficaUtils.isValidBirthdate("1990-02-30", LocalDate.of(2024, 12, 11));
+        AnagraficaUtils.isValidBirthdate("1990-02-28", LocalDate.of(2024, 12, 11));
+        assertEquals(List.of("NAME VALID", "NAME BAD_LENGTH", "SURNAME BAD_CHARSET", "GENDER NULL",
+                "GENDER BAD_LENGTH", "BIRTHDATE BAD_CHARSET", "BIRTHDATE VALID"), reports);
+    }
+
+    /**
+     * Tests counts and latencies collected by ValidationStatistics, combined with another listener.
+     */
+    @Test
+    public void testStatistics() {
+        ValidationStatistics statistics = new ValidationStatistics();
+        ValidationMetrics.setListener(statistics.andThen(new JfrValidationListener()));
+        for (SyntheticRecord record : RECORDS) {
+            assertTrue(CodiceFiscaleUtils.isValidCodiceFiscale(record.getCodiceFiscale()));
+            assertFalse(CodiceFiscaleUtils.isValidCodiceFiscale(record.getCodiceFiscale().substring(1)));
+        }
+        assertEquals(200, statistics.getCount(ValidatorType.CODICE_FISCALE));
+        assertEquals(100, statistics.getCount(ValidatorType.CODICE_FISCALE, ValidationCode.BAD_LENGTH));
+        assertEquals(100, statistics.getFailureCount(ValidatorType.CODICE_FISCALE));
+        assertEquals(0, statistics.getCount(ValidatorType.IBAN));
+        assertEquals(200, statistics.getLatency(ValidatorType.CODICE_FISCALE).getCount());
+        assertTrue(statistics.toString().contains("CODICE_FISCALE{count=200, failures=100"));
+
+        statistics.reset();
+        assertEquals(0, statistics.getCount(ValidatorType.CODICE_FISCALE));
+        assertEquals(0, statistics.getLatency(ValidatorType.CODICE_FISCALE).getCount());
+    }
+
+    /**
+     * Tests that removing the listener stops reporting.
+     */
+    @Test
+    public void testRemoveListener() {
+        ValidationMetrics.setListener(null);
+        assertNull(ValidationMetrics.getListener());
+        assertTrue(BankingUtils.isValidSWIFT("UNCRITMMXXX"));
+        assertTrue(reports.isEmpty());
+    }
+}
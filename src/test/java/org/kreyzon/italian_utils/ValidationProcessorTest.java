@@ -0,0 +1,233 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for the ValidationProcessor class.
+ * <p>
+ * This class provides unit tests to verify the per-item results and their order, back-pressure
+ * towards the publisher, closing batches after the maximum latency, and failures.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-12
+ */
+public class ValidationProcessorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 12, 12);
+
+    /**
+     * Tests that every field of synthetic records is checked and that results keep the input order.
+     */
+    @Test
+    public void testResultsInOrder() throws InterruptedException {
+        SyntheticDataGenerator generator = SyntheticDataGenerator.builder()
+                .seed(20).invalidRate(0.2).referenceDate(REFERENCE_DATE).build();
+        ValidationProcessor.Builder<SyntheticRecord> builder = ValidationProcessor.<SyntheticRecord>builder()
+                .batchSize(7).parallelism(4).referenceDate(REFERENCE_DATE);
+        for (RecordField field : RecordField.values()) {
+            builder.field(field, record -> record.get(field));
+        }
+        ValidationProcessor<SyntheticRecord> processor = builder.build();
+        Collector<SyntheticRecord> collector = new Collector<>(Long.MAX_VALUE);
+        processor.subscribe(collector);
+        try (SubmissionPublisher<SyntheticRecord> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            generator.records(2_000).forEach(publisher::submit);
+        }
+
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertNull(collector.error);
+        assertEquals(2_000, collector.results.size());
+        int invalid = 0;
+        for (int i = 0; i < 2_000; i++) {
+            ValidatedItem<SyntheticRecord> result = collector.results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(i, result.getItem().getIndex());
+            RecordField invalidField = result.getItem().getInvalidField();
+            assertEquals(invalidField == null ? 0 : 1L << invalidField.ordinal(), result.getInvalidFields(), result::toString);
+            if (!result.isValid()) {
+                invalid++;
+            }
+        }
+        assertTrue(invalid > 300 && invalid < 500, "invalid: " + invalid);
+    }
+
+    /**
+     * Tests that the processor requests no more than its capacity until the subscriber takes results.
+     */
+    @Test
+    public void testBackPressure() throws InterruptedException {
+        ValidationProcessor<String> processor = ValidationProcessor.<String>builder()
+                .field(RecordField.PARTITA_IVA, value -> value)
+                .batchSize(4).parallelism(2).build();
+        Collector<String> collector = new Collector<>(0);
+        processor.subscribe(collector);
+        AtomicLong requested = new AtomicLong();
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        assertEquals(16, requested.get());
+        for (int i = 0; i < 16; i++) {
+            processor.onNext(PartitaIVAUtils.generatePartitaIVA(1, i));
+        }
+        Thread.sleep(100);
+        assertTrue(collector.results.isEmpty());
+        assertEquals(16, requested.get());
+
+        collector.subscription.request(5);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (requested.get() < 21 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(21, requested.get());
+        assertEquals(5, collector.results.size());
+
+        collector.subscription.request(Long.MAX_VALUE);
+        processor.onComplete();
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertEquals(16, collector.results.size());
+        assertTrue(collector.results.stream().allMatch(ValidatedItem::isValid));
+    }
+
+    /**
+     * Tests that a partial batch is checked after the maximum latency, without waiting for more items.
+     */
+    @Test
+    public void testMaxLatency() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ValidationProcessor<String> processor = ValidationProcessor.<String>builder()
+                    .field(RecordField.IBAN, value -> value)
+                    .batchSize(1_000).maxLatency(Duration.ofMillis(20)).executor(executor).build();
+            Collector<String> collector = new Collector<>(Long.MAX_VALUE);
+            processor.subscribe(collector);
+            SubmissionPublisher<String> publisher = new SubmissionPublisher<>(executor, 16);
+            publisher.subscribe(processor);
+            publisher.submit("IT60X0542811101000000123456");
+            publisher.submit("IT60X0542811101000000123457");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (collector.results.size() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(2, collector.results.size());
+            assertTrue(collector.results.get(0).isValid());
+            assertTrue(collector.results.get(1).isInvalid(RecordField.IBAN));
+            assertEquals(1, collector.done.getCount());
+            publisher.close();
+            assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a failing extractor cancels upstream and fails the subscriber.
+     */
+    @Test
+    public void testExtractorFailure() throws InterruptedException {
+        ValidationProcessor<String> processor = ValidationProcessor.<String>builder()
+                .field(RecordField.GENDER, value -> {
+                    throw new IllegalStateException("boom");
+                })
+                .batchSize(1).build();
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE);
+        processor.subscribe(collector);
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+        publisher.submit("M");
+
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, collector.error);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (publisher.hasSubscribers() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertFalse(publisher.hasSubscribers());
+        publisher.close();
+    }
+
+    /**
+     * Tests the rejection of a second subscriber, of non-positive requests and of invalid settings.
+     */
+    @Test
+    public void testInvalidUse() throws InterruptedException {
+        ValidationProcessor<String> processor = ValidationProcessor.<String>builder()
+                .field(RecordField.NAME, value -> value).build();
+        Collector<String> first = new Collector<>(0);
+        processor.subscribe(first);
+        Collector<String> second = new Collector<>(0);
+        processor.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+
+        first.subscription.request(0);
+        assertTrue(first.done.await(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, first.error);
+
+        assertThrows(IllegalArgumentException.class, () -> ValidationProcessor.<String>builder().build());
+        assertThrows(IllegalArgumentException.class, () -> ValidationProcessor.<String>builder().batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> ValidationProcessor.<String>builder().maxLatency(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ValidationProcessor.<String>builder().parallelism(0));
+    }
+
+    /**
+     * Subscriber recording every signal.
+     */
+    private static final class Collector<T> implements Flow.Subscriber<ValidatedItem<T>> {
+
+        final List<ValidatedItem<T>> results = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        final long initialRequest;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        Collector(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(ValidatedItem<T> item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.kreyzon.italian_utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the Warmup class.
+ * <p>
+ * This class provides unit tests to verify that the warm-up accepts and rejects one value per
+ * validator and that the native-image metadata covers every bundled resource.
+ * </p>
+ *
+ * Author: Lorenzo Orlando - orlandolorenzo@kreyzon.com
+ * Since: 2024-12-16
+ */
+public class WarmupTest {
+
+    private static final String NATIVE_IMAGE_DIR = "META-INF/native-image/org.kreyzon/italian-utils/";
+
+    /**
+     * Tests that the private constructor throws an IllegalStateException.
+     */
+    @Test
+    public void testPrivateConstructor() {
+        assertThrows(Exception.class, () -> {
+            java.lang.reflect.Constructor<Warmup> constructor = Warmup.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance();
+        });
+    }
+
+    /**
+     * Tests that each warm-up pair has exactly one valid value, so that both the accepting and the
+     * rejecting paths are loaded.
+     */
+    @Test
+    public void testRun() {
+        assertEquals(13, Warmup.run());
+        assertEquals(13, Warmup.run());
+        assertDoesNotThrow(() -> Warmup.main(new String[0]));
+    }
+
+    /**
+     * Tests that the native-image resource configuration registers every bundled image, so that a
+     * new bundled resource cannot be left out of native images.
+     */
+    @Test
+    public void testResourceConfig() throws IOException {
+        String config = read(NATIVE_IMAGE_DIR + "resource-config.json");
+        Path resources = Path.of("src/main/resources/org/kreyzon/italian_utils");
+        List<String> bundled;
+        try (Stream<Path> files = Files.list(resources)) {
+            bundled = files.map(file -> file.getFileName().toString()).filter(name -> name.endsWith(".bin")).toList();
+        }
+        assertFalse(bundled.isEmpty());
+        for (String name : bundled) {
+            assertTrue(config.contains("\\\\Qorg/kreyzon/italian_utils/" + name + "\\\\E"), name);
+            assertNotNull(Warmup.class.getResource(name), name);
+        }
+    }
+
+    /**
+     * Tests that the classes initialized at build time exist, so that a rename cannot break native images.
+     */
+    @Test
+    public void testBuildTimeInitializedClasses() throws Exception {
+        String properties = read(NATIVE_IMAGE_DIR + "native-image.properties");
+        int start = properties.indexOf("--initialize-at-build-time=");
+        assertTrue(start >= 0);
+        String list = properties.substring(start + "--initialize-at-build-time=".length()).strip();
+        for (String className : list.split(",")) {
+            Class<?> type = Class.forName(className.strip(), false, Warmup.class.getClassLoader());
+            assertNotEquals(ValidationMetrics.class, type);
+        }
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = Warmup.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}